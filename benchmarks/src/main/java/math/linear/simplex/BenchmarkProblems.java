@@ -0,0 +1,91 @@
+package math.linear.simplex;
+
+/*
+ * Makes random problems for the benchmarks. The coefficients are integers from 1 to 9, every equation and every
+ * variable gets at least one non-zero coefficient, the other coefficients are non-zero with the given density.
+ * The same seed gives the same problem.
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.util.Random;
+
+final class BenchmarkProblems
+{
+    static final long SEED = 20240101L;
+
+    private BenchmarkProblems() {}
+
+    /**
+     * Makes the problem max c * x, A * x <= b with positive b, its tableau needs no artificial variables
+     * @param rows the number of equations
+     * @param columns the number of variables
+     * @param density the share of non-zero coefficients
+     * @param precision
+     * @return the problem
+     */
+    static Problem makeOnePhase(int rows, int columns, double density, int precision) {
+        return make(rows, columns, density, precision, Relation.LESS_OR_EQUAL, ObjectiveFunctionType.MAXIMUM);
+    }
+
+    /**
+     * Makes the problem min c * x, A * x >= b with positive c and b, its tableau needs the first phase
+     * @param rows the number of equations
+     * @param columns the number of variables
+     * @param density the share of non-zero coefficients
+     * @param precision
+     * @return the problem
+     */
+    static Problem makeTwoPhases(int rows, int columns, double density, int precision) {
+        return make(rows, columns, density, precision, Relation.GREATER_OR_EQUAL, ObjectiveFunctionType.MINIMUM);
+    }
+
+    /**
+     * Makes the tableau of the problem
+     * @param problem
+     * @return the tableau
+     */
+    static Tableau build(Problem problem) {
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        return tableauBuilder.build();
+    }
+
+    private static Problem make(int rows, int columns, double density, int precision, Relation relation,
+        ObjectiveFunctionType type) {
+        Random random = new Random(SEED);
+        double[][] coefficients = new double[rows][columns];
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < columns; j++) {
+                if(random.nextDouble() < density) {
+                    coefficients[i][j] = 1 + random.nextInt(9);
+                }
+            }
+            coefficients[i][random.nextInt(columns)] = 1 + random.nextInt(9);
+        }
+        for(int j = 0; j < columns; j++) {
+            coefficients[random.nextInt(rows)][j] = 1 + random.nextInt(9);
+        }
+
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(precision);
+        for(int i = 0; i < rows; i++) {
+            double rowSum = 0.d;
+            for(int j = 0; j < columns; j++) {
+                rowSum += coefficients[i][j];
+            }
+            double rightValue = Math.ceil(rowSum * (1 + random.nextInt(5)) / 2);
+            problem.addEquation(ProblemEquation.make(coefficients[i], relation, rightValue));
+        }
+        double[] costs = new double[columns];
+        for(int j = 0; j < columns; j++) {
+            costs[j] = 1 + random.nextInt(9);
+        }
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(costs, type));
+        return problem;
+    }
+}
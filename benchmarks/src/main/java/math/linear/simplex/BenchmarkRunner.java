@@ -0,0 +1,23 @@
+package math.linear.simplex;
+
+/*
+ * Runs the benchmarks with the GC profiler, so the allocation rate is reported together with the throughput and
+ * the average time. The JMH command line options are accepted, e.g. a benchmark name pattern or -p rows=100.
+ */
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner
+{
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,59 @@
+package math.linear.simplex;
+
+/*
+ * Measures the branch and bound method on integer problems, starting from the optimal tableau of the linear relaxation
+ */
+
+import math.linear.problem.Problem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchAndBoundBenchmark
+{
+    @Param({"5", "10"})
+    private int rows;
+    @Param({"5", "10"})
+    private int columns;
+    @Param({"0.8", "1.0"})
+    private double density;
+    @Param({"16", "32"})
+    private int precision;
+
+    private Problem problem;
+    private Tableau relaxation;
+    private Tableau tableau;
+
+    @Setup
+    public void setUp() {
+        problem = BenchmarkProblems.makeOnePhase(rows, columns, density, precision);
+        relaxation = SimplexMethod.applyTo(BenchmarkProblems.build(problem));
+    }
+
+    @Setup(Level.Invocation)
+    public void copyTableau() {
+        tableau = relaxation.copy();
+    }
+
+    @Benchmark
+    public Tableau applyTo() {
+        return BranchAndBoundMethod.applyTo(problem, tableau);
+    }
+}
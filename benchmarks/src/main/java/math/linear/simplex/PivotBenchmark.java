@@ -0,0 +1,61 @@
+package math.linear.simplex;
+
+/*
+ * Measures the pivot operation. Every invocation brings a structural variable into the basis of the first equation
+ * and then takes the slack variable back, so the tableau returns to its initial state.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PivotBenchmark
+{
+    @Param({"10", "50"})
+    private int rows;
+    @Param({"10", "50"})
+    private int columns;
+    @Param({"0.2", "1.0"})
+    private double density;
+    @Param({"16", "32"})
+    private int precision;
+
+    private Tableau tableau;
+    private int rowNumber;
+    private int incomingIndex;
+    private int outcomingIndex;
+
+    @Setup
+    public void setUp() {
+        tableau = BenchmarkProblems.build(BenchmarkProblems.makeOnePhase(rows, columns, density, precision));
+        rowNumber = tableau.getObjectiveFunctionIndex() == 0 ? 1 : 0;
+        outcomingIndex = tableau.getBasicVariableIndex(rowNumber);
+        incomingIndex = 1;
+        while(tableau.getValue(rowNumber, incomingIndex) == 0.d) {
+            incomingIndex++;
+        }
+    }
+
+    @Benchmark
+    public Tableau pivotAndRestore() {
+        tableau.pivot(rowNumber, incomingIndex);
+        tableau.pivot(rowNumber, outcomingIndex);
+        return tableau;
+    }
+}
@@ -0,0 +1,61 @@
+package math.linear.simplex;
+
+/*
+ * Measures the simplex method on problems with and without the first phase. A fresh copy of the tableau is solved
+ * by every invocation.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimplexMethodBenchmark
+{
+    @Param({"ONE", "TWO"})
+    private String phases;
+    @Param({"10", "50"})
+    private int rows;
+    @Param({"10", "50"})
+    private int columns;
+    @Param({"0.2", "1.0"})
+    private double density;
+    @Param({"16", "32"})
+    private int precision;
+
+    private Tableau prototype;
+    private Tableau tableau;
+
+    @Setup
+    public void setUp() {
+        prototype = BenchmarkProblems.build("ONE".equals(phases)
+            ? BenchmarkProblems.makeOnePhase(rows, columns, density, precision)
+            : BenchmarkProblems.makeTwoPhases(rows, columns, density, precision));
+    }
+
+    @Setup(Level.Invocation)
+    public void copyTableau() {
+        tableau = prototype.copy();
+    }
+
+    @Benchmark
+    public Tableau applyTo() {
+        return SimplexMethod.applyTo(tableau);
+    }
+}
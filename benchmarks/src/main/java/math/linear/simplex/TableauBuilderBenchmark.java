@@ -0,0 +1,50 @@
+package math.linear.simplex;
+
+/*
+ * Measures building of the tableau from a problem
+ */
+
+import math.linear.problem.Problem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableauBuilderBenchmark
+{
+    @Param({"10", "50"})
+    private int rows;
+    @Param({"10", "50"})
+    private int columns;
+    @Param({"0.2", "1.0"})
+    private double density;
+    @Param({"16", "32"})
+    private int precision;
+
+    private Problem problem;
+
+    @Setup
+    public void setUp() {
+        problem = BenchmarkProblems.makeTwoPhases(rows, columns, density, precision);
+    }
+
+    @Benchmark
+    public Tableau build() {
+        return BenchmarkProblems.build(problem);
+    }
+}
@@ -0,0 +1,96 @@
+package math.linear.cutting;
+
+/*
+ * Represents the solution of a cutting order: the patterns and the number of pieces of stock each of them is cut from
+ */
+
+import java.util.Collections;
+import java.util.List;
+
+public class CutPlan
+{
+    private final CuttingOrder order;
+    private final List<CuttingPattern> patterns;
+    private final int[] repetitions;
+    private final double lowerBound;
+
+    CutPlan(CuttingOrder order, List<CuttingPattern> patterns, int[] repetitions, double lowerBound) {
+        this.order = order;
+        this.patterns = patterns;
+        this.repetitions = repetitions;
+        this.lowerBound = lowerBound;
+    }
+
+    public List<CuttingPattern> getPatterns() {
+        return Collections.unmodifiableList(patterns);
+    }
+
+    /**
+     * Returns the number of pieces of stock the pattern is cut from
+     * @param k the index of the pattern
+     * @return number of repetitions
+     */
+    public int getRepetitions(int k) {
+        return repetitions[k];
+    }
+
+    /**
+     * Returns the cost of all pieces of stock used
+     * @return total cost
+     */
+    public double getTotalCost() {
+        double cost = 0.d;
+        for(int k = 0; k < patterns.size(); k++) {
+            cost += repetitions[k] * order.getStockTypes().get(patterns.get(k).getStockType()).getCost();
+        }
+        return cost;
+    }
+
+    /**
+     * Returns the number of pieces of a stock type used
+     * @param stockType the index of the stock type
+     * @return number of pieces of stock
+     */
+    public int getNumberOfStocks(int stockType) {
+        int count = 0;
+        for(int k = 0; k < patterns.size(); k++) {
+            if(patterns.get(k).getStockType() == stockType) {
+                count += repetitions[k];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of pieces of an item cut by the plan, it may exceed the demand
+     * @param item the index of the item
+     * @return number of pieces
+     */
+    public int getProducedQuantity(int item) {
+        int count = 0;
+        for(int k = 0; k < patterns.size(); k++) {
+            count += repetitions[k] * patterns.get(k).getCount(item);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the waste of all pieces of stock used
+     * @return total waste
+     */
+    public double getTotalWaste() {
+        double waste = 0.d;
+        for(int k = 0; k < patterns.size(); k++) {
+            waste += repetitions[k] * patterns.get(k).getWaste();
+        }
+        return waste;
+    }
+
+    /**
+     * Returns the optimal cost of the linear relaxation, no plan may cost less
+     * @return lower bound
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+}
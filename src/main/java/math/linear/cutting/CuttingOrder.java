@@ -0,0 +1,125 @@
+package math.linear.cutting;
+
+/*
+ * Represents a cutting-stock order: the types of stock with their costs, the items with their lengths and demands,
+ * and the kerf, i.e. the width of material lost at every cut
+ */
+
+import math.linear.basic.MathUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CuttingOrder
+{
+    private final List<StockType> stockTypes = new ArrayList<>();
+    private final List<OrderItem> items = new ArrayList<>();
+    private double kerf = 0.d;
+
+    private CuttingOrder() {}
+
+    public static CuttingOrder getInstance() {
+        return new CuttingOrder();
+    }
+
+    /**
+     * Adds a type of stock available in any quantity
+     * @param length
+     * @param cost the cost of one piece of stock
+     * @return the index of the stock type
+     */
+    public int addStock(double length, double cost) {
+        return addStock(length, cost, MathUtils.NOT_ASSIGNED);
+    }
+
+    /**
+     * Adds a type of stock available in the given quantity
+     * @param length
+     * @param cost the cost of one piece of stock
+     * @param quantity the number of available pieces or MathUtils.NOT_ASSIGNED if it is unlimited
+     * @return the index of the stock type
+     */
+    public int addStock(double length, double cost, int quantity) {
+        if(length <= 0.d) {
+            throw new IllegalArgumentException("Stock length must be positive.");
+        }
+        if(cost < 0.d) {
+            throw new IllegalArgumentException("Stock cost must not be negative.");
+        }
+        if(quantity < 0 && quantity != MathUtils.NOT_ASSIGNED) {
+            throw new IllegalArgumentException("Stock quantity must not be negative.");
+        }
+        stockTypes.add(new StockType(length, cost, quantity));
+        return stockTypes.size() - 1;
+    }
+
+    /**
+     * Adds an item
+     * @param length the length of a piece
+     * @param demand the number of pieces
+     * @return the index of the item
+     */
+    public int addItem(double length, int demand) {
+        if(length <= 0.d) {
+            throw new IllegalArgumentException("Item length must be positive.");
+        }
+        if(demand < 0) {
+            throw new IllegalArgumentException("Item demand must not be negative.");
+        }
+        items.add(new OrderItem(length, demand));
+        return items.size() - 1;
+    }
+
+    /**
+     * Sets the width of material lost at every cut, zero by default
+     * @param kerf
+     */
+    public void setKerf(double kerf) {
+        if(kerf < 0.d) {
+            throw new IllegalArgumentException("Kerf must not be negative.");
+        }
+        this.kerf = kerf;
+    }
+
+    public double getKerf() {
+        return kerf;
+    }
+
+    public List<StockType> getStockTypes() {
+        return Collections.unmodifiableList(stockTypes);
+    }
+
+    public List<OrderItem> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Returns the maximum number of pieces of an item, which can be cut from a piece of stock
+     * @param item the index of the item
+     * @param stockType the index of the stock type
+     * @return number of pieces
+     */
+    public int getMaximumCount(int item, int stockType) {
+        double length = items.get(item).getLength() + kerf;
+        return (int) Math.floor((stockTypes.get(stockType).getLength() + kerf) / length + 1e-9);
+    }
+
+    public void validate() {
+        if(stockTypes.isEmpty()) {
+            throw new IllegalStateException("No stock assigned");
+        }
+        if(items.isEmpty()) {
+            throw new IllegalStateException("No items assigned");
+        }
+        for(int i = 0; i < items.size(); i++) {
+            boolean fits = false;
+            for(int s = 0; s < stockTypes.size() && !fits; s++) {
+                fits = getMaximumCount(i, s) > 0;
+            }
+            if(!fits) {
+                throw new IllegalStateException("Item " + i + " does not fit any stock.");
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package math.linear.cutting;
+
+/*
+ * Represents a way to cut a piece of stock: the numbers of pieces of the items cut from it
+ */
+
+import java.util.Arrays;
+
+public final class CuttingPattern
+{
+    private final int stockType;
+    private final int[] items;
+    private final int[] counts;
+    private final double usedLength;
+    private final double waste;
+
+    CuttingPattern(int stockType, int[] items, int[] counts, double usedLength, double waste) {
+        this.stockType = stockType;
+        this.items = items;
+        this.counts = counts;
+        this.usedLength = usedLength;
+        this.waste = waste;
+    }
+
+    /**
+     * Returns the index of the stock type the pattern is cut from
+     * @return stock type
+     */
+    public int getStockType() {
+        return stockType;
+    }
+
+    /**
+     * Returns the number of different items in the pattern
+     * @return number of items
+     */
+    public int getNumberOfItems() {
+        return items.length;
+    }
+
+    /**
+     * Returns the index of an item of the pattern in the order
+     * @param position the position in the pattern
+     * @return item index
+     */
+    public int getItemAt(int position) {
+        return items[position];
+    }
+
+    /**
+     * Returns the number of pieces of an item of the pattern
+     * @param position the position in the pattern
+     * @return number of pieces
+     */
+    public int getCountAt(int position) {
+        return counts[position];
+    }
+
+    /**
+     * Returns the number of pieces of an item of the order in the pattern
+     * @param item the index of the item in the order
+     * @return number of pieces
+     */
+    public int getCount(int item) {
+        int position = Arrays.binarySearch(items, item);
+        return position >= 0 ? counts[position] : 0;
+    }
+
+    /**
+     * Returns the length of the stock used by the pieces and the cuts between them
+     * @return used length
+     */
+    public double getUsedLength() {
+        return usedLength;
+    }
+
+    /**
+     * Returns the length of the stock not used by the pieces, including the kerf
+     * @return waste
+     */
+    public double getWaste() {
+        return waste;
+    }
+}
@@ -0,0 +1,300 @@
+package math.linear.cutting;
+
+/*
+ * Solves a cutting order. The master problem has an equation per item (the demand) and per limited stock type
+ * (the quantity), it is built by columns directly from the order. The linear relaxation is solved by the column
+ * generation with a knapsack oracle per stock type, then the integer plan is found by rounding the solution up or,
+ * if the rounded plan uses more stock than available or it is requested, by branch and bound over the generated patterns.
+ */
+
+import math.linear.basic.MathUtils;
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.BranchAndBoundMethod;
+import math.linear.simplex.ColumnGenerationMethod;
+import math.linear.simplex.ColumnGenerationSolution;
+import math.linear.simplex.GeneratedColumn;
+import math.linear.simplex.KnapsackPricingOracle;
+import math.linear.simplex.MasterProblem;
+import math.linear.simplex.PricingOracle;
+import math.linear.simplex.TableauBuilder;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CuttingStockMethod
+{
+    private static final double INTEGER_TOLERANCE = 1e-9;
+
+    private TableauBuilder tableauBuilder;
+    private int maxRounds = 1000;
+    private int numberOfColumns = 1;
+    private BranchAndBoundMethod branchAndBound;
+
+    private CuttingStockMethod() {}
+
+    /**
+     * Returns an instance of the method with default settings
+     * @return
+     */
+    public static CuttingStockMethod getInstance() {
+        return new CuttingStockMethod();
+    }
+
+    /**
+     * Solves the order with default settings
+     * @param order
+     * @return the cut plan
+     */
+    public static CutPlan applyTo(CuttingOrder order) {
+        return getInstance().solve(order);
+    }
+
+    /**
+     * Sets the builder the tableau of the master problem is made with, e.g. to choose the numeric backend
+     * @param tableauBuilder
+     */
+    public void setTableauBuilder(TableauBuilder tableauBuilder) {
+        this.tableauBuilder = tableauBuilder;
+    }
+
+    /**
+     * Sets the maximum number of rounds of the column generation
+     * @param maxRounds
+     */
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Sets the maximum number of patterns generated per stock type in a round
+     * @param numberOfColumns
+     */
+    public void setNumberOfColumns(int numberOfColumns) {
+        if(numberOfColumns <= 0) {
+            throw new IllegalArgumentException("Number of columns must be positive.");
+        }
+        this.numberOfColumns = numberOfColumns;
+    }
+
+    /**
+     * Sets the branch and bound method the integer plan is found with. If it is not set, the solution of the linear
+     * relaxation is rounded up, and branch and bound with default settings is used only if the rounded plan uses more
+     * stock than available.
+     * @param branchAndBound
+     */
+    public void setBranchAndBound(BranchAndBoundMethod branchAndBound) {
+        this.branchAndBound = branchAndBound;
+    }
+
+    /**
+     * Solves the order
+     * @param order
+     * @return the cut plan
+     */
+    public CutPlan solve(CuttingOrder order) {
+        order.validate();
+        List<OrderItem> items = order.getItems();
+        List<StockType> stockTypes = order.getStockTypes();
+        int numberOfItems = items.size();
+
+        MasterProblem master = MasterProblem.getInstance(ObjectiveFunctionType.MINIMUM);
+        for(OrderItem item : items) {
+            master.addEquation(Relation.GREATER_OR_EQUAL, item.getDemand());
+        }
+        int[] stockRows = new int[stockTypes.size()];
+        for(int s = 0; s < stockTypes.size(); s++) {
+            StockType stockType = stockTypes.get(s);
+            stockRows[s] = stockType.isLimited()
+                ? master.addEquation(Relation.LESS_OR_EQUAL, stockType.getQuantity())
+                : MathUtils.NOT_ASSIGNED;
+        }
+
+        Map<GeneratedColumn, Integer> columnStockTypes = new IdentityHashMap<>();
+        int numberOfEquations = master.getNumberOfEquations();
+        for(int i = 0; i < numberOfItems; i++) {
+            for(int s = 0; s < stockTypes.size(); s++) {
+                int count = Math.min(order.getMaximumCount(i, s), items.get(i).getDemand());
+                if(count == 0) continue;
+                int[] indices = stockRows[s] < 0 ? new int[]{i} : new int[]{i, stockRows[s]};
+                double[] values = stockRows[s] < 0 ? new double[]{count} : new double[]{count, 1.d};
+                GeneratedColumn column = GeneratedColumn.makeSparse(numberOfEquations, indices, values, stockTypes.get(s).getCost());
+                master.addColumn(column);
+                columnStockTypes.put(column, s);
+            }
+        }
+
+        ColumnGenerationMethod columnGeneration = ColumnGenerationMethod.getInstance();
+        columnGeneration.setMaxRounds(maxRounds);
+        if(tableauBuilder != null) {
+            columnGeneration.setTableauBuilder(tableauBuilder);
+        }
+        PatternOracle oracle = new PatternOracle(order, stockRows, numberOfEquations, columnStockTypes);
+        oracle.setNumberOfColumns(numberOfColumns);
+        ColumnGenerationSolution relaxation = columnGeneration.solve(master, oracle);
+
+        List<GeneratedColumn> columns = relaxation.getColumns();
+        double[] values = relaxation.getSolution();
+        int[] repetitions = roundUp(values);
+        if(branchAndBound != null || exceedsQuantities(columns, repetitions, stockRows, stockTypes)) {
+            repetitions = solveInteger(columns, relaxation);
+        }
+
+        List<CuttingPattern> patterns = new ArrayList<>();
+        List<Integer> usedRepetitions = new ArrayList<>();
+        for(int j = 0; j < columns.size(); j++) {
+            if(repetitions[j] > 0) {
+                patterns.add(makePattern(order, columns.get(j), columnStockTypes.get(columns.get(j))));
+                usedRepetitions.add(repetitions[j]);
+            }
+        }
+        int[] planRepetitions = new int[usedRepetitions.size()];
+        for(int k = 0; k < planRepetitions.length; k++) {
+            planRepetitions[k] = usedRepetitions.get(k);
+        }
+        return new CutPlan(order, patterns, planRepetitions, relaxation.getObjectiveValue());
+    }
+
+    private int[] solveInteger(List<GeneratedColumn> columns, ColumnGenerationSolution relaxation) {
+        double[] costs = new double[columns.size()];
+        for(int j = 0; j < costs.length; j++) {
+            costs[j] = columns.get(j).getCost();
+        }
+        BranchAndBoundMethod method = branchAndBound == null ? BranchAndBoundMethod.getInstance() : branchAndBound;
+        double[] values = method.solve(ProblemObjectiveFunction.make(costs, ObjectiveFunctionType.MINIMUM),
+            relaxation.getTableau()).getSolution();
+        int[] repetitions = new int[values.length];
+        for(int j = 0; j < values.length; j++) {
+            repetitions[j] = (int) Math.round(values[j]);
+        }
+        return repetitions;
+    }
+
+    private static int[] roundUp(double[] values) {
+        int[] repetitions = new int[values.length];
+        for(int j = 0; j < values.length; j++) {
+            repetitions[j] = (int) Math.ceil(values[j] - INTEGER_TOLERANCE);
+        }
+        return repetitions;
+    }
+
+    private static boolean exceedsQuantities(List<GeneratedColumn> columns, int[] repetitions, int[] stockRows,
+        List<StockType> stockTypes) {
+        for(int s = 0; s < stockRows.length; s++) {
+            if(stockRows[s] < 0) continue;
+            double used = 0.d;
+            for(int j = 0; j < columns.size(); j++) {
+                used += repetitions[j] * columns.get(j).getCoefficientAt(stockRows[s]);
+            }
+            if(used > stockTypes.get(s).getQuantity()) return true;
+        }
+        return false;
+    }
+
+    private static CuttingPattern makePattern(CuttingOrder order, GeneratedColumn column, int stockType) {
+        int numberOfItems = order.getItems().size();
+        int numberOfPieceItems = 0;
+        while(numberOfPieceItems < column.getNumberOfNonZeros() && column.getIndexAt(numberOfPieceItems) < numberOfItems) {
+            numberOfPieceItems++;
+        }
+        int[] items = new int[numberOfPieceItems];
+        int[] counts = new int[numberOfPieceItems];
+        double piecesLength = 0.d;
+        int numberOfPieces = 0;
+        for(int p = 0; p < numberOfPieceItems; p++) {
+            items[p] = column.getIndexAt(p);
+            counts[p] = (int) Math.round(column.getValueAt(p));
+            double length = order.getItems().get(items[p]).getLength();
+            piecesLength += counts[p] * length;
+            numberOfPieces += counts[p];
+        }
+        double stockLength = order.getStockTypes().get(stockType).getLength();
+        double usedLength = Math.min(stockLength, piecesLength + Math.max(numberOfPieces - 1, 0) * order.getKerf());
+        return new CuttingPattern(stockType, items, counts, usedLength, stockLength - piecesLength);
+    }
+
+    /**
+     * Prices the patterns of every stock type by a knapsack oracle. The cost of a pattern is reduced by the dual value
+     * of the quantity equation of its stock type.
+     */
+    private static class PatternOracle implements PricingOracle
+    {
+        private final CuttingOrder order;
+        private final int[] stockRows;
+        private final int numberOfEquations;
+        private final Map<GeneratedColumn, Integer> columnStockTypes;
+        private final KnapsackPricingOracle[] oracles;
+        private final double[] itemDualValues;
+
+        PatternOracle(CuttingOrder order, int[] stockRows, int numberOfEquations, Map<GeneratedColumn, Integer> columnStockTypes) {
+            this.order = order;
+            this.stockRows = stockRows;
+            this.numberOfEquations = numberOfEquations;
+            this.columnStockTypes = columnStockTypes;
+            List<OrderItem> items = order.getItems();
+            this.itemDualValues = new double[items.size()];
+            this.oracles = new KnapsackPricingOracle[stockRows.length];
+            double[] lengths = new double[items.size()];
+            for(int i = 0; i < lengths.length; i++) {
+                lengths[i] = items.get(i).getLength() + order.getKerf();
+            }
+            for(int s = 0; s < stockRows.length; s++) {
+                int[] bounds = new int[items.size()];
+                for(int i = 0; i < bounds.length; i++) {
+                    bounds[i] = Math.min(order.getMaximumCount(i, s), items.get(i).getDemand());
+                }
+                oracles[s] = KnapsackPricingOracle.make(lengths, bounds, order.getStockTypes().get(s).getLength() + order.getKerf());
+            }
+        }
+
+        void setNumberOfColumns(int numberOfColumns) {
+            for(KnapsackPricingOracle oracle : oracles) {
+                oracle.setNumberOfColumns(numberOfColumns);
+            }
+        }
+
+        @Override
+        public List<GeneratedColumn> getImprovingColumns(double[] dualValues) {
+            System.arraycopy(dualValues, 0, itemDualValues, 0, itemDualValues.length);
+            List<GeneratedColumn> columns = new ArrayList<>();
+            for(int s = 0; s < oracles.length; s++) {
+                double cost = order.getStockTypes().get(s).getCost();
+                KnapsackPricingOracle oracle = oracles[s];
+                oracle.setPatternCost(stockRows[s] < 0 ? cost : cost - dualValues[stockRows[s]]);
+                int found = oracle.price(itemDualValues);
+                for(int rank = 0; rank < found; rank++) {
+                    GeneratedColumn column = makeColumn(oracle, rank, s, cost);
+                    columnStockTypes.put(column, s);
+                    columns.add(column);
+                }
+            }
+            return columns;
+        }
+
+        private GeneratedColumn makeColumn(KnapsackPricingOracle oracle, int rank, int stockType, double cost) {
+            int numberOfNonZeros = stockRows[stockType] < 0 ? 0 : 1;
+            for(int i = 0; i < itemDualValues.length; i++) {
+                if(oracle.getPatternCount(rank, i) > 0) numberOfNonZeros++;
+            }
+            int[] indices = new int[numberOfNonZeros];
+            double[] values = new double[numberOfNonZeros];
+            int position = 0;
+            for(int i = 0; i < itemDualValues.length; i++) {
+                int count = oracle.getPatternCount(rank, i);
+                if(count > 0) {
+                    indices[position] = i;
+                    values[position] = count;
+                    position++;
+                }
+            }
+            if(stockRows[stockType] >= 0) {
+                indices[position] = stockRows[stockType];
+                values[position] = 1.d;
+            }
+            return GeneratedColumn.makeSparse(numberOfEquations, indices, values, cost);
+        }
+    }
+}
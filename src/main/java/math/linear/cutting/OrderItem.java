@@ -0,0 +1,24 @@
+package math.linear.cutting;
+
+/*
+ * Represents an item of a cutting order: the length of the pieces and the number of pieces demanded
+ */
+
+public final class OrderItem
+{
+    private final double length;
+    private final int demand;
+
+    OrderItem(double length, int demand) {
+        this.length = length;
+        this.demand = demand;
+    }
+
+    public double getLength() {
+        return length;
+    }
+
+    public int getDemand() {
+        return demand;
+    }
+}
@@ -0,0 +1,40 @@
+package math.linear.cutting;
+
+/*
+ * Represents a type of stock the items of a cutting order are cut from
+ */
+
+import math.linear.basic.MathUtils;
+
+public final class StockType
+{
+    private final double length;
+    private final double cost;
+    private final int quantity;
+
+    StockType(double length, double cost, int quantity) {
+        this.length = length;
+        this.cost = cost;
+        this.quantity = quantity;
+    }
+
+    public double getLength() {
+        return length;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Returns the number of available pieces of stock or MathUtils.NOT_ASSIGNED if it is unlimited
+     * @return quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public boolean isLimited() {
+        return quantity != MathUtils.NOT_ASSIGNED;
+    }
+}
@@ -0,0 +1,187 @@
+package math.linear.generator;
+
+/*
+ * Generates cutting orders from a seed in the manner of the CUTGEN generator of Gau and Waescher. The item lengths are
+ * integers drawn from the distribution between the minimum and the maximum share of the stock length, items of equal
+ * length are merged. The total demand, the number of items times the average demand, is split among the items at random,
+ * every item gets at least one piece.
+ * Additional stock types are shorter or longer than the first one, their cost is proportional to the length.
+ * An instance is determined by the seed, the number of items and the index of the instance.
+ */
+
+import math.linear.cutting.CuttingOrder;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class CuttingOrderGenerator
+{
+    private final long seed;
+    private double stockLength = 1000.d;
+    private int numberOfStockTypes = 1;
+    private double minLength = 0.1d;
+    private double maxLength = 0.5d;
+    private LengthDistribution lengthDistribution = LengthDistribution.UNIFORM;
+    private double averageDemand = 10.d;
+    private double kerf = 0.d;
+
+    private CuttingOrderGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns a generator with default settings: one stock type of the length 1000, items from 10% to 50% of the stock
+     * length, uniformly distributed, with the average demand 10
+     * @param seed
+     * @return
+     */
+    public static CuttingOrderGenerator getInstance(long seed) {
+        return new CuttingOrderGenerator(seed);
+    }
+
+    /**
+     * Sets the length of the first stock type
+     * @param stockLength
+     */
+    public void setStockLength(double stockLength) {
+        if(stockLength < 1.d) {
+            throw new IllegalArgumentException("Stock length must not be less than 1.");
+        }
+        this.stockLength = stockLength;
+    }
+
+    /**
+     * Sets the number of stock types, the lengths of the additional types are from 80% to 120% of the first one
+     * @param numberOfStockTypes
+     */
+    public void setNumberOfStockTypes(int numberOfStockTypes) {
+        if(numberOfStockTypes <= 0) {
+            throw new IllegalArgumentException("Number of stock types must be positive.");
+        }
+        this.numberOfStockTypes = numberOfStockTypes;
+    }
+
+    /**
+     * Sets the range of the item lengths as shares of the stock length
+     * @param minLength
+     * @param maxLength
+     */
+    public void setLengthRange(double minLength, double maxLength) {
+        if(minLength <= 0.d || minLength > maxLength || maxLength > 1.d) {
+            throw new IllegalArgumentException("Length range must satisfy 0 < min <= max <= 1.");
+        }
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Sets the distribution of the item lengths within the range
+     * @param lengthDistribution
+     */
+    public void setLengthDistribution(LengthDistribution lengthDistribution) {
+        this.lengthDistribution = lengthDistribution;
+    }
+
+    /**
+     * Sets the average demand of an item
+     * @param averageDemand
+     */
+    public void setAverageDemand(double averageDemand) {
+        if(averageDemand < 1.d) {
+            throw new IllegalArgumentException("Average demand must not be less than 1.");
+        }
+        this.averageDemand = averageDemand;
+    }
+
+    /**
+     * Sets the kerf of the generated orders
+     * @param kerf
+     */
+    public void setKerf(double kerf) {
+        if(kerf < 0.d) {
+            throw new IllegalArgumentException("Kerf must not be negative.");
+        }
+        this.kerf = kerf;
+    }
+
+    /**
+     * Makes an instance
+     * @param numberOfItems the number of item lengths drawn, equal lengths are merged
+     * @param index the index of the instance among the instances of the same size
+     * @return the order
+     */
+    public CuttingOrder make(int numberOfItems, int index) {
+        if(numberOfItems <= 0) {
+            throw new IllegalArgumentException("Number of items must be positive.");
+        }
+        Random random = new Random(GeneratorUtils.mix(seed, numberOfItems, index));
+        CuttingOrder order = CuttingOrder.getInstance();
+        order.setKerf(kerf);
+        order.addStock(stockLength, stockLength);
+        for(int s = 1; s < numberOfStockTypes; s++) {
+            double length = Math.floor(stockLength * (0.8d + 0.4d * random.nextDouble()));
+            order.addStock(length, length);
+        }
+
+        double[] lengths = new double[numberOfItems];
+        for(int i = 0; i < numberOfItems; i++) {
+            lengths[i] = Math.max(1.d, Math.round(stockLength * getLengthShare(random)));
+        }
+        double[] shares = new double[numberOfItems];
+        double sum = 0.d;
+        for(int i = 0; i < numberOfItems; i++) {
+            shares[i] = random.nextDouble();
+            sum += shares[i];
+        }
+        int[] demands = new int[numberOfItems];
+        for(int i = 0; i < numberOfItems; i++) {
+            demands[i] = Math.max(1, (int) Math.round(shares[i] / sum * numberOfItems * averageDemand));
+        }
+
+        Integer[] positions = new Integer[numberOfItems];
+        for(int i = 0; i < numberOfItems; i++) {
+            positions[i] = i;
+        }
+        Arrays.sort(positions, (position1, position2) -> Double.compare(lengths[position2], lengths[position1]));
+        int first = 0;
+        while(first < numberOfItems) {
+            int demand = 0;
+            int next = first;
+            while(next < numberOfItems && lengths[positions[next]] == lengths[positions[first]]) {
+                demand += demands[positions[next]];
+                next++;
+            }
+            order.addItem(lengths[positions[first]], demand);
+            first = next;
+        }
+        return order;
+    }
+
+    /**
+     * Returns the given number of instances for every number of items in turn. An instance is made only when it is
+     * requested.
+     * @param numbersOfItems the sizes of the orders
+     * @param numberOfInstances the number of instances per size
+     * @return the orders
+     */
+    public Iterable<CuttingOrder> sweep(int[] numbersOfItems, int numberOfInstances) {
+        return GeneratorUtils.sweep(numbersOfItems, numberOfInstances, this::make);
+    }
+
+    private double getLengthShare(Random random) {
+        double range = maxLength - minLength;
+        double share;
+        switch(lengthDistribution) {
+            case NORMAL:
+                share = minLength + range * (0.5d + random.nextGaussian() / 6);
+                break;
+            case BIMODAL:
+                double center = random.nextBoolean() ? 0.25d : 0.75d;
+                share = minLength + range * (center + random.nextGaussian() / 12);
+                break;
+            default:
+                share = minLength + range * random.nextDouble();
+        }
+        return Math.min(maxLength, Math.max(minLength, share));
+    }
+}
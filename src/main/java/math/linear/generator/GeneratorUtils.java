@@ -0,0 +1,61 @@
+package math.linear.generator;
+
+/*
+ * Helpers shared by the generators
+ */
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+final class GeneratorUtils
+{
+    private GeneratorUtils() {}
+
+    /**
+     * Mixes the seed of a generator with the values identifying an instance, so every instance has its own random sequence
+     * @param seed
+     * @param values
+     * @return the seed of the instance
+     */
+    static long mix(long seed, long... values) {
+        long hash = seed;
+        for(long value : values) {
+            hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 31;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the instances for every size in turn, an instance is made only when it is requested
+     * @param sizes the sizes
+     * @param numberOfInstances the number of instances per size
+     * @param maker makes the instance of the given size and index
+     * @return the instances
+     */
+    static <T> Iterable<T> sweep(int[] sizes, int numberOfInstances, BiFunction<Integer, Integer, T> maker) {
+        if(numberOfInstances < 0) {
+            throw new IllegalArgumentException("Number of instances must not be negative.");
+        }
+        int[] sweptSizes = sizes.clone();
+        return () -> new Iterator<T>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < sweptSizes.length * numberOfInstances;
+            }
+
+            @Override
+            public T next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T instance = maker.apply(sweptSizes[position / numberOfInstances], position % numberOfInstances);
+                position++;
+                return instance;
+            }
+        };
+    }
+}
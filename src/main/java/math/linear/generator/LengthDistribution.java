@@ -0,0 +1,21 @@
+package math.linear.generator;
+
+/*
+ * Defines the distribution of the item lengths between the minimum and the maximum length of a generated cutting order
+ */
+
+public enum LengthDistribution
+{
+    /**
+     * Every length of the range is equally likely
+     */
+    UNIFORM,
+    /**
+     * The lengths are grouped around the middle of the range
+     */
+    NORMAL,
+    /**
+     * The lengths are grouped around a quarter and three quarters of the range, like short and long parts of an order
+     */
+    BIMODAL;
+}
@@ -0,0 +1,231 @@
+package math.linear.generator;
+
+/*
+ * Generates linear problems from a seed. An instance is determined by the seed, the type, the number of variables and
+ * the index of the instance, so a sweep can be repeated or resumed from any instance.
+ * The problems maximize a function with positive integer costs. The coefficients of the equations are integers from 1
+ * to 9, the equations are built around a random integer point, which satisfies them. The first equations are
+ * LESS_OR_EQUAL, the rest GREATER_OR_EQUAL; every variable has a non-zero coefficient in a LESS_OR_EQUAL equation,
+ * so the maximum is bounded. The infeasible and unbounded problems break one of these rules on purpose.
+ * Only the equations of the dense problems are stored densely, the others keep their non-zero coefficients. The tableau
+ * is dense anyway, so the number of equations is limited, see setMaxEquations.
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ProblemGenerator
+{
+    private static final int MAX_COEFFICIENT = 9;
+    private static final int MAX_POINT_VALUE = 10;
+
+    private final long seed;
+    private double equationRatio = 0.5d;
+    private int maxEquations = 100;
+    private double density = 0.05d;
+    private double greaterRatio = 0.2d;
+    private int precision = 16;
+
+    private ProblemGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns a generator with default settings
+     * @param seed
+     * @return
+     */
+    public static ProblemGenerator getInstance(long seed) {
+        return new ProblemGenerator(seed);
+    }
+
+    /**
+     * Sets the number of equations per variable
+     * @param equationRatio
+     */
+    public void setEquationRatio(double equationRatio) {
+        if(equationRatio <= 0.d) {
+            throw new IllegalArgumentException("Equation ratio must be positive.");
+        }
+        this.equationRatio = equationRatio;
+    }
+
+    /**
+     * Sets the maximum number of equations of a problem
+     * @param maxEquations
+     */
+    public void setMaxEquations(int maxEquations) {
+        if(maxEquations <= 0) {
+            throw new IllegalArgumentException("Maximum number of equations must be positive.");
+        }
+        this.maxEquations = maxEquations;
+    }
+
+    /**
+     * Sets the share of non-zero coefficients in an equation of a sparse problem
+     * @param density
+     */
+    public void setDensity(double density) {
+        if(density <= 0.d || density > 1.d) {
+            throw new IllegalArgumentException("Density must be in (0, 1].");
+        }
+        this.density = density;
+    }
+
+    /**
+     * Sets the share of GREATER_OR_EQUAL equations, there is always at least one LESS_OR_EQUAL equation
+     * @param greaterRatio
+     */
+    public void setGreaterRatio(double greaterRatio) {
+        if(greaterRatio < 0.d || greaterRatio >= 1.d) {
+            throw new IllegalArgumentException("Greater ratio must be in [0, 1).");
+        }
+        this.greaterRatio = greaterRatio;
+    }
+
+    /**
+     * Sets the precision of the generated problems
+     * @param precision
+     */
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Returns the number of equations of a problem with the given number of variables, an infeasible problem has
+     * one equation more
+     * @param numberOfVariables
+     * @return
+     */
+    public int getNumberOfEquations(int numberOfVariables) {
+        return Math.max(1, Math.min(maxEquations, (int) Math.round(numberOfVariables * equationRatio)));
+    }
+
+    /**
+     * Makes an instance
+     * @param type the family of the problem
+     * @param numberOfVariables
+     * @param index the index of the instance among the instances of the same type and size
+     * @return the problem
+     */
+    public Problem make(ProblemType type, int numberOfVariables, int index) {
+        if(numberOfVariables <= 0) {
+            throw new IllegalArgumentException("Number of variables must be positive.");
+        }
+        Random random = new Random(GeneratorUtils.mix(seed, type.ordinal(), numberOfVariables, index));
+        int numberOfEquations = getNumberOfEquations(numberOfVariables);
+        int numberOfLessEquations = Math.max(1, numberOfEquations - (int) Math.round(numberOfEquations * greaterRatio));
+        double rowDensity = type == ProblemType.DENSE ? 1.d : density;
+
+        int unboundedVariable = type == ProblemType.UNBOUNDED ? random.nextInt(numberOfVariables) : -1;
+        int[] lessEquations = new int[numberOfVariables];
+        for(int j = 0; j < numberOfVariables; j++) {
+            lessEquations[j] = j == unboundedVariable ? -1 : random.nextInt(numberOfLessEquations);
+        }
+        double[] point = new double[numberOfVariables];
+        for(int j = 0; j < numberOfVariables; j++) {
+            boolean isZero = type == ProblemType.DEGENERATE && random.nextBoolean();
+            point[j] = isZero ? 0.d : random.nextInt(MAX_POINT_VALUE + 1);
+        }
+
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(precision);
+        int[] indices = new int[numberOfVariables];
+        double[] values = new double[numberOfVariables];
+        int[] firstIndices = null;
+        double[] firstValues = null;
+        double firstValue = 0.d;
+        for(int i = 0; i < numberOfEquations; i++) {
+            boolean isLess = i < numberOfLessEquations;
+            int size = 0;
+            for(int j = 0; j < numberOfVariables; j++) {
+                if(lessEquations[j] == i || random.nextDouble() < rowDensity) {
+                    indices[size] = j + 1;
+                    values[size++] = 1 + random.nextInt(MAX_COEFFICIENT);
+                }
+            }
+            if(size == 0) {
+                indices[size] = random.nextInt(numberOfVariables) + 1;
+                values[size++] = 1 + random.nextInt(MAX_COEFFICIENT);
+            }
+            if(isLess && unboundedVariable >= 0) {
+                size = removeIndex(indices, values, size, unboundedVariable + 1);
+            }
+            double value = 0.d;
+            for(int k = 0; k < size; k++) {
+                value += values[k] * point[indices[k] - 1];
+            }
+            double slack = type == ProblemType.DEGENERATE ? 0.d : Math.floor(random.nextDouble() * (value / 2 + 1));
+            double rightValue = isLess ? value + slack : Math.max(0.d, value - slack);
+            int[] rowIndices = Arrays.copyOf(indices, size);
+            double[] rowValues = Arrays.copyOf(values, size);
+            problem.addEquation(makeEquation(type, numberOfVariables, rowIndices, rowValues,
+                isLess ? Relation.LESS_OR_EQUAL : Relation.GREATER_OR_EQUAL, rightValue));
+            if(i == 0) {
+                firstIndices = rowIndices;
+                firstValues = rowValues;
+                firstValue = rightValue;
+            }
+        }
+        if(type == ProblemType.INFEASIBLE) {
+            problem.addEquation(makeEquation(type, numberOfVariables, firstIndices, firstValues, Relation.GREATER_OR_EQUAL,
+                firstValue + 1.d));
+        }
+
+        double[] costs = new double[numberOfVariables];
+        for(int j = 0; j < numberOfVariables; j++) {
+            costs[j] = 1 + random.nextInt(MAX_COEFFICIENT);
+        }
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(costs, ObjectiveFunctionType.MAXIMUM));
+        return problem;
+    }
+
+    /**
+     * Makes an equation from its non-zero coefficients, only an equation of a dense problem is expanded
+     * @param indices ascending indices of the variables, the first variable has index 1
+     */
+    private static ProblemEquation makeEquation(ProblemType type, int numberOfVariables, int[] indices, double[] values,
+                                                Relation relation, double rightValue) {
+        if(type != ProblemType.DENSE) {
+            return ProblemEquation.makeSparse(numberOfVariables, indices, values, relation, rightValue);
+        }
+        double[] coefficients = new double[numberOfVariables];
+        for(int k = 0; k < indices.length; k++) {
+            coefficients[indices[k] - 1] = values[k];
+        }
+        return ProblemEquation.make(coefficients, relation, rightValue);
+    }
+
+    /**
+     * Removes the coefficient of the variable from the first size entries
+     * @return the new number of entries
+     */
+    private static int removeIndex(int[] indices, double[] values, int size, int index) {
+        for(int k = 0; k < size; k++) {
+            if(indices[k] == index) {
+                System.arraycopy(indices, k + 1, indices, k, size - k - 1);
+                System.arraycopy(values, k + 1, values, k, size - k - 1);
+                return size - 1;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the given number of instances for every number of variables in turn. An instance is made only when it is
+     * requested, so a sweep over large sizes does not hold more than one problem.
+     * @param type the family of the problems
+     * @param numbersOfVariables the sizes of the problems
+     * @param numberOfInstances the number of instances per size
+     * @return the problems
+     */
+    public Iterable<Problem> sweep(ProblemType type, int[] numbersOfVariables, int numberOfInstances) {
+        return GeneratorUtils.sweep(numbersOfVariables, numberOfInstances, (size, index) -> make(type, size, index));
+    }
+}
@@ -0,0 +1,29 @@
+package math.linear.generator;
+
+/*
+ * Defines the family of the linear problems made by the generator
+ */
+
+public enum ProblemType
+{
+    /**
+     * All coefficients of the equations are non-zero
+     */
+    DENSE,
+    /**
+     * The coefficients of the equations are non-zero with the density of the generator
+     */
+    SPARSE,
+    /**
+     * A sparse problem, whose equations are all tight at the same point, so many bases represent the same solution
+     */
+    DEGENERATE,
+    /**
+     * A sparse problem with an additional equation contradicting one of the others
+     */
+    INFEASIBLE,
+    /**
+     * A sparse problem with a variable, which can grow without bound and improves the objective function
+     */
+    UNBOUNDED;
+}
@@ -0,0 +1,460 @@
+package math.linear.io;
+
+/*
+ * Reads a problem in the CPLEX LP format. The input is read once, token by token, the terms of a constraint go to
+ * the row as they come, see ProblemAssembler.
+ * Supported are the objective (Maximize or Minimize), Subject To, Bounds, General, Binary and End sections. A section
+ * keyword must start a line. The variables are numbered in the order they first appear, they are continuous unless
+ * they are listed in the General or Binary section. A constant term of the objective function does not change
+ * the solution and is ignored, a constant on the left side of a constraint is moved to the right one.
+ * Ranged constraints, quadratic terms, semi-continuous variables and special ordered sets are not supported.
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+public class LpReader
+{
+    private static final String[] MAXIMIZE = {"maximize", "maximise", "maximum", "max"};
+    private static final String[] MINIMIZE = {"minimize", "minimise", "minimum", "min"};
+
+    private enum Section { OBJECTIVE, CONSTRAINTS, BOUNDS, GENERAL, BINARY, UNSUPPORTED, END }
+
+    private int precision = 16;
+
+    private LpReader() {}
+
+    public static LpReader getInstance() {
+        return new LpReader();
+    }
+
+    /**
+     * Sets the precision of the problems read
+     * @param precision
+     */
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Reads a problem from a file
+     * @param path
+     * @return the problem
+     * @throws IOException if the file cannot be read or is not a valid LP file
+     */
+    public Problem read(Path path) throws IOException {
+        try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Reads a problem, the reader is not closed
+     * @param reader
+     * @return the problem
+     * @throws IOException if the input cannot be read or is not a valid LP file
+     */
+    public Problem read(Reader reader) throws IOException {
+        Parser parser = new Parser(new Tokenizer(reader));
+        try {
+            parser.parse();
+        } catch(IOException | RuntimeException ex) {
+            throw new IOException("Line " + parser.tokenizer.lineNumber + ": " + ex.getMessage(), ex);
+        }
+        return parser.assembler.build(precision);
+    }
+
+    private enum TokenType { NAME, NUMBER, OPERATOR, END }
+
+    private static final class Token
+    {
+        private final TokenType type;
+        private final String text;
+        private final boolean isLineStart;
+
+        private Token(TokenType type, String text, boolean isLineStart) {
+            this.type = type;
+            this.text = text;
+            this.isLineStart = isLineStart;
+        }
+
+        private boolean is(String operator) {
+            return type == TokenType.OPERATOR && text.equals(operator);
+        }
+
+        private boolean isName(String... names) {
+            if(type != TokenType.NAME) return false;
+            for(String name : names) {
+                if(text.equalsIgnoreCase(name)) return true;
+            }
+            return false;
+        }
+    }
+
+    /*
+     * Splits the input into names, numbers and operators, the comments are skipped
+     */
+    private static final class Tokenizer
+    {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private boolean isLineStart = true;
+        private int lineNumber = 1;
+        private final Deque<Token> lookahead = new ArrayDeque<>();
+        private final StringBuilder text = new StringBuilder();
+
+        private Tokenizer(Reader reader) {
+            this.reader = reader;
+        }
+
+        private Token peek(int k) throws IOException {
+            while(lookahead.size() <= k) {
+                lookahead.addLast(read());
+            }
+            return k == 0 ? lookahead.peekFirst() : lookahead.stream().skip(k).findFirst().get();
+        }
+
+        private Token next() throws IOException {
+            return lookahead.isEmpty() ? read() : lookahead.pollFirst();
+        }
+
+        private int peekChar() throws IOException {
+            if(position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if(limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position];
+        }
+
+        private Token read() throws IOException {
+            int c = peekChar();
+            while(c != -1 && (Character.isWhitespace(c) || c == '\\')) {
+                if(c == '\\') {
+                    while(c != -1 && c != '\n') {
+                        position++;
+                        c = peekChar();
+                    }
+                    continue;
+                }
+                if(c == '\n') {
+                    isLineStart = true;
+                    lineNumber++;
+                }
+                position++;
+                c = peekChar();
+            }
+            boolean isFirst = isLineStart;
+            isLineStart = false;
+            if(c == -1) {
+                return new Token(TokenType.END, "", true);
+            }
+            text.setLength(0);
+            if(Character.isDigit(c) || c == '.') {
+                readNumber();
+                return new Token(TokenType.NUMBER, text.toString(), isFirst);
+            }
+            if(isNameChar(c)) {
+                while(c != -1 && (isNameChar(c) || Character.isDigit(c) || c == '.')) {
+                    text.append((char) c);
+                    position++;
+                    c = peekChar();
+                }
+                return new Token(TokenType.NAME, text.toString(), isFirst);
+            }
+            text.append((char) c);
+            position++;
+            if(c == '<' || c == '>' || c == '=') {
+                int d = peekChar();
+                if(d == '=' || (c == '=' && (d == '<' || d == '>'))) {
+                    text.append((char) d);
+                    position++;
+                }
+                return new Token(TokenType.OPERATOR, normalize(text.toString()), isFirst);
+            }
+            if(c == '+' || c == '-' || c == ':') {
+                return new Token(TokenType.OPERATOR, text.toString(), isFirst);
+            }
+            throw new IOException("Unexpected character " + (char) c + ".");
+        }
+
+        private void readNumber() throws IOException {
+            int c = peekChar();
+            while(c != -1 && (Character.isDigit(c) || c == '.')) {
+                text.append((char) c);
+                position++;
+                c = peekChar();
+            }
+            if(c == 'e' || c == 'E') {
+                text.append((char) c);
+                position++;
+                c = peekChar();
+                if(c == '+' || c == '-') {
+                    text.append((char) c);
+                    position++;
+                    c = peekChar();
+                }
+                while(c != -1 && Character.isDigit(c)) {
+                    text.append((char) c);
+                    position++;
+                    c = peekChar();
+                }
+            }
+        }
+
+        private static boolean isNameChar(int c) {
+            return Character.isLetter(c) || "_!\"#$%&()/,;?@`'{}|~".indexOf(c) >= 0;
+        }
+
+        private static String normalize(String operator) {
+            switch(operator) {
+                case "<":
+                case "=<":
+                    return "<=";
+                case ">":
+                case "=>":
+                    return ">=";
+                default:
+                    return operator;
+            }
+        }
+    }
+
+    private static final class Parser
+    {
+        private final Tokenizer tokenizer;
+        private final ProblemAssembler assembler = new ProblemAssembler();
+        private int[] columns = new int[16];
+        private double[] values = new double[16];
+        private int size;
+
+        private Parser(Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        private void parse() throws IOException {
+            Section section = getSection();
+            if(section != Section.OBJECTIVE) {
+                throw new IOException("The problem must start with Maximize or Minimize.");
+            }
+            boolean isMaximum = tokenizer.next().isName(MAXIMIZE);
+            assembler.setObjectiveFunctionType(isMaximum ? ObjectiveFunctionType.MAXIMUM : ObjectiveFunctionType.MINIMUM);
+            skipLabel();
+            readTerms();
+            for(int k = 0; k < size; k++) {
+                assembler.addCost(columns[k], values[k]);
+            }
+            while((section = getSection()) != Section.END) {
+                if(section == null) {
+                    throw new IOException("Unexpected " + tokenizer.peek(0).text + ".");
+                }
+                if(section == Section.UNSUPPORTED) {
+                    throw new IOException("Section " + tokenizer.peek(0).text + " is not supported.");
+                }
+                if(section == Section.OBJECTIVE) {
+                    throw new IOException("Duplicate objective function.");
+                }
+                tokenizer.next();
+                if(section == Section.CONSTRAINTS && tokenizer.peek(0).isName("to", "that")) {
+                    tokenizer.next();
+                }
+                while(getSection() == null) {
+                    switch(section) {
+                        case CONSTRAINTS:
+                            readConstraint();
+                            break;
+                        case BOUNDS:
+                            readBound();
+                            break;
+                        default:
+                            Token token = tokenizer.next();
+                            if(token.type != TokenType.NAME) {
+                                throw new IOException("Variable expected instead of " + token.text + ".");
+                            }
+                            int column = assembler.addColumn(token.text);
+                            assembler.setInteger(column, true);
+                            if(section == Section.BINARY) {
+                                assembler.setLowerBound(column, 0.d);
+                                assembler.setUpperBound(column, 1.d);
+                            }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the section started by the next token or null if the token does not start a section
+         */
+        private Section getSection() throws IOException {
+            Token token = tokenizer.peek(0);
+            if(token.type == TokenType.END || token.isName("end") && token.isLineStart) {
+                return Section.END;
+            }
+            if(!token.isLineStart || token.type != TokenType.NAME) {
+                return null;
+            }
+            if(token.isName(MAXIMIZE) || token.isName(MINIMIZE)) {
+                return Section.OBJECTIVE;
+            }
+            if(token.isName("st", "s.t.", "st.") || token.isName("subject") && tokenizer.peek(1).isName("to")
+                || token.isName("such") && tokenizer.peek(1).isName("that")) {
+                return Section.CONSTRAINTS;
+            }
+            if(token.isName("bounds", "bound")) {
+                return Section.BOUNDS;
+            }
+            if(token.isName("general", "generals", "gen", "integer", "integers")) {
+                return Section.GENERAL;
+            }
+            if(token.isName("binary", "binaries", "bin")) {
+                return Section.BINARY;
+            }
+            if(token.isName("semi-continuous", "semis", "semi", "sos")) {
+                return Section.UNSUPPORTED;
+            }
+            return null;
+        }
+
+        private void skipLabel() throws IOException {
+            if(tokenizer.peek(0).type == TokenType.NAME && tokenizer.peek(1).is(":")) {
+                tokenizer.next();
+                tokenizer.next();
+            }
+        }
+
+        /**
+         * Reads the terms up to a relation or a section into the term arrays
+         * @return the sum of the constant terms
+         */
+        private double readTerms() throws IOException {
+            size = 0;
+            double constant = 0.d;
+            while(getSection() == null && tokenizer.peek(0).type != TokenType.OPERATOR
+                || tokenizer.peek(0).is("+") || tokenizer.peek(0).is("-")) {
+                double sign = readSign();
+                double value = 1.d;
+                boolean hasNumber = tokenizer.peek(0).type == TokenType.NUMBER;
+                if(hasNumber) {
+                    value = ProblemFormatUtils.parseNumber(tokenizer.next().text);
+                }
+                Token token = tokenizer.peek(0);
+                if(token.type == TokenType.NAME && !(token.isLineStart && getSection() != null)) {
+                    tokenizer.next();
+                    addTerm(assembler.addColumn(token.text), sign * value);
+                } else if(hasNumber) {
+                    constant += sign * value;
+                } else {
+                    throw new IOException("Term expected instead of " + token.text + ".");
+                }
+            }
+            return constant;
+        }
+
+        private void readConstraint() throws IOException {
+            String label = null;
+            if(tokenizer.peek(0).type == TokenType.NAME && tokenizer.peek(1).is(":")) {
+                label = tokenizer.next().text;
+                tokenizer.next();
+            }
+            double constant = readTerms();
+            Relation relation = readRelation();
+            double rightValue = readValue();
+            if(Double.isInfinite(rightValue)) {
+                throw new IOException("Right value must be finite.");
+            }
+            int row = assembler.addRow(label, relation);
+            for(int k = 0; k < size; k++) {
+                assembler.addCoefficient(row, columns[k], values[k]);
+            }
+            assembler.setRightValue(row, rightValue - constant);
+        }
+
+        private void readBound() throws IOException {
+            Token token = tokenizer.peek(0);
+            if(token.type == TokenType.NAME && !token.isName("inf", "infinity")) {
+                int column = assembler.addColumn(tokenizer.next().text);
+                if(tokenizer.peek(0).isName("free")) {
+                    tokenizer.next();
+                    assembler.setLowerBound(column, Double.NEGATIVE_INFINITY);
+                    return;
+                }
+                applyBound(column, readRelation(), readValue());
+                return;
+            }
+            double value = readValue();
+            Relation relation = readRelation();
+            Token name = tokenizer.next();
+            if(name.type != TokenType.NAME) {
+                throw new IOException("Variable expected instead of " + name.text + ".");
+            }
+            int column = assembler.addColumn(name.text);
+            applyBound(column, relation.invert(), value);
+            if(tokenizer.peek(0).type == TokenType.OPERATOR && !tokenizer.peek(0).is("+") && !tokenizer.peek(0).is("-")) {
+                applyBound(column, readRelation(), readValue());
+            }
+        }
+
+        private void applyBound(int column, Relation relation, double value) {
+            if(!relation.isLessOrEqual()) {
+                assembler.setLowerBound(column, value);
+            }
+            if(!relation.isGreaterOrEqual()) {
+                assembler.setUpperBound(column, value);
+            }
+        }
+
+        private Relation readRelation() throws IOException {
+            Token token = tokenizer.next();
+            if(token.is("<=")) return Relation.LESS_OR_EQUAL;
+            if(token.is(">=")) return Relation.GREATER_OR_EQUAL;
+            if(token.is("=")) return Relation.EQUAL;
+            throw new IOException("Relation expected instead of " + token.text + ".");
+        }
+
+        private double readValue() throws IOException {
+            double sign = readSign();
+            Token token = tokenizer.next();
+            if(token.type == TokenType.NUMBER) {
+                return sign * ProblemFormatUtils.parseNumber(token.text);
+            }
+            if(token.isName("inf", "infinity")) {
+                return sign * Double.POSITIVE_INFINITY;
+            }
+            throw new IOException("Number expected instead of " + token.text + ".");
+        }
+
+        private double readSign() throws IOException {
+            double sign = 1.d;
+            while(tokenizer.peek(0).is("+") || tokenizer.peek(0).is("-")) {
+                if(tokenizer.next().is("-")) sign = -sign;
+            }
+            return sign;
+        }
+
+        private void addTerm(int column, double value) {
+            if(size == columns.length) {
+                columns = Arrays.copyOf(columns, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            columns[size] = column;
+            values[size] = value;
+            size++;
+        }
+    }
+}
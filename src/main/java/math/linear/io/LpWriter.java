@@ -0,0 +1,136 @@
+package math.linear.io;
+
+/*
+ * Writes a problem in the CPLEX LP format, which LpReader and other solvers read. The variables are named x1, x2, ...,
+ * the equations r1, r2, ... The objective function lists every variable, even with a zero coefficient, so a reader
+ * numbering the variables by their first appearance keeps their order and number. The variables of a Problem are
+ * non-negative, which is the default of the format, so there is no Bounds section; the integer variables are listed
+ * in the General section.
+ */
+
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class LpWriter
+{
+    private static final int TERMS_PER_LINE = 10;
+
+    private LpWriter() {}
+
+    public static LpWriter getInstance() {
+        return new LpWriter();
+    }
+
+    /**
+     * Writes a problem to a file
+     * @param problem
+     * @param path
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Problem problem, Path path) throws IOException {
+        try(BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.ISO_8859_1)) {
+            write(problem, writer);
+        }
+    }
+
+    /**
+     * Writes a problem, the writer is flushed but not closed
+     * @param problem
+     * @param writer
+     * @throws IOException if the output cannot be written
+     */
+    public void write(Problem problem, Writer writer) throws IOException {
+        problem.validate();
+        BufferedWriter out = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+        List<ProblemEquation> equations = problem.getEquations();
+        int numberOfVariables = problem.getNumberOfVariables();
+        ProblemObjectiveFunction objectiveFunction = problem.getObjectiveFunction();
+
+        out.write(objectiveFunction.getType().isFindMaximum() ? "Maximize" : "Minimize");
+        out.newLine();
+        out.write(" obj:");
+        for(int j = 1; j <= numberOfVariables; j++) {
+            writeTerm(out, objectiveFunction.getCoefficientAt(j), j, j - 1);
+        }
+        out.newLine();
+
+        out.write("Subject To");
+        out.newLine();
+        for(int i = 0; i < equations.size(); i++) {
+            ProblemEquation equation = equations.get(i);
+            out.write(" r" + (i + 1) + ":");
+            int count = 0;
+            for(int k = 0; k < equation.getNumberOfStoredCoefficients(); k++) {
+                int j = equation.getStoredIndexAt(k);
+                double value = equation.getStoredValueAt(k);
+                if(j > 0 && value != 0.d) {
+                    writeTerm(out, value, j, count++);
+                }
+            }
+            if(count == 0) {
+                writeTerm(out, 0.d, 1, 0);
+            }
+            switch(equation.getRelation()) {
+                case LESS_OR_EQUAL:
+                    out.write(" <= ");
+                    break;
+                case GREATER_OR_EQUAL:
+                    out.write(" >= ");
+                    break;
+                default:
+                    out.write(" = ");
+            }
+            out.write(ProblemFormatUtils.format(equation.getCoefficientAt(0)));
+            out.newLine();
+        }
+
+        boolean hasIntegers = false;
+        int count = 0;
+        for(int j = 1; j <= numberOfVariables; j++) {
+            if(!problem.isInteger(j)) continue;
+            if(!hasIntegers) {
+                out.write("General");
+                out.newLine();
+                hasIntegers = true;
+            }
+            out.write(" x" + j);
+            if(++count % TERMS_PER_LINE == 0) {
+                out.newLine();
+            }
+        }
+        if(count % TERMS_PER_LINE != 0) {
+            out.newLine();
+        }
+        out.write("End");
+        out.newLine();
+        out.flush();
+    }
+
+    /**
+     * Writes a term, a long expression is continued on the next line
+     * @param position the number of the term in the expression
+     */
+    private static void writeTerm(BufferedWriter out, double value, int column, int position) throws IOException {
+        if(position > 0 && position % TERMS_PER_LINE == 0) {
+            out.newLine();
+            out.write("   ");
+        }
+        if(position > 0 || value < 0.d) {
+            out.write(value < 0.d ? " - " : " + ");
+        } else {
+            out.write(' ');
+        }
+        out.write(ProblemFormatUtils.format(Math.abs(value)));
+        out.write(" x");
+        out.write(Integer.toString(column));
+    }
+}
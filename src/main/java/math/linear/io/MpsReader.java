@@ -0,0 +1,286 @@
+package math.linear.io;
+
+/*
+ * Reads a problem in the free MPS format. The file is read once, line by line, the coefficients of the COLUMNS section
+ * go to the rows as they come, see ProblemAssembler.
+ * Supported are the sections NAME, OBJSENSE, ROWS, COLUMNS with the integer markers, RHS, RANGES, BOUNDS and ENDATA.
+ * The first N row is the objective function, the other N rows are skipped. The right value of the objective function,
+ * a constant term, does not change the solution and is ignored. The variables are continuous unless they are between
+ * the INTORG and INTEND markers or have an integer bound type.
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+public class MpsReader
+{
+    private static final int MAX_TOKENS = 7;
+    private static final int SKIPPED_ROW = -2;
+
+    private enum Section { NONE, NAME, OBJSENSE, ROWS, COLUMNS, RHS, RANGES, BOUNDS, ENDATA }
+
+    private int precision = 16;
+
+    private MpsReader() {}
+
+    public static MpsReader getInstance() {
+        return new MpsReader();
+    }
+
+    /**
+     * Sets the precision of the problems read
+     * @param precision
+     */
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Reads a problem from a file
+     * @param path
+     * @return the problem
+     * @throws IOException if the file cannot be read or is not a valid MPS file
+     */
+    public Problem read(Path path) throws IOException {
+        try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Reads a problem, the reader is not closed
+     * @param reader
+     * @return the problem
+     * @throws IOException if the input cannot be read or is not a valid MPS file
+     */
+    public Problem read(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        ProblemAssembler assembler = new ProblemAssembler();
+        Set<String> skippedRows = new HashSet<>();
+        String objectiveRow = null;
+        boolean isInteger = false;
+        Section section = Section.NONE;
+        String[] tokens = new String[MAX_TOKENS];
+        int lineNumber = 0;
+        String line;
+        while((line = lines.readLine()) != null) {
+            lineNumber++;
+            int count = split(line, tokens);
+            if(count == 0 || tokens[0].charAt(0) == '*') continue;
+            try {
+                if(!Character.isWhitespace(line.charAt(0))) {
+                    section = getSection(tokens[0]);
+                    if(section == Section.OBJSENSE && count > 1) {
+                        assembler.setObjectiveFunctionType(getObjectiveFunctionType(tokens[1]));
+                    } else if(section == Section.ENDATA) {
+                        break;
+                    }
+                    continue;
+                }
+                switch(section) {
+                    case OBJSENSE:
+                        assembler.setObjectiveFunctionType(getObjectiveFunctionType(tokens[0]));
+                        break;
+                    case ROWS:
+                        checkCount(count, 2, 2);
+                        String type = tokens[0].toUpperCase();
+                        if(type.equals("N")) {
+                            if(objectiveRow == null) {
+                                objectiveRow = tokens[1];
+                            } else {
+                                skippedRows.add(tokens[1]);
+                            }
+                        } else {
+                            assembler.addRow(tokens[1], getRelation(type));
+                        }
+                        break;
+                    case COLUMNS:
+                        if(count >= 3 && tokens[1].equals("'MARKER'")) {
+                            if(tokens[2].equals("'INTORG'")) {
+                                isInteger = true;
+                            } else if(tokens[2].equals("'INTEND'")) {
+                                isInteger = false;
+                            } else {
+                                throw new IOException("Unknown marker " + tokens[2] + ".");
+                            }
+                            break;
+                        }
+                        checkCount(count, 3, 5);
+                        int column = assembler.getColumn(tokens[0]);
+                        if(column == ProblemAssembler.NOT_ASSIGNED) {
+                            column = assembler.addColumn(tokens[0]);
+                            assembler.setInteger(column, isInteger);
+                        }
+                        for(int k = 1; k + 1 < count; k += 2) {
+                            double value = ProblemFormatUtils.parseNumber(tokens[k + 1]);
+                            int row = getRow(assembler, tokens[k], objectiveRow, skippedRows);
+                            if(row == ProblemAssembler.NOT_ASSIGNED) {
+                                assembler.addCost(column, value);
+                            } else if(row != SKIPPED_ROW) {
+                                assembler.addCoefficient(row, column, value);
+                            }
+                        }
+                        break;
+                    case RHS:
+                    case RANGES:
+                        checkCount(count, 2, 5);
+                        for(int k = count % 2; k + 1 < count; k += 2) {
+                            double value = ProblemFormatUtils.parseNumber(tokens[k + 1]);
+                            int row = getRow(assembler, tokens[k], objectiveRow, skippedRows);
+                            if(row < 0) continue;
+                            if(section == Section.RHS) {
+                                assembler.setRightValue(row, value);
+                            } else {
+                                assembler.setRange(row, value);
+                            }
+                        }
+                        break;
+                    case BOUNDS:
+                        readBound(assembler, tokens, count);
+                        break;
+                    default:
+                        throw new IOException("Data outside of a section.");
+                }
+            } catch(IOException | RuntimeException ex) {
+                throw new IOException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+            }
+        }
+        if(objectiveRow == null) {
+            throw new IOException("The problem has no objective function.");
+        }
+        return assembler.build(precision);
+    }
+
+    /**
+     * Applies a line of the BOUNDS section, the name of the bound set is optional
+     */
+    private static void readBound(ProblemAssembler assembler, String[] tokens, int count) throws IOException {
+        checkCount(count, 2, 4);
+        String type = tokens[0].toUpperCase();
+        boolean hasValue = !(type.equals("FR") || type.equals("MI") || type.equals("PL") || type.equals("BV"));
+        int columnPosition;
+        if(type.equals("BV")) {
+            columnPosition = count == 4 || (count == 3 && assembler.getColumn(tokens[2]) != ProblemAssembler.NOT_ASSIGNED) ? 2 : 1;
+        } else {
+            columnPosition = count == (hasValue ? 4 : 3) ? 2 : 1;
+            checkCount(count, columnPosition + (hasValue ? 2 : 1), columnPosition + (hasValue ? 2 : 1));
+        }
+        int column = assembler.getColumn(tokens[columnPosition]);
+        if(column == ProblemAssembler.NOT_ASSIGNED) {
+            throw new IOException("Unknown column " + tokens[columnPosition] + ".");
+        }
+        double value = hasValue ? ProblemFormatUtils.parseNumber(tokens[columnPosition + 1]) : 0.d;
+        switch(type) {
+            case "UP":
+                assembler.setUpperBound(column, value);
+                break;
+            case "LO":
+                assembler.setLowerBound(column, value);
+                break;
+            case "FX":
+                assembler.setLowerBound(column, value);
+                assembler.setUpperBound(column, value);
+                break;
+            case "FR":
+            case "MI":
+                assembler.setLowerBound(column, Double.NEGATIVE_INFINITY);
+                break;
+            case "PL":
+                assembler.setUpperBound(column, Double.POSITIVE_INFINITY);
+                break;
+            case "BV":
+                assembler.setInteger(column, true);
+                assembler.setUpperBound(column, 1.d);
+                break;
+            case "LI":
+                assembler.setInteger(column, true);
+                assembler.setLowerBound(column, value);
+                break;
+            case "UI":
+                assembler.setInteger(column, true);
+                assembler.setUpperBound(column, value);
+                break;
+            default:
+                throw new IOException("Unknown bound type " + tokens[0] + ".");
+        }
+    }
+
+    private static int getRow(ProblemAssembler assembler, String name, String objectiveRow, Set<String> skippedRows) throws IOException {
+        if(name.equals(objectiveRow)) {
+            return ProblemAssembler.NOT_ASSIGNED;
+        }
+        if(skippedRows.contains(name)) {
+            return SKIPPED_ROW;
+        }
+        int row = assembler.getRow(name);
+        if(row == ProblemAssembler.NOT_ASSIGNED) {
+            throw new IOException("Unknown row " + name + ".");
+        }
+        return row;
+    }
+
+    private static Section getSection(String name) throws IOException {
+        try {
+            return Section.valueOf(name.toUpperCase());
+        } catch(IllegalArgumentException ex) {
+            throw new IOException("Unknown section " + name + ".");
+        }
+    }
+
+    private static Relation getRelation(String type) throws IOException {
+        switch(type) {
+            case "L": return Relation.LESS_OR_EQUAL;
+            case "G": return Relation.GREATER_OR_EQUAL;
+            case "E": return Relation.EQUAL;
+            default: throw new IOException("Unknown row type " + type + ".");
+        }
+    }
+
+    private static ObjectiveFunctionType getObjectiveFunctionType(String sense) throws IOException {
+        switch(sense.toUpperCase()) {
+            case "MAX":
+            case "MAXIMIZE":
+                return ObjectiveFunctionType.MAXIMUM;
+            case "MIN":
+            case "MINIMIZE":
+                return ObjectiveFunctionType.MINIMUM;
+            default:
+                throw new IOException("Unknown objective sense " + sense + ".");
+        }
+    }
+
+    private static void checkCount(int count, int min, int max) throws IOException {
+        if(count < min || count > max) {
+            throw new IOException("Unexpected number of fields.");
+        }
+    }
+
+    /**
+     * Splits a line at the whitespace into the given array
+     * @return the number of tokens, which is one more than the array can take if the line is too long
+     */
+    private static int split(String line, String[] tokens) {
+        int count = 0;
+        int length = line.length();
+        int position = 0;
+        while(position < length) {
+            while(position < length && Character.isWhitespace(line.charAt(position))) position++;
+            if(position == length) break;
+            int start = position;
+            while(position < length && !Character.isWhitespace(line.charAt(position))) position++;
+            if(count == tokens.length) return count + 1;
+            tokens[count++] = line.substring(start, position);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,167 @@
+package math.linear.io;
+
+/*
+ * Writes a problem in the free MPS format, which MpsReader and other solvers read. The variables are named X1, X2, ...,
+ * the equations R1, R2, ..., the objective function OBJ. The equations are turned into columns in one pass over
+ * their non-zero coefficients, every column is written, even one without coefficients, so the number of variables is
+ * kept. The integer variables are put between markers, the variables of a Problem are non-negative, so there is
+ * no BOUNDS section.
+ */
+
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class MpsWriter
+{
+    private static final String OBJECTIVE_ROW = "OBJ";
+
+    private String name = "PROBLEM";
+
+    private MpsWriter() {}
+
+    public static MpsWriter getInstance() {
+        return new MpsWriter();
+    }
+
+    /**
+     * Sets the name written to the NAME section
+     * @param name
+     */
+    public void setName(String name) {
+        if(name == null || name.isEmpty() || name.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException("Name must be a non-empty word.");
+        }
+        this.name = name;
+    }
+
+    /**
+     * Writes a problem to a file
+     * @param problem
+     * @param path
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Problem problem, Path path) throws IOException {
+        try(BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.ISO_8859_1)) {
+            write(problem, writer);
+        }
+    }
+
+    /**
+     * Writes a problem, the writer is flushed but not closed
+     * @param problem
+     * @param writer
+     * @throws IOException if the output cannot be written
+     */
+    public void write(Problem problem, Writer writer) throws IOException {
+        problem.validate();
+        BufferedWriter out = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+        List<ProblemEquation> equations = problem.getEquations();
+        int numberOfVariables = problem.getNumberOfVariables();
+
+        out.write("NAME " + name);
+        out.newLine();
+        out.write("OBJSENSE");
+        out.newLine();
+        out.write(problem.getObjectiveFunction().getType().isFindMaximum() ? "    MAX" : "    MIN");
+        out.newLine();
+        out.write("ROWS");
+        out.newLine();
+        out.write(" N  " + OBJECTIVE_ROW);
+        out.newLine();
+        for(int i = 0; i < equations.size(); i++) {
+            out.write(' ');
+            out.write(getRowType(equations.get(i)));
+            out.write("  R");
+            out.write(Integer.toString(i + 1));
+            out.newLine();
+        }
+
+        int[] columnStarts = new int[numberOfVariables + 2];
+        for(ProblemEquation equation : equations) {
+            for(int k = 0; k < equation.getNumberOfStoredCoefficients(); k++) {
+                if(equation.getStoredIndexAt(k) > 0 && equation.getStoredValueAt(k) != 0.d) {
+                    columnStarts[equation.getStoredIndexAt(k) + 1]++;
+                }
+            }
+        }
+        for(int j = 1; j <= numberOfVariables; j++) {
+            columnStarts[j + 1] += columnStarts[j];
+        }
+        int[] rowIndices = new int[columnStarts[numberOfVariables + 1]];
+        double[] values = new double[rowIndices.length];
+        int[] positions = columnStarts.clone();
+        for(int i = 0; i < equations.size(); i++) {
+            ProblemEquation equation = equations.get(i);
+            for(int k = 0; k < equation.getNumberOfStoredCoefficients(); k++) {
+                int j = equation.getStoredIndexAt(k);
+                if(j > 0 && equation.getStoredValueAt(k) != 0.d) {
+                    rowIndices[positions[j]] = i;
+                    values[positions[j]] = equation.getStoredValueAt(k);
+                    positions[j]++;
+                }
+            }
+        }
+
+        out.write("COLUMNS");
+        out.newLine();
+        boolean isInteger = false;
+        int marker = 0;
+        for(int j = 1; j <= numberOfVariables; j++) {
+            if(problem.isInteger(j) != isInteger) {
+                isInteger = !isInteger;
+                out.write("    M" + (isInteger ? ++marker : marker) + " 'MARKER' " + (isInteger ? "'INTORG'" : "'INTEND'"));
+                out.newLine();
+            }
+            double cost = problem.getObjectiveFunction().getCoefficientAt(j);
+            if(cost != 0.d || columnStarts[j] == columnStarts[j + 1]) {
+                writeEntry(out, j, OBJECTIVE_ROW, cost);
+            }
+            for(int position = columnStarts[j]; position < columnStarts[j + 1]; position++) {
+                writeEntry(out, j, "R" + (rowIndices[position] + 1), values[position]);
+            }
+        }
+        if(isInteger) {
+            out.write("    M" + marker + " 'MARKER' 'INTEND'");
+            out.newLine();
+        }
+
+        out.write("RHS");
+        out.newLine();
+        for(int i = 0; i < equations.size(); i++) {
+            double rightValue = equations.get(i).getCoefficientAt(0);
+            if(rightValue != 0.d) {
+                out.write("    RHS R" + (i + 1) + " " + ProblemFormatUtils.format(rightValue));
+                out.newLine();
+            }
+        }
+        out.write("ENDATA");
+        out.newLine();
+        out.flush();
+    }
+
+    private static void writeEntry(BufferedWriter out, int column, String row, double value) throws IOException {
+        out.write("    X");
+        out.write(Integer.toString(column));
+        out.write(' ');
+        out.write(row);
+        out.write(' ');
+        out.write(ProblemFormatUtils.format(value));
+        out.newLine();
+    }
+
+    private static char getRowType(ProblemEquation equation) {
+        switch(equation.getRelation()) {
+            case LESS_OR_EQUAL: return 'L';
+            case GREATER_OR_EQUAL: return 'G';
+            default: return 'E';
+        }
+    }
+}
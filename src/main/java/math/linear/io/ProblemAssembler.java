@@ -0,0 +1,269 @@
+package math.linear.io;
+
+/*
+ * Collects a problem while a file is parsed and makes the Problem at the end, when the number of variables is known.
+ * The coefficients of every row are collected as index and value arrays, which grow as entries come, so no dense row
+ * is built on the way; a row becomes a sparse ProblemEquation.
+ * The variables of a Problem are non-negative, so the bounds are converted: a positive lower bound becomes
+ * a GREATER_OR_EQUAL equation, a finite upper bound a LESS_OR_EQUAL one, a fixed variable an EQUAL one. A negative
+ * lower bound, including a free variable, cannot be represented and is rejected.
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class ProblemAssembler
+{
+    static final double INFINITY = 1e30;
+    static final int NOT_ASSIGNED = -1;
+
+    private final Map<String, Integer> columnIndices = new HashMap<>();
+    private final List<String> columnNames = new ArrayList<>();
+    private final Map<String, Integer> rowIndices = new HashMap<>();
+    private final List<Row> rows = new ArrayList<>();
+    private double[] costs = new double[16];
+    private double[] lowerBounds = new double[16];
+    private double[] upperBounds = new double[16];
+    private final BitSet integerColumns = new BitSet();
+    private ObjectiveFunctionType objectiveFunctionType = ObjectiveFunctionType.MINIMUM;
+
+    /**
+     * Returns the index of a column, the first column has index 1
+     * @param name
+     * @return the index or NOT_ASSIGNED if the column is unknown
+     */
+    int getColumn(String name) {
+        Integer index = columnIndices.get(name);
+        return index == null ? NOT_ASSIGNED : index;
+    }
+
+    /**
+     * Returns the index of a column, a new column is added for an unknown name
+     * @param name
+     * @return the index starting with 1
+     */
+    int addColumn(String name) {
+        Integer index = columnIndices.get(name);
+        if(index != null) {
+            return index;
+        }
+        columnNames.add(name);
+        int column = columnNames.size();
+        columnIndices.put(name, column);
+        if(column >= costs.length) {
+            int capacity = costs.length * 2;
+            costs = Arrays.copyOf(costs, capacity);
+            lowerBounds = Arrays.copyOf(lowerBounds, capacity);
+            upperBounds = Arrays.copyOf(upperBounds, capacity);
+        }
+        upperBounds[column] = Double.POSITIVE_INFINITY;
+        return column;
+    }
+
+    /**
+     * Returns the index of a row
+     * @param name
+     * @return the index or NOT_ASSIGNED if the row is unknown
+     */
+    int getRow(String name) {
+        Integer index = rowIndices.get(name);
+        return index == null ? NOT_ASSIGNED : index;
+    }
+
+    /**
+     * Adds a row
+     * @param name the name or null for an unnamed row
+     * @param relation
+     * @return the index of the row
+     * @throws IOException if a row with the name exists
+     */
+    int addRow(String name, Relation relation) throws IOException {
+        int row = rows.size();
+        if(name != null && rowIndices.putIfAbsent(name, row) != null) {
+            throw new IOException("Duplicate row " + name + ".");
+        }
+        rows.add(new Row(relation));
+        return row;
+    }
+
+    void addCoefficient(int row, int column, double value) {
+        rows.get(row).add(column, value);
+    }
+
+    void setRightValue(int row, double value) {
+        rows.get(row).rightValue = value;
+    }
+
+    void setRange(int row, double value) {
+        rows.get(row).range = value;
+    }
+
+    void addCost(int column, double value) {
+        costs[column] += value;
+    }
+
+    void setObjectiveFunctionType(ObjectiveFunctionType objectiveFunctionType) {
+        this.objectiveFunctionType = objectiveFunctionType;
+    }
+
+    void setInteger(int column, boolean isInteger) {
+        integerColumns.set(column, isInteger);
+    }
+
+    void setLowerBound(int column, double value) {
+        lowerBounds[column] = value <= -INFINITY ? Double.NEGATIVE_INFINITY : value;
+    }
+
+    void setUpperBound(int column, double value) {
+        upperBounds[column] = value >= INFINITY ? Double.POSITIVE_INFINITY : value;
+    }
+
+    double getUpperBound(int column) {
+        return upperBounds[column];
+    }
+
+    /**
+     * Makes the problem, the rows come first in the order they were added, the bound equations follow
+     * @param precision the precision of the problem
+     * @return the problem
+     * @throws IOException if there are no variables or a variable may be negative
+     */
+    Problem build(int precision) throws IOException {
+        int numberOfVariables = columnNames.size();
+        if(numberOfVariables == 0) {
+            throw new IOException("The problem has no variables.");
+        }
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(precision);
+        for(Row row : rows) {
+            row.addTo(problem, numberOfVariables);
+        }
+        int[] index = new int[1];
+        double[] one = {1.d};
+        for(int column = 1; column <= numberOfVariables; column++) {
+            double lowerBound = lowerBounds[column];
+            double upperBound = upperBounds[column];
+            if(lowerBound < 0.d) {
+                throw new IOException("Variable " + columnNames.get(column - 1) + " may be negative, only non-negative variables are supported.");
+            }
+            if(upperBound < lowerBound) {
+                throw new IOException("Variable " + columnNames.get(column - 1) + " has an upper bound below the lower one.");
+            }
+            index[0] = column;
+            if(lowerBound == upperBound) {
+                problem.addEquation(ProblemEquation.makeSparse(numberOfVariables, index, one, Relation.EQUAL, lowerBound));
+                continue;
+            }
+            if(lowerBound > 0.d) {
+                problem.addEquation(ProblemEquation.makeSparse(numberOfVariables, index, one, Relation.GREATER_OR_EQUAL, lowerBound));
+            }
+            if(upperBound != Double.POSITIVE_INFINITY) {
+                problem.addEquation(ProblemEquation.makeSparse(numberOfVariables, index, one, Relation.LESS_OR_EQUAL, upperBound));
+            }
+        }
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(Arrays.copyOfRange(costs, 1, numberOfVariables + 1), objectiveFunctionType));
+        for(int column = 1; column <= numberOfVariables; column++) {
+            problem.setInteger(column, integerColumns.get(column));
+        }
+        return problem;
+    }
+
+    /*
+     * The coefficients of a row in the order they were read
+     */
+    private static final class Row
+    {
+        private final Relation relation;
+        private int[] indices = new int[4];
+        private double[] values = new double[4];
+        private int size;
+        private boolean isSorted = true;
+        private double rightValue;
+        private double range = Double.NaN;
+
+        private Row(Relation relation) {
+            this.relation = relation;
+        }
+
+        private void add(int column, double value) {
+            if(size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            isSorted &= size == 0 || indices[size - 1] < column;
+            indices[size] = column;
+            values[size] = value;
+            size++;
+        }
+
+        /**
+         * Sorts the coefficients by the column and sums the coefficients of the same column
+         */
+        private void compact() {
+            if(isSorted) {
+                indices = Arrays.copyOf(indices, size);
+                values = Arrays.copyOf(values, size);
+                return;
+            }
+            Integer[] positions = new Integer[size];
+            for(int k = 0; k < size; k++) {
+                positions[k] = k;
+            }
+            Arrays.sort(positions, (position1, position2) -> Integer.compare(indices[position1], indices[position2]));
+            int[] sortedIndices = new int[size];
+            double[] sortedValues = new double[size];
+            int count = 0;
+            for(int k = 0; k < size; k++) {
+                int column = indices[positions[k]];
+                if(count > 0 && sortedIndices[count - 1] == column) {
+                    sortedValues[count - 1] += values[positions[k]];
+                } else {
+                    sortedIndices[count] = column;
+                    sortedValues[count] = values[positions[k]];
+                    count++;
+                }
+            }
+            indices = Arrays.copyOf(sortedIndices, count);
+            values = Arrays.copyOf(sortedValues, count);
+            size = count;
+            isSorted = true;
+        }
+
+        /**
+         * Adds the row to the problem, a ranged row becomes a pair of equations
+         */
+        private void addTo(Problem problem, int numberOfVariables) {
+            compact();
+            if(Double.isNaN(range) || range == 0.d) {
+                Relation rowRelation = Double.isNaN(range) ? relation : Relation.EQUAL;
+                problem.addEquation(ProblemEquation.makeSparse(numberOfVariables, indices, values, rowRelation, rightValue));
+                return;
+            }
+            double lower;
+            double upper;
+            if(relation.isEqual()) {
+                lower = range > 0.d ? rightValue : rightValue + range;
+                upper = range > 0.d ? rightValue + range : rightValue;
+            } else if(relation.isLessOrEqual()) {
+                lower = rightValue - Math.abs(range);
+                upper = rightValue;
+            } else {
+                lower = rightValue;
+                upper = rightValue + Math.abs(range);
+            }
+            problem.addEquation(ProblemEquation.makeSparse(numberOfVariables, indices, values, Relation.GREATER_OR_EQUAL, lower));
+            problem.addEquation(ProblemEquation.makeSparse(numberOfVariables, indices, values, Relation.LESS_OR_EQUAL, upper));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package math.linear.io;
+
+/*
+ * Helpers shared by the readers and the writers
+ */
+
+import java.io.IOException;
+
+final class ProblemFormatUtils
+{
+    private static final double MAX_EXACT_INTEGER = 1e15;
+
+    private ProblemFormatUtils() {}
+
+    /**
+     * Formats a number so it is read back exactly, an integer value is written without the fraction
+     * @param value
+     * @return the text
+     */
+    static String format(double value) {
+        if(value == Math.rint(value) && Math.abs(value) < MAX_EXACT_INTEGER) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    static double parseNumber(String text) throws IOException {
+        try {
+            return Double.parseDouble(text);
+        } catch(NumberFormatException ex) {
+            throw new IOException("Invalid number " + text + ".");
+        }
+    }
+}
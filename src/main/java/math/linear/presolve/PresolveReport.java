@@ -0,0 +1,99 @@
+package math.linear.presolve;
+
+/*
+ * Keeps the numbers of equations and variables removed by every reduction of the presolve
+ */
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class PresolveReport
+{
+    private final Map<Reduction, Integer> removedRows = new EnumMap<>(Reduction.class);
+    private final Map<Reduction, Integer> removedColumns = new EnumMap<>(Reduction.class);
+    private int numberOfTightenedBounds;
+    private int numberOfPasses;
+
+    PresolveReport() {
+        for(Reduction reduction : Reduction.values()) {
+            removedRows.put(reduction, 0);
+            removedColumns.put(reduction, 0);
+        }
+    }
+
+    void addRemovedRow(Reduction reduction) {
+        removedRows.put(reduction, removedRows.get(reduction) + 1);
+    }
+
+    void addRemovedColumn(Reduction reduction) {
+        removedColumns.put(reduction, removedColumns.get(reduction) + 1);
+    }
+
+    void addTightenedBound() {
+        numberOfTightenedBounds++;
+    }
+
+    void setNumberOfPasses(int numberOfPasses) {
+        this.numberOfPasses = numberOfPasses;
+    }
+
+    /**
+     * Returns the number of equations removed by the reduction
+     * @param reduction
+     * @return number of equations
+     */
+    public int getRemovedRows(Reduction reduction) {
+        return removedRows.get(reduction);
+    }
+
+    /**
+     * Returns the number of variables removed by the reduction
+     * @param reduction
+     * @return number of variables
+     */
+    public int getRemovedColumns(Reduction reduction) {
+        return removedColumns.get(reduction);
+    }
+
+    public int getTotalRemovedRows() {
+        int total = 0;
+        for(int count : removedRows.values()) total += count;
+        return total;
+    }
+
+    public int getTotalRemovedColumns() {
+        int total = 0;
+        for(int count : removedColumns.values()) total += count;
+        return total;
+    }
+
+    /**
+     * Returns the number of variable bounds tightened by the equations
+     * @return number of bounds
+     */
+    public int getNumberOfTightenedBounds() {
+        return numberOfTightenedBounds;
+    }
+
+    /**
+     * Returns the number of passes over all reductions until nothing was removed
+     * @return number of passes
+     */
+    public int getNumberOfPasses() {
+        return numberOfPasses;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Presolve: %d rows, %d columns removed in %d passes, %d bounds tightened",
+            getTotalRemovedRows(), getTotalRemovedColumns(), numberOfPasses, numberOfTightenedBounds));
+        for(Reduction reduction : Reduction.values()) {
+            if(removedRows.get(reduction) > 0 || removedColumns.get(reduction) > 0) {
+                builder.append(String.format("\n  %s: %d rows, %d columns", reduction, removedRows.get(reduction),
+                    removedColumns.get(reduction)));
+            }
+        }
+        return builder.toString();
+    }
+}
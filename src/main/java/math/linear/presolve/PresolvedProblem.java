@@ -0,0 +1,150 @@
+package math.linear.presolve;
+
+/*
+ * Represents the result of the presolve: the reduced problem and the records needed to map a solution of the reduced
+ * problem back to the original one. If the presolve has removed all equations or variables, there is no reduced
+ * problem and the original solution is known already.
+ */
+
+import math.linear.problem.Problem;
+
+import java.util.List;
+
+public class PresolvedProblem
+{
+    private static final double TOLERANCE = 1e-9;
+    private static final int NOT_ASSIGNED = -1;
+
+    private final Problem problem;
+    private final PresolveReport report;
+    private final double[][] coefficients;
+    private final double[] costs;
+    private final double factor;
+    private final int[] columnMap;
+    private final int[] rowMap;
+    private final double[] fixedValues;
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final int[] lowerSources;
+    private final int[] upperSources;
+    private final List<int[]> singletonRows;
+
+    PresolvedProblem(Problem problem, PresolveReport report, double[][] coefficients, double[] costs, double factor,
+        int[] columnMap, int[] rowMap, double[] fixedValues, double[] lowerBounds, double[] upperBounds,
+        int[] lowerSources, int[] upperSources, List<int[]> singletonRows) {
+        this.problem = problem;
+        this.report = report;
+        this.coefficients = coefficients;
+        this.costs = costs;
+        this.factor = factor;
+        this.columnMap = columnMap;
+        this.rowMap = rowMap;
+        this.fixedValues = fixedValues;
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.lowerSources = lowerSources;
+        this.upperSources = upperSources;
+        this.singletonRows = singletonRows;
+    }
+
+    /**
+     * Returns the reduced problem. Its variables are the remaining variables of the original problem in their order,
+     * shifted by their lower bounds; its equations are the remaining equations followed by the upper bounds.
+     * @return the reduced problem or null if it is solved by the presolve
+     */
+    public Problem getProblem() {
+        return problem;
+    }
+
+    /**
+     * Checks if the presolve has found the solution
+     * @return true if there is no reduced problem
+     */
+    public boolean isSolved() {
+        return problem == null;
+    }
+
+    public PresolveReport getReport() {
+        return report;
+    }
+
+    /**
+     * Returns the solution of the original problem, if the presolve has found it
+     * @return array of values
+     */
+    public double[] getSolution() {
+        if(!isSolved()) {
+            throw new IllegalStateException("The reduced problem has to be solved.");
+        }
+        return postsolve(new double[0]);
+    }
+
+    /**
+     * Maps a solution of the reduced problem to the original variables
+     * @param reducedSolution the values of the variables of the reduced problem
+     * @return the values of the variables of the original problem
+     */
+    public double[] postsolve(double[] reducedSolution) {
+        if(reducedSolution.length != columnMap.length) {
+            throw new IllegalArgumentException("Solution length does not match the reduced problem.");
+        }
+        double[] solution = fixedValues.clone();
+        for(int c = 0; c < columnMap.length; c++) {
+            int j = columnMap[c];
+            solution[j] = lowerBounds[j] + reducedSolution[c];
+        }
+        return solution;
+    }
+
+    /**
+     * Maps the dual values of the reduced problem to the equations of the original problem. The removed equations get
+     * zero, except the equations turned into bounds: if the bound is active, the reduced cost of the variable
+     * is moved to the dual value of the equation.
+     * @param reducedDualValues the dual values of the reduced problem, the upper bounds may be omitted
+     * @param solution the solution of the original problem returned by postsolve()
+     * @return the dual values of the equations of the original problem
+     */
+    public double[] postsolveDualValues(double[] reducedDualValues, double[] solution) {
+        if(reducedDualValues.length < rowMap.length) {
+            throw new IllegalArgumentException("Number of dual values does not match the reduced problem.");
+        }
+        double[] dualValues = new double[coefficients.length];
+        for(int r = 0; r < rowMap.length; r++) {
+            dualValues[rowMap[r]] = reducedDualValues[r];
+        }
+        for(int k = singletonRows.size() - 1; k >= 0; k--) {
+            int i = singletonRows.get(k)[0];
+            int j = singletonRows.get(k)[1];
+            double reducedCost = getReducedCost(j, dualValues);
+            if(reducedCost == 0.d) continue;
+            boolean atLower = lowerSources[j] == i && Math.abs(solution[j] - lowerBounds[j]) <= TOLERANCE;
+            boolean atUpper = upperSources[j] == i && Math.abs(solution[j] - upperBounds[j]) <= TOLERANCE;
+            boolean prefersLower = factor * reducedCost > 0.d;
+            if((atLower && prefersLower) || (atUpper && !prefersLower)) {
+                dualValues[i] = reducedCost / coefficients[i][j];
+            }
+        }
+        return dualValues;
+    }
+
+    /**
+     * Returns the value of the objective function of the original problem
+     * @param solution the solution of the original problem
+     * @return objective value
+     */
+    public double getObjectiveValue(double[] solution) {
+        double value = 0.d;
+        for(int j = 0; j < costs.length; j++) {
+            value += costs[j] * solution[j];
+        }
+        return value;
+    }
+
+    private double getReducedCost(int j, double[] dualValues) {
+        double reducedCost = costs[j];
+        for(int i = 0; i < coefficients.length; i++) {
+            reducedCost -= dualValues[i] * coefficients[i][j];
+        }
+        return reducedCost;
+    }
+}
@@ -0,0 +1,585 @@
+package math.linear.presolve;
+
+/*
+ * Reduces a problem before the tableau is built. The reductions are applied in passes until a pass removes nothing.
+ * The variables of the problem are non-negative; the bounds found by the reductions are kept by the presolver:
+ * a positive lower bound shifts the variable, a finite upper bound is added to the reduced problem as an equation.
+ * The bounds of the integer variables are rounded to integers, so that the shifted variables stay integer.
+ * The removed equations and variables are recorded, so PresolvedProblem maps a solution of the reduced problem
+ * and its dual values back to the original problem.
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public class Presolver
+{
+    private static final double DEFAULT_TOLERANCE = 1e-9;
+    private static final int DEFAULT_MAX_PASSES = 20;
+    private static final int NOT_ASSIGNED = -1;
+
+    private final Set<Reduction> reductions = EnumSet.allOf(Reduction.class);
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int maxPasses = DEFAULT_MAX_PASSES;
+
+    private int numberOfRows;
+    private int numberOfColumns;
+    private double[][] coefficients;
+    private Relation[] relations;
+    private double[] rightValues;
+    private double[] costs;
+    private boolean[] integerColumns;
+    private double factor;
+    private boolean[] activeRows;
+    private boolean[] activeColumns;
+    private double[] lowerBounds;
+    private double[] upperBounds;
+    private int[] lowerSources;
+    private int[] upperSources;
+    private double[] fixedValues;
+    private List<int[]> singletonRows;
+    private boolean[] tightenedLower;
+    private boolean[] tightenedUpper;
+    private PresolveReport report;
+
+    private Presolver() {}
+
+    /**
+     * Returns an instance of the presolver with all reductions enabled
+     * @return
+     */
+    public static Presolver getInstance() {
+        return new Presolver();
+    }
+
+    /**
+     * Presolves the problem with all reductions enabled
+     * @param problem
+     * @return the presolved problem
+     */
+    public static PresolvedProblem applyTo(Problem problem) {
+        return getInstance().presolve(problem);
+    }
+
+    /**
+     * Enables or disables a reduction
+     * @param reduction
+     * @param enabled
+     */
+    public void setEnabled(Reduction reduction, boolean enabled) {
+        if(enabled) {
+            reductions.add(reduction);
+        } else {
+            reductions.remove(reduction);
+        }
+    }
+
+    /**
+     * Sets the tolerance two values are treated as equal with
+     * @param tolerance
+     */
+    public void setTolerance(double tolerance) {
+        if(tolerance < 0.d) {
+            throw new IllegalArgumentException("Tolerance must not be negative.");
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Sets the maximum number of passes over all reductions
+     * @param maxPasses
+     */
+    public void setMaxPasses(int maxPasses) {
+        if(maxPasses <= 0) {
+            throw new IllegalArgumentException("Maximum number of passes must be positive.");
+        }
+        this.maxPasses = maxPasses;
+    }
+
+    /**
+     * Reduces the problem
+     * @param problem the problem, it is not changed
+     * @return the presolved problem
+     */
+    public PresolvedProblem presolve(Problem problem) {
+        problem.validate();
+        load(problem);
+
+        int pass = 0;
+        boolean changed = true;
+        while(changed && pass < maxPasses) {
+            pass++;
+            changed = false;
+            if(reductions.contains(Reduction.EMPTY_ROWS)) changed |= removeEmptyRows();
+            if(reductions.contains(Reduction.SINGLETON_ROWS)) changed |= removeSingletonRows();
+            if(reductions.contains(Reduction.FIXED_VARIABLES)) changed |= removeFixedVariables();
+            if(reductions.contains(Reduction.EMPTY_COLUMNS)) changed |= removeEmptyColumns();
+            if(reductions.contains(Reduction.DOMINATED_COLUMNS)) changed |= removeDominatedColumns();
+            if(reductions.contains(Reduction.DUPLICATE_ROWS)) changed |= removeDuplicateRows();
+            if(reductions.contains(Reduction.BOUND_TIGHTENING)) changed |= removeRedundantRows();
+        }
+        report.setNumberOfPasses(pass);
+        return makePresolvedProblem(problem);
+    }
+
+    private void load(Problem problem) {
+        List<ProblemEquation> equations = problem.getEquations();
+        ProblemObjectiveFunction objectiveFunction = problem.getObjectiveFunction();
+        numberOfRows = equations.size();
+        numberOfColumns = problem.getNumberOfVariables();
+        coefficients = new double[numberOfRows][numberOfColumns];
+        relations = new Relation[numberOfRows];
+        rightValues = new double[numberOfRows];
+        for(int i = 0; i < numberOfRows; i++) {
+            ProblemEquation equation = equations.get(i);
+            relations[i] = equation.getRelation();
+            rightValues[i] = equation.getCoefficientAt(0);
+            for(int j = 0; j < numberOfColumns; j++) {
+                coefficients[i][j] = equation.getCoefficientAt(j + 1);
+            }
+        }
+        costs = new double[numberOfColumns];
+        integerColumns = new boolean[numberOfColumns];
+        for(int j = 0; j < numberOfColumns; j++) {
+            costs[j] = objectiveFunction.getCoefficientAt(j + 1);
+            integerColumns[j] = problem.isInteger(j + 1);
+        }
+        factor = objectiveFunction.getType().isFindMaximum() ? -1.d : 1.d;
+        activeRows = new boolean[numberOfRows];
+        activeColumns = new boolean[numberOfColumns];
+        Arrays.fill(activeRows, true);
+        Arrays.fill(activeColumns, true);
+        lowerBounds = new double[numberOfColumns];
+        upperBounds = new double[numberOfColumns];
+        Arrays.fill(upperBounds, Double.POSITIVE_INFINITY);
+        lowerSources = new int[numberOfColumns];
+        upperSources = new int[numberOfColumns];
+        Arrays.fill(lowerSources, NOT_ASSIGNED);
+        Arrays.fill(upperSources, NOT_ASSIGNED);
+        fixedValues = new double[numberOfColumns];
+        singletonRows = new ArrayList<>();
+        tightenedLower = new boolean[numberOfColumns];
+        tightenedUpper = new boolean[numberOfColumns];
+        report = new PresolveReport();
+    }
+
+    private boolean removeEmptyRows() {
+        boolean changed = false;
+        for(int i = 0; i < numberOfRows; i++) {
+            if(activeRows[i] && countActiveCoefficients(i) == 0) {
+                checkFeasible(relations[i], 0.d, rightValues[i]);
+                removeRow(i, Reduction.EMPTY_ROWS);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean removeSingletonRows() {
+        boolean changed = false;
+        for(int i = 0; i < numberOfRows; i++) {
+            if(!activeRows[i] || countActiveCoefficients(i) != 1) continue;
+            int j = 0;
+            while(!activeColumns[j] || coefficients[i][j] == 0.d) j++;
+            double coefficient = coefficients[i][j];
+            double bound = rightValues[i] / coefficient;
+            Relation relation = coefficient < 0.d ? relations[i].invert() : relations[i];
+            if(relation.isEqual() || relation.isGreaterOrEqual()) {
+                double lowerBound = roundLower(j, bound);
+                if(lowerBound > lowerBounds[j] || (relation.isEqual() && lowerSources[j] == NOT_ASSIGNED)) {
+                    lowerBounds[j] = Math.max(lowerBound, lowerBounds[j]);
+                    lowerSources[j] = i;
+                }
+            }
+            if(relation.isEqual() || relation.isLessOrEqual()) {
+                double upperBound = roundUpper(j, bound);
+                if(upperBound < upperBounds[j]) {
+                    upperBounds[j] = upperBound;
+                    upperSources[j] = i;
+                }
+            }
+            if(lowerBounds[j] > upperBounds[j] + tolerance) {
+                throw new RuntimeException("The problem has no base plane.");
+            }
+            singletonRows.add(new int[]{i, j});
+            removeRow(i, Reduction.SINGLETON_ROWS);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Rounds a lower bound of an integer variable up, a value within the tolerance of an integer is rounded to it
+     */
+    private double roundLower(int j, double bound) {
+        if(!integerColumns[j]) return bound;
+        return Math.ceil(bound - tolerance * Math.max(1.d, Math.abs(bound)));
+    }
+
+    /**
+     * Rounds an upper bound of an integer variable down, a value within the tolerance of an integer is rounded to it
+     */
+    private double roundUpper(int j, double bound) {
+        if(!integerColumns[j]) return bound;
+        return Math.floor(bound + tolerance * Math.max(1.d, Math.abs(bound)));
+    }
+
+    private boolean removeFixedVariables() {
+        boolean changed = false;
+        for(int j = 0; j < numberOfColumns; j++) {
+            if(activeColumns[j] && upperBounds[j] - lowerBounds[j] <= tolerance) {
+                fixColumn(j, lowerBounds[j], Reduction.FIXED_VARIABLES);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean removeEmptyColumns() {
+        boolean changed = false;
+        for(int j = 0; j < numberOfColumns; j++) {
+            if(!activeColumns[j] || countActiveCoefficientsInColumn(j) > 0) continue;
+            double cost = factor * costs[j];
+            if(cost >= 0.d) {
+                fixColumn(j, lowerBounds[j], Reduction.EMPTY_COLUMNS);
+            } else if(upperBounds[j] < Double.POSITIVE_INFINITY) {
+                fixColumn(j, upperBounds[j], Reduction.EMPTY_COLUMNS);
+            } else {
+                throw new RuntimeException("Solution does not exist.");
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    private boolean removeDominatedColumns() {
+        boolean changed = false;
+        for(int j = 0; j < numberOfColumns; j++) {
+            if(!activeColumns[j]) continue;
+            boolean harder = true;
+            boolean easier = true;
+            for(int i = 0; i < numberOfRows && (harder || easier); i++) {
+                double coefficient = coefficients[i][j];
+                if(!activeRows[i] || coefficient == 0.d) continue;
+                if(relations[i].isEqual()) {
+                    harder = false;
+                    easier = false;
+                } else {
+                    boolean increasesActivity = coefficient > 0.d;
+                    boolean rowHarder = relations[i].isLessOrEqual() == increasesActivity;
+                    harder &= rowHarder;
+                    easier &= !rowHarder;
+                }
+            }
+            double cost = factor * costs[j];
+            if(harder && cost >= 0.d) {
+                fixColumn(j, lowerBounds[j], Reduction.DOMINATED_COLUMNS);
+                changed = true;
+            } else if(easier && cost <= 0.d && upperBounds[j] < Double.POSITIVE_INFINITY) {
+                fixColumn(j, upperBounds[j], Reduction.DOMINATED_COLUMNS);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Finds the equations with proportional coefficients. The coefficients are normalized by the first non-zero one,
+     * the relation is inverted if it is negative.
+     */
+    private boolean removeDuplicateRows() {
+        boolean changed = false;
+        for(int i = 0; i < numberOfRows; i++) {
+            if(!activeRows[i]) continue;
+            int first = getFirstActiveColumn(i);
+            if(first == NOT_ASSIGNED) continue;
+            for(int k = i + 1; k < numberOfRows && activeRows[i]; k++) {
+                if(!activeRows[k] || getFirstActiveColumn(k) != first) continue;
+                double ratio = coefficients[k][first] / coefficients[i][first];
+                if(!isProportional(i, k, ratio)) continue;
+                Relation relation = ratio < 0.d ? relations[k].invert() : relations[k];
+                double rightValue = rightValues[k] / ratio;
+                mergeDuplicate(i, k, relation, rightValue);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean isProportional(int i, int k, double ratio) {
+        for(int j = 0; j < numberOfColumns; j++) {
+            if(!activeColumns[j]) continue;
+            if(Math.abs(coefficients[k][j] - ratio * coefficients[i][j]) > tolerance * Math.max(1.d, Math.abs(coefficients[k][j]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keeps the tighter of the equations i and k, the equation k is given relative to the coefficients of i
+     */
+    private void mergeDuplicate(int i, int k, Relation relation, double rightValue) {
+        Relation kept = relations[i];
+        double keptValue = rightValues[i];
+        if(kept.isEqual() && relation.isEqual()) {
+            if(Math.abs(keptValue - rightValue) > tolerance * Math.max(1.d, Math.abs(keptValue))) {
+                throw new RuntimeException("The problem has no base plane.");
+            }
+            removeRow(k, Reduction.DUPLICATE_ROWS);
+        } else if(kept.isEqual()) {
+            checkFeasible(relation, keptValue, rightValue);
+            removeRow(k, Reduction.DUPLICATE_ROWS);
+        } else if(relation.isEqual()) {
+            checkFeasible(kept, rightValue, keptValue);
+            removeRow(i, Reduction.DUPLICATE_ROWS);
+        } else if(kept == relation) {
+            boolean keepFirst = kept.isLessOrEqual() ? keptValue <= rightValue : keptValue >= rightValue;
+            removeRow(keepFirst ? k : i, Reduction.DUPLICATE_ROWS);
+        } else {
+            double upper = kept.isLessOrEqual() ? keptValue : rightValue;
+            double lower = kept.isLessOrEqual() ? rightValue : keptValue;
+            if(lower > upper + tolerance * Math.max(1.d, Math.abs(upper))) {
+                throw new RuntimeException("The problem has no base plane.");
+            }
+            if(upper - lower <= tolerance * Math.max(1.d, Math.abs(upper))) {
+                relations[i] = Relation.EQUAL;
+                removeRow(k, Reduction.DUPLICATE_ROWS);
+            }
+        }
+    }
+
+    /**
+     * Tightens the bounds of the variables by the equations and removes the equations satisfied within the bounds.
+     * The tightened bounds are derived from the explicit bounds only, and an equation is never tested with the bounds
+     * derived from itself, so every removed equation follows from the remaining ones.
+     */
+    private boolean removeRedundantRows() {
+        double[] impliedLower = lowerBounds.clone();
+        double[] impliedUpper = upperBounds.clone();
+        int[] impliedLowerSources = new int[numberOfColumns];
+        int[] impliedUpperSources = new int[numberOfColumns];
+        Arrays.fill(impliedLowerSources, NOT_ASSIGNED);
+        Arrays.fill(impliedUpperSources, NOT_ASSIGNED);
+        for(int i = 0; i < numberOfRows; i++) {
+            if(activeRows[i]) tightenBounds(i, impliedLower, impliedUpper, impliedLowerSources, impliedUpperSources);
+        }
+
+        boolean changed = false;
+        for(int i = 0; i < numberOfRows; i++) {
+            if(!activeRows[i]) continue;
+            double minActivity = 0.d;
+            double maxActivity = 0.d;
+            for(int j = 0; j < numberOfColumns; j++) {
+                double coefficient = coefficients[i][j];
+                if(!activeColumns[j] || coefficient == 0.d) continue;
+                double lower = impliedLowerSources[j] == i ? lowerBounds[j] : impliedLower[j];
+                double upper = impliedUpperSources[j] == i ? upperBounds[j] : impliedUpper[j];
+                minActivity += coefficient > 0.d ? coefficient * lower : coefficient * upper;
+                maxActivity += coefficient > 0.d ? coefficient * upper : coefficient * lower;
+            }
+            double rightValue = rightValues[i];
+            double margin = tolerance * Math.max(1.d, Math.abs(rightValue));
+            if((!relations[i].isGreaterOrEqual() && minActivity > rightValue + margin)
+                || (!relations[i].isLessOrEqual() && maxActivity < rightValue - margin)) {
+                throw new RuntimeException("The problem has no base plane.");
+            }
+            if((relations[i].isLessOrEqual() && maxActivity <= rightValue + margin)
+                || (relations[i].isGreaterOrEqual() && minActivity >= rightValue - margin)) {
+                removeRow(i, Reduction.BOUND_TIGHTENING);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void tightenBounds(int i, double[] impliedLower, double[] impliedUpper, int[] impliedLowerSources,
+        int[] impliedUpperSources) {
+        double minActivity = 0.d;
+        double maxActivity = 0.d;
+        for(int j = 0; j < numberOfColumns; j++) {
+            double coefficient = coefficients[i][j];
+            if(!activeColumns[j] || coefficient == 0.d) continue;
+            minActivity += coefficient > 0.d ? coefficient * lowerBounds[j] : coefficient * upperBounds[j];
+            maxActivity += coefficient > 0.d ? coefficient * upperBounds[j] : coefficient * lowerBounds[j];
+        }
+        for(int j = 0; j < numberOfColumns; j++) {
+            double coefficient = coefficients[i][j];
+            if(!activeColumns[j] || coefficient == 0.d) continue;
+            if(!relations[i].isGreaterOrEqual() && !Double.isInfinite(minActivity)) {
+                double rest = minActivity - (coefficient > 0.d ? coefficient * lowerBounds[j] : coefficient * upperBounds[j]);
+                double bound = (rightValues[i] - rest) / coefficient;
+                if(coefficient > 0.d) {
+                    tightenUpper(j, bound, i, impliedUpper, impliedUpperSources);
+                } else {
+                    tightenLower(j, bound, i, impliedLower, impliedLowerSources);
+                }
+            }
+            if(!relations[i].isLessOrEqual() && !Double.isInfinite(maxActivity)) {
+                double rest = maxActivity - (coefficient > 0.d ? coefficient * upperBounds[j] : coefficient * lowerBounds[j]);
+                double bound = (rightValues[i] - rest) / coefficient;
+                if(coefficient > 0.d) {
+                    tightenLower(j, bound, i, impliedLower, impliedLowerSources);
+                } else {
+                    tightenUpper(j, bound, i, impliedUpper, impliedUpperSources);
+                }
+            }
+        }
+    }
+
+    private void tightenUpper(int j, double bound, int source, double[] impliedUpper, int[] impliedUpperSources) {
+        if(bound < impliedUpper[j] - tolerance * Math.max(1.d, Math.abs(bound))) {
+            if(!tightenedUpper[j]) {
+                tightenedUpper[j] = true;
+                report.addTightenedBound();
+            }
+            impliedUpper[j] = bound;
+            impliedUpperSources[j] = source;
+        }
+    }
+
+    private void tightenLower(int j, double bound, int source, double[] impliedLower, int[] impliedLowerSources) {
+        if(bound > impliedLower[j] + tolerance * Math.max(1.d, Math.abs(bound))) {
+            if(!tightenedLower[j]) {
+                tightenedLower[j] = true;
+                report.addTightenedBound();
+            }
+            impliedLower[j] = bound;
+            impliedLowerSources[j] = source;
+        }
+    }
+
+    private void checkFeasible(Relation relation, double activity, double rightValue) {
+        double margin = tolerance * Math.max(1.d, Math.abs(rightValue));
+        boolean feasible = relation.isEqual() ? Math.abs(activity - rightValue) <= margin
+            : relation.isLessOrEqual() ? activity <= rightValue + margin : activity >= rightValue - margin;
+        if(!feasible) {
+            throw new RuntimeException("The problem has no base plane.");
+        }
+    }
+
+    private void fixColumn(int j, double value, Reduction reduction) {
+        fixedValues[j] = value;
+        for(int i = 0; i < numberOfRows; i++) {
+            if(activeRows[i] && coefficients[i][j] != 0.d) {
+                rightValues[i] -= coefficients[i][j] * value;
+            }
+        }
+        activeColumns[j] = false;
+        report.addRemovedColumn(reduction);
+    }
+
+    private void removeRow(int i, Reduction reduction) {
+        activeRows[i] = false;
+        report.addRemovedRow(reduction);
+    }
+
+    private int countActiveCoefficients(int i) {
+        int count = 0;
+        for(int j = 0; j < numberOfColumns; j++) {
+            if(activeColumns[j] && coefficients[i][j] != 0.d) count++;
+        }
+        return count;
+    }
+
+    private int countActiveCoefficientsInColumn(int j) {
+        int count = 0;
+        for(int i = 0; i < numberOfRows; i++) {
+            if(activeRows[i] && coefficients[i][j] != 0.d) count++;
+        }
+        return count;
+    }
+
+    private int getFirstActiveColumn(int i) {
+        for(int j = 0; j < numberOfColumns; j++) {
+            if(activeColumns[j] && coefficients[i][j] != 0.d) return j;
+        }
+        return NOT_ASSIGNED;
+    }
+
+    /**
+     * Makes the reduced problem: the variables with a positive lower bound are shifted, the finite upper bounds
+     * are added as equations after the remaining equations of the problem
+     */
+    private PresolvedProblem makePresolvedProblem(Problem problem) {
+        int[] columnMap = new int[numberOfColumns];
+        int numberOfReducedColumns = 0;
+        for(int j = 0; j < numberOfColumns; j++) {
+            if(activeColumns[j]) columnMap[numberOfReducedColumns++] = j;
+        }
+        int[] rowMap = new int[numberOfRows];
+        int numberOfReducedRows = 0;
+        for(int i = 0; i < numberOfRows; i++) {
+            if(activeRows[i]) rowMap[numberOfReducedRows++] = i;
+        }
+
+        Problem reduced = null;
+        if(numberOfReducedColumns > 0 && numberOfReducedRows + countUpperBounds(columnMap, numberOfReducedColumns) > 0) {
+            reduced = Problem.getInstance();
+            reduced.setPrecision(problem.getPrecision());
+            for(int c = 0; c < numberOfReducedColumns; c++) {
+                reduced.setInteger(c + 1, problem.isInteger(columnMap[c] + 1));
+            }
+            for(int r = 0; r < numberOfReducedRows; r++) {
+                int i = rowMap[r];
+                double[] rowCoefficients = new double[numberOfReducedColumns];
+                double rightValue = rightValues[i];
+                for(int c = 0; c < numberOfReducedColumns; c++) {
+                    int j = columnMap[c];
+                    rowCoefficients[c] = coefficients[i][j];
+                    rightValue -= coefficients[i][j] * lowerBounds[j];
+                }
+                reduced.addEquation(ProblemEquation.make(rowCoefficients, relations[i], rightValue));
+            }
+            for(int c = 0; c < numberOfReducedColumns; c++) {
+                int j = columnMap[c];
+                if(upperBounds[j] < Double.POSITIVE_INFINITY) {
+                    double[] rowCoefficients = new double[numberOfReducedColumns];
+                    rowCoefficients[c] = 1.d;
+                    reduced.addEquation(ProblemEquation.make(rowCoefficients, Relation.LESS_OR_EQUAL, upperBounds[j] - lowerBounds[j]));
+                }
+            }
+            double[] reducedCosts = new double[numberOfReducedColumns];
+            for(int c = 0; c < numberOfReducedColumns; c++) {
+                reducedCosts[c] = costs[columnMap[c]];
+            }
+            ObjectiveFunctionType type = problem.getObjectiveFunction().getType();
+            reduced.addObjectiveFunction(ProblemObjectiveFunction.make(reducedCosts, type));
+        } else {
+            for(int c = 0; c < numberOfReducedColumns; c++) {
+                int j = columnMap[c];
+                double cost = factor * costs[j];
+                if(cost < 0.d && upperBounds[j] == Double.POSITIVE_INFINITY) {
+                    throw new RuntimeException("Solution does not exist.");
+                }
+                fixColumn(j, cost < 0.d ? upperBounds[j] : lowerBounds[j], Reduction.EMPTY_COLUMNS);
+            }
+            for(int r = 0; r < numberOfReducedRows; r++) {
+                checkFeasible(relations[rowMap[r]], 0.d, rightValues[rowMap[r]]);
+            }
+            numberOfReducedColumns = 0;
+            numberOfReducedRows = 0;
+        }
+
+        return new PresolvedProblem(reduced, report, coefficients, costs, factor,
+            Arrays.copyOf(columnMap, numberOfReducedColumns), Arrays.copyOf(rowMap, numberOfReducedRows),
+            fixedValues, lowerBounds, upperBounds, lowerSources, upperSources, singletonRows);
+    }
+
+    private int countUpperBounds(int[] columnMap, int numberOfReducedColumns) {
+        int count = 0;
+        for(int c = 0; c < numberOfReducedColumns; c++) {
+            if(upperBounds[columnMap[c]] < Double.POSITIVE_INFINITY) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,45 @@
+package math.linear.presolve;
+
+/*
+ * Defines the reductions applied by Presolver
+ */
+
+public enum Reduction
+{
+    /**
+     * An equation without coefficients is removed, or the problem is found infeasible
+     */
+    EMPTY_ROWS,
+
+    /**
+     * A variable not used by the equations is fixed at the bound its objective coefficient prefers
+     */
+    EMPTY_COLUMNS,
+
+    /**
+     * An equation with a single variable is turned into a bound of the variable
+     */
+    SINGLETON_ROWS,
+
+    /**
+     * A variable with equal lower and upper bounds is substituted by its value
+     */
+    FIXED_VARIABLES,
+
+    /**
+     * Of two equations with proportional coefficients the looser one is removed
+     */
+    DUPLICATE_ROWS,
+
+    /**
+     * The bounds of the variables are tightened by the equations and an equation, which is satisfied by all values
+     * within the bounds, is removed
+     */
+    BOUND_TIGHTENING,
+
+    /**
+     * A variable, whose increase makes every equation harder to satisfy and does not improve the objective function,
+     * is fixed at its lower bound
+     */
+    DOMINATED_COLUMNS
+}
@@ -3,6 +3,7 @@ package math.linear.problem;
 import math.linear.basic.MathUtils;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -11,6 +12,7 @@ public class Problem {
     private ProblemObjectiveFunction objectiveFunction;
     private int precision = 16;
     private int numberOfVariables = MathUtils.NOT_ASSIGNED;
+    private BitSet continuousVariables = new BitSet();
 
     private Problem() {
         equations = new ArrayList<>();
@@ -50,6 +52,28 @@ public class Problem {
         return objectiveFunction;
     }
 
+    /**
+     * Marks a variable as integer or continuous, all variables are integer by default. The marking is respected by
+     * the branch and bound and the Gomory methods, the linear relaxation does not depend on it.
+     * @param variableIndex the index of the variable starting with 1 like the coefficients of the equations
+     * @param isInteger
+     */
+    public void setInteger(int variableIndex, boolean isInteger){
+        if(variableIndex < 1) {
+            throw new IllegalArgumentException("Variable index must be positive.");
+        }
+        continuousVariables.set(variableIndex, !isInteger);
+    }
+
+    /**
+     * Checks if a variable must be integer
+     * @param variableIndex the index of the variable starting with 1
+     * @return true if the variable is integer
+     */
+    public boolean isInteger(int variableIndex){
+        return !continuousVariables.get(variableIndex);
+    }
+
     public void setPrecision(int precision){
         this.precision = precision;
     }
@@ -73,6 +97,9 @@ public class Problem {
                 throw new RuntimeException("Equations system is inconsistent. Equations must have equal length.");
             }
         }
+        if(continuousVariables.length() > length) {
+            throw new IllegalStateException("A continuous variable is out of range.");
+        }
 
     }
 
@@ -7,7 +7,8 @@ package math.linear.problem;
  */
 
 /*
- * Class represents an initial problem equation
+ * Class represents an initial problem equation. The coefficients are kept either densely or, for an equation made by
+ * makeSparse, as the ascending indices and the values of the non-zero coefficients.
  */
 
 import math.linear.basic.Relation;
@@ -22,6 +23,7 @@ public class ProblemEquation
 
     private int length;
     private double[] coefficients;
+    private int[] indices;
     private Relation relation;
 
     private ProblemEquation(){}
@@ -32,6 +34,13 @@ public class ProblemEquation
         this.length = this.coefficients.length;
     }
 
+    private ProblemEquation(int length, int[] indices, double[] values, Relation relation){
+        this.coefficients = values;
+        this.indices = indices;
+        this.relation = relation;
+        this.length = length;
+    }
+
 
     /**
      * Returns the length of the equation
@@ -55,17 +64,60 @@ public class ProblemEquation
      * @return the value at position n
      */
     public final double getCoefficientAt(int n){
-        if(n >= 0 && n < length){
-            return coefficients[n];
-        } else {
+        if(n < 0 || n >= length){
             throw new RuntimeException(ERROR_OUT_OF_BOUNDS);
         }
+        if(indices == null){
+            return coefficients[n];
+        }
+        int position = Arrays.binarySearch(indices, n);
+        return position >= 0 ? coefficients[position] : 0.d;
     }
 
     public final double[] getCoefficients(){
-        return Arrays.copyOf(this.coefficients,this.length);
+        if(indices == null){
+            return Arrays.copyOf(this.coefficients,this.length);
+        }
+        double[] coeffs = new double[this.length];
+        for(int k = 0; k < indices.length; k++){
+            coeffs[indices[k]] = coefficients[k];
+        }
+        return coeffs;
     }
 
+    /**
+     * Returns the number of stored coefficients: all of them for a dense equation, the non-zero ones for a sparse one
+     * @return number of stored coefficients
+     */
+    public final int getNumberOfStoredCoefficients(){
+        return indices == null ? length : indices.length;
+    }
+
+    /**
+     * Returns the position in the equation of a stored coefficient, the positions ascend
+     * @param k the number of the stored coefficient
+     * @return the position, 0 for the right value
+     */
+    public final int getStoredIndexAt(int k){
+        return indices == null ? k : indices[k];
+    }
+
+    /**
+     * Returns the value of a stored coefficient
+     * @param k the number of the stored coefficient
+     * @return the value
+     */
+    public final double getStoredValueAt(int k){
+        return coefficients[k];
+    }
+
+    /**
+     * Checks if the equation keeps only its non-zero coefficients
+     * @return true if the equation is sparse
+     */
+    public final boolean isSparse(){
+        return indices != null;
+    }
 
 
     /**
@@ -73,6 +125,9 @@ public class ProblemEquation
      * @return copy of equation
      */
     public final ProblemEquation copy(){
+        if(indices != null){
+            return new ProblemEquation(this.length, indices.clone(), coefficients.clone(), this.relation);
+        }
         double[] coeffs = new double[this.length];
         System.arraycopy(this.coefficients, 0, coeffs, 0, this.length);
         return new ProblemEquation(coeffs,this.relation);
@@ -92,4 +147,34 @@ public class ProblemEquation
         System.arraycopy(coeff, 0, coeffExt, 1, coeff.length);
         return new ProblemEquation(coeffExt, rel);
     }
+
+    /**
+     * Generates an equation for linear problem from its non-zero coefficients, the coefficients are not expanded
+     * to a dense array
+     * @param numberOfVariables the number of variables of the problem
+     * @param indices ascending indices of the variables with non-zero coefficients, the first variable has index 1
+     * @param values the coefficients at the indices
+     * @param rel type of relation {@link Relation}, EQUAL, LESS_OR_EQUAL, GREATER_OR_EQUAL
+     * @param rightValue right value of the equation
+     * @return
+     */
+    public final static ProblemEquation makeSparse(int numberOfVariables, int[] indices, double[] values, Relation rel, double rightValue){
+        if(indices.length != values.length){
+            throw new IllegalArgumentException("Indices and values must have equal length.");
+        }
+        for(int k = 0; k < indices.length; k++){
+            if(indices[k] < 1 || indices[k] > numberOfVariables || (k > 0 && indices[k] <= indices[k - 1])){
+                throw new IllegalArgumentException("Indices must be ascending and within the number of variables.");
+            }
+        }
+        int shift = rightValue == 0.d ? 0 : 1;
+        int[] storedIndices = new int[indices.length + shift];
+        double[] storedValues = new double[indices.length + shift];
+        if(shift == 1){
+            storedValues[0] = rightValue;
+        }
+        System.arraycopy(indices, 0, storedIndices, shift, indices.length);
+        System.arraycopy(values, 0, storedValues, shift, values.length);
+        return new ProblemEquation(numberOfVariables + 1, storedIndices, storedValues, rel);
+    }
 }
@@ -0,0 +1,223 @@
+package math.linear.simplex;
+
+/*
+ * Keeps an LU factorization of a basis matrix and updates it with the Forrest-Tomlin method when a basis column is replaced.
+ *
+ * The factorization satisfies T * B = U, where T = R(k) * ... * R(1) * inverse(L) * P, P is the row permutation of the
+ * initial factorization, L is unit lower triangular, R(i) are row eta matrices produced by the updates and U is upper
+ * triangular with respect to the order kept in the array "order". The row and column with the same index form the diagonal
+ * element of U, the column index is the position of the variable in the basis.
+ */
+
+import java.util.Arrays;
+
+final class BasisFactorization
+{
+    private static final double SINGULARITY_TOLERANCE = 1e-11;
+    private static final double STABILITY_TOLERANCE = 1e-9;
+
+    private final int size;
+    private final double[][] lower;
+    private final double[][] upper;
+    private final int[] permutation;
+    private final int[] order;
+    private final int[] position;
+    private final double[] spike;
+    private final double[] work;
+
+    private int[] etaRows;
+    private int[] etaColumns;
+    private double[] etaValues;
+    private int numberOfEtas;
+    private int numberOfUpdates;
+
+    BasisFactorization(int size) {
+        this.size = size;
+        this.lower = new double[size][size];
+        this.upper = new double[size][size];
+        this.permutation = new int[size];
+        this.order = new int[size];
+        this.position = new int[size];
+        this.spike = new double[size];
+        this.work = new double[size];
+        this.etaRows = new int[size];
+        this.etaColumns = new int[size];
+        this.etaValues = new double[size];
+    }
+
+    /**
+     * Returns the number of column replacements since the last factorization
+     * @return number of updates
+     */
+    int getNumberOfUpdates() {
+        return numberOfUpdates;
+    }
+
+    /**
+     * Computes the LU factorization with partial pivoting of the given matrix. The matrix is overwritten.
+     * @param matrix the basis matrix, matrix[i][j] is the element of the row i in the basis column j
+     */
+    void factorize(double[][] matrix) {
+        for(int k = 0; k < size; k++) {
+            permutation[k] = k;
+            order[k] = k;
+            position[k] = k;
+        }
+        for(int k = 0; k < size; k++) {
+            int pivotRow = k;
+            double maxValue = Math.abs(matrix[k][k]);
+            for(int i = k + 1; i < size; i++) {
+                double value = Math.abs(matrix[i][k]);
+                if(value > maxValue) {
+                    maxValue = value;
+                    pivotRow = i;
+                }
+            }
+            if(maxValue < SINGULARITY_TOLERANCE) {
+                throw new RuntimeException("The basis matrix is singular.");
+            }
+            if(pivotRow != k) {
+                double[] row = matrix[k];
+                matrix[k] = matrix[pivotRow];
+                matrix[pivotRow] = row;
+                int index = permutation[k];
+                permutation[k] = permutation[pivotRow];
+                permutation[pivotRow] = index;
+            }
+            double[] pivot = matrix[k];
+            for(int i = k + 1; i < size; i++) {
+                double[] row = matrix[i];
+                if(row[k] == 0.d) continue;
+                double factor = row[k] / pivot[k];
+                row[k] = factor;
+                for(int j = k + 1; j < size; j++) {
+                    row[j] -= factor * pivot[j];
+                }
+            }
+        }
+        for(int i = 0; i < size; i++) {
+            for(int j = 0; j < size; j++) {
+                if(j < i) {
+                    lower[i][j] = matrix[i][j];
+                    upper[i][j] = 0.d;
+                } else {
+                    lower[i][j] = 0.d;
+                    upper[i][j] = matrix[i][j];
+                }
+            }
+        }
+        numberOfEtas = 0;
+        numberOfUpdates = 0;
+    }
+
+    /**
+     * Solves B * x = a. The transformed column T * a is kept as the spike for a subsequent update.
+     * @param column the column a, it is not changed
+     * @param result the solution x indexed by basis positions
+     */
+    void solve(double[] column, double[] result) {
+        for(int k = 0; k < size; k++) {
+            spike[k] = column[permutation[k]];
+        }
+        for(int k = 0; k < size; k++) {
+            double value = spike[k];
+            if(value == 0.d) continue;
+            for(int i = k + 1; i < size; i++) {
+                spike[i] -= lower[i][k] * value;
+            }
+        }
+        for(int e = 0; e < numberOfEtas; e++) {
+            spike[etaRows[e]] -= etaValues[e] * spike[etaColumns[e]];
+        }
+        for(int i = size - 1; i >= 0; i--) {
+            int row = order[i];
+            double[] upperRow = upper[row];
+            double value = spike[row];
+            for(int j = i + 1; j < size; j++) {
+                int col = order[j];
+                value -= upperRow[col] * result[col];
+            }
+            result[row] = value / upperRow[row];
+        }
+    }
+
+    /**
+     * Solves transpose(B) * y = c.
+     * @param costs the vector c indexed by basis positions, it is not changed
+     * @param result the solution y indexed by the rows of the basis matrix
+     */
+    void solveTransposed(double[] costs, double[] result) {
+        for(int i = 0; i < size; i++) {
+            int col = order[i];
+            double value = costs[col];
+            for(int j = 0; j < i; j++) {
+                int row = order[j];
+                value -= work[row] * upper[row][col];
+            }
+            work[col] = value / upper[col][col];
+        }
+        for(int e = numberOfEtas - 1; e >= 0; e--) {
+            work[etaColumns[e]] -= etaValues[e] * work[etaRows[e]];
+        }
+        for(int k = size - 1; k >= 0; k--) {
+            double value = work[k];
+            for(int i = k + 1; i < size; i++) {
+                value -= lower[i][k] * work[i];
+            }
+            work[k] = value;
+        }
+        for(int k = 0; k < size; k++) {
+            result[permutation[k]] = work[k];
+        }
+    }
+
+    /**
+     * Replaces the basis column at the given position by the column passed to the last call of {@link #solve}.
+     * @param basisPosition position of the leaving variable
+     * @return false if the updated factorization is numerically unstable and the basis has to be factorized again
+     */
+    boolean update(int basisPosition) {
+        for(int row = 0; row < size; row++) {
+            upper[row][basisPosition] = spike[row];
+        }
+
+        int start = position[basisPosition];
+        for(int i = start; i < size - 1; i++) {
+            order[i] = order[i + 1];
+            position[order[i]] = i;
+        }
+        order[size - 1] = basisPosition;
+        position[basisPosition] = size - 1;
+
+        double[] spikeRow = upper[basisPosition];
+        for(int j = start; j < size - 1; j++) {
+            int col = order[j];
+            double value = spikeRow[col];
+            if(value == 0.d) continue;
+            double[] eliminatingRow = upper[col];
+            double factor = value / eliminatingRow[col];
+            for(int jj = j + 1; jj < size; jj++) {
+                int cc = order[jj];
+                spikeRow[cc] -= factor * eliminatingRow[cc];
+            }
+            spikeRow[col] = 0.d;
+            addEta(basisPosition, col, factor);
+        }
+        numberOfUpdates++;
+
+        return Math.abs(spikeRow[basisPosition]) > STABILITY_TOLERANCE;
+    }
+
+    private void addEta(int row, int column, double value) {
+        if(numberOfEtas == etaRows.length) {
+            int capacity = etaRows.length * 2;
+            etaRows = Arrays.copyOf(etaRows, capacity);
+            etaColumns = Arrays.copyOf(etaColumns, capacity);
+            etaValues = Arrays.copyOf(etaValues, capacity);
+        }
+        etaRows[numberOfEtas] = row;
+        etaColumns[numberOfEtas] = column;
+        etaValues[numberOfEtas] = value;
+        numberOfEtas++;
+    }
+}
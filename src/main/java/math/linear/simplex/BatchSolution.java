@@ -0,0 +1,62 @@
+package math.linear.simplex;
+
+/*
+ * Represents the result of a problem solved by BatchSolver: the solution or the exception the problem failed with
+ */
+
+import java.util.Arrays;
+
+public final class BatchSolution
+{
+    private final int index;
+    private final double[] solution;
+    private final double objectiveValue;
+    private final RuntimeException error;
+
+    BatchSolution(int index, double[] solution, double objectiveValue, RuntimeException error) {
+        this.index = index;
+        this.solution = solution;
+        this.objectiveValue = objectiveValue;
+        this.error = error;
+    }
+
+    /**
+     * Returns the position of the problem in the input of the batch, starting with 0
+     * @return index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Checks if the problem was solved
+     * @return false if the problem failed, e.g. it has no solution
+     */
+    public boolean isSolved() {
+        return error == null;
+    }
+
+    /**
+     * Returns an array of values of the variables representing a solution of the problem
+     * @return array of values or null if the problem failed
+     */
+    public double[] getSolution() {
+        return solution == null ? null : Arrays.copyOf(solution, solution.length);
+    }
+
+    /**
+     * Returns the value of the objective function at the solution
+     * @return objective value or NaN if the problem failed
+     */
+    public double getObjectiveValue() {
+        return objectiveValue;
+    }
+
+    /**
+     * Returns the exception the problem failed with
+     * @return exception or null if the problem was solved
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+}
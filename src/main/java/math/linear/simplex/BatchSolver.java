@@ -0,0 +1,222 @@
+package math.linear.simplex;
+
+/*
+ * Solves many independent problems in parallel. Every problem is a task on the executor: the tableau is built, solved
+ * by the simplex method and, if the problem has integer variables, by branch and bound. A task borrows a workspace
+ * from the pool of the solver and returns it when the solution is taken from the tableau, so the buffers of the tableaux
+ * are reused by the following problems; there are as many workspaces as tasks run at once. The pool does not depend on
+ * the threads, so any executor can be used, e.g. one with a virtual thread per task.
+ * The results come back in the order of the problems or, for a stream, in the order they are completed. A problem
+ * that fails, e.g. has no solution, gives a result with the exception, the other problems are not affected.
+ */
+
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class BatchSolver
+{
+    static final int DEFAULT_MAX_PENDING_PROBLEMS = 256;
+
+    private ExecutorService executor;
+    private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+    private int maxPendingProblems = DEFAULT_MAX_PENDING_PROBLEMS;
+    private NumericBackend numericBackend = NumericBackend.DOUBLE;
+    private PricingRule pricingRule = PricingRule.DANTZIG;
+    private boolean isIntegerSolve = true;
+
+    private final Queue<TableauWorkspace> workspaces = new ConcurrentLinkedQueue<>();
+
+    private BatchSolver() {}
+
+    /**
+     * Returns a solver with default settings: a thread per processor, the double backend, integer solutions
+     * @return
+     */
+    public static BatchSolver getInstance() {
+        return new BatchSolver();
+    }
+
+    /**
+     * Sets the executor the problems are solved on, it is not shut down by the solver. Without an executor a pool of
+     * the set number of threads is created for every call of solveAll.
+     * @param executor the executor or null
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the number of threads of the pool used when no executor is set
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        if(numberOfThreads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Sets the maximal number of problems of a stream submitted to the executor and not yet consumed
+     * @param maxPendingProblems
+     */
+    public void setMaxPendingProblems(int maxPendingProblems) {
+        if(maxPendingProblems <= 0) {
+            throw new IllegalArgumentException("Number of pending problems must be positive.");
+        }
+        this.maxPendingProblems = maxPendingProblems;
+    }
+
+    /**
+     * Sets the numeric backend of the tableaux, the double backend reuses the coefficient arrays of the workspaces
+     * @param numericBackend
+     */
+    public void setNumericBackend(NumericBackend numericBackend) {
+        this.numericBackend = numericBackend;
+    }
+
+    public void setPricingRule(PricingRule pricingRule) {
+        this.pricingRule = pricingRule;
+    }
+
+    /**
+     * Sets whether the problems with integer variables are solved by branch and bound, otherwise the linear relaxation
+     * is solved only
+     * @param isIntegerSolve
+     */
+    public void setIntegerSolve(boolean isIntegerSolve) {
+        this.isIntegerSolve = isIntegerSolve;
+    }
+
+    /**
+     * Solves the problems and returns the results in the order of the problems
+     * @param problems
+     * @return list of results
+     */
+    public List<BatchSolution> solveAll(Collection<Problem> problems) {
+        ExecutorService service = executor != null ? executor : Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            List<Future<BatchSolution>> futures = new ArrayList<>(problems.size());
+            int index = 0;
+            for(Problem problem : problems) {
+                int problemIndex = index++;
+                futures.add(service.submit(() -> solve(problemIndex, problem)));
+            }
+            List<BatchSolution> results = new ArrayList<>(futures.size());
+            for(Future<BatchSolution> future : futures) {
+                results.add(getResult(future));
+            }
+            return results;
+        } finally {
+            if(executor == null) service.shutdown();
+        }
+    }
+
+    /**
+     * Solves the problems of the stream and passes the results to the consumer in the order they are completed.
+     * The consumer is called by the calling thread, at most the set number of problems wait for it.
+     * @param problems
+     * @param consumer
+     */
+    public void solveAll(Stream<Problem> problems, Consumer<BatchSolution> consumer) {
+        ExecutorService service = executor != null ? executor : Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            CompletionService<BatchSolution> completionService = new ExecutorCompletionService<>(service);
+            Iterator<Problem> iterator = problems.iterator();
+            int index = 0;
+            int numberOfPending = 0;
+            while(iterator.hasNext()) {
+                if(numberOfPending == maxPendingProblems) {
+                    consumer.accept(getResult(take(completionService)));
+                    numberOfPending--;
+                }
+                Problem problem = iterator.next();
+                int problemIndex = index++;
+                completionService.submit(() -> solve(problemIndex, problem));
+                numberOfPending++;
+            }
+            for(; numberOfPending > 0; numberOfPending--) {
+                consumer.accept(getResult(take(completionService)));
+            }
+        } finally {
+            if(executor == null) service.shutdown();
+        }
+    }
+
+    /**
+     * Solves a problem in a workspace of the pool
+     */
+    private BatchSolution solve(int index, Problem problem) {
+        TableauWorkspace workspace = workspaces.poll();
+        if(workspace == null) {
+            workspace = new TableauWorkspace();
+        }
+        try {
+            TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+            tableauBuilder.setProbliem(problem);
+            tableauBuilder.setNumericBackend(numericBackend);
+            tableauBuilder.setPricingRule(pricingRule);
+            tableauBuilder.setWorkspace(workspace);
+            Tableau tableau = SimplexMethod.applyTo(tableauBuilder.build());
+            if(isIntegerSolve && hasIntegerVariables(problem)) {
+                tableau = BranchAndBoundMethod.applyTo(problem, tableau);
+            }
+            double[] solution = tableau.getSolution();
+            return new BatchSolution(index, solution, evaluateObjective(problem.getObjectiveFunction(), solution), null);
+        } catch (RuntimeException ex) {
+            return new BatchSolution(index, null, Double.NaN, ex);
+        } finally {
+            workspaces.offer(workspace);
+        }
+    }
+
+    private static boolean hasIntegerVariables(Problem problem) {
+        for(int k = 1; k <= problem.getNumberOfVariables(); k++) {
+            if(problem.isInteger(k)) return true;
+        }
+        return false;
+    }
+
+    private static double evaluateObjective(ProblemObjectiveFunction objectiveFunction, double[] solution) {
+        double result = 0.d;
+        for(int k = 1; k <= solution.length; k++) {
+            result += objectiveFunction.getCoefficientAt(k) * solution[k - 1];
+        }
+        return result;
+    }
+
+    private static Future<BatchSolution> take(CompletionService<BatchSolution> completionService) {
+        try {
+            return completionService.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch solve was interrupted.", ex);
+        }
+    }
+
+    private static BatchSolution getResult(Future<BatchSolution> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch solve was interrupted.", ex);
+        } catch (ExecutionException ex) {
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+}
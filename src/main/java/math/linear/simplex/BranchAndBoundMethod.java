@@ -1,134 +1,754 @@
 package math.linear.simplex;
 
+/*
+ * Solves an integer problem by the branch and bound method. The open nodes of the tree are kept in a queue ordered
+ * by the node selection, every node holds the optimal tableau of its linear relaxation. The best integer solution found
+ * so far (the incumbent) is used to prune the nodes, whose bound cannot improve it. The search stops when the queue
+ * is empty or the relative gap between the best bound and the incumbent does not exceed the configured value.
+ * The nodes can be processed by several threads, see setNumberOfThreads and setDeterministic.
+ * The sequential and the deterministic search can save the open nodes and the incumbent to a checkpoint file
+ * periodically, see setCheckpoint; resume continues the search from such a file.
+ * The search stops early when the SolveLimits are hit, the best integer solution found so far is returned then.
+ */
+
 import math.linear.basic.MathUtils;
-import math.linear.basic.ObjectiveFunctionType;
-import math.linear.basic.Relation;
 import math.linear.problem.Problem;
-import math.linear.problem.ProblemEquation;
 import math.linear.problem.ProblemObjectiveFunction;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class BranchAndBoundMethod {
+    private static final double TOLERANCE = 1e-9;
+
+    private NodeSelection nodeSelection = NodeSelection.BEST_FIRST;
+    private double relativeGap = 0.d;
+    private int numberOfThreads = 1;
+    private boolean isDeterministic = false;
+    private Path checkpointPath;
+    private long checkpointInterval;
+    private SolverListener solverListener;
+    private SolveLimits solveLimits;
+
+    private double sign;
+    private double bestBound;
+    private double incumbentValue;
+    private int numberOfNodes;
+    private boolean hasUnresolvedNodes;
+    private long lastCheckpointTime;
+    private SolveLimits limits;
+    private SolveStatus status = SolveStatus.FINISHED;
+    // the solution of the branched node is only read before its children are solved, so a list per thread is enough
+    private final ThreadLocal<List<BigDecimal>> solutionBuffer = ThreadLocal.withInitial(ArrayList::new);
 
+    private BranchAndBoundMethod() {}
+
+    /**
+     * Returns an instance of the method with default settings: best first node selection, no gap
+     * @return
+     */
+    public static BranchAndBoundMethod getInstance() {
+        return new BranchAndBoundMethod();
+    }
+
+    /**
+     * Solves the integer problem with default settings
+     * @param problem the problem
+     * @param tableau the optimal tableau of the linear relaxation of the problem
+     * @return the tableau of the optimal integer solution
+     */
     public static Tableau applyTo(Problem problem, Tableau tableau){
-        Problem nextProblem = problem;
+        return getInstance().solve(problem, tableau);
+    }
+
+    /**
+     * Sets the order, in which the nodes are processed
+     * @param nodeSelection
+     */
+    public void setNodeSelection(NodeSelection nodeSelection) {
+        if(nodeSelection == null) {
+            throw new IllegalArgumentException("Node selection must not be null.");
+        }
+        this.nodeSelection = nodeSelection;
+    }
+
+    /**
+     * Sets the relative gap between the best bound and the incumbent, at which the search stops.
+     * Zero (the default) means that the search continues until the optimality is proved.
+     * @param relativeGap
+     */
+    public void setRelativeGap(double relativeGap) {
+        if(relativeGap < 0.d) {
+            throw new IllegalArgumentException("Relative gap must not be negative.");
+        }
+        this.relativeGap = relativeGap;
+    }
+
+    /**
+     * Sets the number of threads processing the nodes. With more than one thread the workers take the nodes from a shared
+     * work-stealing pool and prune against the shared incumbent, unless the deterministic mode is set.
+     * @param numberOfThreads
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        if(numberOfThreads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Sets the deterministic mode: the nodes are processed in batches of the size of the number of threads, the children
+     * of a batch are solved in parallel and merged in a fixed order. The result is reproducible for a given number of threads,
+     * but the threads wait for each other at the end of every batch.
+     * @param isDeterministic
+     */
+    public void setDeterministic(boolean isDeterministic) {
+        this.isDeterministic = isDeterministic;
+    }
+
+    /**
+     * Sets the file the state of the search is saved to. The state is saved after a batch of nodes, when the given time
+     * has passed since the previous save, and when the search is stopped by the limits; the file is replaced, so it
+     * always holds the latest state. Only the sequential and the deterministic search save checkpoints.
+     * @param path the file or null to disable the checkpoints
+     * @param intervalMillis the minimal time between two saves in milliseconds, zero saves after every batch
+     */
+    public void setCheckpoint(Path path, long intervalMillis) {
+        if(intervalMillis < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must not be negative.");
+        }
+        this.checkpointPath = path;
+        this.checkpointInterval = intervalMillis;
+    }
+
+    /**
+     * Sets the listener informed about the nodes and the incumbents, it must be thread safe if several threads are used.
+     * The simplex method informs the listener of the tableau, the tableaux restored by resume get this listener.
+     * @param solverListener the listener or null
+     */
+    public void setSolverListener(SolverListener solverListener) {
+        this.solverListener = solverListener;
+    }
+
+    /**
+     * Sets the limits of the search and of the simplex method solving the nodes. Without them the limits of the tableau
+     * are used, see TableauBuilder.setSolveLimits.
+     * @param solveLimits the limits or null
+     */
+    public void setSolveLimits(SolveLimits solveLimits) {
+        this.solveLimits = solveLimits;
+    }
+
+    /**
+     * Returns FINISHED or the reason the last call of solve was stopped early, then the incumbent may not be optimal
+     * and the best bound tells how far it can be from the optimum. DEGENERACY_LIMIT means the search ran to its end,
+     * but some nodes stayed unresolved.
+     * @return
+     */
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the objective value of the integer solution found by the last call of solve
+     * @return
+     */
+    public double getIncumbentValue() {
+        return sign * incumbentValue;
+    }
+
+    /**
+     * Returns the best bound for the objective value known at the end of the last call of solve. If the optimality
+     * was proved, it is equal to the incumbent value.
+     * @return
+     */
+    public double getBestBound() {
+        return sign * bestBound;
+    }
+
+    /**
+     * Returns the relative gap between the best bound and the incumbent value at the end of the last call of solve
+     * @return
+     */
+    public double getGap() {
+        return getGap(bestBound, incumbentValue);
+    }
+
+    /**
+     * Returns the number of nodes processed by the last call of solve
+     * @return
+     */
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    /**
+     * Solves the integer problem
+     * @param problem the problem
+     * @param tableau the optimal tableau of the linear relaxation of the problem, it is not changed
+     * @return the tableau of the best integer solution found or null if the search was stopped by the limits before
+     * an integer solution was found
+     */
+    public Tableau solve(Problem problem, Tableau tableau) {
+        return solve(problem.getObjectiveFunction(), tableau);
+    }
+
+    /**
+     * Solves the integer problem, whose equations are known from the tableau only, e.g. a master problem of the column
+     * generation
+     * @param objectiveFunction the objective function of the problem
+     * @param tableau the optimal tableau of the linear relaxation of the problem, it is not changed
+     * @return the tableau of the best integer solution found or null if the search was stopped by the limits before
+     * an integer solution was found
+     */
+    public Tableau solve(ProblemObjectiveFunction objectiveFunction, Tableau tableau) {
         int precision = tableau.getPrecision();
-        List<BigDecimal> solution = tableau.getSolutionBigDecimal();
-
-        int nonIntegerIndex;
-        BigDecimal value = null;
-
-        Tableau nextTableau = tableau;
-        do {
-            BigDecimal maxFraction = null;
-            nonIntegerIndex = MathUtils.NOT_ASSIGNED;
-            BigDecimal nextValue = null;
-            for (int k = 1; k < solution.size(); k++) {
-                value = solution.get(k);
-                if (!MathUtils.isInteger(value, precision)) {
-                    BigDecimal fraction = MathUtils.getFraction(value, precision);
-                    if(maxFraction == null || fraction.compareTo(maxFraction) >= 0)
-                    {
-                        nonIntegerIndex = k;
-                        maxFraction = fraction;
-                        nextValue = value;
+        sign = objectiveFunction.getType().isFindMaximum() ? 1.d : -1.d;
+        numberOfNodes = 0;
+        hasUnresolvedNodes = false;
+        startLimits(solveLimits != null ? solveLimits : tableau.getSolveLimits());
+        if(tableau.getStatus() == SolveStatus.DEGENERACY_LIMIT) {
+            // the relaxation is not optimal, so it gives no bound and the root cannot be branched
+            bestBound = Double.POSITIVE_INFINITY;
+            hasUnresolvedNodes = true;
+            return getResult(null);
+        }
+
+        BranchAndBoundNode root = new BranchAndBoundNode(tableau, getBound(objectiveFunction, tableau), 0, 0);
+        Incumbent incumbent;
+        if(isParallelSearch()) {
+            incumbent = new ParallelSearch(objectiveFunction, precision).run(root);
+        } else {
+            SearchState state = new SearchState(new NodeQueue(nodeSelection), new ArrayList<>(), 1, null, precision);
+            state.queue.add(root);
+            incumbent = solveInBatches(state, objectiveFunction);
+        }
+        return getResult(incumbent);
+    }
+
+    /**
+     * Continues the search saved to a checkpoint by an earlier call of solve with the same problem. The settings of
+     * this instance are used, a checkpoint saved with the hybrid node selection keeps its phase.
+     * @param problem the problem
+     * @param checkpoint the checkpoint file
+     * @return the tableau of the best integer solution found
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public Tableau resume(Problem problem, Path checkpoint) throws IOException {
+        return resume(problem.getObjectiveFunction(), checkpoint);
+    }
+
+    /**
+     * Continues the search saved to a checkpoint by an earlier call of solve with the same objective function
+     * @param objectiveFunction the objective function of the problem
+     * @param checkpoint the checkpoint file
+     * @return the tableau of the best integer solution found or null if the search was stopped by the limits before
+     * an integer solution was found
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public Tableau resume(ProblemObjectiveFunction objectiveFunction, Path checkpoint) throws IOException {
+        if(isParallelSearch()) {
+            throw new IllegalStateException("Only the sequential or the deterministic search can be resumed.");
+        }
+        sign = objectiveFunction.getType().isFindMaximum() ? 1.d : -1.d;
+        hasUnresolvedNodes = false;
+        startLimits(solveLimits);
+        SearchState state = TableauSnapshot.load(checkpoint, TableauSnapshot.KIND_BRANCH_AND_BOUND, this::readState);
+        return getResult(solveInBatches(state, objectiveFunction));
+    }
+
+    private boolean isParallelSearch() {
+        return numberOfThreads > 1 && !isDeterministic;
+    }
+
+    private void startLimits(SolveLimits limits) {
+        this.limits = limits;
+        if(limits != null) {
+            limits.start();
+        }
+    }
+
+    private boolean isStopped() {
+        return limits != null && limits.isStopped();
+    }
+
+    private Tableau getResult(Incumbent incumbent) {
+        status = limits == null ? SolveStatus.FINISHED : limits.getStatus();
+        if(!status.isStopped() && hasUnresolvedNodes) {
+            status = SolveStatus.DEGENERACY_LIMIT;
+        }
+        if(incumbent == null) {
+            if(status.isStopped()) {
+                incumbentValue = Double.NaN;
+                return null;
+            }
+            throw new RuntimeException("Solution does not exist.");
+        }
+        incumbentValue = incumbent.value;
+        return incumbent.tableau;
+    }
+
+    /**
+     * Processes the nodes in batches of the size of the number of threads. The children of the nodes of a batch are
+     * solved in parallel, but the results are merged in the order of the batch, so the result does not depend on timing.
+     * With a single thread it is the plain sequential search. The unresolved nodes are kept aside, they count
+     * for the bound only.
+     */
+    private Incumbent solveInBatches(SearchState state, ProblemObjectiveFunction objectiveFunction) {
+        NodeQueue queue = state.queue;
+        List<BranchAndBoundNode> unresolvedNodes = state.unresolvedNodes;
+        int precision = state.precision;
+        long sequenceNumber = state.sequenceNumber;
+        Incumbent incumbent = state.incumbent;
+        lastCheckpointTime = System.nanoTime();
+        List<BranchAndBoundNode> batch = new ArrayList<>(numberOfThreads);
+        ForkJoinPool pool = numberOfThreads > 1 ? new ForkJoinPool(numberOfThreads) : null;
+        try {
+            while(!queue.isEmpty()) {
+                if(incumbent != null && relativeGap > 0.d && getGap(getOpenBound(queue, unresolvedNodes), incumbent.value) <= relativeGap) {
+                    break;
+                }
+                if(limits != null && !limits.check()) {
+                    break;
+                }
+
+                batch.clear();
+                while(batch.size() < numberOfThreads && !queue.isEmpty()) {
+                    if(limits != null && !limits.onNode()) break;
+                    BranchAndBoundNode node = queue.poll();
+                    numberOfNodes++;
+                    if(solverListener != null) {
+                        solverListener.onNodeProcessed(node.getDepth());
+                    }
+                    if(incumbent == null || !isPruned(node.getBound(), incumbent.value)) {
+                        batch.add(node);
+                    }
+                }
+
+                BranchAndBoundNode[][] children = branchAll(pool, batch, sequenceNumber, objectiveFunction, precision);
+                sequenceNumber += 2L * batch.size();
+                if(isStopped()) {
+                    // the children of a stopped simplex are not optimal, the nodes stay open to keep the bound valid
+                    batch.forEach(queue::add);
+                    break;
+                }
+                for(int k = 0; k < batch.size(); k++) {
+                    BranchAndBoundNode node = batch.get(k);
+                    if(children[k] == null) {
+                        if(incumbent == null || node.getBound() > incumbent.value) {
+                            incumbent = new Incumbent(node.getTableau(), node.getBound());
+                            double value = incumbent.value;
+                            queue.onIncumbentFound();
+                            queue.prune(bound -> isPruned(bound, value));
+                            unresolvedNodes.removeIf(unresolved -> isPruned(unresolved.getBound(), value));
+                            reportIncumbent(value, getOpenBound(queue, unresolvedNodes));
+                        }
+                        continue;
+                    }
+                    for(BranchAndBoundNode child : children[k]) {
+                        if(child == null || incumbent != null && isPruned(child.getBound(), incumbent.value)) continue;
+                        if(child.isUnresolved()) {
+                            unresolvedNodes.add(child);
+                        } else {
+                            queue.add(child);
+                        }
                     }
                 }
+                if(checkpointPath != null && System.nanoTime() - lastCheckpointTime >= checkpointInterval * 1_000_000L) {
+                    writeState(new SearchState(queue, unresolvedNodes, sequenceNumber, incumbent, precision));
+                }
             }
+            if(checkpointPath != null && isStopped()) {
+                writeState(new SearchState(queue, unresolvedNodes, sequenceNumber, incumbent, precision));
+            }
+        } finally {
+            if(pool != null) pool.shutdown();
+        }
+        double openBound = getOpenBound(queue, unresolvedNodes);
+        bestBound = incumbent == null ? openBound : Math.max(incumbent.value, openBound);
+        hasUnresolvedNodes = !unresolvedNodes.isEmpty();
+        return incumbent;
+    }
+
+    private static double getOpenBound(NodeQueue queue, List<BranchAndBoundNode> unresolvedNodes) {
+        double bound = queue.getBestBound();
+        for(BranchAndBoundNode node : unresolvedNodes) {
+            bound = Math.max(bound, node.getBound());
+        }
+        return bound;
+    }
+
+    /**
+     * Saves the open nodes, the incumbent and the counters to the checkpoint file
+     */
+    private void writeState(SearchState state) {
+        try {
+            TableauSnapshot.save(checkpointPath, TableauSnapshot.KIND_BRANCH_AND_BOUND, output -> {
+                output.writeVarInt(state.precision);
+                output.writeVarInt(numberOfNodes);
+                output.writeLong(state.sequenceNumber);
+                output.writeBoolean(state.queue.isBestFirst());
+                output.writeBoolean(state.incumbent != null);
+                if(state.incumbent != null) {
+                    output.writeDouble(state.incumbent.value);
+                    TableauSnapshot.writeTableau(state.incumbent.tableau, output);
+                }
+                writeNodes(state.queue.getNodes(), output);
+                writeNodes(state.unresolvedNodes, output);
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("The checkpoint cannot be written.", ex);
+        }
+        lastCheckpointTime = System.nanoTime();
+    }
+
+    private static void writeNodes(List<BranchAndBoundNode> nodes, SnapshotOutput output) throws IOException {
+        output.writeVarInt(nodes.size());
+        for(BranchAndBoundNode node : nodes) {
+            output.writeDouble(node.getBound());
+            output.writeVarInt(node.getDepth());
+            output.writeLong(node.getSequenceNumber());
+            TableauSnapshot.writeTableau(node.getTableau(), output);
+        }
+    }
 
-            if (nonIntegerIndex == MathUtils.NOT_ASSIGNED) {
-                return nextTableau;
+    private SearchState readState(SnapshotInput input) {
+        int precision = input.readVarInt();
+        numberOfNodes = input.readVarInt();
+        long sequenceNumber = input.readLong();
+        boolean isBestFirst = input.readBoolean();
+        Incumbent incumbent = null;
+        if(input.readBoolean()) {
+            double value = input.readDouble();
+            Tableau tableau = TableauSnapshot.readTableau(input);
+            tableau.setSolverListener(solverListener);
+            incumbent = new Incumbent(tableau, value);
+        }
+        List<BranchAndBoundNode> nodes = readNodes(input, false);
+        List<BranchAndBoundNode> unresolvedNodes = readNodes(input, true);
+        NodeQueue queue = new NodeQueue(nodeSelection);
+        queue.restore(isBestFirst, nodes);
+        return new SearchState(queue, unresolvedNodes, sequenceNumber, incumbent, precision);
+    }
+
+    private List<BranchAndBoundNode> readNodes(SnapshotInput input, boolean isUnresolved) {
+        int numberOfNodes = input.readSize();
+        List<BranchAndBoundNode> nodes = new ArrayList<>(numberOfNodes);
+        for(int k = 0; k < numberOfNodes; k++) {
+            double bound = input.readDouble();
+            int depth = input.readVarInt();
+            long nodeSequenceNumber = input.readLong();
+            Tableau tableau = TableauSnapshot.readTableau(input);
+            tableau.setSolverListener(solverListener);
+            nodes.add(new BranchAndBoundNode(tableau, bound, depth, nodeSequenceNumber, isUnresolved));
+        }
+        return nodes;
+    }
+
+    private BranchAndBoundNode[][] branchAll(ForkJoinPool pool, List<BranchAndBoundNode> batch, long sequenceNumber,
+                                             ProblemObjectiveFunction objectiveFunction, int precision) {
+        BranchAndBoundNode[][] children = new BranchAndBoundNode[batch.size()][];
+        if(pool == null || batch.size() == 1) {
+            for(int k = 0; k < batch.size(); k++) {
+                children[k] = branch(batch.get(k), sequenceNumber + 2L * k, objectiveFunction, precision);
+            }
+            return children;
+        }
+        List<Callable<BranchAndBoundNode[]>> tasks = new ArrayList<>(batch.size());
+        for(int k = 0; k < batch.size(); k++) {
+            BranchAndBoundNode node = batch.get(k);
+            long nodeSequenceNumber = sequenceNumber + 2L * k;
+            tasks.add(() -> branch(node, nodeSequenceNumber, objectiveFunction, precision));
+        }
+        List<Future<BranchAndBoundNode[]>> results = pool.invokeAll(tasks);
+        for(int k = 0; k < results.size(); k++) {
+            try {
+                children[k] = results.get(k).get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Branch and bound was interrupted.", ex);
+            } catch (ExecutionException ex) {
+                throw new RuntimeException(ex.getCause());
             }
+        }
+        return children;
+    }
+
+    /**
+     * Branches the node on the variable with the biggest fraction and solves both children
+     * @param node the node
+     * @param sequenceNumber the sequence number of the first child, the second child gets the next one
+     * @return null if the solution of the node is integer, otherwise the children in the order they must be added
+     * to the queue, an infeasible child is null, an unresolved child gets the bound of the node
+     */
+    private BranchAndBoundNode[] branch(BranchAndBoundNode node, long sequenceNumber, ProblemObjectiveFunction objectiveFunction,
+                                        int precision) {
+        List<BigDecimal> solution = solutionBuffer.get();
+        node.getTableau().fillSolutionBigDecimal(solution);
+        int nonIntegerIndex = getBranchingIndex(node.getTableau(), solution, precision);
+        if(nonIntegerIndex == MathUtils.NOT_ASSIGNED) {
+            return null;
+        }
 
+        BigDecimal value = solution.get(nonIntegerIndex);
+        Tableau floorTableau = solveBranch(node.getTableau(), nonIntegerIndex, value.setScale(0, RoundingMode.FLOOR), true);
+        Tableau ceilingTableau = solveBranch(node.getTableau(), nonIntegerIndex, value.setScale(0, RoundingMode.CEILING), false);
+        double floorBound = getChildBound(node, floorTableau, objectiveFunction);
+        double ceilingBound = getChildBound(node, ceilingTableau, objectiveFunction);
 
-            Iteration nextResult = getNextStep(nextProblem, precision, nonIntegerIndex, nextValue);
-            nextTableau = nextResult.solution;
-            nextProblem = nextResult.problem;
-            if (nextTableau != null)
-                solution = nextTableau.getSolutionBigDecimal();
-        } while (true);
+        // the preferred child gets the lower sequence number and is added last, so that it is processed first
+        // by both queue types; the floor branch is preferred only if it is strictly better
+        boolean isFloorPreferred = floorBound > ceilingBound;
+        BranchAndBoundNode floorNode = floorTableau == null ? null : new BranchAndBoundNode(floorTableau, floorBound,
+            node.getDepth() + 1, isFloorPreferred ? sequenceNumber : sequenceNumber + 1, isUnresolved(floorTableau));
+        BranchAndBoundNode ceilingNode = ceilingTableau == null ? null : new BranchAndBoundNode(ceilingTableau, ceilingBound,
+            node.getDepth() + 1, isFloorPreferred ? sequenceNumber + 1 : sequenceNumber, isUnresolved(ceilingTableau));
+        return isFloorPreferred ? new BranchAndBoundNode[]{ceilingNode, floorNode} : new BranchAndBoundNode[]{floorNode, ceilingNode};
     }
 
-    private static Iteration getNextStep(Problem problem, int precision, int nonIntegerIndex, BigDecimal value) {
-        double floor = value.setScale(0, RoundingMode.FLOOR).doubleValue();
-        double ceiling = value.setScale(0,RoundingMode.CEILING).doubleValue();
+    /**
+     * Returns the bound of a child: the value of its relaxation, the bound of the parent if the relaxation may be
+     * not optimal, or the negative infinity for an infeasible child
+     */
+    private double getChildBound(BranchAndBoundNode parent, Tableau tableau, ProblemObjectiveFunction objectiveFunction) {
+        if(tableau == null) return Double.NEGATIVE_INFINITY;
+        return isUnresolved(tableau) ? parent.getBound() : getBound(objectiveFunction, tableau);
+    }
 
-        double[] equation = new double[problem.getNumberOfVariables()];
-        Arrays.fill(equation,0.d);
-        equation[nonIntegerIndex - 1] = 1.d;
+    private static boolean isUnresolved(Tableau tableau) {
+        return tableau.getStatus() == SolveStatus.DEGENERACY_LIMIT;
+    }
 
-        Problem problem1 = Problem.getInstance();
-        problem1.setPrecision(precision);
-        problem1.addAllEquations(problem.getEquations());
-        problem1.addEquation(ProblemEquation.make(equation, Relation.LESS_OR_EQUAL, floor));
-        problem1.addObjectiveFunction(problem.getObjectiveFunction().copy());
+    /**
+     * Informs the listener about a new incumbent
+     * @param openBound the best bound of the open nodes
+     */
+    private void reportIncumbent(double value, double openBound) {
+        if(solverListener == null) return;
+        double bound = Math.max(value, openBound);
+        solverListener.onIncumbentFound(sign * value, sign * bound, getGap(bound, value));
+    }
 
+    private static boolean isPruned(double bound, double incumbentValue) {
+        return bound <= incumbentValue + TOLERANCE * Math.max(1.d, Math.abs(incumbentValue));
+    }
 
-        TableauBuilder builder = TableauBuilder.getInstance();
-        builder.setProbliem(problem1);
-        Tableau tableau1 = builder.build();
+    private static double getGap(double bound, double incumbentValue) {
+        if(bound <= incumbentValue) return 0.d;
+        return (bound - incumbentValue) / Math.max(Math.abs(incumbentValue), TOLERANCE);
+    }
 
+    /**
+     * Returns the index of the integer variable with the biggest fraction, among equal fractions the last one
+     */
+    private static int getBranchingIndex(Tableau tableau, List<BigDecimal> solution, int precision) {
+        BigDecimal maxFraction = null;
+        int nonIntegerIndex = MathUtils.NOT_ASSIGNED;
+        for (int k = 1; k < solution.size(); k++) {
+            if(!tableau.isIntegerColumn(k)) continue;
+            BigDecimal value = solution.get(k);
+            if (!MathUtils.isInteger(value, precision)) {
+                BigDecimal fraction = MathUtils.getFraction(value, precision);
+                if(maxFraction == null || fraction.compareTo(maxFraction) >= 0)
+                {
+                    nonIntegerIndex = k;
+                    maxFraction = fraction;
+                }
+            }
+        }
+        return nonIntegerIndex;
+    }
 
-        Tableau solution1;
+    /**
+     * Solves a branch of the given tableau. The branch starts from a copy of the optimal parent tableau,
+     * the bound is added as a new row and the feasibility is restored by the dual simplex method.
+     * @return the tableau of the branch or null if the branch is infeasible
+     */
+    private Tableau solveBranch(Tableau parent, int variableIndex, BigDecimal bound, boolean isUpperBound) {
+        Tableau tableau = parent.copy();
+        if(limits != null) {
+            tableau.setSolveLimits(limits);
+        }
+        tableau.cutoffAuxiliary();
+        tableau.addBoundRow(variableIndex, bound, isUpperBound);
         try {
-            solution1 = SimplexMethod.applyTo(tableau1);
-            solution1.getSolutionBigDecimal().stream().forEach(v -> System.out.println(v.toPlainString() + " "));
+            return SimplexMethod.applyDualSimplex(tableau);
+        } catch (InfeasibleProblemException ex) {
+            return null;
+        }
+    }
+
+    /*
+     * The state of the sequential search: the open and the unresolved nodes, the next sequence number, the incumbent and the precision
+     * of the root tableau
+     */
+    private static final class SearchState {
+        private final NodeQueue queue;
+        private final List<BranchAndBoundNode> unresolvedNodes;
+        private final long sequenceNumber;
+        private final Incumbent incumbent;
+        private final int precision;
 
-        } catch (RuntimeException ex ){
-            solution1 = null;
-            System.out.println(ex.getMessage());
+        SearchState(NodeQueue queue, List<BranchAndBoundNode> unresolvedNodes, long sequenceNumber, Incumbent incumbent,
+                    int precision) {
+            this.queue = queue;
+            this.unresolvedNodes = unresolvedNodes;
+            this.sequenceNumber = sequenceNumber;
+            this.incumbent = incumbent;
+            this.precision = precision;
         }
+    }
 
-        Problem problem2 = Problem.getInstance();
-        problem2.setPrecision(precision);
-        problem2.addAllEquations(problem.getEquations());
-        problem2.addEquation(ProblemEquation.make(equation, Relation.GREATER_OR_EQUAL, ceiling));
-        problem2.addObjectiveFunction(problem.getObjectiveFunction().copy());
+    private static final class Incumbent {
+        private final Tableau tableau;
+        private final double value;
 
+        Incumbent(Tableau tableau, double value) {
+            this.tableau = tableau;
+            this.value = value;
+        }
+    }
 
-        builder = TableauBuilder.getInstance();
-        builder.setProbliem(problem2);
-        Tableau tableau2 = builder.build();
+    /*
+     * Runs the search on a fork-join pool: every node is a task, the children are forked into the queue of the worker,
+     * which processes its own queue depth first, while idle workers steal the oldest nodes of the other ones.
+     * The incumbent is shared by an atomic reference, the open nodes are kept in a concurrent set ordered by the bound
+     * to know the best bound for the gap. The unresolved nodes stay in that set without a task.
+     */
+    private final class ParallelSearch {
+        private final ProblemObjectiveFunction objectiveFunction;
+        private final int precision;
+        private final AtomicReference<Incumbent> incumbent = new AtomicReference<>();
+        private final ConcurrentSkipListSet<BranchAndBoundNode> openNodes = new ConcurrentSkipListSet<>(BranchAndBoundNode.BEST_BOUND_ORDER);
+        private final AtomicLong sequenceNumber = new AtomicLong(1);
+        private final AtomicInteger processedNodes = new AtomicInteger();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final AtomicInteger pendingTasks = new AtomicInteger();
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private volatile boolean isStopped;
 
+        ParallelSearch(ProblemObjectiveFunction objectiveFunction, int precision) {
+            this.objectiveFunction = objectiveFunction;
+            this.precision = precision;
+        }
 
-        Tableau solution2;
-        try{
-            solution2 = SimplexMethod.applyTo(tableau2);
-            solution2.getSolutionBigDecimal().stream().forEach(v -> System.out.println(v.toPlainString() + " "));
-        } catch (RuntimeException ex){
-            solution2 = null;
-            System.out.println(ex.getMessage());
+        Incumbent run(BranchAndBoundNode root) {
+            ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+            try {
+                openNodes.add(root);
+                pendingTasks.set(1);
+                pool.execute(new NodeTask(root));
+                completion.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Branch and bound was interrupted.", ex);
+            } finally {
+                pool.shutdown();
+            }
+            if(failure.get() != null) {
+                throw failure.get();
+            }
+            numberOfNodes = processedNodes.get();
+            Incumbent result = incumbent.get();
+            double openBound = openNodes.isEmpty() ? Double.NEGATIVE_INFINITY : openNodes.first().getBound();
+            bestBound = result == null ? openBound : Math.max(result.value, openBound);
+            hasUnresolvedNodes = openNodes.stream()
+                .anyMatch(node -> node.isUnresolved() && (result == null || !isPruned(node.getBound(), result.value)));
+            return result;
         }
 
-        //TODO implement algorithm of choosing solutions and proceed to next iteration
-        if(solution1 == null && solution2 != null)
-            return new Iteration(problem2,solution2);
+        private void process(BranchAndBoundNode node) {
+            Incumbent current = incumbent.get();
+            if(current != null && relativeGap > 0.d && getGap(openNodes.first().getBound(), current.value) <= relativeGap) {
+                isStopped = true;
+            }
+            if(isStopped) return;
+            if(limits != null && !limits.onNode()) {
+                isStopped = true;
+                return;
+            }
+
+            processedNodes.incrementAndGet();
+            if(solverListener != null) {
+                solverListener.onNodeProcessed(node.getDepth());
+            }
+            if(current == null || !isPruned(node.getBound(), current.value)) {
+                BranchAndBoundNode[] children = branch(node, sequenceNumber.getAndAdd(2), objectiveFunction, precision);
+                if(BranchAndBoundMethod.this.isStopped()) {
+                    isStopped = true;
+                    return;
+                }
+                if(children == null) {
+                    updateIncumbent(node);
+                } else {
+                    for(BranchAndBoundNode child : children) {
+                        current = incumbent.get();
+                        if(child != null && (current == null || !isPruned(child.getBound(), current.value))) {
+                            openNodes.add(child);
+                            if(child.isUnresolved()) continue;
+                            pendingTasks.incrementAndGet();
+                            new NodeTask(child).fork();
+                        }
+                    }
+                }
+            }
+            openNodes.remove(node);
+        }
 
-        if(solution1 != null && solution2 == null)
-            return new Iteration(problem1, solution1);
+        private void updateIncumbent(BranchAndBoundNode node) {
+            Incumbent candidate = new Incumbent(node.getTableau(), node.getBound());
+            Incumbent current = incumbent.get();
+            while(current == null || candidate.value > current.value) {
+                if(incumbent.compareAndSet(current, candidate)) {
+                    reportIncumbent(candidate.value, openNodes.first().getBound());
+                    return;
+                }
+                current = incumbent.get();
+            }
+        }
 
-        if(solution1 != null && solution2 != null){
-            BigDecimal free1 = solution1.getSolutionBigDecimal().get(0);
-            BigDecimal free2 = solution2.getSolutionBigDecimal().get(0);
+        private final class NodeTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
 
-            double dfree1 = evaluateObjective(problem.getObjectiveFunction(),solution1.getSolution());
-            double dfree2 = evaluateObjective(problem.getObjectiveFunction(),solution2.getSolution());
+            private final BranchAndBoundNode node;
 
-            ObjectiveFunctionType type = problem.getObjectiveFunction().getType();
+            NodeTask(BranchAndBoundNode node) {
+                this.node = node;
+            }
 
-            if((type.isFindMaximum() && Double.compare(dfree1,dfree2) > 0) || (type.isFindMinimum() && Double.compare(dfree1,dfree2) < 0)) {
-                return new Iteration(problem1,solution1);
-            } else {
-                return new Iteration(problem2, solution2);
+            @Override
+            protected void compute() {
+                try {
+                    process(node);
+                } catch (RuntimeException ex) {
+                    failure.compareAndSet(null, ex);
+                    isStopped = true;
+                } finally {
+                    if(pendingTasks.decrementAndGet() == 0) {
+                        completion.countDown();
+                    }
+                }
             }
         }
+    }
 
-        return null;
+    private double getBound(ProblemObjectiveFunction objFunc, Tableau tableau) {
+        return sign * evaluateObjective(objFunc, tableau.getSolution());
     }
 
     private static double evaluateObjective(ProblemObjectiveFunction objFunc, double[] solution){
@@ -139,13 +759,4 @@ public class BranchAndBoundMethod {
         }
         return result;
     }
-
-    private static class Iteration {
-        Problem problem;
-        Tableau solution;
-        Iteration(Problem problem, Tableau solution){
-            this.problem = problem;
-            this.solution = solution;
-        }
-    }
 }
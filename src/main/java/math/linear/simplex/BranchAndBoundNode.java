@@ -0,0 +1,63 @@
+package math.linear.simplex;
+
+/*
+ * Represents a node of the branch and bound tree: the optimal tableau of the linear relaxation with the bounds
+ * of the node and the value of the relaxation, which is the bound for all integer solutions of the subtree.
+ * A node, whose simplex loop was ended by the limit of degenerate pivots, is unresolved: its relaxation may be not
+ * optimal, so it keeps the bound of the parent and stays open without being branched.
+ */
+
+import java.util.Comparator;
+
+final class BranchAndBoundNode
+{
+    /**
+     * Orders the nodes by the bound descending, nodes with equal bounds in the order they were created
+     */
+    static final Comparator<BranchAndBoundNode> BEST_BOUND_ORDER = (node1, node2) -> {
+        int result = Double.compare(node2.bound, node1.bound);
+        return result != 0 ? result : Long.compare(node1.sequenceNumber, node2.sequenceNumber);
+    };
+
+    private final Tableau tableau;
+    private final double bound;
+    private final int depth;
+    private final long sequenceNumber;
+    private final boolean isUnresolved;
+
+    BranchAndBoundNode(Tableau tableau, double bound, int depth, long sequenceNumber) {
+        this(tableau, bound, depth, sequenceNumber, false);
+    }
+
+    BranchAndBoundNode(Tableau tableau, double bound, int depth, long sequenceNumber, boolean isUnresolved) {
+        this.tableau = tableau;
+        this.bound = bound;
+        this.depth = depth;
+        this.sequenceNumber = sequenceNumber;
+        this.isUnresolved = isUnresolved;
+    }
+
+    Tableau getTableau() {
+        return tableau;
+    }
+
+    /**
+     * Returns the value of the relaxation, for a minimization problem it is negated, so that a greater bound is always better
+     * @return
+     */
+    double getBound() {
+        return bound;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    boolean isUnresolved() {
+        return isUnresolved;
+    }
+}
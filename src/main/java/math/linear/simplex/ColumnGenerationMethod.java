@@ -0,0 +1,147 @@
+package math.linear.simplex;
+
+/*
+ * Solves the linear relaxation of a master problem by the Gilmore-Gomory column generation. The master problem keeps
+ * only a small set of columns, e.g. cutting patterns. After the master is solved by SimplexMethod its dual values are
+ * passed to a pricing oracle, the improving columns are added to the optimal tableau and the primal iterations are
+ * continued from the current basis. The method stops when the oracle finds no column with a negative reduced cost.
+ */
+
+import math.linear.problem.Problem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ColumnGenerationMethod
+{
+    private static final int DEFAULT_MAX_ROUNDS = 1000;
+    private static final double DEFAULT_REDUCED_COST_TOLERANCE = 1e-9;
+
+    private int maxRounds = DEFAULT_MAX_ROUNDS;
+    private double reducedCostTolerance = DEFAULT_REDUCED_COST_TOLERANCE;
+    private TableauBuilder tableauBuilder;
+
+    private ColumnGenerationMethod() {}
+
+    /**
+     * Returns an instance of the method with default settings
+     * @return
+     */
+    public static ColumnGenerationMethod getInstance() {
+        return new ColumnGenerationMethod();
+    }
+
+    /**
+     * Solves the master problem with default settings
+     * @param master the master problem with the initial columns, it must be feasible
+     * @param oracle the pricing oracle
+     * @return the solution
+     */
+    public static ColumnGenerationSolution applyTo(Problem master, PricingOracle oracle) {
+        return getInstance().solve(master, oracle);
+    }
+
+    /**
+     * Sets the maximum number of calls of the pricing oracle
+     * @param maxRounds
+     */
+    public void setMaxRounds(int maxRounds) {
+        if(maxRounds <= 0) {
+            throw new IllegalArgumentException("Maximum number of rounds must be positive.");
+        }
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Sets the tolerance a reduced cost of a generated column is treated as non-negative with
+     * @param reducedCostTolerance
+     */
+    public void setReducedCostTolerance(double reducedCostTolerance) {
+        if(reducedCostTolerance < 0.d) {
+            throw new IllegalArgumentException("Reduced cost tolerance must not be negative.");
+        }
+        this.reducedCostTolerance = reducedCostTolerance;
+    }
+
+    /**
+     * Sets the builder the tableau of the master problem is made with, e.g. to choose the numeric backend
+     * @param tableauBuilder
+     */
+    public void setTableauBuilder(TableauBuilder tableauBuilder) {
+        this.tableauBuilder = tableauBuilder;
+    }
+
+    /**
+     * Solves the linear relaxation of the master problem
+     * @param master the master problem with the initial columns, it must be feasible
+     * @param oracle the pricing oracle
+     * @return the solution
+     */
+    public ColumnGenerationSolution solve(Problem master, PricingOracle oracle) {
+        return solve(MasterProblem.of(master), oracle);
+    }
+
+    /**
+     * Solves the linear relaxation of the master problem given by columns
+     * @param master the master problem with the initial columns, it must be feasible
+     * @param oracle the pricing oracle
+     * @return the solution
+     */
+    public ColumnGenerationSolution solve(MasterProblem master, PricingOracle oracle) {
+        TableauBuilder builder = tableauBuilder == null ? TableauBuilder.getInstance() : tableauBuilder;
+        builder.setMasterProblem(master);
+        Tableau tableau = SimplexMethod.applyTo(builder.build());
+
+        double factor = master.getObjectiveFunctionType().isFindMaximum() ? -1.d : 1.d;
+        List<GeneratedColumn> columns = new ArrayList<>(master.getColumns());
+        List<GeneratedColumn> addedColumns = new ArrayList<>();
+
+        int numberOfRounds = 0;
+        boolean optimal = false;
+        double[] dualValues = getDualValues(tableau, factor);
+        // the dual values of a loop ended by the limit of degenerate pivots are not optimal, the search stops then
+        while(numberOfRounds < maxRounds && tableau.getStatus() == SolveStatus.FINISHED) {
+            numberOfRounds++;
+            addedColumns.clear();
+            for(GeneratedColumn column : oracle.getImprovingColumns(dualValues)) {
+                if(column.getLength() != dualValues.length) {
+                    throw new IllegalArgumentException("Column length does not match the number of equations.");
+                }
+                if(factor * getReducedCost(column, dualValues) < -reducedCostTolerance) {
+                    addedColumns.add(column);
+                }
+            }
+            if(addedColumns.isEmpty()) {
+                optimal = true;
+                break;
+            }
+            tableau.addColumns(addedColumns, factor);
+            columns.addAll(addedColumns);
+            SimplexMethod.reoptimize(tableau);
+            dualValues = getDualValues(tableau, factor);
+        }
+
+        double[] solution = tableau.getSolution();
+        double objectiveValue = 0.d;
+        for(int k = 0; k < solution.length; k++) {
+            objectiveValue += columns.get(k).getCost() * solution[k];
+        }
+        return new ColumnGenerationSolution(columns, solution, objectiveValue, dualValues, numberOfRounds, optimal, tableau);
+    }
+
+    private static double[] getDualValues(Tableau tableau, double factor) {
+        double[] dualValues = tableau.getDualValues();
+        for(int k = 0; k < dualValues.length; k++) {
+            dualValues[k] *= factor;
+        }
+        return dualValues;
+    }
+
+    private static double getReducedCost(GeneratedColumn column, double[] dualValues) {
+        double reducedCost = column.getCost();
+        for(int p = 0; p < column.getNumberOfNonZeros(); p++) {
+            reducedCost -= dualValues[column.getIndexAt(p)] * column.getValueAt(p);
+        }
+        return reducedCost;
+    }
+}
@@ -0,0 +1,87 @@
+package math.linear.simplex;
+
+/*
+ * Represents the solution of the linear relaxation of a master problem found by column generation
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ColumnGenerationSolution
+{
+    private final List<GeneratedColumn> columns;
+    private final double[] solution;
+    private final double objectiveValue;
+    private final double[] dualValues;
+    private final int numberOfRounds;
+    private final boolean optimal;
+    private final Tableau tableau;
+
+    ColumnGenerationSolution(List<GeneratedColumn> columns, double[] solution, double objectiveValue, double[] dualValues,
+        int numberOfRounds, boolean optimal, Tableau tableau) {
+        this.columns = columns;
+        this.solution = solution;
+        this.objectiveValue = objectiveValue;
+        this.dualValues = dualValues;
+        this.numberOfRounds = numberOfRounds;
+        this.optimal = optimal;
+        this.tableau = tableau;
+    }
+
+    /**
+     * Returns all columns of the master problem: the variables of the initial problem followed by the generated columns
+     * @return list of columns
+     */
+    public final List<GeneratedColumn> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Returns an array of values of the columns in the order of getColumns()
+     * @return array of values
+     */
+    public final double[] getSolution() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+
+    /**
+     * Returns the value of the objective function at the solution
+     * @return objective value
+     */
+    public final double getObjectiveValue() {
+        return objectiveValue;
+    }
+
+    /**
+     * Returns the dual values of the master problem equations the last pricing was done with
+     * @return array of dual values
+     */
+    public final double[] getDualValues() {
+        return Arrays.copyOf(dualValues, dualValues.length);
+    }
+
+    /**
+     * Returns the number of times the pricing oracle was called
+     * @return number of rounds
+     */
+    public final int getNumberOfRounds() {
+        return numberOfRounds;
+    }
+
+    /**
+     * Returns false if the limit of rounds was reached before the oracle stopped finding improving columns
+     * @return true if the solution is optimal
+     */
+    public final boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Returns the final tableau of the master problem, e.g. to continue with an integer method
+     * @return tableau
+     */
+    public final Tableau getTableau() {
+        return tableau;
+    }
+}
@@ -0,0 +1,62 @@
+package math.linear.simplex;
+
+/*
+ * Keeps all cuts found by the Gomory method. A cut is active while its row is in the tableau. Purged cuts stay in the
+ * pool and are offered again whenever the current solution violates them.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class CutPool
+{
+    private final List<GomoryCut> cuts = new ArrayList<>();
+    private int numberOfPurgedCuts;
+
+    void add(GomoryCut cut) {
+        cuts.add(cut);
+    }
+
+    List<GomoryCut> getCuts() {
+        return cuts;
+    }
+
+    /**
+     * Returns the active cut with the slack variable in the given column
+     * @param column
+     * @return cut or null
+     */
+    GomoryCut getActiveCut(int column) {
+        for(GomoryCut cut : cuts) {
+            if(cut.getColumn() == column) return cut;
+        }
+        return null;
+    }
+
+    /**
+     * Marks the cut as not being in the tableau and updates the columns of the other active cuts
+     * @param cut
+     */
+    void purge(GomoryCut cut) {
+        int column = cut.getColumn();
+        cut.setColumn(GomoryCut.NOT_ASSIGNED);
+        for(GomoryCut activeCut : cuts) {
+            if(activeCut.getColumn() > column) {
+                activeCut.setColumn(activeCut.getColumn() - 1, activeCut.getBasicRounds());
+            }
+        }
+        numberOfPurgedCuts++;
+    }
+
+    int size() {
+        return cuts.size();
+    }
+
+    int getNumberOfPurgedCuts() {
+        return numberOfPurgedCuts;
+    }
+
+    void setNumberOfPurgedCuts(int numberOfPurgedCuts) {
+        this.numberOfPurgedCuts = numberOfPurgedCuts;
+    }
+}
@@ -0,0 +1,13 @@
+package math.linear.simplex;
+
+/*
+ * Chooses the variable with the most negative reduced cost, the scan is done by the tableau itself
+ */
+
+final class DantzigPricing implements PricingStrategy
+{
+    @Override
+    public int getIncomingVariableIndex(Tableau tableau, int functionRowIndex, int columnLimit) {
+        return tableau.getIncomingVariableIndex(functionRowIndex, columnLimit);
+    }
+}
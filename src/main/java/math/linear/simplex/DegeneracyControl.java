@@ -0,0 +1,118 @@
+package math.linear.simplex;
+
+/*
+ * Watches the pivots of a simplex loop for degeneracy. A pivot is degenerate if the free coefficient of the pivot row
+ * is zero, so the function does not change. After the given number of consecutive degenerate pivots (a stall)
+ * the free coefficients of the equation rows are perturbed by small random values. The perturbation is removed when
+ * the perturbed function is optimal. If the loop stalls again, Bland's rule is used until the end of the loop,
+ * which cannot cycle. A pivot of the dual loop is degenerate if the function coefficient of the pivot column is zero,
+ * such pivots are only counted. The number of degenerate pivots of the loop may be limited by the SolveLimits
+ * of the tableau, only the loop stops when the limit is exceeded, the limits themselves are not stopped.
+ */
+
+import java.util.Random;
+
+final class DegeneracyControl
+{
+    static final int DEFAULT_STALL_ITERATIONS = 20;
+    static final int NO_LIMIT = 0;
+    private static final double PERTURBATION = 1e-6;
+    private static final long SEED = 20181L;
+
+    private final Tableau tableau;
+    private final int stallIterations;
+    private final int maxDegeneratePivots;
+
+    private int numberOfStalledPivots;
+    private int numberOfDegeneratePivots;
+    private boolean isPerturbationUsed;
+    private boolean isBlandRule;
+    private double[] deltas;
+    private int[] basicVariables;
+
+    DegeneracyControl(Tableau tableau) {
+        this.tableau = tableau;
+        this.stallIterations = tableau.getStallIterations();
+        SolveLimits limits = tableau.getSolveLimits();
+        this.maxDegeneratePivots = limits == null ? NO_LIMIT : limits.getMaxDegeneratePivots();
+    }
+
+    boolean isBlandRule() {
+        return isBlandRule;
+    }
+
+    boolean isPerturbed() {
+        return deltas != null;
+    }
+
+    int getNumberOfDegeneratePivots() {
+        return numberOfDegeneratePivots;
+    }
+
+    /**
+     * Registers the pivot before it is done and takes the measures against the stall
+     * @param rowNumber the pivot row
+     * @return false if the pivot exceeds the limit of degenerate pivots, then the loop must stop
+     */
+    boolean beforePivot(int rowNumber) {
+        if(rowNumber == tableau.INDEX_NOT_ASSIGNED) return true;
+        if(Math.abs(tableau.getValue(rowNumber, 0)) > tableau.getOptimalityTolerance()) {
+            numberOfStalledPivots = 0;
+            return true;
+        }
+        if(isLimitExceeded()) return false;
+        numberOfDegeneratePivots++;
+        if(++numberOfStalledPivots < stallIterations || isBlandRule) return true;
+        numberOfStalledPivots = 0;
+        if(!isPerturbationUsed) {
+            perturb();
+        } else {
+            isBlandRule = true;
+        }
+        return true;
+    }
+
+    /**
+     * Registers the pivot of the dual loop before it is done
+     * @param functionRowIndex the row of the function
+     * @param columnNumber the pivot column
+     * @return false if the pivot exceeds the limit of degenerate pivots, then the loop must stop
+     */
+    boolean beforeDualPivot(int functionRowIndex, int columnNumber) {
+        if(Math.abs(tableau.getValue(functionRowIndex, columnNumber)) > tableau.getOptimalityTolerance()) return true;
+        if(isLimitExceeded()) return false;
+        numberOfDegeneratePivots++;
+        return true;
+    }
+
+    private boolean isLimitExceeded() {
+        return maxDegeneratePivots != NO_LIMIT && numberOfDegeneratePivots == maxDegeneratePivots;
+    }
+
+    private void perturb() {
+        isPerturbationUsed = true;
+        int numberOfRows = tableau.getNumberOfRows();
+        int rowSize = tableau.getRowSize();
+        Random random = new Random(SEED);
+        deltas = new double[numberOfRows];
+        basicVariables = new int[numberOfRows];
+        for(int k = 0; k < numberOfRows; k++) {
+            basicVariables[k] = tableau.getBasicVariableIndex(k);
+            if(!tableau.isEquationRow(k) || basicVariables[k] == tableau.INDEX_NOT_ASSIGNED || basicVariables[k] >= rowSize) {
+                continue;
+            }
+            double value = Math.abs(tableau.getValue(k, 0));
+            deltas[k] = PERTURBATION * (1.d + value) * (1.d + random.nextDouble());
+        }
+        tableau.perturb(deltas);
+    }
+
+    /**
+     * Removes the perturbation, the free coefficients get the values of the unperturbed problem for the current basis
+     */
+    void removePerturbation() {
+        tableau.removePerturbation(deltas, basicVariables);
+        deltas = null;
+        basicVariables = null;
+    }
+}
@@ -0,0 +1,40 @@
+package math.linear.simplex;
+
+/*
+ * Devex pricing: the weights approximate the norms of the edge directions relative to the reference framework
+ * of the initial non-basic variables. The weights are reset when they grow too big.
+ */
+
+import java.util.Arrays;
+
+final class DevexPricing extends WeightedPricing
+{
+    private static final double RESET_THRESHOLD = 1e6;
+
+    @Override
+    void initializeWeights(Tableau tableau) {
+    }
+
+    @Override
+    void updateWeights(Tableau tableau, int rowNumber, int columnNumber) {
+        double pivotCoefficient = tableau.getValue(rowNumber, columnNumber);
+        double pivotWeight = weights[columnNumber];
+        double maxWeight = 0.d;
+        for(int k = 1; k < weights.length; k++) {
+            if(k == columnNumber) continue;
+            double ratio = tableau.getValue(rowNumber, k) / pivotCoefficient;
+            if(ratio == 0.d) continue;
+            weights[k] = Math.max(weights[k], ratio * ratio * pivotWeight);
+            maxWeight = Math.max(maxWeight, weights[k]);
+        }
+        int leavingIndex = tableau.getBasicVariableIndex(rowNumber);
+        if(leavingIndex > 0 && leavingIndex < weights.length) {
+            weights[leavingIndex] = Math.max(pivotWeight / (pivotCoefficient * pivotCoefficient), 1.d);
+            maxWeight = Math.max(maxWeight, weights[leavingIndex]);
+        }
+        weights[columnNumber] = 1.d;
+        if(maxWeight > RESET_THRESHOLD) {
+            Arrays.fill(weights, 1.d);
+        }
+    }
+}
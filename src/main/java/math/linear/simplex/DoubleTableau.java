@@ -0,0 +1,507 @@
+package math.linear.simplex;
+
+/*
+ * Represents the tableau of a canonical linear problem, whose coefficients are kept in a flat row-major array of doubles.
+ * The row layout is the same as for the BigDecimal tableau: the objective function first, then the equations
+ * and the auxiliary function (if any) at the end.
+ */
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class DoubleTableau extends Tableau
+{
+    static final double DEFAULT_FEASIBILITY_TOLERANCE = 1e-9;
+    static final double DEFAULT_OPTIMALITY_TOLERANCE = 1e-9;
+    // the value of a non-basic variable in the BigDecimal solution, shared to avoid an instance per variable
+    private static final BigDecimal ZERO_VALUE = BigDecimal.valueOf(0.d);
+
+    private double[] data;
+    private int[] basicVariables;
+    private int[] nonZeroColumns = new int[0];
+    private int numberOfRows;
+    private double feasibilityTolerance = DEFAULT_FEASIBILITY_TOLERANCE;
+    private double optimalityTolerance = DEFAULT_OPTIMALITY_TOLERANCE;
+
+    DoubleTableau(int numberOfRows, int rowSize) {
+        this(numberOfRows, rowSize, new double[numberOfRows * rowSize]);
+    }
+
+    /**
+     * Creates a tableau on the given coefficient array, e.g. from a TableauWorkspace, every row must be set by setRow
+     * @param numberOfRows
+     * @param rowSize
+     * @param data the array of at least numberOfRows * rowSize elements
+     */
+    DoubleTableau(int numberOfRows, int rowSize, double[] data) {
+        this.numberOfRows = numberOfRows;
+        this.data = data;
+        this.basicVariables = new int[numberOfRows];
+        Arrays.fill(basicVariables, INDEX_NOT_ASSIGNED);
+        setRowSize(rowSize);
+    }
+
+    @Override
+    public NumericBackend getNumericBackend(){
+        return NumericBackend.DOUBLE;
+    }
+
+    /**
+     * Copies the coefficients of a row into the tableau
+     * @param rowNumber the number of the row
+     * @param coefficients the coefficients, the first one is the free coefficient
+     * @param basicVariableIndex the index of the basic variable of an equation row or INDEX_NOT_ASSIGNED for a function row
+     */
+    void setRow(int rowNumber, double[] coefficients, int basicVariableIndex) {
+        int rowSize = getRowSize();
+        if(coefficients.length != rowSize){
+            throw new IllegalArgumentException("The size of the row to be added is incompatible");
+        }
+        System.arraycopy(coefficients, 0, data, rowNumber * rowSize, rowSize);
+        basicVariables[rowNumber] = basicVariableIndex;
+    }
+
+    /**
+     * Returns the coefficients of a row, changes of the returned array do not affect the tableau
+     * @param rowNumber the number of the row
+     * @return the coefficients, the first one is the free coefficient
+     */
+    double[] getRow(int rowNumber) {
+        int rowSize = getRowSize();
+        return Arrays.copyOfRange(data, rowNumber * rowSize, (rowNumber + 1) * rowSize);
+    }
+
+    /**
+     * Sets the tolerance a value is treated as non-negative with, used for the ratio test and the feasibility check
+     * @param tolerance
+     */
+    void setFeasibilityTolerance(double tolerance) {
+        this.feasibilityTolerance = tolerance;
+    }
+
+    double getFeasibilityTolerance() {
+        return feasibilityTolerance;
+    }
+
+    /**
+     * Sets the tolerance a reduced cost is treated as non-negative with, used by pricing
+     * @param tolerance
+     */
+    void setOptimalityTolerance(double tolerance) {
+        this.optimalityTolerance = tolerance;
+    }
+
+    @Override
+    double getOptimalityTolerance() {
+        return optimalityTolerance;
+    }
+
+    @Override
+    int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    double getValue(int rowNumber, int columnNumber) {
+        return data[rowNumber * getRowSize() + columnNumber];
+    }
+
+    @Override
+    int getBasicVariableIndex(int rowNumber) {
+        return basicVariables[rowNumber];
+    }
+
+    @Override
+    int getBasicRowIndex(int column) {
+        for(int k = 0; k < numberOfRows; k++) {
+            if(basicVariables[k] == column && !isFunctionRow(k)) return k;
+        }
+        return INDEX_NOT_ASSIGNED;
+    }
+
+    private boolean isFunctionRow(int rowNumber) {
+        return rowNumber == getObjectiveFunctionIndex() || rowNumber == getAuxiliaryFunctionIndex();
+    }
+
+    @Override
+    boolean isEquationRow(int rowNumber) {
+        return !isFunctionRow(rowNumber);
+    }
+
+    @Override
+    int getIncomingVariableIndex(int functionRowIndex, int columnLimit) {
+        int rowSize = getRowSize();
+        int maxIndex = (columnLimit == INDEX_NOT_ASSIGNED) ? rowSize : Math.min(columnLimit, rowSize);
+        int offset = functionRowIndex * rowSize;
+        TableauParallelism parallelism = getParallelism();
+        if(parallelism == null) {
+            return getIncomingVariableIndex(offset, 1, maxIndex);
+        }
+        return parallelism.select(1, maxIndex, 1, (from, to) -> getIncomingVariableIndex(offset, from, to),
+            (candidate, current) -> data[offset + candidate] < data[offset + current]);
+    }
+
+    private int getIncomingVariableIndex(int offset, int from, int to) {
+        int index = INDEX_NOT_ASSIGNED;
+        double minCoeff = -optimalityTolerance;
+        for(int k = from; k < to; k++) {
+            double coeff = data[offset + k];
+            if(coeff < minCoeff) {
+                minCoeff = coeff;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    int getPivotRowIndex(int incomingIndex) {
+        return getRatioTest().select(data, getRowSize(), numberOfRows, getObjectiveFunctionIndex(), getAuxiliaryFunctionIndex(),
+            incomingIndex, feasibilityTolerance, getParallelism());
+    }
+
+    @Override
+    int getOutcomingIndex(int incomingIndex) {
+        return getPivotRowIndex(incomingIndex);
+    }
+
+    @Override
+    void prepareAuxiliaryFunction() {
+        int rowSize = getRowSize();
+        int auxOffset = getAuxiliaryFunctionIndex() * rowSize;
+        int auxFirstIndex = getAuxiliaryVariablesFirstIndex();
+        for(int k = 0; k < numberOfRows; k++) {
+            if(basicVariables[k] >= auxFirstIndex) {
+                int offset = k * rowSize;
+                for(int m = 0; m < rowSize; m++) {
+                    data[auxOffset + m] -= data[offset + m];
+                }
+            }
+        }
+    }
+
+    @Override
+    boolean hasBasePlane() {
+        return data[getAuxiliaryFunctionIndex() * getRowSize()] >= -feasibilityTolerance;
+    }
+
+    @Override
+    void pivot(int rowNumber, int columnNumber) {
+        if(numberOfRows == 0) {
+            throw new IllegalStateException("Tableau contains no data.");
+        }
+        if(rowNumber == INDEX_NOT_ASSIGNED) {
+            throw new RuntimeException("Solution does not exist.");
+        }
+        if(rowNumber < 0 || rowNumber >= numberOfRows) {
+            throw new IllegalArgumentException("Row number is out of range.");
+        }
+        if(isFunctionRow(rowNumber)) {
+            throw new IllegalArgumentException("Objective function cannot be the pivot row.");
+        }
+        int rowSize = getRowSize();
+        if(columnNumber < 0 || columnNumber >= rowSize) {
+            throw new IllegalArgumentException("Column number is out of range: " + columnNumber);
+        }
+
+        int pivotOffset = rowNumber * rowSize;
+        double pivotCoefficient = data[pivotOffset + columnNumber];
+        if(pivotCoefficient == 0.d) {
+            throw new RuntimeException("The pivot coefficient is zero.");
+        }
+
+        if(nonZeroColumns.length < rowSize) {
+            nonZeroColumns = new int[rowSize];
+        }
+        double factor = 1.d / pivotCoefficient;
+        int numberOfNonZeros = 0;
+        for(int m = 0; m < rowSize; m++) {
+            if(data[pivotOffset + m] == 0.d) continue;
+            data[pivotOffset + m] *= factor;
+            nonZeroColumns[numberOfNonZeros++] = m;
+        }
+        data[pivotOffset + columnNumber] = 1.d;
+        basicVariables[rowNumber] = columnNumber;
+
+        TableauParallelism parallelism = getParallelism();
+        if(parallelism == null) {
+            for(int k = 0; k < numberOfRows; k++) {
+                updateRow(k, rowNumber, columnNumber, numberOfNonZeros);
+            }
+        } else {
+            int count = numberOfNonZeros;
+            parallelism.forEach(0, numberOfRows, count, k -> updateRow(k, rowNumber, columnNumber, count));
+        }
+    }
+
+    private void updateRow(int k, int rowNumber, int columnNumber, int numberOfNonZeros) {
+        if(k == rowNumber) return;
+        int rowSize = getRowSize();
+        int offset = k * rowSize;
+        int pivotOffset = rowNumber * rowSize;
+        double coeff = data[offset + columnNumber];
+        if(coeff == 0.d) return;
+        for(int n = 0; n < numberOfNonZeros; n++) {
+            int m = nonZeroColumns[n];
+            data[offset + m] -= coeff * data[pivotOffset + m];
+        }
+        data[offset + columnNumber] = 0.d;
+    }
+
+    @Override
+    void cutoffAuxiliary() {
+        int auxFuncIdx = getAuxiliaryFunctionIndex();
+        if(auxFuncIdx == INDEX_NOT_ASSIGNED) return;
+        int rowSize = getRowSize();
+        int newRowSize = getAuxiliaryVariablesFirstIndex();
+        double[] newData = new double[(numberOfRows - 1) * newRowSize];
+        int[] newBasicVariables = new int[numberOfRows - 1];
+        for(int k = 0, n = 0; k < numberOfRows; k++) {
+            if(k == auxFuncIdx) continue;
+            System.arraycopy(data, k * rowSize, newData, n * newRowSize, newRowSize);
+            newBasicVariables[n++] = basicVariables[k];
+        }
+        data = newData;
+        basicVariables = newBasicVariables;
+        numberOfRows--;
+        setAuxiliaryFunctionIndex(INDEX_NOT_ASSIGNED);
+        setRowSize(newRowSize);
+        setAuxiliaryVariablesFirstIndex(INDEX_NOT_ASSIGNED);
+    }
+
+    @Override
+    int getDualPivotRowIndex() {
+        int rowSize = getRowSize();
+        int index = INDEX_NOT_ASSIGNED;
+        double minValue = -feasibilityTolerance;
+        for(int k = 0; k < numberOfRows; k++) {
+            if(isFunctionRow(k)) continue;
+            double value = data[k * rowSize];
+            if(value < minValue) {
+                minValue = value;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    int getDualPivotColumnIndex(int rowNumber, int functionRowIndex, int columnLimit) {
+        int rowSize = getRowSize();
+        int maxIndex = Math.min(columnLimit, rowSize);
+        int offset = rowNumber * rowSize;
+        int objectiveOffset = functionRowIndex * rowSize;
+        int index = INDEX_NOT_ASSIGNED;
+        double minRatio = Double.POSITIVE_INFINITY;
+        for(int k = 1; k < maxIndex; k++) {
+            double coeff = data[offset + k];
+            if(coeff >= -feasibilityTolerance) continue;
+            double ratio = data[objectiveOffset + k] / -coeff;
+            if(index == INDEX_NOT_ASSIGNED || ratio < minRatio) {
+                minRatio = ratio;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    int addBoundRow(int variableIndex, BigDecimal bound, boolean isUpperBound) {
+        if(getAuxiliaryFunctionIndex() != INDEX_NOT_ASSIGNED) {
+            throw new IllegalStateException("The auxiliary function must be cut off before adding a bound.");
+        }
+        int rowSize = getRowSize();
+        int newRowSize = rowSize + 1;
+        double[] newData = new double[(numberOfRows + 1) * newRowSize];
+        int basicRow = INDEX_NOT_ASSIGNED;
+        for(int k = 0; k < numberOfRows; k++) {
+            System.arraycopy(data, k * rowSize, newData, k * newRowSize, rowSize);
+            if(basicVariables[k] == variableIndex && !isFunctionRow(k)) {
+                basicRow = k;
+            }
+        }
+
+        int offset = numberOfRows * newRowSize;
+        double value = scaleBound(variableIndex, bound).doubleValue();
+        if(basicRow == INDEX_NOT_ASSIGNED) {
+            newData[offset + variableIndex] = isUpperBound ? 1.d : -1.d;
+            newData[offset] = isUpperBound ? value : -value;
+        } else {
+            double sign = isUpperBound ? -1.d : 1.d;
+            for(int m = 1; m < rowSize; m++) {
+                newData[offset + m] = sign * data[basicRow * rowSize + m];
+            }
+            newData[offset + variableIndex] = 0.d;
+            newData[offset] = sign * (data[basicRow * rowSize] - value);
+        }
+        newData[offset + rowSize] = 1.d;
+
+        basicVariables = Arrays.copyOf(basicVariables, numberOfRows + 1);
+        basicVariables[numberOfRows] = rowSize;
+        data = newData;
+        setRowSize(newRowSize);
+        return numberOfRows++;
+    }
+
+    @Override
+    Tableau copy() {
+        DoubleTableau tableau = new DoubleTableau(numberOfRows, getRowSize());
+        copyPropertiesTo(tableau);
+        System.arraycopy(data, 0, tableau.data, 0, numberOfRows * getRowSize());
+        System.arraycopy(basicVariables, 0, tableau.basicVariables, 0, numberOfRows);
+        tableau.feasibilityTolerance = feasibilityTolerance;
+        tableau.optimalityTolerance = optimalityTolerance;
+        return tableau;
+    }
+
+    @Override
+    void perturb(double[] deltas) {
+        int rowSize = getRowSize();
+        for(int k = 0; k < numberOfRows; k++) {
+            data[k * rowSize] += deltas[k];
+        }
+    }
+
+    @Override
+    void removePerturbation(double[] deltas, int[] basicVariables) {
+        int rowSize = getRowSize();
+        for(int k = 0; k < numberOfRows; k++) {
+            int offset = k * rowSize;
+            for(int i = 0; i < deltas.length; i++) {
+                if(deltas[i] == 0.d || basicVariables[i] == INDEX_NOT_ASSIGNED || basicVariables[i] >= rowSize) continue;
+                data[offset] -= deltas[i] * data[offset + basicVariables[i]];
+            }
+        }
+    }
+
+    @Override
+    void addColumns(List<GeneratedColumn> columns, double factor) {
+        checkInitialBasis();
+        int[] initialBasis = getInitialBasis();
+        int[] rowSigns = getRowSigns();
+        int numberOfColumns = columns.size();
+        int rowSize = getRowSize();
+        int newRowSize = rowSize + numberOfColumns;
+        int position = getNumberOfProblemVariables() + 1;
+        int auxiliaryVariablesFirstIndex = getAuxiliaryVariablesFirstIndex();
+        double[] newData = new double[numberOfRows * newRowSize];
+        for(int k = 0; k < numberOfRows; k++) {
+            int offset = k * rowSize;
+            int newOffset = k * newRowSize;
+            boolean isObjectiveFunction = k == getObjectiveFunctionIndex();
+            boolean isAuxiliaryFunction = k == getAuxiliaryFunctionIndex();
+            System.arraycopy(data, offset, newData, newOffset, position);
+            for(int j = 0; j < numberOfColumns; j++) {
+                GeneratedColumn column = columns.get(j);
+                double value = isObjectiveFunction ? factor * column.getCost() : 0.d;
+                for(int p = 0; p < column.getNumberOfNonZeros(); p++) {
+                    int i = column.getIndexAt(p);
+                    double unitCoeff = data[offset + initialBasis[i]];
+                    if(isAuxiliaryFunction && initialBasis[i] >= auxiliaryVariablesFirstIndex) {
+                        unitCoeff -= 1.d;
+                    }
+                    value += unitCoeff * rowSigns[i] * getRowScale(i) * column.getValueAt(p);
+                }
+                newData[newOffset + position + j] = value;
+            }
+            System.arraycopy(data, offset + position, newData, newOffset + position + numberOfColumns, rowSize - position);
+            if(basicVariables[k] >= position) basicVariables[k] += numberOfColumns;
+        }
+        data = newData;
+        shiftColumns(position, numberOfColumns);
+    }
+
+    @Override
+    void addRow(GenericTableauRow row) {
+        throw new UnsupportedOperationException("Rows cannot be added to a tableau with the double backend.");
+    }
+
+    @Override
+    int addCuttingRow(GenericTableauRow row) {
+        throw new UnsupportedOperationException("Rows cannot be added to a tableau with the double backend.");
+    }
+
+    @Override
+    void removeEquation(int rowNumber) {
+        throw new UnsupportedOperationException("Rows cannot be removed from a tableau with the double backend.");
+    }
+
+    /**
+     * Returns a snapshot of the rows converted to BigDecimal. Changes of the returned rows do not affect the tableau.
+     * @return list of rows
+     */
+    @Override
+    public List<GenericTableauRow> getRows() {
+        List<GenericTableauRow> rows = new ArrayList<>(numberOfRows);
+        for(int k = 0; k < numberOfRows; k++) {
+            rows.add(makeRow(k));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns a snapshot of the equation rows converted to BigDecimal, the function rows are not converted
+     * @return list of equation rows
+     */
+    @Override
+    List<EquationTableauRow> getEquationRows() {
+        List<EquationTableauRow> equations = new ArrayList<>(numberOfRows);
+        for(int k = 0; k < numberOfRows; k++) {
+            if(!isFunctionRow(k)) {
+                equations.add((EquationTableauRow) makeRow(k));
+            }
+        }
+        return equations;
+    }
+
+    private GenericTableauRow makeRow(int rowNumber) {
+        int rowSize = getRowSize();
+        List<BigDecimal> coefficients = new ArrayList<>(rowSize);
+        for(int m = 0; m < rowSize; m++) {
+            coefficients.add(BigDecimal.valueOf(data[rowNumber * rowSize + m]));
+        }
+        GenericTableauRow row;
+        if(rowNumber == getObjectiveFunctionIndex()) {
+            row = new ObjectiveFunctionTableauRow(ObjectiveFunctionTableauRow.Type.STANDARD, coefficients);
+        } else if(rowNumber == getAuxiliaryFunctionIndex()) {
+            row = new ObjectiveFunctionTableauRow(ObjectiveFunctionTableauRow.Type.AUXILIARY, coefficients);
+        } else {
+            row = new EquationTableauRow(basicVariables[rowNumber], coefficients);
+        }
+        row.setPrecision(getPrecision());
+        return row;
+    }
+
+    @Override
+    public double[] getSolution(){
+        int numberOfProblemVariables = getNumberOfProblemVariables();
+        int rowSize = getRowSize();
+        double[] solutionValues = new double[numberOfProblemVariables];
+        for(int k = 0; k < numberOfRows; k++) {
+            int idx = basicVariables[k];
+            if(idx > 0 && idx <= numberOfProblemVariables && !isFunctionRow(k)) {
+                solutionValues[idx - 1] = data[k * rowSize] * getColumnScale(idx);
+            }
+        }
+        return solutionValues;
+    }
+
+    @Override
+    void fillSolutionBigDecimal(List<BigDecimal> solutionValues){
+        int numberOfProblemVariables = getNumberOfProblemVariables();
+        int rowSize = getRowSize();
+        solutionValues.clear();
+        solutionValues.add(BigDecimal.valueOf(data[getObjectiveFunctionIndex() * rowSize]));
+        for(int m = 0; m < numberOfProblemVariables; m++) {
+            solutionValues.add(ZERO_VALUE);
+        }
+        for(int k = 0; k < numberOfRows; k++) {
+            int idx = basicVariables[k];
+            if(idx > 0 && idx <= numberOfProblemVariables && !isFunctionRow(k)) {
+                solutionValues.set(idx, BigDecimal.valueOf(data[k * rowSize] * getColumnScale(idx)));
+            }
+        }
+    }
+}
@@ -38,4 +38,11 @@ public final class EquationTableauRow extends GenericTableauRow
         return this.basicVariableIndex;
     }
 
+    @Override
+    EquationTableauRow copy() {
+        EquationTableauRow row = new EquationTableauRow(basicVariableIndex, copyCoefficients());
+        row.setPrecision(getPrecision());
+        return row;
+    }
+
 }
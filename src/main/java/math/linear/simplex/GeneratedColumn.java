@@ -0,0 +1,108 @@
+package math.linear.simplex;
+
+/*
+ * Represents a column generated by a pricing oracle: the coefficients of a new variable in the master problem equations
+ * and its coefficient in the objective function. Only the non-zero coefficients are kept.
+ */
+
+import java.util.Arrays;
+
+public final class GeneratedColumn
+{
+    private final int length;
+    private final int[] indices;
+    private final double[] values;
+    private final double cost;
+
+    private GeneratedColumn(int length, int[] indices, double[] values, double cost) {
+        this.length = length;
+        this.indices = indices;
+        this.values = values;
+        this.cost = cost;
+    }
+
+    /**
+     * Makes a column
+     * @param coefficients the coefficients in the equations of the master problem
+     * @param cost the coefficient in the objective function
+     * @return column
+     */
+    public static GeneratedColumn make(double[] coefficients, double cost) {
+        if(coefficients.length == 0) {
+            throw new IllegalArgumentException("Cannot make a column with zero length.");
+        }
+        int numberOfNonZeros = 0;
+        for(double coefficient : coefficients) {
+            if(coefficient != 0.d) numberOfNonZeros++;
+        }
+        int[] indices = new int[numberOfNonZeros];
+        double[] values = new double[numberOfNonZeros];
+        for(int k = 0, position = 0; k < coefficients.length; k++) {
+            if(coefficients[k] != 0.d) {
+                indices[position] = k;
+                values[position] = coefficients[k];
+                position++;
+            }
+        }
+        return new GeneratedColumn(coefficients.length, indices, values, cost);
+    }
+
+    /**
+     * Makes a column from its non-zero coefficients
+     * @param length the number of equations of the master problem
+     * @param indices the ascending indices of the equations with non-zero coefficients
+     * @param values the coefficients at the indices
+     * @param cost the coefficient in the objective function
+     * @return column
+     */
+    public static GeneratedColumn makeSparse(int length, int[] indices, double[] values, double cost) {
+        if(length <= 0) {
+            throw new IllegalArgumentException("Cannot make a column with zero length.");
+        }
+        if(indices.length != values.length) {
+            throw new IllegalArgumentException("Indices and values must have equal length.");
+        }
+        for(int k = 0; k < indices.length; k++) {
+            if(indices[k] < 0 || indices[k] >= length || (k > 0 && indices[k] <= indices[k - 1])) {
+                throw new IllegalArgumentException("Indices must be ascending and less than the length.");
+            }
+        }
+        return new GeneratedColumn(length, indices.clone(), values.clone(), cost);
+    }
+
+    public double[] getCoefficients() {
+        double[] coefficients = new double[length];
+        for(int k = 0; k < indices.length; k++) {
+            coefficients[indices[k]] = values[k];
+        }
+        return coefficients;
+    }
+
+    public double getCoefficientAt(int k) {
+        if(k < 0 || k >= length) {
+            throw new IndexOutOfBoundsException("Index: " + k + ", Size: " + length);
+        }
+        int position = Arrays.binarySearch(indices, k);
+        return position >= 0 ? values[position] : 0.d;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getNumberOfNonZeros() {
+        return indices.length;
+    }
+
+    public int getIndexAt(int position) {
+        return indices[position];
+    }
+
+    public double getValueAt(int position) {
+        return values[position];
+    }
+
+    public double getCost() {
+        return cost;
+    }
+}
@@ -7,6 +7,8 @@ package math.linear.simplex;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public abstract class GenericTableauRow
@@ -14,6 +16,8 @@ public abstract class GenericTableauRow
     private int INDEX_NOT_ASSIGNED = -1;
     private List<BigDecimal> coefficients;
     private MathContext mathContext = MathContext.DECIMAL64;
+    private int[] mergeIndices;
+    private BigDecimal[] mergeValues;
 
 
     /**
@@ -68,9 +72,77 @@ public abstract class GenericTableauRow
     void addWithFactor(GenericTableauRow row, BigDecimal factor) {
         if( this.getSize() != row.getSize() )
             throw new RuntimeException("The size of the row does not match.");
+        if(factor.signum() == 0) return;
+
+        List<BigDecimal> rowCoefficients = row.getCoefficients();
+        if(coefficients instanceof SparseCoefficientList) {
+            if(rowCoefficients instanceof SparseCoefficientList) {
+                addSparseWithFactor((SparseCoefficientList) rowCoefficients, factor);
+                return;
+            }
+            coefficients = ((SparseCoefficientList) coefficients).toDense();
+        }
+
+        if(rowCoefficients instanceof SparseCoefficientList) {
+            SparseCoefficientList sparseRow = (SparseCoefficientList) rowCoefficients;
+            for(int p = 0; p < sparseRow.getNumberOfNonZeros(); p++) {
+                int k = sparseRow.getIndexAt(p);
+                coefficients.set(k,restoreInteger(coefficients.get(k).add(sparseRow.getValueAt(p).multiply(factor,mathContext),mathContext)));
+            }
+            return;
+        }
 
         for(int k = 0; k < coefficients.size(); k++) {
-            coefficients.set(k,restoreInteger(coefficients.get(k).add(row.getCoefficients().get(k).multiply(factor,mathContext),mathContext)));
+            BigDecimal coeff = rowCoefficients.get(k);
+            if(coeff.signum() == 0) continue;
+            coefficients.set(k,restoreInteger(coefficients.get(k).add(coeff.multiply(factor,mathContext),mathContext)));
+        }
+    }
+
+    /*
+     * Merges the non-zero coefficients of both sparse rows. The row is converted to the dense form if it gets too dense.
+     */
+    private void addSparseWithFactor(SparseCoefficientList row, BigDecimal factor) {
+        SparseCoefficientList sparse = (SparseCoefficientList) coefficients;
+        int thisCount = sparse.getNumberOfNonZeros();
+        int rowCount = row.getNumberOfNonZeros();
+        int capacity = thisCount + rowCount;
+        if(mergeIndices == null || mergeIndices.length < capacity) {
+            mergeIndices = new int[capacity];
+            mergeValues = new BigDecimal[capacity];
+        }
+        int[] thisIndices = sparse.getIndices();
+        BigDecimal[] thisValues = sparse.getValues();
+        int count = 0;
+        int p = 0;
+        int q = 0;
+        while(p < thisCount || q < rowCount) {
+            int thisIndex = p < thisCount ? thisIndices[p] : Integer.MAX_VALUE;
+            int rowIndex = q < rowCount ? row.getIndexAt(q) : Integer.MAX_VALUE;
+            BigDecimal value;
+            int index;
+            if(thisIndex < rowIndex) {
+                index = thisIndex;
+                value = thisValues[p++];
+            } else {
+                index = rowIndex;
+                BigDecimal coeff = thisIndex == rowIndex ? thisValues[p++] : BigDecimal.ZERO;
+                value = restoreInteger(coeff.add(row.getValueAt(q++).multiply(factor,mathContext),mathContext));
+                if(value.signum() == 0) continue;
+            }
+            mergeIndices[count] = index;
+            mergeValues[count] = value;
+            count++;
+        }
+        sparse.replace(mergeIndices, mergeValues, count);
+        mergeIndices = thisIndices;
+        mergeValues = thisValues;
+        Arrays.fill(mergeValues, null);
+
+        if(!SparseCoefficientList.isSparse(count, sparse.size())) {
+            coefficients = sparse.toDense();
+            mergeIndices = null;
+            mergeValues = null;
         }
     }
 
@@ -80,6 +152,22 @@ public abstract class GenericTableauRow
      * @return the list of products of the coefficients and the factor.
      */
     void multiplyBy(BigDecimal factor){
+        if(coefficients instanceof SparseCoefficientList) {
+            SparseCoefficientList sparse = (SparseCoefficientList) coefficients;
+            int[] indices = sparse.getIndices();
+            BigDecimal[] values = sparse.getValues();
+            int count = 0;
+            for(int p = 0; p < sparse.getNumberOfNonZeros(); p++) {
+                BigDecimal value = restoreInteger(values[p].multiply(factor,mathContext));
+                if(value.signum() == 0) continue;
+                indices[count] = indices[p];
+                values[count] = value;
+                count++;
+            }
+            Arrays.fill(values, count, sparse.getNumberOfNonZeros(), null);
+            sparse.replace(indices, values, count);
+            return;
+        }
 
         for(int k = 0; k < coefficients.size(); k++){
             BigDecimal coeff = coefficients.get(k);
@@ -88,6 +176,31 @@ public abstract class GenericTableauRow
         }
     }
 
+    /**
+     * Returns a copy of the row with its own coefficients
+     * @return copy of the row
+     */
+    abstract GenericTableauRow copy();
+
+    /**
+     * Returns a copy of the coefficients in the same storage form
+     * @return copy of the coefficients
+     */
+    final List<BigDecimal> copyCoefficients() {
+        if(coefficients instanceof SparseCoefficientList) {
+            return ((SparseCoefficientList) coefficients).copy();
+        }
+        return new ArrayList<>(coefficients);
+    }
+
+    /**
+     * Checks if the coefficients are stored sparse
+     * @return true for a sparse row
+     */
+    final boolean isSparse() {
+        return coefficients instanceof SparseCoefficientList;
+    }
+
     int getIndexOfMaxAbsValue(){
         int index = INDEX_NOT_ASSIGNED;
         BigDecimal maxAbsValue = BigDecimal.ZERO;
@@ -102,7 +215,11 @@ public abstract class GenericTableauRow
     }
 
     void cutTo(int idx) {
-        coefficients = coefficients.subList(0, idx);
+        if(coefficients instanceof SparseCoefficientList) {
+            ((SparseCoefficientList) coefficients).truncate(idx);
+        } else {
+            coefficients = coefficients.subList(0, idx);
+        }
     }
 
 
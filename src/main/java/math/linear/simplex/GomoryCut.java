@@ -0,0 +1,112 @@
+package math.linear.simplex;
+
+/*
+ * Represents a cut a(1) * x(1) + ... + a(n) * x(n) >= b in the columns the tableau had before the first cut was added,
+ * i.e. the problem and the additional variables. The coefficients do not depend on the basis, so a cut stays valid
+ * after it has been purged from the tableau and can be added again later.
+ */
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+
+final class GomoryCut
+{
+    static final int NOT_ASSIGNED = -1;
+
+    private final BigDecimal[] coefficients;
+    private final double norm;
+    private final boolean isInteger;
+    private int column = NOT_ASSIGNED;
+    private int basicRounds;
+
+    /**
+     * @param coefficients the right side at 0 and the coefficients of the columns
+     * @param isInteger true if the slack variable of the cut is integer for every integer solution
+     */
+    GomoryCut(BigDecimal[] coefficients, boolean isInteger) {
+        this.coefficients = coefficients;
+        this.isInteger = isInteger;
+        double sum = 0.d;
+        for(int k = 1; k < coefficients.length; k++) {
+            double value = coefficients[k].doubleValue();
+            sum += value * value;
+        }
+        this.norm = Math.sqrt(sum);
+    }
+
+    BigDecimal getCoefficientAt(int index) {
+        return coefficients[index];
+    }
+
+    int getSize() {
+        return coefficients.length;
+    }
+
+    /**
+     * Returns the distance between the cut and the point, which is negative if the point satisfies the cut
+     * @param values the values of the columns, the value at 0 is ignored
+     * @param mathContext
+     * @return efficacy
+     */
+    double getEfficacy(List<BigDecimal> values, MathContext mathContext) {
+        if(norm == 0.d) {
+            return coefficients[0].signum() > 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+        BigDecimal violation = coefficients[0];
+        for(int k = 1; k < coefficients.length; k++) {
+            if(coefficients[k].signum() == 0 || values.get(k).signum() == 0) continue;
+            violation = violation.subtract(coefficients[k].multiply(values.get(k), mathContext), mathContext);
+        }
+        return violation.doubleValue() / norm;
+    }
+
+    /**
+     * Returns the cosine of the angle between both cuts
+     * @param cut
+     * @return cosine
+     */
+    double getParallelism(GomoryCut cut) {
+        if(norm == 0.d || cut.norm == 0.d) {
+            return 0.d;
+        }
+        double product = 0.d;
+        for(int k = 1; k < coefficients.length; k++) {
+            product += coefficients[k].doubleValue() * cut.coefficients[k].doubleValue();
+        }
+        return product / (norm * cut.norm);
+    }
+
+    boolean isInteger() {
+        return isInteger;
+    }
+
+    boolean isActive() {
+        return column != NOT_ASSIGNED;
+    }
+
+    /**
+     * Returns the column of the slack variable of the cut in the tableau or NOT_ASSIGNED if the cut is not in the tableau
+     * @return column
+     */
+    int getColumn() {
+        return column;
+    }
+
+    void setColumn(int column) {
+        setColumn(column, 0);
+    }
+
+    void setColumn(int column, int basicRounds) {
+        this.column = column;
+        this.basicRounds = basicRounds;
+    }
+
+    int getBasicRounds() {
+        return basicRounds;
+    }
+
+    void setBasicRounds(int basicRounds) {
+        this.basicRounds = basicRounds;
+    }
+}
@@ -1,101 +1,539 @@
 package math.linear.simplex;
 
+/*
+ * Finds an integer solution by Gomory's cuts: the fractional cut is made from a row with integer variables only, its
+ * slack variable is integer as well; the mixed integer cut, which stays valid for continuous variables, is made from
+ * the other rows. The cuts are added in rounds:
+ * a cut is made from every row with a fractional integer problem variable, the cuts violated most by the current solution per unit of their length
+ * (efficacy) are added to the tableau and the feasibility is restored by the dual simplex method. All cuts are kept
+ * in a pool, a cut whose slack variable stays basic for a number of rounds is removed from the tableau and can be
+ * added again from the pool later.
+ * The tableau and the pool can be saved to a checkpoint file after the rounds, see setCheckpoint; resume continues the
+ * rounds from such a file. The rounds stop early when the SolveLimits are hit, the tableau is returned as it is then.
+ */
 
-import math.linear.basic.MathUtils;
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class GomoryMethod {
     private static int NOT_ASSIGNED = -1;
+    private static final double MAX_PARALLELISM = 0.999d;
+
+    private int maxCutsPerRound = 10;
+    private int purgeRounds = 3;
+    private int maxRounds = 1000;
+    private double minEfficacy = 1e-6;
+    private Path checkpointPath;
+    private long checkpointInterval;
+    private SolverListener solverListener;
+    private SolveLimits solveLimits;
+
+    private int numberOfRounds;
+    private int numberOfCuts;
+    private int numberOfPurgedCuts;
+    private SolveStatus status = SolveStatus.FINISHED;
+
+    private GomoryMethod() {}
+
+    /**
+     * Returns an instance of the method with default settings
+     * @return
+     */
+    public static GomoryMethod getInstance() {
+        return new GomoryMethod();
+    }
 
     public static Tableau applyTo(Tableau tableau)
     {
+        return getInstance().solve(tableau);
+    }
+
+    /**
+     * Sets the maximum number of cuts added to the tableau in a round
+     * @param maxCutsPerRound
+     */
+    public void setMaxCutsPerRound(int maxCutsPerRound) {
+        if(maxCutsPerRound <= 0) {
+            throw new IllegalArgumentException("Number of cuts per round must be positive.");
+        }
+        this.maxCutsPerRound = maxCutsPerRound;
+    }
+
+    /**
+     * Sets the number of consecutive rounds the slack variable of a cut must be basic in to remove the cut from the tableau
+     * @param purgeRounds
+     */
+    public void setPurgeRounds(int purgeRounds) {
+        if(purgeRounds <= 0) {
+            throw new IllegalArgumentException("Number of purge rounds must be positive.");
+        }
+        this.purgeRounds = purgeRounds;
+    }
+
+    /**
+     * Sets the maximum number of rounds, the method stops with the ROUND_LIMIT status when it is exceeded
+     * @param maxRounds
+     */
+    public void setMaxRounds(int maxRounds) {
+        if(maxRounds <= 0) {
+            throw new IllegalArgumentException("Number of rounds must be positive.");
+        }
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Sets the minimal efficacy of a cut, the best cut of a round is added regardless of it
+     * @param minEfficacy
+     */
+    public void setMinEfficacy(double minEfficacy) {
+        this.minEfficacy = minEfficacy;
+    }
+
+    /**
+     * Sets the file the tableau and the cuts are saved to. They are saved after a round, when the given time has passed
+     * since the previous save; the file is replaced, so it always holds the latest state.
+     * @param path the file or null to disable the checkpoints
+     * @param intervalMillis the minimal time between two saves in milliseconds, zero saves after every round
+     */
+    public void setCheckpoint(Path path, long intervalMillis) {
+        if(intervalMillis < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must not be negative.");
+        }
+        this.checkpointPath = path;
+        this.checkpointInterval = intervalMillis;
+    }
+
+    /**
+     * Sets the listener informed about the rounds of cuts. The simplex method informs the listener of the tableau.
+     * @param solverListener the listener or null
+     */
+    public void setSolverListener(SolverListener solverListener) {
+        this.solverListener = solverListener;
+    }
+
+    /**
+     * Sets the limits of the rounds and of the simplex method working on the tableau. Without them the limits of
+     * the tableau are used, see TableauBuilder.setSolveLimits.
+     * @param solveLimits the limits or null
+     */
+    public void setSolveLimits(SolveLimits solveLimits) {
+        this.solveLimits = solveLimits;
+    }
+
+    /**
+     * Returns FINISHED or the reason the last solve was stopped early, then the solution may be fractional and
+     * the tableau may not be optimal if the limit was hit inside the dual simplex
+     * @return
+     */
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the number of rounds of the last solve
+     * @return
+     */
+    public int getNumberOfRounds() {
+        return numberOfRounds;
+    }
+
+    /**
+     * Returns the number of cuts found by the last solve
+     * @return
+     */
+    public int getNumberOfCuts() {
+        return numberOfCuts;
+    }
+
+    /**
+     * Returns how many times a cut was removed from the tableau during the last solve
+     * @return
+     */
+    public int getNumberOfPurgedCuts() {
+        return numberOfPurgedCuts;
+    }
+
+    /**
+     * Finds an integer solution starting from the optimal tableau of the linear relaxation
+     * @param tableau the optimal tableau with the BigDecimal backend
+     * @return the same tableau with an integer solution, unless the solve was stopped by the limits
+     */
+    public Tableau solve(Tableau tableau)
+    {
+        if(!tableau.getNumericBackend().isBigDecimal()) {
+            throw new IllegalArgumentException("Gomory method requires a tableau with the BigDecimal backend.");
+        }
+        if(tableau.isScaled()) {
+            throw new IllegalArgumentException("Gomory method requires a tableau without scaling.");
+        }
         tableau.cutoffAuxiliary();
-        List<BigDecimal> solution = tableau.getSolutionBigDecimal();
-        int biggestFractionIndex = MathUtils.getBiggestFractionIndex(solution, tableau.getPrecision());
+        numberOfRounds = 0;
+        return run(tableau, new CutPool(), tableau.getRowSize());
+    }
+
+    /**
+     * Continues the rounds saved to a checkpoint by an earlier call of solve
+     * @param checkpoint the checkpoint file
+     * @return the tableau with an integer solution
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public Tableau resume(Path checkpoint) throws IOException {
+        CutPool pool = new CutPool();
+        int[] numberOfColumns = new int[1];
+        Tableau tableau = TableauSnapshot.load(checkpoint, TableauSnapshot.KIND_GOMORY, input -> {
+            numberOfColumns[0] = input.readVarInt();
+            numberOfRounds = input.readVarInt();
+            pool.setNumberOfPurgedCuts(input.readVarInt());
+            int numberOfCuts = input.readSize();
+            for(int i = 0; i < numberOfCuts; i++) {
+                boolean isInteger = input.readBoolean();
+                int column = input.readVarInt();
+                int basicRounds = input.readVarInt();
+                BigDecimal[] coefficients = new BigDecimal[input.readSize()];
+                for(int k = 0; k < coefficients.length; k++) {
+                    coefficients[k] = input.readBigDecimal();
+                }
+                GomoryCut cut = new GomoryCut(coefficients, isInteger);
+                cut.setColumn(column, basicRounds);
+                pool.add(cut);
+            }
+            return TableauSnapshot.readTableau(input);
+        });
+        tableau.setSolverListener(solverListener);
+        return run(tableau, pool, numberOfColumns[0]);
+    }
 
-        while(biggestFractionIndex != NOT_ASSIGNED ) {
-            addCuttingRow(tableau, biggestFractionIndex);
-            solution = tableau.getSolutionBigDecimal();
-            biggestFractionIndex = MathUtils.getBiggestFractionIndex(solution, tableau.getPrecision());
+    /**
+     * Adds the rounds of cuts until the solution is integer
+     * @param numberOfColumns the number of columns before the first cut
+     */
+    private Tableau run(Tableau tableau, CutPool pool, int numberOfColumns) {
+        MathContext mathContext = tableau.getMathContext();
+        long lastCheckpointTime = System.nanoTime();
+        SolveLimits limits = solveLimits != null ? solveLimits : tableau.getSolveLimits();
+        if(limits != null) {
+            tableau.setSolveLimits(limits);
+            limits.start();
         }
 
+        boolean isRoundLimitHit = false;
+        while(hasFractionalValue(tableau)) {
+            if(limits != null && !limits.check()) {
+                break;
+            }
+            if(tableau.getStatus() == SolveStatus.DEGENERACY_LIMIT) {
+                // the cuts of a tableau, which is not optimal, would not move the solution to the integer optimum
+                break;
+            }
+            if(numberOfRounds == maxRounds) {
+                isRoundLimitHit = true;
+                break;
+            }
+            int numberOfPurgedCuts = pool.getNumberOfPurgedCuts();
+            purge(tableau, pool);
+
+            List<BigDecimal> values = getColumnValues(tableau, numberOfColumns);
+            List<Candidate> candidates = new ArrayList<>();
+            for(EquationTableauRow equation : tableau.getEquationRows()) {
+                if(isFractional(equation.getCoefficients().get(0), tableau.getPrecision()) && isIntegerProblemVariable(tableau, equation)) {
+                    BigDecimal[] coefficients = makeCutCoefficients(tableau, equation, mathContext);
+                    GomoryCut cut = toOriginalColumns(coefficients, isIntegerRow(tableau, equation), pool,
+                        numberOfColumns, mathContext);
+                    candidates.add(new Candidate(cut, coefficients, cut.getEfficacy(values, mathContext)));
+                }
+            }
+            for(GomoryCut cut : pool.getCuts()) {
+                if(!cut.isActive()) {
+                    candidates.add(new Candidate(cut, null, cut.getEfficacy(values, mathContext)));
+                }
+            }
+
+            List<Candidate> selected = select(candidates);
+            if(limits != null) {
+                int numberOfAllowedCuts = limits.onCuts(selected.size());
+                if(numberOfAllowedCuts < selected.size()) {
+                    if(numberOfAllowedCuts == 0) break;
+                    selected = selected.subList(0, numberOfAllowedCuts);
+                }
+            }
+            numberOfRounds++;
+            for(Candidate candidate : selected) {
+                if(candidate.coefficients != null) {
+                    pool.add(candidate.cut);
+                }
+                BigDecimal[] coefficients = candidate.coefficients;
+                if(coefficients == null) {
+                    coefficients = new BigDecimal[numberOfColumns];
+                    for(int k = 0; k < numberOfColumns; k++) {
+                        coefficients[k] = candidate.cut.getCoefficientAt(k);
+                    }
+                }
+                int column = addCut(tableau, coefficients, mathContext);
+                candidate.cut.setColumn(column);
+                if(!candidate.cut.isInteger()) {
+                    tableau.setContinuousColumn(column);
+                }
+            }
+            SimplexMethod.applyDualSimplex(tableau);
+            if(limits != null && limits.isStopped()) {
+                break;
+            }
+            if(solverListener != null) {
+                solverListener.onCuttingRound(numberOfRounds, selected.size(), pool.getNumberOfPurgedCuts() - numberOfPurgedCuts);
+            }
+            if(checkpointPath != null && System.nanoTime() - lastCheckpointTime >= checkpointInterval * 1_000_000L) {
+                writeState(tableau, pool, numberOfColumns);
+                lastCheckpointTime = System.nanoTime();
+            }
+        }
+        // the round cap belongs to this method only, the shared limits stay usable for the caller
+        if(isRoundLimitHit) {
+            status = SolveStatus.ROUND_LIMIT;
+        } else if(tableau.getStatus() == SolveStatus.DEGENERACY_LIMIT) {
+            status = SolveStatus.DEGENERACY_LIMIT;
+        } else {
+            status = limits != null ? limits.getStatus() : SolveStatus.FINISHED;
+        }
+
+        numberOfCuts = pool.size();
+        numberOfPurgedCuts = pool.getNumberOfPurgedCuts();
         return tableau;
     }
 
-    private static void addCuttingRow(Tableau tableau, int biggestFractionIndex)
-    {
-        EquationTableauRow equation = tableau.getEquationRows().stream().filter(eq -> eq.getBasicVariableIndex() == biggestFractionIndex).findFirst().get();
+    /**
+     * Saves the tableau, the pool and the counters to the checkpoint file
+     */
+    private void writeState(Tableau tableau, CutPool pool, int numberOfColumns) {
+        try {
+            TableauSnapshot.save(checkpointPath, TableauSnapshot.KIND_GOMORY, output -> {
+                output.writeVarInt(numberOfColumns);
+                output.writeVarInt(numberOfRounds);
+                output.writeVarInt(pool.getNumberOfPurgedCuts());
+                output.writeVarInt(pool.size());
+                for(GomoryCut cut : pool.getCuts()) {
+                    output.writeBoolean(cut.isInteger());
+                    output.writeVarInt(cut.getColumn());
+                    output.writeVarInt(cut.getBasicRounds());
+                    output.writeVarInt(cut.getSize());
+                    for(int k = 0; k < cut.getSize(); k++) {
+                        output.writeBigDecimal(cut.getCoefficientAt(k));
+                    }
+                }
+                TableauSnapshot.writeTableau(tableau, output);
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("The checkpoint cannot be written.", ex);
+        }
+    }
 
-        List<BigDecimal> fractions = equation.getCoefficients().stream().sequential()
-            .map(coeff -> coeff.subtract(coeff.setScale(0, RoundingMode.FLOOR)))
-            .collect(Collectors.toList());
-        fractions.add(BigDecimal.ONE.negate());
-        EquationTableauRow cuttingRow = new EquationTableauRow(equation.getSize() + 1,fractions);
-        
-        tableau.getRows().stream().forEach(row -> row.getCoefficients().add(BigDecimal.ZERO));
-        tableau.setRowSize(tableau.getRowSize() + 1);
-        tableau.addCuttingRow(cuttingRow);
+    private static boolean hasFractionalValue(Tableau tableau) {
+        for(EquationTableauRow equation : tableau.getEquationRows()) {
+            if(isIntegerProblemVariable(tableau, equation) && isFractional(equation.getCoefficients().get(0), tableau.getPrecision())) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        int auxilieryFunctionIndex = tableau.getAuxiliaryFunctionIndex();
+    private static boolean isIntegerProblemVariable(Tableau tableau, EquationTableauRow equation) {
+        int index = equation.getBasicVariableIndex();
+        return index > 0 && index <= tableau.getNumberOfProblemVariables() && tableau.isIntegerColumn(index);
+    }
 
-        int rowIdx = auxilieryFunctionIndex < 0 ? tableau.getRows().size() - 1 : tableau.getAuxiliaryFunctionIndex() - 1;
-        int columnIdx = getIncomingIndex(tableau,rowIdx);
-        tableau.pivot(rowIdx, columnIdx);
+    private static boolean isFractional(BigDecimal value, int precision) {
+        return getFraction(value, precision).signum() != 0;
     }
 
+    /**
+     * Returns the fraction of the value or zero if the value is integer when rounded to precision/2 decimal places
+     */
+    private static BigDecimal getFraction(BigDecimal value, int precision) {
+        BigDecimal fraction = value.subtract(value.setScale(0, RoundingMode.FLOOR));
+        BigDecimal rounded = fraction.setScale(precision / 2, RoundingMode.HALF_UP);
+        return rounded.signum() == 0 || rounded.compareTo(BigDecimal.ONE) == 0 ? BigDecimal.ZERO : fraction;
+    }
 
-    
+    /**
+     * Removes the cuts whose slack variables have been basic for the given number of rounds
+     */
+    private void purge(Tableau tableau, CutPool pool) {
+        for(GomoryCut cut : pool.getCuts()) {
+            if(!cut.isActive()) continue;
+            int rowNumber = tableau.getBasicRowIndex(cut.getColumn());
+            if(rowNumber == NOT_ASSIGNED) {
+                cut.setBasicRounds(0);
+                continue;
+            }
+            cut.setBasicRounds(cut.getBasicRounds() + 1);
+            if(cut.getBasicRounds() >= purgeRounds) {
+                tableau.removeEquation(rowNumber);
+                pool.purge(cut);
+            }
+        }
+    }
 
-    private static int getIncomingIndex(Tableau tableux, int cuttingRowIndex){
-        int precision = tableux.getPrecision();
-        BigDecimal minRatio = null;
-        int index = NOT_ASSIGNED;
-        ObjectiveFunctionTableauRow objFunc = tableux.getObjectiveFunction();
-        GenericTableauRow cutRow = tableux.getRows().get(cuttingRowIndex);
-        for(int k = 1; k < cutRow.getSize() - 1 ; k++){
-            BigDecimal cutCoeff = cutRow.getCoefficients().get(k);
-            if(cutCoeff.signum() == 0) continue;
-            BigDecimal objfCoeff = objFunc.getCoefficients().get(k);
-            BigDecimal ratio = objfCoeff.divide(cutCoeff,precision/2,RoundingMode.HALF_UP);
-            if(minRatio == null || ratio.compareTo(minRatio) < 0){
-                minRatio = ratio;
-                index = k;
+    /**
+     * Returns the values of the columns of the tableau before the first cut, the value at 0 is not used
+     */
+    private static List<BigDecimal> getColumnValues(Tableau tableau, int numberOfColumns) {
+        List<BigDecimal> values = new ArrayList<>(numberOfColumns);
+        for(int k = 0; k < numberOfColumns; k++) {
+            values.add(BigDecimal.ZERO);
+        }
+        for(EquationTableauRow equation : tableau.getEquationRows()) {
+            int index = equation.getBasicVariableIndex();
+            if(index > 0 && index < numberOfColumns) {
+                values.set(index, equation.getCoefficients().get(0));
             }
         }
+        return values;
+    }
 
-        return index;
+    /**
+     * Makes the cut g(1) * x(1) + ... + g(n) * x(n) >= f(0) from the equation in the current columns of the tableau,
+     * where f(0) is the fraction of the free coefficient. The fractional cut has g(k) = f(k), the fraction of
+     * the coefficient. The mixed integer cut has for an integer variable g(k) = f(k) if f(k) <= f(0), otherwise
+     * g(k) = f(0) * (1 - f(k)) / (1 - f(0)), and for a continuous variable with the coefficient a(k) g(k) = a(k)
+     * if a(k) >= 0, otherwise g(k) = -a(k) * f(0) / (1 - f(0)).
+     */
+    private static BigDecimal[] makeCutCoefficients(Tableau tableau, EquationTableauRow equation, MathContext mathContext) {
+        List<BigDecimal> equationCoefficients = equation.getCoefficients();
+        BigDecimal[] coefficients = new BigDecimal[equationCoefficients.size()];
+        BigDecimal freeFraction = getFraction(equationCoefficients.get(0), tableau.getPrecision());
+        BigDecimal ratio = freeFraction.divide(BigDecimal.ONE.subtract(freeFraction), mathContext);
+        coefficients[0] = freeFraction;
+        boolean isFractionalCut = isIntegerRow(tableau, equation);
+        boolean isEmpty = true;
+        for(int k = 1; k < coefficients.length; k++) {
+            BigDecimal coeff = equationCoefficients.get(k);
+            if(tableau.isIntegerColumn(k)) {
+                BigDecimal fraction = getFraction(coeff, tableau.getPrecision());
+                coefficients[k] = isFractionalCut || fraction.compareTo(freeFraction) <= 0
+                    ? fraction
+                    : BigDecimal.ONE.subtract(fraction).multiply(ratio, mathContext);
+            } else {
+                coefficients[k] = coeff.signum() >= 0 ? coeff : coeff.negate().multiply(ratio, mathContext);
+            }
+            if(coefficients[k].signum() != 0) isEmpty = false;
+        }
+        if(isEmpty) {
+            throw new InfeasibleProblemException();
+        }
+        return coefficients;
     }
 
-    private static int[] getIncomingIndex2(Tableau tableux, int cuttingRowIndex){
-        int precision = tableux.getPrecision();
-        BigDecimal minRatio = null;
-        int index = NOT_ASSIGNED;
+    /**
+     * Checks if all variables with non-zero coefficients in the equation are integer
+     */
+    private static boolean isIntegerRow(Tableau tableau, EquationTableauRow equation) {
+        List<BigDecimal> coefficients = equation.getCoefficients();
+        for(int k = 1; k < coefficients.size(); k++) {
+            if(coefficients.get(k).signum() != 0 && !tableau.isIntegerColumn(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Expresses a cut in the current columns by the columns before the first cut, the slack variable of an active cut
+     * is replaced by the left side minus the right side of the cut
+     */
+    private static GomoryCut toOriginalColumns(BigDecimal[] coefficients, boolean isInteger, CutPool pool, int numberOfColumns,
+        MathContext mathContext) {
+        BigDecimal[] originalCoefficients = new BigDecimal[numberOfColumns];
+        System.arraycopy(coefficients, 0, originalCoefficients, 0, numberOfColumns);
+        for(int column = numberOfColumns; column < coefficients.length; column++) {
+            BigDecimal factor = coefficients[column];
+            if(factor.signum() == 0) continue;
+            GomoryCut cut = pool.getActiveCut(column);
+            for(int k = 0; k < numberOfColumns; k++) {
+                BigDecimal coeff = cut.getCoefficientAt(k);
+                if(coeff.signum() == 0) continue;
+                originalCoefficients[k] = originalCoefficients[k].add(factor.multiply(coeff, mathContext), mathContext);
+            }
+        }
+        return new GomoryCut(originalCoefficients, isInteger);
+    }
 
-        GenericTableauRow cutRow = tableux.getRows().get(cuttingRowIndex);
-        int oind = NOT_ASSIGNED;
-        int outIndex = NOT_ASSIGNED;
-        for(int k = 1; k < cutRow.getSize() - 1 ; k++){
-            oind = tableux.getOutcomingIndex(k);
-            if(oind == NOT_ASSIGNED) continue;
-            if(cuttingRowIndex == oind) return new int[]{cuttingRowIndex, k};
-            EquationTableauRow equation = (EquationTableauRow) tableux.getRows().get(oind);
-            if(equation.getBasicVariableIndex() == k) continue;
-            BigDecimal coeff = equation.getCoefficients().get(k);
-            if(coeff.signum() == 0) continue;
-            BigDecimal freeCoeff = equation.getCoefficients().get(0);
-            BigDecimal ratio = freeCoeff.divide(coeff, precision/2, RoundingMode.HALF_UP);
-            if(minRatio == null || (ratio.signum() > 0 && ratio.compareTo(minRatio) < 0) ) {
-                minRatio = ratio;
-                index = k;
-                outIndex = oind;
+    /**
+     * Adds the cut as a new equation row with its own slack variable. The basic variables are substituted by their
+     * equations, so the slack variable becomes basic with a negative value.
+     * @return the column of the slack variable
+     */
+    private static int addCut(Tableau tableau, BigDecimal[] coefficients, MathContext mathContext) {
+        int rowSize = tableau.getRowSize();
+        List<BigDecimal> cutCoefficients = new ArrayList<>(rowSize + 1);
+        for(int k = 0; k < rowSize; k++) {
+            cutCoefficients.add(k < coefficients.length ? coefficients[k].negate() : BigDecimal.ZERO);
+        }
+        for(EquationTableauRow equation : tableau.getEquationRows()) {
+            int index = equation.getBasicVariableIndex();
+            if(index >= coefficients.length || coefficients[index].signum() == 0) continue;
+            BigDecimal factor = coefficients[index];
+            List<BigDecimal> equationCoefficients = equation.getCoefficients();
+            for(int k = 0; k < rowSize; k++) {
+                BigDecimal coeff = equationCoefficients.get(k);
+                if(coeff.signum() == 0) continue;
+                cutCoefficients.set(k, cutCoefficients.get(k).add(factor.multiply(coeff, mathContext), mathContext));
             }
         }
+        cutCoefficients.add(BigDecimal.ONE);
 
-        return new int[]{outIndex, index};
+        int numberOfNonZeros = 0;
+        for(BigDecimal coeff : cutCoefficients) {
+            if(coeff.signum() != 0) numberOfNonZeros++;
+        }
+        if(SparseCoefficientList.isSparse(numberOfNonZeros, cutCoefficients.size())) {
+            cutCoefficients = SparseCoefficientList.of(cutCoefficients);
+        }
+        tableau.getRows().forEach(row -> row.getCoefficients().add(BigDecimal.ZERO));
+        tableau.setRowSize(rowSize + 1);
+        tableau.addCuttingRow(new EquationTableauRow(rowSize, cutCoefficients));
+        return rowSize;
     }
 
+    /**
+     * Chooses the cuts with the biggest efficacy, which are not almost parallel to a better cut
+     */
+    private List<Candidate> select(List<Candidate> candidates) {
+        candidates.sort((candidate1, candidate2) -> Double.compare(candidate2.efficacy, candidate1.efficacy));
+        List<Candidate> selected = new ArrayList<>();
+        for(Candidate candidate : candidates) {
+            if(selected.size() == maxCutsPerRound) break;
+            if(!selected.isEmpty() && candidate.efficacy < minEfficacy) break;
+            boolean isParallel = false;
+            for(Candidate selectedCandidate : selected) {
+                if(candidate.cut.getParallelism(selectedCandidate.cut) > MAX_PARALLELISM) {
+                    isParallel = true;
+                    break;
+                }
+            }
+            if(!isParallel) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * A cut offered in a round: a new cut with its coefficients in the current columns or a cut from the pool
+     */
+    private static final class Candidate {
+        private final GomoryCut cut;
+        private final BigDecimal[] coefficients;
+        private final double efficacy;
+
+        Candidate(GomoryCut cut, BigDecimal[] coefficients, double efficacy) {
+            this.cut = cut;
+            this.coefficients = coefficients;
+            this.efficacy = efficacy;
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package math.linear.simplex;
+
+/*
+ * Thrown by the solvers when the problem has no base plane, i.e. no feasible solution. Branch and bound tells
+ * an infeasible branch by it from the other failures, which are not caught.
+ */
+
+public class InfeasibleProblemException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    public InfeasibleProblemException() {
+        super("The problem has no base plane.");
+    }
+}
@@ -0,0 +1,38 @@
+package math.linear.simplex;
+
+/*
+ * Defines how KnapsackPricingOracle solves the bounded knapsack problem
+ */
+
+public enum KnapsackMode
+{
+    /**
+     * Dynamic programming is used if all lengths and the capacity are integer and the capacity is not too large,
+     * otherwise branch and bound is used
+     */
+    AUTOMATIC,
+
+    /**
+     * The best values of all residual capacities are computed by dynamic programming over the capacity. They are used
+     * as exact bounds while the patterns are enumerated. Lengths and capacity must be integer.
+     */
+    DYNAMIC_PROGRAMMING,
+
+    /**
+     * The patterns are enumerated in the order of the value per unit of length and bounded by the linear relaxation
+     * of the residual problem. Suits real lengths and large capacities.
+     */
+    BRANCH_AND_BOUND;
+
+    public boolean isAutomatic(){
+        return AUTOMATIC.equals(this);
+    }
+
+    public boolean isDynamicProgramming(){
+        return DYNAMIC_PROGRAMMING.equals(this);
+    }
+
+    public boolean isBranchAndBound(){
+        return BRANCH_AND_BOUND.equals(this);
+    }
+}
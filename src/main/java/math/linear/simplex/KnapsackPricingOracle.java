@@ -0,0 +1,352 @@
+package math.linear.simplex;
+
+/*
+ * Generates cutting patterns for the column generation by solving the bounded knapsack problem: the item lengths are
+ * the weights, the dual values are the values and the stock length is the capacity. The patterns are enumerated depth
+ * first and bounded either by the exact values of the residual capacities computed by dynamic programming or by the
+ * linear relaxation of the residual problem. The best patterns are kept in a fixed array, so up to the given number of
+ * patterns is returned by one call.
+ * All buffers are allocated at the first call and reused, price() does not allocate after that.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class KnapsackPricingOracle implements PricingOracle
+{
+    private static final double DEFAULT_TOLERANCE = 1e-9;
+    private static final double LENGTH_TOLERANCE = 1e-9;
+    private static final int DEFAULT_MAX_DP_CAPACITY = 100000;
+
+    private final double[] lengths;
+    private final int[] bounds;
+    private final double capacity;
+    private final int numberOfItems;
+
+    private KnapsackMode mode = KnapsackMode.AUTOMATIC;
+    private int numberOfColumns = 1;
+    private double patternCost = 1.d;
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int maxDynamicProgrammingCapacity = DEFAULT_MAX_DP_CAPACITY;
+
+    private final double[] values;
+    private final int[] order;
+    private final int[] counts;
+    private double[] topValues;
+    private int[] topPatterns;
+    private int numberOfPatterns;
+    private double[] residualValues;
+    private int tableWidth;
+    private boolean dynamicProgramming;
+
+    private KnapsackPricingOracle(double[] lengths, int[] bounds, double capacity) {
+        this.lengths = lengths;
+        this.bounds = bounds;
+        this.capacity = capacity;
+        this.numberOfItems = lengths.length;
+        this.values = new double[numberOfItems];
+        this.order = new int[numberOfItems];
+        this.counts = new int[numberOfItems];
+    }
+
+    /**
+     * Makes an oracle, the number of pieces of an item in a pattern is limited by the capacity only
+     * @param lengths the lengths of the items in the order of the master problem equations
+     * @param capacity the stock length
+     * @return oracle
+     */
+    public static KnapsackPricingOracle make(double[] lengths, double capacity) {
+        int[] bounds = new int[lengths.length];
+        for(int i = 0; i < lengths.length; i++) {
+            bounds[i] = lengths[i] > 0.d ? (int) Math.floor(capacity / lengths[i] + LENGTH_TOLERANCE) : 0;
+        }
+        return make(lengths, bounds, capacity);
+    }
+
+    /**
+     * Makes an oracle with the given maximum numbers of pieces of the items in a pattern
+     * @param lengths the lengths of the items in the order of the master problem equations
+     * @param bounds the maximum numbers of pieces, e.g. the demands
+     * @param capacity the stock length
+     * @return oracle
+     */
+    public static KnapsackPricingOracle make(double[] lengths, int[] bounds, double capacity) {
+        if(lengths.length == 0 || lengths.length != bounds.length) {
+            throw new IllegalArgumentException("Lengths and bounds must have equal non-zero length.");
+        }
+        if(capacity <= 0.d) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        for(int i = 0; i < lengths.length; i++) {
+            if(lengths[i] <= 0.d) {
+                throw new IllegalArgumentException("Lengths must be positive.");
+            }
+            if(bounds[i] < 0) {
+                throw new IllegalArgumentException("Bounds must not be negative.");
+            }
+        }
+        return new KnapsackPricingOracle(lengths.clone(), bounds.clone(), capacity);
+    }
+
+    /**
+     * Sets the method the knapsack problem is solved with, AUTOMATIC by default
+     * @param mode
+     */
+    public void setMode(KnapsackMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Sets the maximum number of the best patterns returned by one call
+     * @param numberOfColumns
+     */
+    public void setNumberOfColumns(int numberOfColumns) {
+        if(numberOfColumns <= 0) {
+            throw new IllegalArgumentException("Number of columns must be positive.");
+        }
+        this.numberOfColumns = numberOfColumns;
+        this.topValues = null;
+        this.topPatterns = null;
+    }
+
+    /**
+     * Sets the coefficient of a pattern in the objective function, 1 by default
+     * @param patternCost
+     */
+    public void setPatternCost(double patternCost) {
+        this.patternCost = patternCost;
+    }
+
+    /**
+     * Sets the tolerance a reduced cost of a pattern is treated as non-negative with
+     * @param tolerance
+     */
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Sets the largest capacity dynamic programming is chosen for in the AUTOMATIC mode
+     * @param maxDynamicProgrammingCapacity
+     */
+    public void setMaxDynamicProgrammingCapacity(int maxDynamicProgrammingCapacity) {
+        this.maxDynamicProgrammingCapacity = maxDynamicProgrammingCapacity;
+    }
+
+    @Override
+    public List<GeneratedColumn> getImprovingColumns(double[] dualValues) {
+        int found = price(dualValues);
+        if(found == 0) {
+            return Collections.emptyList();
+        }
+        List<GeneratedColumn> columns = new ArrayList<>(found);
+        double[] coefficients = new double[numberOfItems];
+        for(int rank = 0; rank < found; rank++) {
+            for(int i = 0; i < numberOfItems; i++) {
+                coefficients[i] = getPatternCount(rank, i);
+            }
+            columns.add(GeneratedColumn.make(coefficients, patternCost));
+        }
+        return columns;
+    }
+
+    /**
+     * Finds the best patterns with a negative reduced cost. They are kept until the next call and are read by
+     * getPatternValue() and getPatternCount().
+     * @param dualValues the dual values of the master problem equations
+     * @return the number of patterns found
+     */
+    public int price(double[] dualValues) {
+        if(dualValues.length != numberOfItems) {
+            throw new IllegalArgumentException("Number of dual values does not match the number of items.");
+        }
+        if(topValues == null) {
+            topValues = new double[numberOfColumns];
+            topPatterns = new int[numberOfColumns * numberOfItems];
+        }
+        for(int i = 0; i < numberOfItems; i++) {
+            values[i] = Math.max(dualValues[i], 0.d);
+            order[i] = i;
+            counts[i] = 0;
+        }
+        numberOfPatterns = 0;
+        dynamicProgramming = isDynamicProgramming();
+        if(dynamicProgramming) {
+            computeResidualValues();
+        } else {
+            sortByRatio();
+        }
+        enumerate(0, capacity, 0.d);
+        return numberOfPatterns;
+    }
+
+    /**
+     * Returns the sum of the dual values of a pattern found by the last call of price()
+     * @param rank the position of the pattern, 0 is the best one
+     * @return value of the pattern
+     */
+    public double getPatternValue(int rank) {
+        checkRank(rank);
+        return topValues[rank];
+    }
+
+    /**
+     * Returns the number of pieces of an item in a pattern found by the last call of price()
+     * @param rank the position of the pattern, 0 is the best one
+     * @param item the index of the item
+     * @return number of pieces
+     */
+    public int getPatternCount(int rank, int item) {
+        checkRank(rank);
+        return topPatterns[rank * numberOfItems + item];
+    }
+
+    private void checkRank(int rank) {
+        if(rank < 0 || rank >= numberOfPatterns) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Number of patterns: " + numberOfPatterns);
+        }
+    }
+
+    private boolean isDynamicProgramming() {
+        if(mode.isBranchAndBound()) {
+            return false;
+        }
+        boolean integer = isInteger(capacity);
+        for(int i = 0; i < numberOfItems && integer; i++) {
+            integer = isInteger(lengths[i]);
+        }
+        if(mode.isDynamicProgramming()) {
+            if(!integer) {
+                throw new IllegalStateException("Dynamic programming requires integer lengths and capacity.");
+            }
+            return true;
+        }
+        return integer && capacity <= maxDynamicProgrammingCapacity;
+    }
+
+    private static boolean isInteger(double value) {
+        return value == Math.rint(value);
+    }
+
+    /**
+     * Computes the best value of every residual capacity for the items starting from every position
+     */
+    private void computeResidualValues() {
+        tableWidth = (int) capacity + 1;
+        int size = (numberOfItems + 1) * tableWidth;
+        if(residualValues == null || residualValues.length < size) {
+            residualValues = new double[size];
+        }
+        int last = numberOfItems * tableWidth;
+        for(int c = 0; c < tableWidth; c++) {
+            residualValues[last + c] = 0.d;
+        }
+        for(int p = numberOfItems - 1; p >= 0; p--) {
+            int item = order[p];
+            int length = (int) lengths[item];
+            double value = values[item];
+            int offset = p * tableWidth;
+            int nextOffset = offset + tableWidth;
+            for(int c = 0; c < tableWidth; c++) {
+                double best = residualValues[nextOffset + c];
+                if(value > 0.d) {
+                    int maxCount = Math.min(bounds[item], c / length);
+                    for(int t = 1; t <= maxCount; t++) {
+                        double candidate = t * value + residualValues[nextOffset + c - t * length];
+                        if(candidate > best) best = candidate;
+                    }
+                }
+                residualValues[offset + c] = best;
+            }
+        }
+    }
+
+    /**
+     * Sorts the items by the value per unit of length in descending order, the items are few so insertion sort is used
+     */
+    private void sortByRatio() {
+        for(int i = 1; i < numberOfItems; i++) {
+            int item = order[i];
+            double ratio = values[item] / lengths[item];
+            int k = i - 1;
+            while(k >= 0 && values[order[k]] / lengths[order[k]] < ratio) {
+                order[k + 1] = order[k];
+                k--;
+            }
+            order[k + 1] = item;
+        }
+    }
+
+    private void enumerate(int position, double rest, double value) {
+        if(position == numberOfItems) {
+            offer(value);
+            return;
+        }
+        if(value + getBound(position, rest) <= getThreshold()) {
+            return;
+        }
+        int item = order[position];
+        if(values[item] <= 0.d) {
+            enumerate(position + 1, rest, value);
+            return;
+        }
+        int maxCount = Math.min(bounds[item], (int) Math.floor(rest / lengths[item] + LENGTH_TOLERANCE));
+        for(int t = maxCount; t >= 0; t--) {
+            counts[item] = t;
+            enumerate(position + 1, rest - t * lengths[item], value + t * values[item]);
+        }
+        counts[item] = 0;
+    }
+
+    private double getBound(int position, double rest) {
+        if(dynamicProgramming) {
+            int residual = Math.min((int) Math.rint(rest), tableWidth - 1);
+            return residualValues[position * tableWidth + residual];
+        }
+        double bound = 0.d;
+        for(int p = position; p < numberOfItems && rest > 0.d; p++) {
+            int item = order[p];
+            if(values[item] <= 0.d) break;
+            double fullLength = bounds[item] * lengths[item];
+            if(fullLength <= rest) {
+                bound += bounds[item] * values[item];
+                rest -= fullLength;
+            } else {
+                bound += rest / lengths[item] * values[item];
+                break;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the value a pattern has to exceed to be kept
+     */
+    private double getThreshold() {
+        double threshold = patternCost + tolerance;
+        if(numberOfPatterns == numberOfColumns) {
+            threshold = Math.max(threshold, topValues[numberOfColumns - 1]);
+        }
+        return threshold;
+    }
+
+    private void offer(double value) {
+        if(value <= getThreshold()) {
+            return;
+        }
+        int rank = Math.min(numberOfPatterns, numberOfColumns - 1);
+        while(rank > 0 && topValues[rank - 1] < value) {
+            rank--;
+        }
+        int last = Math.min(numberOfPatterns, numberOfColumns - 1);
+        System.arraycopy(topValues, rank, topValues, rank + 1, last - rank);
+        System.arraycopy(topPatterns, rank * numberOfItems, topPatterns, (rank + 1) * numberOfItems,
+            (last - rank) * numberOfItems);
+        topValues[rank] = value;
+        System.arraycopy(counts, 0, topPatterns, rank * numberOfItems, numberOfItems);
+        if(numberOfPatterns < numberOfColumns) {
+            numberOfPatterns++;
+        }
+    }
+}
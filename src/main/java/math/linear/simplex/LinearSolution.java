@@ -0,0 +1,55 @@
+package math.linear.simplex;
+
+/*
+ * Represents the solution of a linear problem found by a solver which does not keep a tableau
+ */
+
+import java.util.Arrays;
+
+public class LinearSolution
+{
+    private final double[] solution;
+    private final double objectiveValue;
+    private final double[] dualValues;
+    private final int numberOfIterations;
+
+    LinearSolution(double[] solution, double objectiveValue, double[] dualValues, int numberOfIterations) {
+        this.solution = solution;
+        this.objectiveValue = objectiveValue;
+        this.dualValues = dualValues;
+        this.numberOfIterations = numberOfIterations;
+    }
+
+    /**
+     * Returns an array of values of the variables representing a solution of the problem
+     * @return array of values
+     */
+    public final double[] getSolution() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+
+    /**
+     * Returns the value of the objective function at the solution
+     * @return objective value
+     */
+    public final double getObjectiveValue() {
+        return objectiveValue;
+    }
+
+    /**
+     * Returns the dual values (shadow prices) of the problem equations in the order they were added to the problem.
+     * A dual value is the change of the objective value per unit increase of the right value of the equation.
+     * @return array of dual values
+     */
+    public final double[] getDualValues() {
+        return Arrays.copyOf(dualValues, dualValues.length);
+    }
+
+    /**
+     * Returns the number of pivots it took to find the solution
+     * @return number of iterations
+     */
+    public final int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+}
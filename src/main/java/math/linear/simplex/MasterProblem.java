@@ -0,0 +1,140 @@
+package math.linear.simplex;
+
+/*
+ * Represents a linear problem given by columns, e.g. the master problem of the column generation. The equations
+ * are given by their relations and right values only, the coefficients come with the columns, which keep
+ * the non-zero coefficients only.
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MasterProblem
+{
+    private final ObjectiveFunctionType objectiveFunctionType;
+    private final List<Relation> relations = new ArrayList<>();
+    private double[] rightValues = new double[8];
+    private final List<GeneratedColumn> columns = new ArrayList<>();
+    private int precision = 16;
+
+    private MasterProblem(ObjectiveFunctionType objectiveFunctionType) {
+        this.objectiveFunctionType = objectiveFunctionType;
+    }
+
+    /**
+     * Returns an empty master problem
+     * @param objectiveFunctionType
+     * @return master problem
+     */
+    public static MasterProblem getInstance(ObjectiveFunctionType objectiveFunctionType) {
+        return new MasterProblem(objectiveFunctionType);
+    }
+
+    /**
+     * Makes a master problem with the equations and the variables of the problem
+     * @param problem
+     * @return master problem
+     */
+    public static MasterProblem of(Problem problem) {
+        problem.validate();
+        ProblemObjectiveFunction objectiveFunction = problem.getObjectiveFunction();
+        MasterProblem master = getInstance(objectiveFunction.getType());
+        master.setPrecision(problem.getPrecision());
+        List<ProblemEquation> equations = problem.getEquations();
+        for(ProblemEquation equation : equations) {
+            master.addEquation(equation.getRelation(), equation.getCoefficientAt(0));
+        }
+        double[] coefficients = new double[equations.size()];
+        for(int m = 1; m <= problem.getNumberOfVariables(); m++) {
+            for(int k = 0; k < coefficients.length; k++) {
+                coefficients[k] = equations.get(k).getCoefficientAt(m);
+            }
+            master.addColumn(GeneratedColumn.make(coefficients, objectiveFunction.getCoefficientAt(m)));
+        }
+        return master;
+    }
+
+    /**
+     * Adds an equation
+     * @param relation
+     * @param rightValue
+     * @return the index of the equation
+     */
+    public int addEquation(Relation relation, double rightValue) {
+        if(!columns.isEmpty()) {
+            throw new IllegalStateException("Equations must be added before columns.");
+        }
+        int index = relations.size();
+        if(index == rightValues.length) {
+            double[] values = new double[index * 2];
+            System.arraycopy(rightValues, 0, values, 0, index);
+            rightValues = values;
+        }
+        relations.add(relation);
+        rightValues[index] = rightValue;
+        return index;
+    }
+
+    /**
+     * Adds a column
+     * @param column the column, its length must be equal to the number of equations
+     * @return the index of the column
+     */
+    public int addColumn(GeneratedColumn column) {
+        if(column.getLength() != relations.size()) {
+            throw new IllegalArgumentException("Column length does not match the number of equations.");
+        }
+        columns.add(column);
+        return columns.size() - 1;
+    }
+
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public ObjectiveFunctionType getObjectiveFunctionType() {
+        return objectiveFunctionType;
+    }
+
+    public int getNumberOfEquations() {
+        return relations.size();
+    }
+
+    public int getNumberOfColumns() {
+        return columns.size();
+    }
+
+    public List<GeneratedColumn> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    Relation[] getRelations() {
+        return relations.toArray(new Relation[relations.size()]);
+    }
+
+    double[] getRightValues() {
+        double[] values = new double[relations.size()];
+        System.arraycopy(rightValues, 0, values, 0, values.length);
+        return values;
+    }
+
+    public void validate() {
+        if(relations.isEmpty()) {
+            throw new IllegalStateException("No equations assigned");
+        }
+        if(objectiveFunctionType == null) {
+            throw new IllegalStateException("No objective function assigned");
+        }
+    }
+}
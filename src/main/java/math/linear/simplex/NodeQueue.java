@@ -0,0 +1,117 @@
+package math.linear.simplex;
+
+/*
+ * Keeps the open nodes of the branch and bound tree in the order defined by the node selection.
+ * The hybrid queue works as a stack until the first integer solution is found and then moves all nodes to a priority queue.
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.DoublePredicate;
+
+final class NodeQueue
+{
+    private final NodeSelection nodeSelection;
+    private final Deque<BranchAndBoundNode> stack = new ArrayDeque<>();
+    private final PriorityQueue<BranchAndBoundNode> queue = new PriorityQueue<>(BranchAndBoundNode.BEST_BOUND_ORDER);
+    private boolean isBestFirst;
+
+    NodeQueue(NodeSelection nodeSelection) {
+        this.nodeSelection = nodeSelection;
+        this.isBestFirst = nodeSelection == NodeSelection.BEST_FIRST;
+    }
+
+    void add(BranchAndBoundNode node) {
+        if(isBestFirst) {
+            queue.add(node);
+        } else {
+            stack.push(node);
+        }
+    }
+
+    /**
+     * Returns the next node to be processed
+     * @return the node or null if the queue is empty
+     */
+    BranchAndBoundNode poll() {
+        return isBestFirst ? queue.poll() : stack.poll();
+    }
+
+    boolean isEmpty() {
+        return stack.isEmpty() && queue.isEmpty();
+    }
+
+    int size() {
+        return stack.size() + queue.size();
+    }
+
+    boolean isBestFirst() {
+        return isBestFirst;
+    }
+
+    /**
+     * Returns the open nodes, the nodes of the stack in the order they would be polled
+     * @return list of nodes
+     */
+    List<BranchAndBoundNode> getNodes() {
+        List<BranchAndBoundNode> nodes = new ArrayList<>(stack);
+        nodes.addAll(queue);
+        return nodes;
+    }
+
+    /**
+     * Replaces the open nodes by the nodes returned by getNodes, e.g. from a checkpoint
+     * @param isBestFirst true if the nodes were kept in the priority queue, which is respected by the hybrid selection only
+     * @param nodes
+     */
+    void restore(boolean isBestFirst, List<BranchAndBoundNode> nodes) {
+        stack.clear();
+        queue.clear();
+        this.isBestFirst = nodeSelection == NodeSelection.BEST_FIRST || nodeSelection == NodeSelection.HYBRID && isBestFirst;
+        for(BranchAndBoundNode node : nodes) {
+            if(this.isBestFirst) {
+                queue.add(node);
+            } else {
+                stack.addLast(node);
+            }
+        }
+    }
+
+    /**
+     * Informs the queue that an integer solution was found
+     */
+    void onIncumbentFound() {
+        if(nodeSelection == NodeSelection.HYBRID && !isBestFirst) {
+            isBestFirst = true;
+            queue.addAll(stack);
+            stack.clear();
+        }
+    }
+
+    /**
+     * Removes the nodes whose bound satisfies the predicate, i.e. cannot improve the incumbent
+     * @param isPruned
+     */
+    void prune(DoublePredicate isPruned) {
+        stack.removeIf(node -> isPruned.test(node.getBound()));
+        queue.removeIf(node -> isPruned.test(node.getBound()));
+    }
+
+    /**
+     * Returns the best bound of the open nodes
+     * @return the bound or negative infinity if the queue is empty
+     */
+    double getBestBound() {
+        double bestBound = Double.NEGATIVE_INFINITY;
+        if(!queue.isEmpty()) {
+            bestBound = queue.peek().getBound();
+        }
+        for(BranchAndBoundNode node : stack) {
+            bestBound = Math.max(bestBound, node.getBound());
+        }
+        return bestBound;
+    }
+}
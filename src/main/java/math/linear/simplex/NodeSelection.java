@@ -0,0 +1,21 @@
+package math.linear.simplex;
+
+/*
+ * Defines the order, in which the open nodes of the branch and bound tree are processed
+ */
+
+public enum NodeSelection
+{
+    /**
+     * The node with the best bound first, gives the fastest progress of the bound
+     */
+    BEST_FIRST,
+    /**
+     * The most recently created node first, finds feasible integer solutions early and keeps the tree small
+     */
+    DEPTH_FIRST,
+    /**
+     * Depth first until the first integer solution is found, then best first
+     */
+    HYBRID;
+}
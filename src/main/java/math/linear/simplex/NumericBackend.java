@@ -0,0 +1,26 @@
+package math.linear.simplex;
+
+/*
+ * Defines how the coefficients of a tableau are stored and processed
+ */
+
+public enum NumericBackend
+{
+    /**
+     * Coefficients are kept as BigDecimal values in a list per row, the precision of the problem is respected.
+     */
+    BIG_DECIMAL,
+
+    /**
+     * Coefficients are kept in a flat row-major array of doubles, comparisons are made with tolerances.
+     */
+    DOUBLE;
+
+    public boolean isBigDecimal(){
+        return BIG_DECIMAL.equals(this);
+    }
+
+    public boolean isDouble(){
+        return DOUBLE.equals(this);
+    }
+}
@@ -13,6 +13,7 @@ public class ObjectiveFunctionTableauRow extends GenericTableauRow
     public final int INDEX_NOT_ASSIGNED = -1;
 
     private Type type;
+    private BigDecimal negativeThreshold;
     /**
      * Constructor of EquationTableauRow.
      *
@@ -24,6 +25,13 @@ public class ObjectiveFunctionTableauRow extends GenericTableauRow
         this.type = type;
     }
 
+    @Override
+    ObjectiveFunctionTableauRow copy() {
+        ObjectiveFunctionTableauRow row = new ObjectiveFunctionTableauRow(type, copyCoefficients());
+        row.setPrecision(getPrecision());
+        return row;
+    }
+
     enum Type {
         STANDARD, AUXILIARY
     }
@@ -39,10 +47,55 @@ public class ObjectiveFunctionTableauRow extends GenericTableauRow
         List<BigDecimal> coefficients = getCoefficients();
         int maxIndex = (idx == INDEX_NOT_ASSIGNED) ? coefficients.size() : Math.min(idx , coefficients.size());
         BigDecimal absMaxCoeff = BigDecimal.ZERO;
-        for(int k = 1; k < maxIndex; k++) {
-            BigDecimal coeff = coefficients.get(k).setScale(getPrecision()/2,RoundingMode.HALF_UP);
+        if(coefficients instanceof SparseCoefficientList) {
+            SparseCoefficientList sparse = (SparseCoefficientList) coefficients;
+            for(int p = 0; p < sparse.getNumberOfNonZeros(); p++) {
+                int k = sparse.getIndexAt(p);
+                if(k == 0) continue;
+                if(k >= maxIndex) break;
+                BigDecimal value = sparse.getValueAt(p);
+                if(value.compareTo(getNegativeThreshold()) > 0) continue;
+                BigDecimal coeff = value.setScale(getPrecision()/2,RoundingMode.HALF_UP);
+                if(coeff.signum() < 0 && coeff.abs().compareTo(absMaxCoeff.abs()) > 0) {
+                    index = k;
+                    absMaxCoeff = coeff;
+                }
+            }
+            return index;
+        }
+        return getIncomingVariableIndex(1, maxIndex);
+    }
+
+    /**
+     * Returns the index of the incoming variable, the columns are scanned in parallel if the row is long enough.
+     * The result is the same as for the sequential scan.
+     * @param idx the columns starting from this index are not considered
+     * @param parallelism parallel execution settings or null for the sequential scan
+     * @return the index of the incoming variable
+     */
+    final int getIncomingVariableIndex(int idx, TableauParallelism parallelism)
+    {
+        List<BigDecimal> coefficients = getCoefficients();
+        if(parallelism == null || coefficients instanceof SparseCoefficientList) {
+            return getIncomingVariableIndex(idx);
+        }
+        int maxIndex = (idx == INDEX_NOT_ASSIGNED) ? coefficients.size() : Math.min(idx , coefficients.size());
+        return parallelism.select(1, maxIndex, 1, this::getIncomingVariableIndex,
+            (candidate, current) -> getRoundedCoefficient(candidate).abs().compareTo(getRoundedCoefficient(current).abs()) > 0);
+    }
+
+    private int getIncomingVariableIndex(int from, int to)
+    {
+        int index = INDEX_NOT_ASSIGNED;
+        BigDecimal absMaxCoeff = BigDecimal.ZERO;
+        List<BigDecimal> coefficients = getCoefficients();
+        BigDecimal threshold = getNegativeThreshold();
+        for(int k = from; k < to; k++) {
+            BigDecimal value = coefficients.get(k);
+            if(value.compareTo(threshold) > 0) continue;
+            BigDecimal coeff = value.setScale(getPrecision()/2,RoundingMode.HALF_UP);
             if(coeff.signum() < 0 ) {
-                if(k == INDEX_NOT_ASSIGNED || coeff.abs().compareTo(absMaxCoeff.abs()) > 0) {
+                if(coeff.abs().compareTo(absMaxCoeff.abs()) > 0) {
                     index = k;
                     absMaxCoeff = coeff;
                 }
@@ -51,6 +104,22 @@ public class ObjectiveFunctionTableauRow extends GenericTableauRow
         return index;
     }
 
+    /**
+     * Returns the greatest value, which is negative after rounding to the half of the precision. The coefficients above it
+     * are skipped without rounding.
+     */
+    private BigDecimal getNegativeThreshold() {
+        int scale = getPrecision()/2;
+        if(negativeThreshold == null || negativeThreshold.scale() != scale + 1) {
+            negativeThreshold = BigDecimal.valueOf(-5, scale + 1);
+        }
+        return negativeThreshold;
+    }
+
+    private BigDecimal getRoundedCoefficient(int k) {
+        return getCoefficients().get(k).setScale(getPrecision()/2,RoundingMode.HALF_UP);
+    }
+
     final boolean isOptimal() {
         return isOptimal(getCoefficients().size());
     }
@@ -0,0 +1,89 @@
+package math.linear.simplex;
+
+/*
+ * Partial (multiple) pricing. A major iteration scans the columns starting from the position, where the previous scan
+ * stopped, until the candidate list is full. The minor iterations choose the candidate with the most negative reduced cost
+ * and drop the candidates, which are not attractive anymore. A new major iteration starts when the list is exhausted.
+ * The function is optimal only if a major iteration scanned all columns without finding a candidate.
+ */
+
+final class PartialPricing implements PricingStrategy
+{
+    static final int DEFAULT_CANDIDATE_LIST_SIZE = 8;
+    private static final int NOT_ASSIGNED = -1;
+
+    private final int[] candidates;
+    private int numberOfCandidates;
+    private int scanPosition = 1;
+    private int lastFunctionRowIndex = NOT_ASSIGNED;
+    private int lastColumnLimit = NOT_ASSIGNED;
+
+    PartialPricing(int candidateListSize) {
+        if(candidateListSize <= 0) {
+            throw new IllegalArgumentException("Candidate list size must be positive.");
+        }
+        this.candidates = new int[candidateListSize];
+    }
+
+    @Override
+    public int getIncomingVariableIndex(Tableau tableau, int functionRowIndex, int columnLimit) {
+        int maxIndex = Math.min(columnLimit, tableau.getRowSize());
+        if(functionRowIndex != lastFunctionRowIndex || maxIndex != lastColumnLimit) {
+            numberOfCandidates = 0;
+            lastFunctionRowIndex = functionRowIndex;
+            lastColumnLimit = maxIndex;
+        }
+        double tolerance = tableau.getOptimalityTolerance();
+        int index = selectCandidate(tableau, functionRowIndex, tolerance);
+        if(index != NOT_ASSIGNED) {
+            return index;
+        }
+        fillCandidates(tableau, functionRowIndex, maxIndex, tolerance);
+        return selectCandidate(tableau, functionRowIndex, tolerance);
+    }
+
+    private int selectCandidate(Tableau tableau, int functionRowIndex, double tolerance) {
+        int index = NOT_ASSIGNED;
+        double minCoeff = -tolerance;
+        int count = 0;
+        for(int k = 0; k < numberOfCandidates; k++) {
+            int column = candidates[k];
+            double coeff = tableau.getValue(functionRowIndex, column);
+            if(coeff >= -tolerance) continue;
+            candidates[count++] = column;
+            if(coeff < minCoeff) {
+                minCoeff = coeff;
+                index = column;
+            }
+        }
+        numberOfCandidates = count;
+        if(index != NOT_ASSIGNED) {
+            removeCandidate(index);
+        }
+        return index;
+    }
+
+    private void fillCandidates(Tableau tableau, int functionRowIndex, int maxIndex, double tolerance) {
+        numberOfCandidates = 0;
+        if(maxIndex <= 1) return;
+        if(scanPosition >= maxIndex) scanPosition = 1;
+        int column = scanPosition;
+        for(int scanned = 1; scanned < maxIndex; scanned++) {
+            if(tableau.getValue(functionRowIndex, column) < -tolerance) {
+                candidates[numberOfCandidates++] = column;
+            }
+            column = column + 1 < maxIndex ? column + 1 : 1;
+            if(numberOfCandidates == candidates.length) break;
+        }
+        scanPosition = column;
+    }
+
+    private void removeCandidate(int column) {
+        for(int k = 0; k < numberOfCandidates; k++) {
+            if(candidates[k] == column) {
+                candidates[k] = candidates[--numberOfCandidates];
+                return;
+            }
+        }
+    }
+}
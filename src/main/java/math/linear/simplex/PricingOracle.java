@@ -0,0 +1,20 @@
+package math.linear.simplex;
+
+/*
+ * Generates the columns of a master problem solved by column generation, e.g. the cutting patterns of a cutting-stock
+ * problem. The oracle solves the pricing subproblem for the dual values of the current master solution.
+ */
+
+import java.util.List;
+
+public interface PricingOracle
+{
+    /**
+     * Returns the columns, which may improve the current solution of the master problem. A column improves a minimized
+     * objective function if its cost is less than the sum of its coefficients multiplied by the dual values.
+     * An empty list means that no such column exists.
+     * @param dualValues the dual values of the master problem equations in the order they were added to the problem
+     * @return list of columns
+     */
+    List<GeneratedColumn> getImprovingColumns(double[] dualValues);
+}
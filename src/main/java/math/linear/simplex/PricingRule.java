@@ -0,0 +1,40 @@
+package math.linear.simplex;
+
+/*
+ * Defines the rule, by which the simplex method chooses the incoming variable
+ */
+
+public enum PricingRule
+{
+    /**
+     * The variable with the most negative reduced cost (Dantzig's rule)
+     */
+    DANTZIG,
+    /**
+     * Partial (multiple) pricing: a part of the columns is scanned to build a list of candidates, the following iterations
+     * choose among the candidates until the list is exhausted
+     */
+    PARTIAL,
+    /**
+     * The variable with the biggest ratio of the squared reduced cost to the approximate reference weight (Devex)
+     */
+    DEVEX,
+    /**
+     * The variable with the biggest ratio of the squared reduced cost to the squared norm of its edge direction,
+     * the norms are updated after each pivot
+     */
+    STEEPEST_EDGE;
+
+    PricingStrategy createStrategy(int candidateListSize) {
+        switch (this) {
+            case PARTIAL:
+                return new PartialPricing(candidateListSize);
+            case DEVEX:
+                return new DevexPricing();
+            case STEEPEST_EDGE:
+                return new SteepestEdgePricing();
+            default:
+                return new DantzigPricing();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package math.linear.simplex;
+
+/*
+ * Chooses the incoming variable for the simplex method. A strategy may keep a state between the iterations,
+ * it is informed about every pivot before the tableau is changed.
+ */
+
+interface PricingStrategy
+{
+    /**
+     * Returns the index of the incoming variable
+     * @param tableau the tableau
+     * @param functionRowIndex the row of the function being minimized, i.e. the objective or the auxiliary function
+     * @param columnLimit the columns starting from this index are not considered
+     * @return the index of the incoming variable or INDEX_NOT_ASSIGNED if the function is optimal
+     */
+    int getIncomingVariableIndex(Tableau tableau, int functionRowIndex, int columnLimit);
+
+    /**
+     * Called before the pivot, the tableau still contains the coefficients before the pivot
+     * @param tableau the tableau
+     * @param rowNumber the pivot row
+     * @param columnNumber the pivot column
+     */
+    default void beforePivot(Tableau tableau, int rowNumber, int columnNumber) {
+    }
+}
@@ -0,0 +1,171 @@
+package math.linear.simplex;
+
+/*
+ * Performs the ratio test of the primal simplex method by the two-pass method of Harris.
+ * The first pass finds the maximal step, for which no basic variable gets below -tolerance.
+ * The second pass chooses among the rows, whose ratio does not exceed that step, the one with the biggest pivot
+ * coefficient; among equal coefficients the first row is taken. With the zero tolerance the test chooses
+ * among the rows with exactly the minimal ratio.
+ * The ratios are compared by cross-multiplication, so the BigDecimal variant needs no division.
+ */
+
+import java.math.BigDecimal;
+import java.util.List;
+
+final class RatioTest
+{
+    static final double DEFAULT_TOLERANCE = 0.d;
+    private static final int NOT_ASSIGNED = -1;
+
+    private final double tolerance;
+    private final BigDecimal bigTolerance;
+
+    RatioTest(double tolerance) {
+        if(tolerance < 0.d) {
+            throw new IllegalArgumentException("Ratio test tolerance must not be negative.");
+        }
+        this.tolerance = tolerance;
+        this.bigTolerance = BigDecimal.valueOf(tolerance);
+    }
+
+    double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Chooses the pivot row among the equation rows of a BigDecimal tableau
+     * @param equations the equation rows
+     * @param incomingIndex the pivot column
+     * @param parallelism parallel execution settings or null
+     * @return the index of the row in the list or NOT_ASSIGNED if no coefficient of the column is positive
+     */
+    int select(List<EquationTableauRow> equations, int incomingIndex, TableauParallelism parallelism) {
+        int size = equations.size();
+        int boundRow;
+        if(parallelism == null) {
+            boundRow = getBoundRow(equations, incomingIndex, 0, size);
+        } else {
+            boundRow = parallelism.select(0, size, 1, (from, to) -> getBoundRow(equations, incomingIndex, from, to),
+                (candidate, current) -> isSmallerBound(equations.get(candidate), equations.get(current), incomingIndex));
+        }
+        if(boundRow == NOT_ASSIGNED) return NOT_ASSIGNED;
+
+        EquationTableauRow bound = equations.get(boundRow);
+        if(parallelism == null) {
+            return getPivotRow(equations, incomingIndex, bound, 0, size);
+        }
+        return parallelism.select(0, size, 1, (from, to) -> getPivotRow(equations, incomingIndex, bound, from, to),
+            (candidate, current) -> equations.get(candidate).getCoefficients().get(incomingIndex)
+                .compareTo(equations.get(current).getCoefficients().get(incomingIndex)) > 0);
+    }
+
+    private int getBoundRow(List<EquationTableauRow> equations, int incomingIndex, int from, int to) {
+        int index = NOT_ASSIGNED;
+        for(int k = from; k < to; k++) {
+            if(equations.get(k).getCoefficients().get(incomingIndex).signum() <= 0) continue;
+            if(index == NOT_ASSIGNED || isSmallerBound(equations.get(k), equations.get(index), incomingIndex)) {
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Checks (b1 + tolerance) / a1 < (b2 + tolerance) / a2 for positive a1, a2
+     */
+    private boolean isSmallerBound(EquationTableauRow row1, EquationTableauRow row2, int incomingIndex) {
+        List<BigDecimal> coefficients1 = row1.getCoefficients();
+        List<BigDecimal> coefficients2 = row2.getCoefficients();
+        BigDecimal left = coefficients1.get(0).add(bigTolerance).multiply(coefficients2.get(incomingIndex));
+        BigDecimal right = coefficients2.get(0).add(bigTolerance).multiply(coefficients1.get(incomingIndex));
+        return left.compareTo(right) < 0;
+    }
+
+    private int getPivotRow(List<EquationTableauRow> equations, int incomingIndex, EquationTableauRow bound, int from, int to) {
+        List<BigDecimal> boundCoefficients = bound.getCoefficients();
+        BigDecimal boundValue = boundCoefficients.get(0).add(bigTolerance);
+        BigDecimal boundCoeff = boundCoefficients.get(incomingIndex);
+        int index = NOT_ASSIGNED;
+        BigDecimal maxCoeff = null;
+        for(int k = from; k < to; k++) {
+            List<BigDecimal> coefficients = equations.get(k).getCoefficients();
+            BigDecimal coeff = coefficients.get(incomingIndex);
+            if(coeff.signum() <= 0) continue;
+            // b / a <= (b0 + tolerance) / a0
+            if(coefficients.get(0).multiply(boundCoeff).compareTo(boundValue.multiply(coeff)) > 0) continue;
+            if(maxCoeff == null || coeff.compareTo(maxCoeff) > 0) {
+                maxCoeff = coeff;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Chooses the pivot row of a double tableau
+     * @param data the coefficients of the tableau in row-major order
+     * @param rowSize the size of a row
+     * @param numberOfRows the number of rows
+     * @param objectiveRow the index of the objective function row
+     * @param auxiliaryRow the index of the auxiliary function row or NOT_ASSIGNED
+     * @param incomingIndex the pivot column
+     * @param pivotTolerance the coefficients not greater than this value are not considered
+     * @param parallelism parallel execution settings or null
+     * @return the index of the row or NOT_ASSIGNED if no coefficient of the column is positive
+     */
+    int select(double[] data, int rowSize, int numberOfRows, int objectiveRow, int auxiliaryRow, int incomingIndex,
+               double pivotTolerance, TableauParallelism parallelism) {
+        int boundRow;
+        if(parallelism == null) {
+            boundRow = getBoundRow(data, rowSize, objectiveRow, auxiliaryRow, incomingIndex, pivotTolerance, 0, numberOfRows);
+        } else {
+            boundRow = parallelism.select(0, numberOfRows, 1,
+                (from, to) -> getBoundRow(data, rowSize, objectiveRow, auxiliaryRow, incomingIndex, pivotTolerance, from, to),
+                (candidate, current) -> getBound(data, rowSize, candidate, incomingIndex) < getBound(data, rowSize, current, incomingIndex));
+        }
+        if(boundRow == NOT_ASSIGNED) return NOT_ASSIGNED;
+
+        double maxStep = getBound(data, rowSize, boundRow, incomingIndex);
+        if(parallelism == null) {
+            return getPivotRow(data, rowSize, objectiveRow, auxiliaryRow, incomingIndex, pivotTolerance, maxStep, 0, numberOfRows);
+        }
+        return parallelism.select(0, numberOfRows, 1,
+            (from, to) -> getPivotRow(data, rowSize, objectiveRow, auxiliaryRow, incomingIndex, pivotTolerance, maxStep, from, to),
+            (candidate, current) -> data[candidate * rowSize + incomingIndex] > data[current * rowSize + incomingIndex]);
+    }
+
+    private double getBound(double[] data, int rowSize, int row, int incomingIndex) {
+        return (data[row * rowSize] + tolerance) / data[row * rowSize + incomingIndex];
+    }
+
+    private int getBoundRow(double[] data, int rowSize, int objectiveRow, int auxiliaryRow, int incomingIndex, double pivotTolerance,
+                            int from, int to) {
+        int index = NOT_ASSIGNED;
+        double minBound = Double.POSITIVE_INFINITY;
+        for(int k = from; k < to; k++) {
+            if(k == objectiveRow || k == auxiliaryRow || data[k * rowSize + incomingIndex] <= pivotTolerance) continue;
+            double bound = getBound(data, rowSize, k, incomingIndex);
+            if(index == NOT_ASSIGNED || bound < minBound) {
+                minBound = bound;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    private int getPivotRow(double[] data, int rowSize, int objectiveRow, int auxiliaryRow, int incomingIndex, double pivotTolerance,
+                            double maxStep, int from, int to) {
+        int index = NOT_ASSIGNED;
+        double maxCoeff = 0.d;
+        for(int k = from; k < to; k++) {
+            if(k == objectiveRow || k == auxiliaryRow) continue;
+            double coeff = data[k * rowSize + incomingIndex];
+            if(coeff <= pivotTolerance || data[k * rowSize] / coeff > maxStep) continue;
+            if(index == NOT_ASSIGNED || coeff > maxCoeff) {
+                maxCoeff = coeff;
+                index = k;
+            }
+        }
+        return index;
+    }
+}
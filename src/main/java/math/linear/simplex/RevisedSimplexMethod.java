@@ -0,0 +1,388 @@
+package math.linear.simplex;
+
+/*
+ * Solves a linear problem with the revised simplex method. Instead of a tableau only an LU factorization of the basis
+ * is kept, it is updated by the Forrest-Tomlin method after each pivot and computed again periodically.
+ * The columns of the problem are stored sparse and priced on demand, so the cost of an iteration depends on the number
+ * of equations and on the number of non-zero coefficients rather than on the size of the full tableau.
+ */
+
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RevisedSimplexMethod
+{
+    private static final int NOT_ASSIGNED = -1;
+    private static final int DEFAULT_REFACTORIZATION_FREQUENCY = 100;
+    private static final double DEFAULT_TOLERANCE = 1e-9;
+
+    private int refactorizationFrequency = DEFAULT_REFACTORIZATION_FREQUENCY;
+    private double feasibilityTolerance = DEFAULT_TOLERANCE;
+    private double optimalityTolerance = DEFAULT_TOLERANCE;
+    private int pricingWindow = 0;
+
+    private RevisedSimplexMethod() {}
+
+    /**
+     * Returns an instance of the solver with default settings
+     * @return
+     */
+    public static RevisedSimplexMethod getInstance() {
+        return new RevisedSimplexMethod();
+    }
+
+    /**
+     * Solves the problem with default settings
+     * @param problem
+     * @return the solution
+     */
+    public static LinearSolution applyTo(Problem problem) {
+        return getInstance().solve(problem);
+    }
+
+    /**
+     * Sets the number of basis updates after which the basis is factorized again
+     * @param refactorizationFrequency
+     */
+    public void setRefactorizationFrequency(int refactorizationFrequency) {
+        if(refactorizationFrequency <= 0) {
+            throw new IllegalArgumentException("Refactorization frequency must be positive.");
+        }
+        this.refactorizationFrequency = refactorizationFrequency;
+    }
+
+    /**
+     * Sets the tolerance a value of a basic variable is treated as non-negative with
+     * @param feasibilityTolerance
+     */
+    public void setFeasibilityTolerance(double feasibilityTolerance) {
+        this.feasibilityTolerance = feasibilityTolerance;
+    }
+
+    /**
+     * Sets the tolerance a reduced cost is treated as non-negative with
+     * @param optimalityTolerance
+     */
+    public void setOptimalityTolerance(double optimalityTolerance) {
+        this.optimalityTolerance = optimalityTolerance;
+    }
+
+    /**
+     * Sets the number of columns to be priced before an improving column may be chosen. Pricing continues at the next
+     * iteration where it stopped. Zero (the default) means that all columns are priced at every iteration.
+     * @param pricingWindow
+     */
+    public void setPricingWindow(int pricingWindow) {
+        if(pricingWindow < 0) {
+            throw new IllegalArgumentException("Pricing window must not be negative.");
+        }
+        this.pricingWindow = pricingWindow;
+    }
+
+    /**
+     * Solves the problem
+     * @param problem
+     * @return the solution
+     */
+    public LinearSolution solve(Problem problem) {
+        problem.validate();
+        return new Model(problem).solve();
+    }
+
+    private final class Model
+    {
+        private final int numberOfRows;
+        private final int numberOfVariables;
+        private final int numberOfColumns;
+        private final int artificialFirstIndex;
+        private final boolean findMaximum;
+        private final ProblemObjectiveFunction objectiveFunction;
+
+        private final int[] columnStarts;
+        private final int[] rowIndices;
+        private final double[] values;
+        private final double[] rightValues;
+        private final double[] rowSigns;
+        private final double[] costs;
+        private final double[] phaseOneCosts;
+
+        private final int[] basis;
+        private final int[] basisPositions;
+        private final double[] basicValues;
+        private final double[] basicCosts;
+        private final double[] duals;
+        private final double[] column;
+        private final double[] direction;
+        private final double[][] basisMatrix;
+        private final BasisFactorization factorization;
+        private int pricingStart = 0;
+        private int numberOfIterations = 0;
+
+        Model(Problem problem) {
+            List<ProblemEquation> equations = problem.getEquations();
+            objectiveFunction = problem.getObjectiveFunction();
+            findMaximum = objectiveFunction.getType().isFindMaximum();
+            numberOfRows = equations.size();
+            numberOfVariables = problem.getNumberOfVariables();
+
+            rightValues = new double[numberOfRows];
+            rowSigns = new double[numberOfRows];
+            Relation[] relations = new Relation[numberOfRows];
+            int numberOfSlacks = 0;
+            int numberOfArtificials = 0;
+            for(int i = 0; i < numberOfRows; i++) {
+                ProblemEquation equation = equations.get(i);
+                double rightValue = equation.getCoefficientAt(0);
+                rowSigns[i] = rightValue < 0.d ? -1.d : 1.d;
+                rightValues[i] = rightValue * rowSigns[i];
+                relations[i] = rightValue < 0.d ? equation.getRelation().invert() : equation.getRelation();
+                if(!relations[i].isEqual()) numberOfSlacks++;
+                if(!relations[i].isLessOrEqual()) numberOfArtificials++;
+            }
+            artificialFirstIndex = numberOfVariables + numberOfSlacks;
+            numberOfColumns = artificialFirstIndex + numberOfArtificials;
+
+            int[] counts = new int[numberOfColumns];
+            double[][] rows = new double[numberOfRows][];
+            int numberOfNonZeros = numberOfSlacks + numberOfArtificials;
+            for(int i = 0; i < numberOfRows; i++) {
+                rows[i] = equations.get(i).getCoefficients();
+                for(int j = 1; j <= numberOfVariables; j++) {
+                    if(rows[i][j] != 0.d) {
+                        counts[j - 1]++;
+                        numberOfNonZeros++;
+                    }
+                }
+            }
+
+            columnStarts = new int[numberOfColumns + 1];
+            rowIndices = new int[numberOfNonZeros];
+            values = new double[numberOfNonZeros];
+            for(int j = 0; j < numberOfVariables; j++) {
+                columnStarts[j + 1] = columnStarts[j] + counts[j];
+            }
+            int[] next = Arrays.copyOf(columnStarts, numberOfVariables);
+            for(int i = 0; i < numberOfRows; i++) {
+                for(int j = 1; j <= numberOfVariables; j++) {
+                    double value = rows[i][j];
+                    if(value != 0.d) {
+                        int idx = next[j - 1]++;
+                        rowIndices[idx] = i;
+                        values[idx] = value * rowSigns[i];
+                    }
+                }
+            }
+
+            basis = new int[numberOfRows];
+            int nz = columnStarts[numberOfVariables];
+            int slack = numberOfVariables;
+            int artificial = artificialFirstIndex;
+            int[] artificialRows = new int[numberOfArtificials];
+            for(int i = 0; i < numberOfRows; i++) {
+                Relation relation = relations[i];
+                if(relation.isEqual()) continue;
+                rowIndices[nz] = i;
+                values[nz] = relation.isLessOrEqual() ? 1.d : -1.d;
+                nz++;
+                columnStarts[slack + 1] = nz;
+                if(relation.isLessOrEqual()) {
+                    basis[i] = slack;
+                }
+                slack++;
+            }
+            for(int i = 0, a = 0; i < numberOfRows; i++) {
+                if(!relations[i].isLessOrEqual()) {
+                    artificialRows[a++] = i;
+                }
+            }
+            for(int a = 0; a < numberOfArtificials; a++) {
+                int i = artificialRows[a];
+                rowIndices[nz] = i;
+                values[nz] = 1.d;
+                nz++;
+                columnStarts[artificial + 1] = nz;
+                basis[i] = artificial;
+                artificial++;
+            }
+
+            costs = new double[numberOfColumns];
+            phaseOneCosts = new double[numberOfColumns];
+            double factor = findMaximum ? -1.d : 1.d;
+            for(int j = 0; j < numberOfVariables; j++) {
+                costs[j] = objectiveFunction.getCoefficientAt(j + 1) * factor;
+            }
+            for(int j = artificialFirstIndex; j < numberOfColumns; j++) {
+                phaseOneCosts[j] = 1.d;
+            }
+
+            basisPositions = new int[numberOfColumns];
+            Arrays.fill(basisPositions, NOT_ASSIGNED);
+            for(int i = 0; i < numberOfRows; i++) {
+                basisPositions[basis[i]] = i;
+            }
+            basicValues = new double[numberOfRows];
+            basicCosts = new double[numberOfRows];
+            duals = new double[numberOfRows];
+            column = new double[numberOfRows];
+            direction = new double[numberOfRows];
+            basisMatrix = new double[numberOfRows][numberOfRows];
+            factorization = new BasisFactorization(numberOfRows);
+        }
+
+        LinearSolution solve() {
+            refactorize();
+            if(artificialFirstIndex < numberOfColumns) {
+                runPhase(phaseOneCosts, true);
+                double infeasibility = 0.d;
+                double scale = 1.d;
+                for(int i = 0; i < numberOfRows; i++) {
+                    if(basis[i] >= artificialFirstIndex) {
+                        infeasibility += Math.abs(basicValues[i]);
+                    }
+                    scale = Math.max(scale, rightValues[i]);
+                }
+                if(infeasibility > feasibilityTolerance * scale) {
+                    throw new InfeasibleProblemException();
+                }
+            }
+            runPhase(costs, false);
+            return makeSolution();
+        }
+
+        private void runPhase(double[] phaseCosts, boolean phaseOne) {
+            while(true) {
+                for(int i = 0; i < numberOfRows; i++) {
+                    basicCosts[i] = phaseCosts[basis[i]];
+                }
+                factorization.solveTransposed(basicCosts, duals);
+
+                int incomingIndex = price(phaseCosts, phaseOne);
+                if(incomingIndex == NOT_ASSIGNED) {
+                    return;
+                }
+
+                loadColumn(incomingIndex);
+                factorization.solve(column, direction);
+
+                int outcomingPosition = getOutcomingPosition(phaseOne);
+                if(outcomingPosition == NOT_ASSIGNED) {
+                    throw new RuntimeException("Solution does not exist.");
+                }
+
+                double theta = basis[outcomingPosition] >= artificialFirstIndex && !phaseOne
+                    ? 0.d : Math.max(basicValues[outcomingPosition], 0.d) / direction[outcomingPosition];
+                for(int i = 0; i < numberOfRows; i++) {
+                    basicValues[i] -= theta * direction[i];
+                }
+                basicValues[outcomingPosition] = theta;
+
+                basisPositions[basis[outcomingPosition]] = NOT_ASSIGNED;
+                basis[outcomingPosition] = incomingIndex;
+                basisPositions[incomingIndex] = outcomingPosition;
+                numberOfIterations++;
+
+                boolean stable = factorization.update(outcomingPosition);
+                if(!stable || factorization.getNumberOfUpdates() >= refactorizationFrequency) {
+                    refactorize();
+                }
+            }
+        }
+
+        private int price(double[] phaseCosts, boolean phaseOne) {
+            int limit = phaseOne ? numberOfColumns : artificialFirstIndex;
+            int index = NOT_ASSIGNED;
+            double minReducedCost = -optimalityTolerance;
+            int start = pricingWindow == 0 ? 0 : pricingStart % limit;
+            for(int n = 0; n < limit; n++) {
+                if(pricingWindow > 0 && n >= pricingWindow && index != NOT_ASSIGNED) {
+                    break;
+                }
+                int j = start + n;
+                if(j >= limit) j -= limit;
+                if(basisPositions[j] != NOT_ASSIGNED) continue;
+                double reducedCost = phaseCosts[j];
+                for(int k = columnStarts[j]; k < columnStarts[j + 1]; k++) {
+                    reducedCost -= duals[rowIndices[k]] * values[k];
+                }
+                if(reducedCost < minReducedCost) {
+                    minReducedCost = reducedCost;
+                    index = j;
+                }
+            }
+            if(index != NOT_ASSIGNED) {
+                pricingStart = index + 1;
+            }
+            return index;
+        }
+
+        private int getOutcomingPosition(boolean phaseOne) {
+            int position = NOT_ASSIGNED;
+            double minRatio = Double.POSITIVE_INFINITY;
+            double maxPivot = 0.d;
+            for(int i = 0; i < numberOfRows; i++) {
+                double coeff = direction[i];
+                double ratio;
+                if(!phaseOne && basis[i] >= artificialFirstIndex && Math.abs(coeff) > feasibilityTolerance) {
+                    ratio = 0.d;
+                } else if(coeff > feasibilityTolerance) {
+                    ratio = Math.max(basicValues[i], 0.d) / coeff;
+                } else {
+                    continue;
+                }
+                double pivot = Math.abs(coeff);
+                if(ratio < minRatio || (ratio == minRatio && pivot > maxPivot)) {
+                    minRatio = ratio;
+                    maxPivot = pivot;
+                    position = i;
+                }
+            }
+            return position;
+        }
+
+        private void loadColumn(int columnIndex) {
+            Arrays.fill(column, 0.d);
+            for(int k = columnStarts[columnIndex]; k < columnStarts[columnIndex + 1]; k++) {
+                column[rowIndices[k]] = values[k];
+            }
+        }
+
+        private void refactorize() {
+            for(int i = 0; i < numberOfRows; i++) {
+                Arrays.fill(basisMatrix[i], 0.d);
+            }
+            for(int position = 0; position < numberOfRows; position++) {
+                int j = basis[position];
+                for(int k = columnStarts[j]; k < columnStarts[j + 1]; k++) {
+                    basisMatrix[rowIndices[k]][position] = values[k];
+                }
+            }
+            factorization.factorize(basisMatrix);
+            factorization.solve(rightValues, basicValues);
+        }
+
+        private LinearSolution makeSolution() {
+            double[] solution = new double[numberOfVariables];
+            for(int i = 0; i < numberOfRows; i++) {
+                int j = basis[i];
+                if(j < numberOfVariables) {
+                    solution[j] = Math.abs(basicValues[i]) <= feasibilityTolerance ? 0.d : basicValues[i];
+                }
+            }
+            double objectiveValue = 0.d;
+            for(int j = 0; j < numberOfVariables; j++) {
+                objectiveValue += objectiveFunction.getCoefficientAt(j + 1) * solution[j];
+            }
+            double factor = findMaximum ? -1.d : 1.d;
+            double[] dualValues = new double[numberOfRows];
+            for(int i = 0; i < numberOfRows; i++) {
+                dualValues[i] = duals[i] * rowSigns[i] * factor;
+            }
+            return new LinearSolution(solution, objectiveValue, dualValues, numberOfIterations);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package math.linear.simplex;
+
+/*
+ * Computes the scale factors of the equations and of the problem variables. The scaled coefficient of a problem
+ * variable is a[i][j] * r[i] * c[j], the scaled free coefficient is b[i] * r[i] and the scaled coefficient of the
+ * objective function is f[j] * c[j]. The factors are rounded to powers of 2, so scaling does not change the mantissas
+ * of the coefficients.
+ */
+
+import java.util.Arrays;
+
+final class Scaler
+{
+    private static final int MAX_GEOMETRIC_MEAN_PASSES = 20;
+    private static final double MIN_IMPROVEMENT = 0.9d;
+
+    private final double[][] equationCoeffs;
+    private final int numberOfVariables;
+    private final double[] rowScales;
+    private final double[] columnScales;
+
+    /**
+     * @param equationCoeffs the equations, the free coefficient is at 0, the problem variables are at 1..numberOfVariables
+     * @param numberOfVariables
+     */
+    Scaler(double[][] equationCoeffs, int numberOfVariables) {
+        this.equationCoeffs = equationCoeffs;
+        this.numberOfVariables = numberOfVariables;
+        this.rowScales = new double[equationCoeffs.length];
+        this.columnScales = new double[numberOfVariables];
+        Arrays.fill(rowScales, 1.d);
+        Arrays.fill(columnScales, 1.d);
+    }
+
+    /**
+     * Computes the factors by the given method
+     * @param method
+     */
+    void scale(ScalingMethod method) {
+        if(method.isGeometricMean()) {
+            scaleByGeometricMean();
+        }
+        if(method.isEquilibration()) {
+            equilibrate();
+        }
+        roundToPowersOfTwo(rowScales);
+        roundToPowersOfTwo(columnScales);
+    }
+
+    double[] getRowScales() {
+        return rowScales;
+    }
+
+    double[] getColumnScales() {
+        return columnScales;
+    }
+
+    /**
+     * Returns the ratio of the largest to the smallest absolute scaled coefficient
+     */
+    double getSpread() {
+        double min = Double.POSITIVE_INFINITY;
+        double max = 0.d;
+        for(int i = 0; i < equationCoeffs.length; i++) {
+            for(int j = 0; j < numberOfVariables; j++) {
+                double value = getScaledValue(i, j);
+                if(value == 0.d) continue;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+        return max == 0.d ? 1.d : max / min;
+    }
+
+    private void scaleByGeometricMean() {
+        double spread = getSpread();
+        for(int pass = 0; pass < MAX_GEOMETRIC_MEAN_PASSES; pass++) {
+            for(int i = 0; i < equationCoeffs.length; i++) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = 0.d;
+                for(int j = 0; j < numberOfVariables; j++) {
+                    double value = Math.abs(equationCoeffs[i][j + 1]) * columnScales[j];
+                    if(value == 0.d) continue;
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                if(max > 0.d) rowScales[i] = 1.d / Math.sqrt(min * max);
+            }
+            for(int j = 0; j < numberOfVariables; j++) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = 0.d;
+                for(int i = 0; i < equationCoeffs.length; i++) {
+                    double value = Math.abs(equationCoeffs[i][j + 1]) * rowScales[i];
+                    if(value == 0.d) continue;
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                if(max > 0.d) columnScales[j] = 1.d / Math.sqrt(min * max);
+            }
+            double newSpread = getSpread();
+            if(newSpread > MIN_IMPROVEMENT * spread) break;
+            spread = newSpread;
+        }
+    }
+
+    private void equilibrate() {
+        for(int i = 0; i < equationCoeffs.length; i++) {
+            double max = 0.d;
+            for(int j = 0; j < numberOfVariables; j++) {
+                max = Math.max(max, Math.abs(equationCoeffs[i][j + 1]) * columnScales[j]);
+            }
+            if(max > 0.d) rowScales[i] = 1.d / max;
+        }
+        for(int j = 0; j < numberOfVariables; j++) {
+            double max = 0.d;
+            for(int i = 0; i < equationCoeffs.length; i++) {
+                max = Math.max(max, Math.abs(equationCoeffs[i][j + 1]) * rowScales[i]);
+            }
+            if(max > 0.d) columnScales[j] = 1.d / max;
+        }
+    }
+
+    private double getScaledValue(int i, int j) {
+        return Math.abs(equationCoeffs[i][j + 1]) * rowScales[i] * columnScales[j];
+    }
+
+    private static void roundToPowersOfTwo(double[] scales) {
+        for(int k = 0; k < scales.length; k++) {
+            scales[k] = Math.scalb(1.d, (int) Math.round(Math.log(scales[k]) / Math.log(2.d)));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package math.linear.simplex;
+
+/*
+ * Defines how the rows and the columns of the problem variables are scaled before the tableau is built
+ */
+
+public enum ScalingMethod
+{
+    /**
+     * The coefficients are taken as they are
+     */
+    NONE,
+
+    /**
+     * Every row and column is divided by the geometric mean of its smallest and largest absolute coefficient,
+     * the passes are repeated while the spread of the coefficients decreases
+     */
+    GEOMETRIC_MEAN,
+
+    /**
+     * Every row and then every column is divided by its largest absolute coefficient
+     */
+    EQUILIBRATION,
+
+    /**
+     * Geometric mean scaling followed by equilibration
+     */
+    GEOMETRIC_MEAN_AND_EQUILIBRATION;
+
+    public boolean isNone(){
+        return NONE.equals(this);
+    }
+
+    public boolean isGeometricMean(){
+        return GEOMETRIC_MEAN.equals(this) || GEOMETRIC_MEAN_AND_EQUILIBRATION.equals(this);
+    }
+
+    public boolean isEquilibration(){
+        return EQUILIBRATION.equals(this) || GEOMETRIC_MEAN_AND_EQUILIBRATION.equals(this);
+    }
+}
@@ -2,20 +2,20 @@ package math.linear.simplex;
 
 
 /*
- * Provides methods to solve problem
+ * Provides methods to solve problem. The loops stop when the SolveLimits of the tableau are hit; the tableau is
+ * returned as it is then, its basis is feasible if the first phase was finished. A loop exceeding the limit of degenerate
+ * pivots ends alone, the tableau gets the DEGENERACY_LIMIT status and the limits are not stopped.
  */
 
-
-import java.math.BigDecimal;
-import java.math.MathContext;
-import java.math.RoundingMode;
-import java.util.List;
-
 public class SimplexMethod
 {
     private static int NOT_ASSIGNED = -1;
 
     public static Tableau applyTo(Tableau tableau) {
+        tableau.setStatus(SolveStatus.FINISHED);
+        if(tableau.getSolveLimits() != null) {
+            tableau.getSolveLimits().start();
+        }
         if(tableau.isTwoPahses()){
             return applyTwoPhases(tableau);
         } else {
@@ -24,88 +24,169 @@ public class SimplexMethod
     }
 
     static Tableau applySinglePhase(Tableau tableau){
-        int objFuncIdx = tableau.getObjectiveFunctionIndex();
-        ObjectiveFunctionTableauRow objFuncRow = (ObjectiveFunctionTableauRow) tableau.getRows().get(objFuncIdx);
-        List<EquationTableauRow> equations = tableau.getEquationRows();
-        int precision = tableau.getPrecision();
-        while (!objFuncRow.isOptimal()) {
-            int incomingIndex = objFuncRow.getIncomingVariableIndex();
-            int outcomingIndex = getOutcomingIndex(incomingIndex, equations, precision);
+        iterate(tableau, tableau.getObjectiveFunctionIndex(), tableau.getRowSize(), SimplexPhase.PHASE_TWO);
+        return tableau;
+    }
+
+    /**
+     * Applies the primal simplex iterations to the function row until it is optimal. Degenerate pivots are watched by
+     * DegeneracyControl: a stall leads to a perturbation of the free coefficients, which is removed at the end,
+     * and then to Bland's rule. The loop ends with the DEGENERACY_LIMIT status of the tableau, if it exceeds the limit
+     * of degenerate pivots. The loop is reported to the listener of the tableau, if there is one.
+     * @param tableau the tableau
+     * @param functionRowIndex the row of the function being minimized
+     * @param columnLimit the columns starting from this index are not considered
+     * @param phase the phase reported to the listener
+     */
+    private static void iterate(Tableau tableau, int functionRowIndex, int columnLimit, SimplexPhase phase) {
+        PricingStrategy pricing = tableau.getPricingStrategy();
+        DegeneracyControl degeneracy = new DegeneracyControl(tableau);
+        SolverListener listener = tableau.getSolverListener();
+        SolveLimits limits = tableau.getSolveLimits();
+        long startTime = listener == null ? 0L : System.nanoTime();
+        int numberOfPivots = 0;
+        try {
+            while (true) {
+                if(limits != null && limits.isStopped()) {
+                    if(degeneracy.isPerturbed()) degeneracy.removePerturbation();
+                    return;
+                }
+                int incomingIndex = degeneracy.isBlandRule()
+                    ? tableau.getIncomingVariableIndexBland(functionRowIndex, columnLimit)
+                    : pricing.getIncomingVariableIndex(tableau, functionRowIndex, columnLimit);
+                if(incomingIndex == NOT_ASSIGNED) {
+                    if(!degeneracy.isPerturbed()) return;
+                    degeneracy.removePerturbation();
+                    numberOfPivots += restoreFeasibility(tableau, functionRowIndex, columnLimit, degeneracy);
+                    if(tableau.getStatus() == SolveStatus.DEGENERACY_LIMIT) return;
+                    continue;
+                }
+                int outcomingIndex = degeneracy.isBlandRule()
+                    ? tableau.getPivotRowIndexBland(incomingIndex)
+                    : tableau.getPivotRowIndex(incomingIndex);
+                if(!degeneracy.beforePivot(outcomingIndex)) {
+                    if(degeneracy.isPerturbed()) degeneracy.removePerturbation();
+                    tableau.setStatus(SolveStatus.DEGENERACY_LIMIT);
+                    return;
+                }
+                if(limits != null && !limits.onPivot()) {
+                    continue;
+                }
+                pricing.beforePivot(tableau, outcomingIndex, incomingIndex);
+                tableau.pivot(outcomingIndex, incomingIndex);
+                numberOfPivots++;
+            }
+        } finally {
+            if(listener != null) {
+                listener.onPhaseFinished(phase, numberOfPivots, degeneracy.getNumberOfDegeneratePivots(), System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    /**
+     * Applies the dual simplex iterations until all free coefficients of the equations are non-negative. The loop ends
+     * with the DEGENERACY_LIMIT status of the tableau, if it exceeds the limit of degenerate pivots.
+     * @return the number of pivots
+     */
+    private static int restoreFeasibility(Tableau tableau, int functionRowIndex, int columnLimit, DegeneracyControl degeneracy) {
+        PricingStrategy pricing = tableau.getPricingStrategy();
+        SolveLimits limits = tableau.getSolveLimits();
+        int numberOfPivots = 0;
+        int outcomingIndex = tableau.getDualPivotRowIndex();
+        while (outcomingIndex != NOT_ASSIGNED && (limits == null || !limits.isStopped())) {
+            int incomingIndex = tableau.getDualPivotColumnIndex(outcomingIndex, functionRowIndex, columnLimit);
+            if(incomingIndex == NOT_ASSIGNED) {
+                throw new InfeasibleProblemException();
+            }
+            if(!degeneracy.beforeDualPivot(functionRowIndex, incomingIndex)) {
+                tableau.setStatus(SolveStatus.DEGENERACY_LIMIT);
+                break;
+            }
+            if(limits != null && !limits.onPivot()) {
+                break;
+            }
+            pricing.beforePivot(tableau, outcomingIndex, incomingIndex);
             tableau.pivot(outcomingIndex, incomingIndex);
+            numberOfPivots++;
+            outcomingIndex = tableau.getDualPivotRowIndex();
+        }
+        return numberOfPivots;
+    }
+
+    /**
+     * Restores the feasibility of a tableau, whose objective function is optimal but some free coefficients are negative,
+     * e.g. after a bound or a cut was added to an optimal tableau. Then the primal iterations are applied to the result.
+     * @param tableau the tableau with the auxiliary function cut off
+     * @return the same tableau with an optimal solution, unless the tableau got the DEGENERACY_LIMIT status
+     */
+    static Tableau applyDualSimplex(Tableau tableau){
+        tableau.setStatus(SolveStatus.FINISHED);
+        SolverListener listener = tableau.getSolverListener();
+        DegeneracyControl degeneracy = new DegeneracyControl(tableau);
+        long startTime = listener == null ? 0L : System.nanoTime();
+        int numberOfPivots = 0;
+        try {
+            numberOfPivots = restoreFeasibility(tableau, tableau.getObjectiveFunctionIndex(), tableau.getRowSize(), degeneracy);
+        } finally {
+            if(listener != null) {
+                listener.onPhaseFinished(SimplexPhase.DUAL, numberOfPivots, degeneracy.getNumberOfDegeneratePivots(),
+                    System.nanoTime() - startTime);
+            }
+        }
+        if(tableau.getStatus() == SolveStatus.DEGENERACY_LIMIT) {
+            return tableau;
         }
+        return applySinglePhase(tableau);
+    }
 
+    /**
+     * Applies the primal iterations to the objective function of a tableau, which was optimal before new columns were
+     * added to it. The artificial variables are not considered while the auxiliary function is kept.
+     * @param tableau the tableau with a feasible basis
+     * @return the same tableau with an optimal solution
+     */
+    static Tableau reoptimize(Tableau tableau){
+        tableau.setStatus(SolveStatus.FINISHED);
+        int columnLimit = tableau.isTwoPahses() ? tableau.getAuxiliaryVariablesFirstIndex() : tableau.getRowSize();
+        iterate(tableau, tableau.getObjectiveFunctionIndex(), columnLimit, SimplexPhase.PHASE_TWO);
         return tableau;
     }
 
-    public static boolean existsAlternativeSolution(Tableau tableau){
-        int objFuncIdx = tableau.getObjectiveFunctionIndex();
-        ObjectiveFunctionTableauRow objFuncRow = (ObjectiveFunctionTableauRow) tableau.getRows().get(objFuncIdx);
-        int numberOfVariables = tableau.getNumberOfProblemVariables();
-        return objFuncRow.getCoefficients().stream().sequential().skip(1).limit(numberOfVariables)
-            .filter(coeff-> coeff.signum() == 0).count() > 0L;
+    /**
+     * Checks if the loops were stopped by the limits of the tableau
+     * @param tableau
+     * @return true if a limit was hit or the solve was cancelled
+     */
+    static boolean isStopped(Tableau tableau) {
+        return tableau.getSolveLimits() != null && tableau.getSolveLimits().isStopped();
     }
 
-    static int getOutcomingIndex(int incomingIndex, List<EquationTableauRow> equations, int precision) {
-        int outcomingIndex = NOT_ASSIGNED;
-        BigDecimal minRatio = null;
-        for(int k = 0; k < equations.size(); k++) {
-            EquationTableauRow eq = equations.get(k);
-            List<BigDecimal> coefficients = eq.getCoefficients();
-            BigDecimal currentCoeff = coefficients.get(incomingIndex);
-            BigDecimal freeCoeff = coefficients.get(0);
-
-            MathContext mathContext = new MathContext(precision);
-            if(currentCoeff.signum() > 0){
-                BigDecimal ratio = freeCoeff.divide(currentCoeff,mathContext);
-                if(minRatio == null || minRatio.compareTo(ratio) > 0){
-                    minRatio = ratio;
-                    outcomingIndex = k + 1;
-                }
-            }
+    public static boolean existsAlternativeSolution(Tableau tableau){
+        int objFuncIdx = tableau.getObjectiveFunctionIndex();
+        int numberOfVariables = Math.min(tableau.getNumberOfProblemVariables(), tableau.getRowSize() - 1);
+        for(int k = 1; k <= numberOfVariables; k++) {
+            if(tableau.getValue(objFuncIdx, k) == 0.d) return true;
         }
-        return outcomingIndex;
+        return false;
     }
 
     static Tableau applyTwoPhases(Tableau tableau){
         int auxFuncIdx = tableau.getAuxiliaryFunctionIndex();
-        ObjectiveFunctionTableauRow auxFuncRow = (ObjectiveFunctionTableauRow) tableau.getRows().get(auxFuncIdx);
-        List<EquationTableauRow> equations = tableau.getEquationRows();
         int auxFirstColumnIndex = tableau.getAuxiliaryVariablesFirstIndex();
-        for(int k = auxFirstColumnIndex; k < auxFuncRow.getCoefficients().size(); k++){
-            EquationTableauRow equation = getEquationWithUnitColumn(equations, k);
-            auxFuncRow.addWithFactor(equation, BigDecimal.ONE.negate());
-        }
-
-        int objFuncIdx = tableau.getObjectiveFunctionIndex();
-        ObjectiveFunctionTableauRow objFuncRow = (ObjectiveFunctionTableauRow) tableau.getRows().get(objFuncIdx);
-
-        int precision = tableau.getPrecision();
+        tableau.prepareAuxiliaryFunction();
 
-        while (!auxFuncRow.isOptimal(auxFirstColumnIndex)) {
-            int incomingIndex = auxFuncRow.getIncomingVariableIndex(auxFirstColumnIndex);
-            int outcomingIndex = getOutcomingIndex(incomingIndex, equations, precision);
-            tableau.pivot(outcomingIndex, incomingIndex);
+        iterate(tableau, auxFuncIdx, auxFirstColumnIndex, SimplexPhase.PHASE_ONE);
+        if(isStopped(tableau) || tableau.getStatus() == SolveStatus.DEGENERACY_LIMIT) {
+            return tableau;
         }
 
-
-        if(auxFuncRow.getCoefficients().get(0).setScale(precision/2, RoundingMode.HALF_UP).compareTo(BigDecimal.ZERO) < 0) {
-            throw new RuntimeException("The problem has no base plane.");
+        if(!tableau.hasBasePlane()) {
+            throw new InfeasibleProblemException();
         };
 
-
-        while (!objFuncRow.isOptimal(auxFirstColumnIndex)) {
-            int incomingIndex = objFuncRow.getIncomingVariableIndex(auxFirstColumnIndex);
-            int outcomingIndex = getOutcomingIndex(incomingIndex, equations, precision);
-            tableau.pivot(outcomingIndex, incomingIndex);
-        }
+        iterate(tableau, tableau.getObjectiveFunctionIndex(), auxFirstColumnIndex, SimplexPhase.PHASE_TWO);
 
         return tableau;
     }
 
-
-
-    private static EquationTableauRow getEquationWithUnitColumn(List<EquationTableauRow> equations, int columnIndex){
-        return  equations.stream().filter(eq -> eq.getCoefficients().get(columnIndex).compareTo(BigDecimal.ONE) == 0).findFirst().get();
-    }
-
 }
@@ -0,0 +1,21 @@
+package math.linear.simplex;
+
+/*
+ * The phases of the simplex method reported to a SolverListener
+ */
+
+public enum SimplexPhase
+{
+    /**
+     * The primal iterations minimizing the auxiliary function to find a feasible basis
+     */
+    PHASE_ONE,
+    /**
+     * The primal iterations optimizing the objective function
+     */
+    PHASE_TWO,
+    /**
+     * The dual iterations restoring the feasibility, e.g. after a bound or a cut was added
+     */
+    DUAL
+}
@@ -0,0 +1,109 @@
+package math.linear.simplex;
+
+/*
+ * Reads the primitive values of a snapshot written by SnapshotOutput from a buffer, usually a file mapped into memory
+ */
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+final class SnapshotInput
+{
+    private final ByteBuffer buffer;
+
+    SnapshotInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() {
+        return buffer.get();
+    }
+
+    boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    int readInt() {
+        return buffer.getInt();
+    }
+
+    long readLong() {
+        return buffer.getLong();
+    }
+
+    double readDouble() {
+        return buffer.getDouble();
+    }
+
+    int readVarInt() {
+        int bits = 0;
+        int shift = 0;
+        byte value;
+        do {
+            if(shift > 28) {
+                throw new IllegalStateException("The snapshot is corrupted.");
+            }
+            value = buffer.get();
+            bits |= (value & 0x7F) << shift;
+            shift += 7;
+        } while((value & 0x80) != 0);
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    byte[] readBytes() {
+        byte[] bytes = new byte[readSize()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    BigDecimal readBigDecimal() {
+        int scale = readVarInt();
+        return new BigDecimal(new BigInteger(readBytes()), scale);
+    }
+
+    int[] readIntArray() {
+        int length = readVarInt();
+        if(length < 0) return null;
+        int[] values = new int[checkSize(length)];
+        for(int k = 0; k < length; k++) {
+            values[k] = readVarInt();
+        }
+        return values;
+    }
+
+    double[] readDoubleArray() {
+        int length = readVarInt();
+        if(length < 0) return null;
+        double[] values = new double[checkSize(length)];
+        for(int k = 0; k < length; k++) {
+            values[k] = readDouble();
+        }
+        return values;
+    }
+
+    BitSet readBitSet() {
+        long[] words = new long[readSize()];
+        for(int k = 0; k < words.length; k++) {
+            words[k] = readLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Reads a size and checks that it does not exceed the rest of the snapshot, so a corrupted size does not lead
+     * to a huge allocation
+     * @return the size
+     */
+    int readSize() {
+        return checkSize(readVarInt());
+    }
+
+    private int checkSize(int size) {
+        if(size < 0 || size > buffer.remaining()) {
+            throw new IllegalStateException("The snapshot is corrupted.");
+        }
+        return size;
+    }
+}
@@ -0,0 +1,126 @@
+package math.linear.simplex;
+
+/*
+ * Writes the primitive values of a snapshot to a channel through a fixed buffer. The indices, sizes and scales are
+ * written as variable length integers, so small values take a single byte.
+ */
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.BitSet;
+
+final class SnapshotOutput
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    SnapshotOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    void writeDouble(double value) throws IOException {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * Writes an integer in 7 bit groups, a negative value is mapped to a positive one first (zigzag encoding)
+     * @param value
+     */
+    void writeVarInt(int value) throws IOException {
+        ensure(5);
+        int bits = (value << 1) ^ (value >> 31);
+        while((bits & ~0x7F) != 0) {
+            buffer.put((byte) ((bits & 0x7F) | 0x80));
+            bits >>>= 7;
+        }
+        buffer.put((byte) bits);
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        writeVarInt(bytes.length);
+        for(int offset = 0; offset < bytes.length; ) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    void writeBigDecimal(BigDecimal value) throws IOException {
+        writeVarInt(value.scale());
+        writeBytes(value.unscaledValue().toByteArray());
+    }
+
+    /**
+     * Writes an array, which may be null
+     * @param values
+     */
+    void writeIntArray(int[] values) throws IOException {
+        writeVarInt(values == null ? -1 : values.length);
+        if(values == null) return;
+        for(int value : values) {
+            writeVarInt(value);
+        }
+    }
+
+    /**
+     * Writes an array, which may be null
+     * @param values
+     */
+    void writeDoubleArray(double[] values) throws IOException {
+        writeVarInt(values == null ? -1 : values.length);
+        if(values == null) return;
+        for(double value : values) {
+            writeDouble(value);
+        }
+    }
+
+    void writeBitSet(BitSet bits) throws IOException {
+        long[] words = bits.toLongArray();
+        writeVarInt(words.length);
+        for(long word : words) {
+            writeLong(word);
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensure(int length) throws IOException {
+        if(buffer.remaining() < length) {
+            flush();
+        }
+    }
+}
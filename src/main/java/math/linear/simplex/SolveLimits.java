@@ -0,0 +1,207 @@
+package math.linear.simplex;
+
+/*
+ * Limits the work of the simplex method, Gomory method and branch and bound: the wall clock time, the pivots, the
+ * degenerate pivots of a simplex loop, the cuts and the nodes, each of them is unlimited by default. A solve can also be cancelled from another thread.
+ * The loops of the methods check the limits cooperatively: a pivot, a cut or a node is counted before it is made and
+ * the one exceeding its limit is not made, so a limit of N allows exactly N of them. When a limit is hit, the methods
+ * stop and return the best result found so far instead of failing, the reason is kept as the status.
+ * The counters and the clock are shared by all methods using the same instance, so a limit applies to a whole run,
+ * e.g. the relaxation and the branch and bound after it. The clock starts with the first solve; reset starts a new run.
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SolveLimits
+{
+    static final long NO_LIMIT = 0L;
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private long timeLimit = NO_LIMIT;
+    private long maxPivots = NO_LIMIT;
+    private long maxCuts = NO_LIMIT;
+    private long maxNodes = NO_LIMIT;
+    private int maxDegeneratePivots = DegeneracyControl.NO_LIMIT;
+
+    private final AtomicLong startTime = new AtomicLong(NOT_STARTED);
+    private final AtomicLong numberOfPivots = new AtomicLong();
+    private final AtomicLong numberOfCuts = new AtomicLong();
+    private final AtomicLong numberOfNodes = new AtomicLong();
+    private final AtomicReference<SolveStatus> status = new AtomicReference<>(SolveStatus.FINISHED);
+    private volatile boolean isStopped;
+
+    private SolveLimits() {}
+
+    /**
+     * Returns an instance without limits
+     * @return
+     */
+    public static SolveLimits getInstance() {
+        return new SolveLimits();
+    }
+
+    /**
+     * Sets the maximal wall clock time of a run, zero means no limit
+     * @param time
+     * @param unit
+     */
+    public void setTimeLimit(long time, TimeUnit unit) {
+        if(time < 0) {
+            throw new IllegalArgumentException("Time limit must not be negative.");
+        }
+        this.timeLimit = unit.toNanos(time);
+    }
+
+    /**
+     * Sets the maximal number of simplex pivots of a run, zero means no limit
+     * @param maxPivots
+     */
+    public void setMaxPivots(long maxPivots) {
+        if(maxPivots < 0) {
+            throw new IllegalArgumentException("Maximal number of pivots must not be negative.");
+        }
+        this.maxPivots = maxPivots;
+    }
+
+    /**
+     * Sets the maximal number of Gomory cuts added to the tableau during a run, zero means no limit. A round is cut down
+     * to the cuts left within the limit and finished, so that the tableau is optimal.
+     * @param maxCuts
+     */
+    public void setMaxCuts(long maxCuts) {
+        if(maxCuts < 0) {
+            throw new IllegalArgumentException("Maximal number of cuts must not be negative.");
+        }
+        this.maxCuts = maxCuts;
+    }
+
+    /**
+     * Sets the maximal number of branch and bound nodes processed during a run, zero means no limit
+     * @param maxNodes
+     */
+    public void setMaxNodes(long maxNodes) {
+        if(maxNodes < 0) {
+            throw new IllegalArgumentException("Maximal number of nodes must not be negative.");
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Sets the maximal number of degenerate pivots of a single simplex loop, zero means no limit. Unlike the other
+     * limits it is counted for every loop anew, e.g. for every node of branch and bound, and it ends only that loop:
+     * the DEGENERACY_LIMIT status is reported by the tableau and by the method, the run goes on.
+     * @param maxDegeneratePivots
+     */
+    public void setMaxDegeneratePivots(int maxDegeneratePivots) {
+        if(maxDegeneratePivots < 0) {
+            throw new IllegalArgumentException("Maximal number of degenerate pivots must not be negative.");
+        }
+        this.maxDegeneratePivots = maxDegeneratePivots;
+    }
+
+    int getMaxDegeneratePivots() {
+        return maxDegeneratePivots;
+    }
+
+    /**
+     * Asks the running solve to stop, it may be called from any thread
+     */
+    public void cancel() {
+        stop(SolveStatus.CANCELLED);
+    }
+
+    /**
+     * Returns why the run stopped or FINISHED if no limit was hit so far
+     * @return
+     */
+    public SolveStatus getStatus() {
+        return status.get();
+    }
+
+    /**
+     * Clears the counters and the status and restarts the clock with the next solve
+     */
+    public void reset() {
+        startTime.set(NOT_STARTED);
+        numberOfPivots.set(0L);
+        numberOfCuts.set(0L);
+        numberOfNodes.set(0L);
+        status.set(SolveStatus.FINISHED);
+        isStopped = false;
+    }
+
+    /**
+     * Starts the clock unless it is already running
+     */
+    void start() {
+        startTime.compareAndSet(NOT_STARTED, System.nanoTime());
+    }
+
+    boolean isStopped() {
+        return isStopped;
+    }
+
+    /**
+     * Counts a pivot before it is made and checks the limits, the pivot that exceeds the limit is not made
+     * @return false if the solve must stop
+     */
+    boolean onPivot() {
+        if(maxPivots != NO_LIMIT && numberOfPivots.incrementAndGet() > maxPivots) {
+            stop(SolveStatus.PIVOT_LIMIT);
+        }
+        return check();
+    }
+
+    /**
+     * Counts the cuts of a round before they are added and checks the limits, the cuts that exceed the limit are not added
+     * @param count the number of cuts selected for the round
+     * @return the number of cuts to add, zero if the solve must stop
+     */
+    int onCuts(int count) {
+        int allowed = count;
+        if(maxCuts != NO_LIMIT) {
+            long previous = numberOfCuts.getAndAdd(count);
+            allowed = (int) Math.max(0L, Math.min(count, maxCuts - previous));
+            if(count > 0 && allowed == 0) {
+                stop(SolveStatus.CUT_LIMIT);
+            }
+        }
+        return check() ? allowed : 0;
+    }
+
+    /**
+     * Counts a node and checks the limits, the node that exceeds the limit is not processed
+     * @return false if the solve must stop
+     */
+    boolean onNode() {
+        if(maxNodes != NO_LIMIT && numberOfNodes.incrementAndGet() > maxNodes) {
+            stop(SolveStatus.NODE_LIMIT);
+        }
+        return check();
+    }
+
+    /**
+     * Checks the clock and the cancellation
+     * @return false if the solve must stop
+     */
+    boolean check() {
+        if(isStopped) return false;
+        long start = startTime.get();
+        if(timeLimit != NO_LIMIT && start != NOT_STARTED && System.nanoTime() - start > timeLimit) {
+            stop(SolveStatus.TIME_LIMIT);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops the run, the first reason is kept as the status
+     * @param reason
+     */
+    void stop(SolveStatus reason) {
+        status.compareAndSet(SolveStatus.FINISHED, reason);
+        isStopped = true;
+    }
+}
@@ -0,0 +1,45 @@
+package math.linear.simplex;
+
+/*
+ * Tells why a solve controlled by SolveLimits ended
+ */
+
+public enum SolveStatus
+{
+    /**
+     * The solve ran to its end, no limit was hit
+     */
+    FINISHED,
+    /**
+     * The wall clock limit was exceeded
+     */
+    TIME_LIMIT,
+    /**
+     * The limit of simplex pivots was exceeded
+     */
+    PIVOT_LIMIT,
+    /**
+     * The limit of Gomory cuts was exceeded
+     */
+    CUT_LIMIT,
+    /**
+     * The limit of branch and bound nodes was exceeded
+     */
+    NODE_LIMIT,
+    /**
+     * The limit of degenerate pivots of a simplex loop was exceeded, that loop ended without the optimum
+     */
+    DEGENERACY_LIMIT,
+    /**
+     * The limit of rounds of the Gomory method was exceeded
+     */
+    ROUND_LIMIT,
+    /**
+     * The solve was cancelled by SolveLimits.cancel
+     */
+    CANCELLED;
+
+    public boolean isStopped() {
+        return this != FINISHED;
+    }
+}
@@ -0,0 +1,42 @@
+package math.linear.simplex;
+
+/*
+ * Receives the events of the simplex method, Gomory method and branch and bound. The simplex method informs
+ * the listener of the tableau, see TableauBuilder.setSolverListener, the other methods the listener set on them.
+ * The methods do nothing by default. Branch and bound with several threads calls the listener concurrently,
+ * so it must be thread safe then. The solvers do not measure anything if no listener is set.
+ */
+
+public interface SolverListener
+{
+    /**
+     * Called when a simplex loop is finished, also when it fails
+     * @param phase the phase of the loop
+     * @param numberOfPivots
+     * @param numberOfDegeneratePivots the pivots that did not change the function, counted by the primal phases only
+     * @param nanoTime the duration in nanoseconds
+     */
+    default void onPhaseFinished(SimplexPhase phase, int numberOfPivots, int numberOfDegeneratePivots, long nanoTime) {}
+
+    /**
+     * Called when a round of Gomory cuts is finished
+     * @param round the number of the round starting from 1
+     * @param numberOfAddedCuts the cuts added to the tableau, new ones or from the pool
+     * @param numberOfPurgedCuts the cuts removed from the tableau in the round
+     */
+    default void onCuttingRound(int round, int numberOfAddedCuts, int numberOfPurgedCuts) {}
+
+    /**
+     * Called when branch and bound takes a node, also a node that is pruned
+     * @param depth the depth of the node, the root has zero
+     */
+    default void onNodeProcessed(int depth) {}
+
+    /**
+     * Called when branch and bound finds a better integer solution
+     * @param value the objective value of the solution
+     * @param bestBound the best bound of the objective value known at the moment
+     * @param gap the relative gap between the bound and the value
+     */
+    default void onIncumbentFound(double value, double bestBound, double gap) {}
+}
@@ -0,0 +1,294 @@
+package math.linear.simplex;
+
+/*
+ * Collects the counters of the solvers it listens to: the pivots and the time of every simplex phase, the degenerate
+ * pivots, the cuts, the nodes and the history of the incumbents with the gap. The counters are summed over all runs
+ * until reset and are safe to update from several threads. The statistics can be registered as an MBean on
+ * the platform MBean server, so that the counters are seen by JMX clients, e.g. JConsole.
+ */
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SolverStatistics implements SolverListener, SolverStatisticsMBean
+{
+    private static final String DOMAIN = "math.linear.simplex";
+
+    private final LongAdder[] pivots = makeAdders();
+    private final LongAdder[] nanoTimes = makeAdders();
+    private final LongAdder degeneratePivots = new LongAdder();
+    private final LongAdder cuttingRounds = new LongAdder();
+    private final LongAdder cuts = new LongAdder();
+    private final LongAdder purgedCuts = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final List<IncumbentRecord> incumbents = new ArrayList<>();
+    private volatile long startTime = System.nanoTime();
+    private ObjectName objectName;
+
+    private SolverStatistics() {}
+
+    public static SolverStatistics getInstance() {
+        return new SolverStatistics();
+    }
+
+    @Override
+    public void onPhaseFinished(SimplexPhase phase, int numberOfPivots, int numberOfDegeneratePivots, long nanoTime) {
+        pivots[phase.ordinal()].add(numberOfPivots);
+        nanoTimes[phase.ordinal()].add(nanoTime);
+        degeneratePivots.add(numberOfDegeneratePivots);
+    }
+
+    @Override
+    public void onCuttingRound(int round, int numberOfAddedCuts, int numberOfPurgedCuts) {
+        cuttingRounds.increment();
+        cuts.add(numberOfAddedCuts);
+        purgedCuts.add(numberOfPurgedCuts);
+    }
+
+    @Override
+    public void onNodeProcessed(int depth) {
+        nodes.increment();
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    @Override
+    public void onIncumbentFound(double value, double bestBound, double gap) {
+        IncumbentRecord record = new IncumbentRecord((System.nanoTime() - startTime) / 1_000_000L, value, bestBound, gap);
+        synchronized(incumbents) {
+            incumbents.add(record);
+        }
+    }
+
+    /**
+     * Returns the number of pivots of the phase
+     * @param phase
+     * @return
+     */
+    public long getPivots(SimplexPhase phase) {
+        return pivots[phase.ordinal()].sum();
+    }
+
+    /**
+     * Returns the time spent in the phase in nanoseconds
+     * @param phase
+     * @return
+     */
+    public long getNanoTime(SimplexPhase phase) {
+        return nanoTimes[phase.ordinal()].sum();
+    }
+
+    @Override
+    public long getPhaseOnePivots() {
+        return getPivots(SimplexPhase.PHASE_ONE);
+    }
+
+    @Override
+    public long getPhaseTwoPivots() {
+        return getPivots(SimplexPhase.PHASE_TWO);
+    }
+
+    @Override
+    public long getDualPivots() {
+        return getPivots(SimplexPhase.DUAL);
+    }
+
+    @Override
+    public long getDegeneratePivots() {
+        return degeneratePivots.sum();
+    }
+
+    @Override
+    public long getPhaseOneTime() {
+        return getNanoTime(SimplexPhase.PHASE_ONE) / 1_000_000L;
+    }
+
+    @Override
+    public long getPhaseTwoTime() {
+        return getNanoTime(SimplexPhase.PHASE_TWO) / 1_000_000L;
+    }
+
+    @Override
+    public long getDualTime() {
+        return getNanoTime(SimplexPhase.DUAL) / 1_000_000L;
+    }
+
+    @Override
+    public long getCuttingRounds() {
+        return cuttingRounds.sum();
+    }
+
+    @Override
+    public long getCuts() {
+        return cuts.sum();
+    }
+
+    @Override
+    public long getPurgedCuts() {
+        return purgedCuts.sum();
+    }
+
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public int getIncumbents() {
+        synchronized(incumbents) {
+            return incumbents.size();
+        }
+    }
+
+    /**
+     * Returns the objective value of the last incumbent or NaN if none was found
+     * @return
+     */
+    @Override
+    public double getIncumbentValue() {
+        IncumbentRecord record = getLastIncumbent();
+        return record == null ? Double.NaN : record.getValue();
+    }
+
+    /**
+     * Returns the best bound known when the last incumbent was found or NaN if none was found
+     * @return
+     */
+    @Override
+    public double getBestBound() {
+        IncumbentRecord record = getLastIncumbent();
+        return record == null ? Double.NaN : record.getBestBound();
+    }
+
+    /**
+     * Returns the gap when the last incumbent was found or NaN if none was found
+     * @return
+     */
+    @Override
+    public double getGap() {
+        IncumbentRecord record = getLastIncumbent();
+        return record == null ? Double.NaN : record.getGap();
+    }
+
+    /**
+     * Returns the incumbents in the order they were found
+     * @return copy of the history
+     */
+    public List<IncumbentRecord> getIncumbentHistory() {
+        synchronized(incumbents) {
+            return new ArrayList<>(incumbents);
+        }
+    }
+
+    /**
+     * Sets all counters to zero and clears the history, the times of the history are counted from now
+     */
+    @Override
+    public void reset() {
+        for(int k = 0; k < pivots.length; k++) {
+            pivots[k].reset();
+            nanoTimes[k].reset();
+        }
+        degeneratePivots.reset();
+        cuttingRounds.reset();
+        cuts.reset();
+        purgedCuts.reset();
+        nodes.reset();
+        maxDepth.set(0);
+        synchronized(incumbents) {
+            incumbents.clear();
+        }
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Registers the statistics on the platform MBean server with the name math.linear.simplex:type=SolverStatistics,name=...
+     * @param name the name distinguishing the statistics from the other registered ones
+     * @return the object name
+     * @throws JMException if the name is invalid or already registered
+     */
+    public synchronized ObjectName registerMBean(String name) throws JMException {
+        if(objectName != null) {
+            throw new IllegalStateException("The statistics are already registered.");
+        }
+        ObjectName newName = new ObjectName(DOMAIN + ":type=SolverStatistics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+        objectName = newName;
+        return newName;
+    }
+
+    /**
+     * Removes the statistics from the platform MBean server, if they are registered
+     * @throws JMException if the statistics cannot be removed
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if(objectName == null) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if(server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        objectName = null;
+    }
+
+    private IncumbentRecord getLastIncumbent() {
+        synchronized(incumbents) {
+            return incumbents.isEmpty() ? null : incumbents.get(incumbents.size() - 1);
+        }
+    }
+
+    private static LongAdder[] makeAdders() {
+        LongAdder[] adders = new LongAdder[SimplexPhase.values().length];
+        for(int k = 0; k < adders.length; k++) {
+            adders[k] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * An incumbent found by branch and bound
+     */
+    public static final class IncumbentRecord {
+        private final long time;
+        private final double value;
+        private final double bestBound;
+        private final double gap;
+
+        IncumbentRecord(long time, double value, double bestBound, double gap) {
+            this.time = time;
+            this.value = value;
+            this.bestBound = bestBound;
+            this.gap = gap;
+        }
+
+        /**
+         * Returns the time the incumbent was found at in milliseconds since the statistics were created or reset
+         * @return
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public double getBestBound() {
+            return bestBound;
+        }
+
+        public double getGap() {
+            return gap;
+        }
+    }
+}
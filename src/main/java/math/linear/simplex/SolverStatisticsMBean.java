@@ -0,0 +1,42 @@
+package math.linear.simplex;
+
+/*
+ * The management interface of SolverStatistics, the times are in milliseconds
+ */
+
+public interface SolverStatisticsMBean
+{
+    long getPhaseOnePivots();
+
+    long getPhaseTwoPivots();
+
+    long getDualPivots();
+
+    long getDegeneratePivots();
+
+    long getPhaseOneTime();
+
+    long getPhaseTwoTime();
+
+    long getDualTime();
+
+    long getCuttingRounds();
+
+    long getCuts();
+
+    long getPurgedCuts();
+
+    long getNodes();
+
+    int getMaxDepth();
+
+    int getIncumbents();
+
+    double getIncumbentValue();
+
+    double getBestBound();
+
+    double getGap();
+
+    void reset();
+}
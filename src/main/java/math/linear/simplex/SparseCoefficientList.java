@@ -0,0 +1,226 @@
+package math.linear.simplex;
+
+/*
+ * Keeps the coefficients of a tableau row as sorted arrays of the indices and values of the non-zero coefficients.
+ * The list behaves like a list of all coefficients, zero coefficients are returned as BigDecimal.ZERO.
+ */
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+final class SparseCoefficientList extends AbstractList<BigDecimal> implements RandomAccess
+{
+    /**
+     * A row is stored sparse as long as the share of its non-zero coefficients does not exceed this value
+     */
+    static final double DENSITY_THRESHOLD = 0.3d;
+
+    private int size;
+    private int numberOfNonZeros;
+    private int[] indices;
+    private BigDecimal[] values;
+
+    SparseCoefficientList(int size, int capacity) {
+        this.size = size;
+        this.indices = new int[Math.max(capacity, 4)];
+        this.values = new BigDecimal[Math.max(capacity, 4)];
+    }
+
+    /**
+     * Creates a sparse list containing the given coefficients
+     * @param coefficients
+     * @return sparse list
+     */
+    static SparseCoefficientList of(List<BigDecimal> coefficients) {
+        int count = 0;
+        for(BigDecimal coeff : coefficients) {
+            if(coeff.signum() != 0) count++;
+        }
+        SparseCoefficientList list = new SparseCoefficientList(coefficients.size(), count);
+        for(int k = 0; k < coefficients.size(); k++) {
+            BigDecimal coeff = coefficients.get(k);
+            if(coeff.signum() != 0) {
+                list.indices[list.numberOfNonZeros] = k;
+                list.values[list.numberOfNonZeros] = coeff;
+                list.numberOfNonZeros++;
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns a copy of this list
+     * @return copy
+     */
+    SparseCoefficientList copy() {
+        SparseCoefficientList list = new SparseCoefficientList(size, numberOfNonZeros);
+        System.arraycopy(indices, 0, list.indices, 0, numberOfNonZeros);
+        System.arraycopy(values, 0, list.values, 0, numberOfNonZeros);
+        list.numberOfNonZeros = numberOfNonZeros;
+        return list;
+    }
+
+    /**
+     * Checks if a row with the given number of non-zero coefficients should be stored sparse
+     * @param numberOfNonZeros
+     * @param size
+     * @return true if the row is sparse enough
+     */
+    static boolean isSparse(int numberOfNonZeros, int size) {
+        return numberOfNonZeros <= size * DENSITY_THRESHOLD;
+    }
+
+    int getNumberOfNonZeros() {
+        return numberOfNonZeros;
+    }
+
+    int getIndexAt(int position) {
+        return indices[position];
+    }
+
+    BigDecimal getValueAt(int position) {
+        return values[position];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public BigDecimal get(int index) {
+        checkIndex(index, size);
+        int position = Arrays.binarySearch(indices, 0, numberOfNonZeros, index);
+        return position >= 0 ? values[position] : BigDecimal.ZERO;
+    }
+
+    @Override
+    public BigDecimal set(int index, BigDecimal value) {
+        checkIndex(index, size);
+        int position = Arrays.binarySearch(indices, 0, numberOfNonZeros, index);
+        if(position >= 0) {
+            BigDecimal previous = values[position];
+            if(value.signum() == 0) {
+                removeAt(position);
+            } else {
+                values[position] = value;
+            }
+            return previous;
+        }
+        if(value.signum() != 0) {
+            insertAt(-position - 1, index, value);
+        }
+        return BigDecimal.ZERO;
+    }
+
+    @Override
+    public void add(int index, BigDecimal value) {
+        checkIndex(index, size + 1);
+        int position = Arrays.binarySearch(indices, 0, numberOfNonZeros, index);
+        if(position < 0) position = -position - 1;
+        for(int k = position; k < numberOfNonZeros; k++) {
+            indices[k]++;
+        }
+        size++;
+        modCount++;
+        if(value.signum() != 0) {
+            insertAt(position, index, value);
+        }
+    }
+
+    @Override
+    public BigDecimal remove(int index) {
+        checkIndex(index, size);
+        int position = Arrays.binarySearch(indices, 0, numberOfNonZeros, index);
+        BigDecimal previous = BigDecimal.ZERO;
+        if(position >= 0) {
+            previous = values[position];
+            removeAt(position);
+        } else {
+            position = -position - 1;
+        }
+        for(int k = position; k < numberOfNonZeros; k++) {
+            indices[k]--;
+        }
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * Removes all coefficients starting from the given index
+     * @param newSize
+     */
+    void truncate(int newSize) {
+        int position = Arrays.binarySearch(indices, 0, numberOfNonZeros, newSize);
+        if(position < 0) position = -position - 1;
+        Arrays.fill(values, position, numberOfNonZeros, null);
+        numberOfNonZeros = position;
+        size = newSize;
+        modCount++;
+    }
+
+    /**
+     * Replaces the content with the given sorted arrays of indices and values
+     */
+    void replace(int[] newIndices, BigDecimal[] newValues, int newNumberOfNonZeros) {
+        this.indices = newIndices;
+        this.values = newValues;
+        this.numberOfNonZeros = newNumberOfNonZeros;
+        modCount++;
+    }
+
+    int[] getIndices() {
+        return indices;
+    }
+
+    BigDecimal[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns a dense copy of the coefficients
+     * @return list of all coefficients
+     */
+    List<BigDecimal> toDense() {
+        List<BigDecimal> dense = new ArrayList<>(size);
+        for(int k = 0, position = 0; k < size; k++) {
+            if(position < numberOfNonZeros && indices[position] == k) {
+                dense.add(values[position++]);
+            } else {
+                dense.add(BigDecimal.ZERO);
+            }
+        }
+        return dense;
+    }
+
+    private void insertAt(int position, int index, BigDecimal value) {
+        if(numberOfNonZeros == indices.length) {
+            int capacity = indices.length * 2;
+            indices = Arrays.copyOf(indices, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(indices, position, indices, position + 1, numberOfNonZeros - position);
+        System.arraycopy(values, position, values, position + 1, numberOfNonZeros - position);
+        indices[position] = index;
+        values[position] = value;
+        numberOfNonZeros++;
+    }
+
+    private void removeAt(int position) {
+        System.arraycopy(indices, position + 1, indices, position, numberOfNonZeros - position - 1);
+        System.arraycopy(values, position + 1, values, position, numberOfNonZeros - position - 1);
+        numberOfNonZeros--;
+        values[numberOfNonZeros] = null;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
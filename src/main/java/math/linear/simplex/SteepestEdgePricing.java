@@ -0,0 +1,59 @@
+package math.linear.simplex;
+
+/*
+ * Steepest-edge pricing: the weight of a non-basic column is the squared norm of its edge direction,
+ * i.e. one plus the sum of the squared coefficients of the column in the equation rows. The weights are computed
+ * exactly at the start and then updated after each pivot by the recurrence of Goldfarb and Reid.
+ */
+
+import java.util.Arrays;
+
+final class SteepestEdgePricing extends WeightedPricing
+{
+    private double[] dotProducts = new double[0];
+
+    @Override
+    void initializeWeights(Tableau tableau) {
+        int rowSize = tableau.getRowSize();
+        for(int i = 0; i < tableau.getNumberOfRows(); i++) {
+            if(!tableau.isEquationRow(i)) continue;
+            for(int k = 1; k < rowSize; k++) {
+                double coeff = tableau.getValue(i, k);
+                weights[k] += coeff * coeff;
+            }
+        }
+    }
+
+    @Override
+    void updateWeights(Tableau tableau, int rowNumber, int columnNumber) {
+        int rowSize = weights.length;
+        if(dotProducts.length < rowSize) {
+            dotProducts = new double[rowSize];
+        }
+        // the products of the pivot column with all columns over the equation rows
+        Arrays.fill(dotProducts, 0, rowSize, 0.d);
+        for(int i = 0; i < tableau.getNumberOfRows(); i++) {
+            if(!tableau.isEquationRow(i)) continue;
+            double pivotColumnCoeff = tableau.getValue(i, columnNumber);
+            if(pivotColumnCoeff == 0.d) continue;
+            for(int k = 1; k < rowSize; k++) {
+                dotProducts[k] += pivotColumnCoeff * tableau.getValue(i, k);
+            }
+        }
+
+        double pivotCoefficient = tableau.getValue(rowNumber, columnNumber);
+        double pivotWeight = weights[columnNumber];
+        for(int k = 1; k < rowSize; k++) {
+            if(k == columnNumber) continue;
+            double ratio = tableau.getValue(rowNumber, k) / pivotCoefficient;
+            if(ratio == 0.d) continue;
+            double weight = weights[k] - 2.d * ratio * dotProducts[k] + ratio * ratio * pivotWeight;
+            weights[k] = Math.max(weight, 1.d + ratio * ratio);
+        }
+        int leavingIndex = tableau.getBasicVariableIndex(rowNumber);
+        if(leavingIndex > 0 && leavingIndex < rowSize) {
+            weights[leavingIndex] = Math.max(pivotWeight / (pivotCoefficient * pivotCoefficient), 1.d);
+        }
+        weights[columnNumber] = 1.d;
+    }
+}
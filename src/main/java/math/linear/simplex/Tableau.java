@@ -4,14 +4,15 @@ package math.linear.simplex;
  * Represents the tableau of a canonical linear problem
  */
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class Tableau
 {
@@ -24,8 +25,25 @@ public class Tableau
     private int auxiliaryFunctionIndex = INDEX_NOT_ASSIGNED;
     private int rowSize = 0;
     private int precision = 16;
-
-    private Tableau() {
+    private MathContext mathContext = new MathContext(precision);
+    private TableauParallelism parallelism;
+    private PricingRule pricingRule = PricingRule.DANTZIG;
+    private int candidateListSize = PartialPricing.DEFAULT_CANDIDATE_LIST_SIZE;
+    private PricingStrategy pricingStrategy;
+    private int stallIterations = DegeneracyControl.DEFAULT_STALL_ITERATIONS;
+    private SolverListener solverListener;
+    private SolveLimits solveLimits;
+    private SolveStatus status = SolveStatus.FINISHED;
+    private RatioTest ratioTest = new RatioTest(RatioTest.DEFAULT_TOLERANCE);
+    private int[] initialBasis;
+    private int[] rowSigns;
+    private double[] rowScales;
+    private double[] columnScales;
+    private BitSet continuousColumns = new BitSet();
+    private List<EquationTableauRow> equationRows;
+    private int[] basicRows;
+
+    Tableau() {
         rows = new ArrayList<>();
     };
 
@@ -38,6 +56,14 @@ public class Tableau
        return auxiliaryFunctionIndex != INDEX_NOT_ASSIGNED;
     }
 
+    /**
+     * Returns the numeric backend the coefficients of this tableau are stored with
+     * @return numeric backend
+     */
+    public NumericBackend getNumericBackend(){
+        return NumericBackend.BIG_DECIMAL;
+    }
+
 
     void addRow(GenericTableauRow row) {
         int size = row.getSize();
@@ -50,6 +76,7 @@ public class Tableau
         }
         row.setPrecision(precision);
         this.rows.add(row);
+        resetRowIndex();
     }
 
     int addCuttingRow(GenericTableauRow row) {
@@ -60,6 +87,7 @@ public class Tableau
             return this.rows.size() - 1;
         } else {
             this.rows.add(auxiliaryFunctionIndex++, row);
+            resetRowIndex();
             return auxiliaryFunctionIndex - 1;
         }
     }
@@ -80,6 +108,7 @@ public class Tableau
         } else {
             this.rows.set(objectiveFunctionIndex, objectiveFunction);
         }
+        resetRowIndex();
     }
 
     void setAuxiliaryFunction(ObjectiveFunctionTableauRow auxiliaryFunction){
@@ -90,6 +119,15 @@ public class Tableau
         } else {
             this.rows.set(auxiliaryFunctionIndex, auxiliaryFunction);
         }
+        resetRowIndex();
+    }
+
+    final void setObjectiveFunctionIndex(int index){
+        this.objectiveFunctionIndex = index;
+    }
+
+    final void setAuxiliaryFunctionIndex(int index){
+        this.auxiliaryFunctionIndex = index;
     }
 
     void setNumberOfProblemVariables(int numberOfProblemVariables){
@@ -100,9 +138,13 @@ public class Tableau
         if(auxiliaryFunctionIndex == INDEX_NOT_ASSIGNED) return;
         rows.remove(auxiliaryFunctionIndex);
         auxiliaryFunctionIndex = INDEX_NOT_ASSIGNED;
-        rows.stream().forEach(row ->  row.cutTo(auxiliaryVariablesFirstIndex));
+        for(GenericTableauRow row : rows) {
+            row.cutTo(auxiliaryVariablesFirstIndex);
+        }
+        continuousColumns.clear(auxiliaryVariablesFirstIndex, Math.max(rowSize, auxiliaryVariablesFirstIndex));
         rowSize = auxiliaryVariablesFirstIndex;
         auxiliaryVariablesFirstIndex = INDEX_NOT_ASSIGNED;
+        resetRowIndex();
     }
 
 
@@ -123,27 +165,81 @@ public class Tableau
      */
     final void setPrecision(int precision) {
         this.precision = precision;
+        this.mathContext = new MathContext(precision);
     }
 
     final int getPrecision(){
         return this.precision;
     }
 
+    final MathContext getMathContext(){
+        return this.mathContext;
+    }
+
+    /**
+     * Sets the settings for parallel pivoting, pricing and ratio test
+     * @param parallelism the settings or null for sequential processing
+     */
+    final void setParallelism(TableauParallelism parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    final TableauParallelism getParallelism() {
+        return this.parallelism;
+    }
+
     /**
      * Returns a list of rows
      * @return list of rows
      */
-    public final List<GenericTableauRow> getRows() {
+    public List<GenericTableauRow> getRows() {
         return this.rows;
     }
 
     /**
-     * Returns rows of type EquationTableauRow only
-     * @return a list of equation rows
+     * Returns rows of type EquationTableauRow only. The list is kept until the rows of the tableau are added or removed,
+     * so it must not be held across such changes.
+     * @return an unmodifiable list of equation rows
+     */
+    List<EquationTableauRow> getEquationRows() {
+        if(equationRows == null) {
+            List<EquationTableauRow> equations = new ArrayList<>(rows.size());
+            for(GenericTableauRow row : rows) {
+                if(row instanceof EquationTableauRow) {
+                    equations.add((EquationTableauRow) row);
+                }
+            }
+            equationRows = Collections.unmodifiableList(equations);
+        }
+        return equationRows;
+    }
+
+    /**
+     * Returns the row, in which the variable of the given column is basic. The basis header is built once after
+     * the rows or the columns have changed and then updated by the pivot operation.
+     * @param column the column of the variable
+     * @return the index of the row or INDEX_NOT_ASSIGNED if the variable is not basic
+     */
+    int getBasicRowIndex(int column) {
+        if(basicRows == null || basicRows.length != rowSize) {
+            basicRows = new int[rowSize];
+            Arrays.fill(basicRows, INDEX_NOT_ASSIGNED);
+            for(int k = 0; k < rows.size(); k++) {
+                GenericTableauRow row = rows.get(k);
+                if(!(row instanceof EquationTableauRow)) continue;
+                int index = ((EquationTableauRow) row).getBasicVariableIndex();
+                if(index >= 0 && index < rowSize) basicRows[index] = k;
+            }
+        }
+        return column >= 0 && column < basicRows.length ? basicRows[column] : INDEX_NOT_ASSIGNED;
+    }
+
+    /**
+     * Drops the cached equation rows and the basis header, must be called whenever rows or columns are added or removed
      */
-    final List<EquationTableauRow> getEquationRows() {
-        return this.rows.stream().filter(row -> row instanceof EquationTableauRow)
-            .map(row -> (EquationTableauRow) row).collect(Collectors.toList());
+    final void resetRowIndex() {
+        equationRows = null;
+        basicRows = null;
     }
 
     /**
@@ -169,29 +265,621 @@ public class Tableau
      * @return
      */
     ObjectiveFunctionTableauRow getObjectiveFunction(){
-        return (ObjectiveFunctionTableauRow) rows.get(0);
+        return (ObjectiveFunctionTableauRow) getRows().get(0);
+    }
+
+    /**
+     * Returns the index of the column with the most negative coefficient in the given function row
+     * @param functionRowIndex the index of the objective or auxiliary function row
+     * @param columnLimit the columns starting from this index are not considered
+     * @return the index of the incoming variable or INDEX_NOT_ASSIGNED if the function is optimal
+     */
+    int getIncomingVariableIndex(int functionRowIndex, int columnLimit) {
+        return ((ObjectiveFunctionTableauRow) rows.get(functionRowIndex)).getIncomingVariableIndex(columnLimit, parallelism);
+    }
+
+    /**
+     * Performs the ratio test for the given incoming column
+     * @param incomingIndex the index of the incoming variable
+     * @return the index of the pivot row or INDEX_NOT_ASSIGNED if the column is unbounded
+     */
+    int getPivotRowIndex(int incomingIndex) {
+        int index = ratioTest.select(getEquationRows(), incomingIndex, parallelism);
+        return index == INDEX_NOT_ASSIGNED ? INDEX_NOT_ASSIGNED : index + 1;
+    }
+
+    /**
+     * Expresses the auxiliary function via the non-basic variables, so that the first phase can start
+     */
+    void prepareAuxiliaryFunction() {
+        GenericTableauRow auxFuncRow = rows.get(auxiliaryFunctionIndex);
+        for(int k = auxiliaryVariablesFirstIndex; k < auxFuncRow.getSize(); k++){
+            auxFuncRow.addWithFactor(rows.get(getBasicRowIndex(k)), BigDecimal.ONE.negate());
+        }
+    }
+
+    /**
+     * Checks if the value of the auxiliary function allows to proceed to the second phase
+     * @return false if the problem has no feasible solution
+     */
+    boolean hasBasePlane() {
+        BigDecimal value = rows.get(auxiliaryFunctionIndex).getCoefficients().get(0);
+        return value.setScale(precision/2, RoundingMode.HALF_UP).compareTo(BigDecimal.ZERO) >= 0;
     }
 
     int getOutcomingIndex(int incomingIndex) {
-        int outcomingIndex = INDEX_NOT_ASSIGNED;
+        return getPivotRowIndex(incomingIndex);
+    }
+
+    void setPricingRule(PricingRule pricingRule, int candidateListSize) {
+        this.pricingRule = pricingRule;
+        this.candidateListSize = candidateListSize;
+        this.pricingStrategy = null;
+    }
+
+    PricingRule getPricingRule() {
+        return pricingRule;
+    }
+
+    /**
+     * Returns the pricing strategy of the tableau, it is created on the first call and keeps its state (e.g. the weights)
+     * between the iterations
+     * @return the pricing strategy
+     */
+    PricingStrategy getPricingStrategy() {
+        if(pricingStrategy == null) {
+            pricingStrategy = pricingRule.createStrategy(candidateListSize);
+        }
+        return pricingStrategy;
+    }
+
+    int getNumberOfRows() {
+        return rows.size();
+    }
+
+    /**
+     * Sets the tolerance of the Harris ratio test, i.e. how much a basic variable may get below zero
+     * to allow a bigger pivot coefficient
+     * @param tolerance
+     */
+    void setRatioTestTolerance(double tolerance) {
+        this.ratioTest = new RatioTest(tolerance);
+    }
+
+    RatioTest getRatioTest() {
+        return ratioTest;
+    }
+
+    void setStallIterations(int stallIterations) {
+        this.stallIterations = stallIterations;
+    }
+
+    int getStallIterations() {
+        return stallIterations;
+    }
+
+    void setSolverListener(SolverListener solverListener) {
+        this.solverListener = solverListener;
+    }
+
+    /**
+     * Returns the listener informed by the simplex method about the work on this tableau and its copies
+     * @return listener or null
+     */
+    SolverListener getSolverListener() {
+        return solverListener;
+    }
+
+    void setSolveLimits(SolveLimits solveLimits) {
+        this.solveLimits = solveLimits;
+    }
+
+    /**
+     * Returns the limits checked by the simplex method working on this tableau and its copies
+     * @return limits or null
+     */
+    SolveLimits getSolveLimits() {
+        return solveLimits;
+    }
+
+    /**
+     * Returns the status of the last simplex loop applied to this tableau: DEGENERACY_LIMIT if the loop was ended by
+     * the limit of degenerate pivots, then the solution may be not optimal, otherwise FINISHED. The limits
+     * stopping the whole solve are reported by the SolveLimits.
+     * @return
+     */
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    void setStatus(SolveStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Returns the first column with a negative coefficient in the function row (Bland's rule)
+     * @param functionRowIndex the row of the function being minimized
+     * @param columnLimit the columns starting from this index are not considered
+     * @return the index of the incoming variable or INDEX_NOT_ASSIGNED if the function is optimal
+     */
+    int getIncomingVariableIndexBland(int functionRowIndex, int columnLimit) {
+        int maxIndex = Math.min(columnLimit, rowSize);
+        double tolerance = getOptimalityTolerance();
+        for(int k = 1; k < maxIndex; k++) {
+            if(getValue(functionRowIndex, k) < -tolerance) return k;
+        }
+        return INDEX_NOT_ASSIGNED;
+    }
+
+    /**
+     * Performs the ratio test, among the rows with the minimal ratio the one with the smallest index of the basic
+     * variable is chosen (Bland's rule)
+     * @param incomingIndex the index of the incoming variable
+     * @return the index of the pivot row or INDEX_NOT_ASSIGNED if the function is unbounded
+     */
+    int getPivotRowIndexBland(int incomingIndex) {
+        double tolerance = getOptimalityTolerance();
+        int numberOfRows = getNumberOfRows();
+        double minRatio = Double.POSITIVE_INFINITY;
+        for(int k = 0; k < numberOfRows; k++) {
+            if(!isEquationRow(k)) continue;
+            double coeff = getValue(k, incomingIndex);
+            if(coeff > tolerance) {
+                minRatio = Math.min(minRatio, getValue(k, 0) / coeff);
+            }
+        }
+        int index = INDEX_NOT_ASSIGNED;
+        int basicVariableIndex = Integer.MAX_VALUE;
+        for(int k = 0; k < numberOfRows; k++) {
+            if(!isEquationRow(k)) continue;
+            double coeff = getValue(k, incomingIndex);
+            if(coeff > tolerance && getValue(k, 0) / coeff <= minRatio + tolerance && getBasicVariableIndex(k) < basicVariableIndex) {
+                basicVariableIndex = getBasicVariableIndex(k);
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Adds the values to the free coefficients of the equation rows
+     * @param deltas the values indexed by the row number, zero for the function rows
+     */
+    void perturb(double[] deltas) {
+        for(int k = 0; k < rows.size(); k++) {
+            if(deltas[k] == 0.d) continue;
+            List<BigDecimal> coefficients = rows.get(k).getCoefficients();
+            coefficients.set(0, coefficients.get(0).add(BigDecimal.valueOf(deltas[k])));
+        }
+    }
+
+    /**
+     * Removes a perturbation added before. The perturbation of a row has been carried by the column of the variable,
+     * which was basic in the row at the time of the perturbation, so its current column multiplied by the value
+     * is subtracted from the free coefficients of all rows.
+     * @param deltas the values of the perturbation indexed by the row number
+     * @param basicVariables the basic variables of the rows at the time of the perturbation
+     */
+    void removePerturbation(double[] deltas, int[] basicVariables) {
+        for(GenericTableauRow row : rows) {
+            List<BigDecimal> coefficients = row.getCoefficients();
+            BigDecimal value = coefficients.get(0);
+            for(int i = 0; i < deltas.length; i++) {
+                if(deltas[i] == 0.d || basicVariables[i] == INDEX_NOT_ASSIGNED || basicVariables[i] >= rowSize) continue;
+                BigDecimal coeff = coefficients.get(basicVariables[i]);
+                if(coeff.signum() == 0) continue;
+                value = value.subtract(coeff.multiply(BigDecimal.valueOf(deltas[i])));
+            }
+            coefficients.set(0, value);
+        }
+    }
+
+    /**
+     * Returns the coefficient as a double, used where the exact value is not needed, e.g. for pricing weights
+     * @param rowNumber
+     * @param columnNumber
+     * @return the value of the coefficient
+     */
+    double getValue(int rowNumber, int columnNumber) {
+        return rows.get(rowNumber).getCoefficients().get(columnNumber).doubleValue();
+    }
+
+    int getBasicVariableIndex(int rowNumber) {
+        GenericTableauRow row = rows.get(rowNumber);
+        return row instanceof EquationTableauRow ? ((EquationTableauRow) row).getBasicVariableIndex() : INDEX_NOT_ASSIGNED;
+    }
+
+    boolean isEquationRow(int rowNumber) {
+        return rows.get(rowNumber) instanceof EquationTableauRow;
+    }
+
+    /**
+     * Returns the tolerance a reduced cost is treated as non-negative with, for the BigDecimal backend it corresponds
+     * to the rounding of the coefficients to the half of the precision
+     * @return tolerance
+     */
+    double getOptimalityTolerance() {
+        return 0.5d * Math.pow(10.d, -(precision / 2));
+    }
+
+    /**
+     * Sets the initial basis of the tableau: the columns, which were unit columns of the equations when the tableau was built,
+     * and the signs the equations of the problem were multiplied by
+     * @param initialBasis the column of the initial basic variable for every equation of the problem
+     * @param rowSigns 1 or -1 for every equation of the problem
+     */
+    void setInitialBasis(int[] initialBasis, int[] rowSigns) {
+        this.initialBasis = initialBasis;
+        this.rowSigns = rowSigns;
+    }
+
+    final int[] getInitialBasis() {
+        return initialBasis;
+    }
+
+    final int[] getRowSigns() {
+        return rowSigns;
+    }
+
+    /**
+     * Sets the factors the equations and the problem variables were multiplied by when the tableau was built.
+     * The solution and the dual values are returned unscaled.
+     * @param rowScales the factor of every equation of the problem
+     * @param columnScales the factor of every problem variable
+     */
+    void setScaling(double[] rowScales, double[] columnScales) {
+        this.rowScales = rowScales;
+        this.columnScales = columnScales;
+    }
+
+    final boolean isScaled() {
+        return columnScales != null;
+    }
+
+    /**
+     * Returns the factor of an equation of the problem, 1 if the tableau is not scaled
+     * @param equationIndex
+     * @return factor
+     */
+    final double getRowScale(int equationIndex) {
+        return rowScales == null ? 1.d : rowScales[equationIndex];
+    }
+
+    /**
+     * Returns the factor of a problem variable, the value of the variable is its value in the tableau multiplied by it
+     * @param variableIndex the column of the problem variable
+     * @return factor
+     */
+    final double getColumnScale(int variableIndex) {
+        return columnScales == null ? 1.d : columnScales[variableIndex - 1];
+    }
+
+    /**
+     * Sets the columns of the variables, which are not required to be integer
+     * @param continuousColumns
+     */
+    void setContinuousColumns(BitSet continuousColumns) {
+        this.continuousColumns = continuousColumns;
+    }
+
+    final void setContinuousColumn(int column) {
+        continuousColumns.set(column);
+    }
+
+    /**
+     * Checks if the variable of a column must be integer. A problem variable is integer unless it is marked continuous,
+     * an additional variable is integer if its equation has integer coefficients of integer variables only.
+     * @param column
+     * @return true for an integer variable
+     */
+    final boolean isIntegerColumn(int column) {
+        return !continuousColumns.get(column);
+    }
+
+    /**
+     * Converts a bound of a problem variable to the bound of its scaled value
+     */
+    final BigDecimal scaleBound(int variableIndex, BigDecimal bound) {
+        return columnScales == null ? bound : bound.multiply(new BigDecimal(1.d / getColumnScale(variableIndex)));
+    }
+
+    /**
+     * Returns the dual values of the equations of the problem for the minimization form of the objective function.
+     * They are read from the objective function row at the columns of the initial basis.
+     * @return the dual values in the order of the equations of the problem
+     */
+    double[] getDualValues() {
+        checkInitialBasis();
+        double[] dualValues = new double[initialBasis.length];
+        for(int i = 0; i < initialBasis.length; i++) {
+            dualValues[i] = -rowSigns[i] * getValue(objectiveFunctionIndex, initialBasis[i]) * getRowScale(i);
+        }
+        return dualValues;
+    }
+
+    /**
+     * Adds new problem variables after the existing ones. Their columns are expressed via the current basis, which is
+     * possible, since the current columns of the initial basis form the inverse of the basis. The artificial variables
+     * have the cost 1 in the auxiliary function, which is taken into account for the auxiliary function row.
+     * The coefficients are multiplied by the factors of the equations of a scaled tableau, the new variables are not scaled.
+     * @param columns the columns in the equations of the problem
+     * @param factor 1 if the objective function is minimized, -1 otherwise
+     */
+    void addColumns(List<GeneratedColumn> columns, double factor) {
+        checkInitialBasis();
+        for(GeneratedColumn column : columns) {
+            int position = numberOfProblemVariables + 1;
+            for(int k = 0; k < rows.size(); k++) {
+                List<BigDecimal> rowCoefficients = rows.get(k).getCoefficients();
+                BigDecimal value = k == objectiveFunctionIndex ? BigDecimal.valueOf(factor * column.getCost()) : BigDecimal.ZERO;
+                for(int p = 0; p < column.getNumberOfNonZeros(); p++) {
+                    int i = column.getIndexAt(p);
+                    BigDecimal unitCoeff = rowCoefficients.get(initialBasis[i]);
+                    if(k == auxiliaryFunctionIndex && initialBasis[i] >= auxiliaryVariablesFirstIndex) {
+                        unitCoeff = unitCoeff.subtract(BigDecimal.ONE);
+                    }
+                    if(unitCoeff.signum() == 0) continue;
+                    value = value.add(unitCoeff.multiply(BigDecimal.valueOf(rowSigns[i] * getRowScale(i) * column.getValueAt(p))));
+                }
+                rowCoefficients.add(position, value);
+            }
+            for(GenericTableauRow row : rows) {
+                if(row instanceof EquationTableauRow) {
+                    EquationTableauRow equation = (EquationTableauRow) row;
+                    if(equation.getBasicVariableIndex() >= position) {
+                        equation.setBasicVariableIndex(equation.getBasicVariableIndex() + 1);
+                    }
+                }
+            }
+            shiftColumns(position, 1);
+        }
+    }
+
+    /**
+     * Updates the indices of the tableau after columns have been inserted at the given position
+     * @param position
+     * @param numberOfColumns
+     */
+    final void shiftColumns(int position, int numberOfColumns) {
+        for(int i = 0; i < initialBasis.length; i++) {
+            if(initialBasis[i] >= position) initialBasis[i] += numberOfColumns;
+        }
+        if(auxiliaryVariablesFirstIndex != INDEX_NOT_ASSIGNED) {
+            auxiliaryVariablesFirstIndex += numberOfColumns;
+        }
+        BitSet shiftedColumns = continuousColumns.get(0, position);
+        for(int column = continuousColumns.nextSetBit(position); column >= 0; column = continuousColumns.nextSetBit(column + 1)) {
+            shiftedColumns.set(column + numberOfColumns);
+        }
+        continuousColumns = shiftedColumns;
+        if(columnScales != null) {
+            double[] scales = new double[columnScales.length + numberOfColumns];
+            System.arraycopy(columnScales, 0, scales, 0, position - 1);
+            Arrays.fill(scales, position - 1, position - 1 + numberOfColumns, 1.d);
+            System.arraycopy(columnScales, position - 1, scales, position - 1 + numberOfColumns, columnScales.length - position + 1);
+            columnScales = scales;
+        }
+        numberOfProblemVariables += numberOfColumns;
+        rowSize += numberOfColumns;
+        resetRowIndex();
+    }
+
+    final void checkInitialBasis() {
+        if(initialBasis == null) {
+            throw new IllegalStateException("The initial basis of the tableau is unknown.");
+        }
+        for(int column : initialBasis) {
+            if(column >= rowSize) {
+                throw new IllegalStateException("The columns of the initial basis have been cut off.");
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the equation row with the most negative free coefficient, used by the dual simplex method
+     * @return the index of the pivot row or INDEX_NOT_ASSIGNED if the basic solution is feasible
+     */
+    int getDualPivotRowIndex() {
+        int index = INDEX_NOT_ASSIGNED;
+        BigDecimal minValue = BigDecimal.ZERO;
+        for(int k = 0; k < rows.size(); k++) {
+            GenericTableauRow row = rows.get(k);
+            if(!(row instanceof EquationTableauRow)) continue;
+            BigDecimal value = row.getCoefficients().get(0).setScale(precision/2, RoundingMode.HALF_UP);
+            if(value.compareTo(minValue) < 0) {
+                minValue = value;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Performs the dual ratio test for the given pivot row: among the columns with a negative coefficient in the row the one
+     * with the smallest ratio of the objective function coefficient to the absolute value of the row coefficient is chosen.
+     * @param rowNumber the index of the pivot row
+     * @param functionRowIndex the row of the function being minimized
+     * @param columnLimit the columns starting from this index are not considered
+     * @return the index of the incoming variable or INDEX_NOT_ASSIGNED if the problem has no feasible solution
+     */
+    int getDualPivotColumnIndex(int rowNumber, int functionRowIndex, int columnLimit) {
+        List<BigDecimal> coefficients = rows.get(rowNumber).getCoefficients();
+        List<BigDecimal> objectiveCoefficients = rows.get(functionRowIndex).getCoefficients();
+        int maxIndex = Math.min(columnLimit, coefficients.size());
+        int index = INDEX_NOT_ASSIGNED;
         BigDecimal minRatio = null;
-        List<EquationTableauRow> equations = getEquationRows();
-        for(int k = 0; k < equations.size(); k++) {
-            EquationTableauRow eq = equations.get(k);
-            List<BigDecimal> coefficients = eq.getCoefficients();
-            BigDecimal currentCoeff = coefficients.get(incomingIndex);
-            BigDecimal freeCoeff = coefficients.get(0);
-
-            MathContext mathContext = new MathContext(precision);
-            if(currentCoeff.signum() > 0){
-                BigDecimal ratio = freeCoeff.divide(currentCoeff,mathContext);
-                if(minRatio == null || (ratio.signum() > 0 && minRatio.compareTo(ratio) > 0)){
-                    minRatio = ratio;
-                    outcomingIndex = k + 1;
+        for(int k = 1; k < maxIndex; k++) {
+            BigDecimal coeff = coefficients.get(k);
+            if(coeff.setScale(precision/2, RoundingMode.HALF_UP).signum() >= 0) continue;
+            BigDecimal ratio = objectiveCoefficients.get(k).divide(coeff.negate(), mathContext);
+            if(minRatio == null || ratio.compareTo(minRatio) < 0) {
+                minRatio = ratio;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Adds a bound for a problem variable as a new equation row with its own slack variable, expressed via the current
+     * non-basic variables. The auxiliary function must be cut off before.
+     * For an upper bound the row represents x + s = bound, for a lower bound -x + s = -bound. If the variable is basic,
+     * it is substituted by its equation, so that the new slack variable becomes basic with a possibly negative value.
+     * @param variableIndex the column of the problem variable
+     * @param bound the value of the bound
+     * @param isUpperBound true for an upper bound, false for a lower bound
+     * @return the index of the added row
+     */
+    int addBoundRow(int variableIndex, BigDecimal bound, boolean isUpperBound) {
+        if(auxiliaryFunctionIndex != INDEX_NOT_ASSIGNED) {
+            throw new IllegalStateException("The auxiliary function must be cut off before adding a bound.");
+        }
+        int basicRow = getBasicRowIndex(variableIndex);
+        List<BigDecimal> basicCoefficients = basicRow == INDEX_NOT_ASSIGNED ? null : rows.get(basicRow).getCoefficients();
+
+        int slackIndex = rowSize;
+        List<BigDecimal> coeffs = new ArrayList<>(rowSize + 1);
+        int numberOfNonZeros = 0;
+        for(int k = 0; k < rowSize; k++) {
+            BigDecimal coeff;
+            if(basicCoefficients == null) {
+                coeff = k != variableIndex ? BigDecimal.ZERO : isUpperBound ? BigDecimal.ONE : BigDecimal.ONE.negate();
+            } else {
+                coeff = isUpperBound ? basicCoefficients.get(k).negate() : basicCoefficients.get(k);
+            }
+            if(coeff.signum() != 0) numberOfNonZeros++;
+            coeffs.add(coeff);
+        }
+        bound = scaleBound(variableIndex, bound);
+        BigDecimal value = basicCoefficients == null ? BigDecimal.ZERO : basicCoefficients.get(0);
+        coeffs.set(0, isUpperBound ? bound.subtract(value) : value.subtract(bound));
+        if(basicCoefficients != null) {
+            coeffs.set(variableIndex, BigDecimal.ZERO);
+        }
+        coeffs.add(BigDecimal.ONE);
+
+        for(GenericTableauRow row : rows) {
+            row.getCoefficients().add(BigDecimal.ZERO);
+        }
+        rowSize++;
+        if(SparseCoefficientList.isSparse(numberOfNonZeros + 1, rowSize)) {
+            coeffs = SparseCoefficientList.of(coeffs);
+        }
+        return addCuttingRow(new EquationTableauRow(slackIndex, coeffs));
+    }
+
+    /**
+     * Removes an equation row together with the column of its basic variable, e.g. a cut which is not binding.
+     * The column must not belong to the initial basis.
+     * @param rowNumber the index of the equation row
+     */
+    void removeEquation(int rowNumber) {
+        if(rowNumber == objectiveFunctionIndex || rowNumber == auxiliaryFunctionIndex) {
+            throw new IllegalArgumentException("Only an equation row can be removed.");
+        }
+        int column = ((EquationTableauRow) rows.remove(rowNumber)).getBasicVariableIndex();
+        if(objectiveFunctionIndex > rowNumber) objectiveFunctionIndex--;
+        if(auxiliaryFunctionIndex > rowNumber) auxiliaryFunctionIndex--;
+        for(GenericTableauRow row : rows) {
+            row.getCoefficients().remove(column);
+            if(row instanceof EquationTableauRow) {
+                EquationTableauRow equation = (EquationTableauRow) row;
+                if(equation.getBasicVariableIndex() > column) {
+                    equation.setBasicVariableIndex(equation.getBasicVariableIndex() - 1);
                 }
             }
         }
-        return outcomingIndex;
+        if(auxiliaryVariablesFirstIndex > column) {
+            auxiliaryVariablesFirstIndex--;
+        }
+        BitSet shiftedColumns = continuousColumns.get(0, column);
+        for(int k = continuousColumns.nextSetBit(column + 1); k >= 0; k = continuousColumns.nextSetBit(k + 1)) {
+            shiftedColumns.set(k - 1);
+        }
+        continuousColumns = shiftedColumns;
+        rowSize--;
+        resetRowIndex();
+    }
+
+    /**
+     * Creates a deep copy of the tableau, the copy can be changed independently
+     * @return copy of the tableau
+     */
+    Tableau copy() {
+        Tableau tableau = new Tableau();
+        copyPropertiesTo(tableau);
+        for(GenericTableauRow row : rows) {
+            tableau.rows.add(row.copy());
+        }
+        return tableau;
+    }
+
+    final void copyPropertiesTo(Tableau tableau) {
+        tableau.numberOfProblemVariables = numberOfProblemVariables;
+        tableau.auxiliaryVariablesFirstIndex = auxiliaryVariablesFirstIndex;
+        tableau.objectiveFunctionIndex = objectiveFunctionIndex;
+        tableau.auxiliaryFunctionIndex = auxiliaryFunctionIndex;
+        tableau.rowSize = rowSize;
+        tableau.precision = precision;
+        tableau.mathContext = mathContext;
+        tableau.parallelism = parallelism;
+        tableau.pricingRule = pricingRule;
+        tableau.candidateListSize = candidateListSize;
+        tableau.stallIterations = stallIterations;
+        tableau.solverListener = solverListener;
+        tableau.solveLimits = solveLimits;
+        tableau.status = status;
+        tableau.ratioTest = ratioTest;
+        tableau.initialBasis = initialBasis == null ? null : initialBasis.clone();
+        tableau.rowSigns = rowSigns == null ? null : rowSigns.clone();
+        tableau.rowScales = rowScales;
+        tableau.columnScales = columnScales;
+        tableau.continuousColumns = (BitSet) continuousColumns.clone();
+    }
+
+    /**
+     * Writes the properties copied by copyPropertiesTo to a snapshot, except the parallelism, the listener and the limits,
+     * which are settings of the run, not of the tableau
+     * @param output
+     */
+    final void writePropertiesTo(SnapshotOutput output) throws IOException {
+        output.writeVarInt(numberOfProblemVariables);
+        output.writeVarInt(auxiliaryVariablesFirstIndex);
+        output.writeVarInt(objectiveFunctionIndex);
+        output.writeVarInt(auxiliaryFunctionIndex);
+        output.writeVarInt(rowSize);
+        output.writeVarInt(precision);
+        output.writeVarInt(pricingRule.ordinal());
+        output.writeVarInt(candidateListSize);
+        output.writeVarInt(stallIterations);
+        output.writeDouble(ratioTest.getTolerance());
+        output.writeIntArray(initialBasis);
+        output.writeIntArray(rowSigns);
+        output.writeDoubleArray(rowScales);
+        output.writeDoubleArray(columnScales);
+        output.writeBitSet(continuousColumns);
+    }
+
+    /**
+     * Reads the properties written by writePropertiesTo
+     * @param input
+     */
+    final void readPropertiesFrom(SnapshotInput input) {
+        numberOfProblemVariables = input.readVarInt();
+        auxiliaryVariablesFirstIndex = input.readVarInt();
+        objectiveFunctionIndex = input.readVarInt();
+        auxiliaryFunctionIndex = input.readVarInt();
+        rowSize = input.readVarInt();
+        setPrecision(input.readVarInt());
+        setPricingRule(PricingRule.values()[input.readVarInt()], input.readVarInt());
+        stallIterations = input.readVarInt();
+        ratioTest = new RatioTest(input.readDouble());
+        initialBasis = input.readIntArray();
+        rowSigns = input.readIntArray();
+        rowScales = input.readDoubleArray();
+        columnScales = input.readDoubleArray();
+        continuousColumns = input.readBitSet();
+        resetRowIndex();
     }
 
     int getNumberOfProblemVariables(){
@@ -203,7 +891,7 @@ public class Tableau
      * @param rowNumber the row number to pivot at
      * @param columnNumber the column number to pivot at
      */
-    final void pivot(int rowNumber, int columnNumber) {
+    void pivot(int rowNumber, int columnNumber) {
         if(this.rows.size() == 0) {
             throw new IllegalStateException("Tableau contains no data.");
         }
@@ -228,19 +916,34 @@ public class Tableau
             throw new RuntimeException("The pivot coefficient is zero.");
         }
 
-        pivotRow.multiplyBy(BigDecimal.ONE.divide(pivotCoefficient,new MathContext(precision)));
+        pivotRow.multiplyBy(BigDecimal.ONE.divide(pivotCoefficient, mathContext));
         pivotRow.getCoefficients().set(columnNumber,BigDecimal.ONE);
         if(pivotRow instanceof EquationTableauRow){
             EquationTableauRow equationRow = (EquationTableauRow) pivotRow;
+            updateBasicRows(equationRow.getBasicVariableIndex(), columnNumber, rowNumber);
             equationRow.setBasicVariableIndex(columnNumber);
         }
 
-        for(int k = 0 ; k < this.rows.size(); k++) {
-            GenericTableauRow currentRow = this.rows.get(k);
-            BigDecimal coeff = currentRow.getCoefficients().get(columnNumber);
-            if(k != rowNumber) {
-                currentRow.addWithFactor(pivotRow, coeff.negate());
+        if(parallelism == null) {
+            for(int k = 0 ; k < this.rows.size(); k++) {
+                updateRow(k, rowNumber, columnNumber, pivotRow);
             }
+        } else {
+            parallelism.forEach(0, this.rows.size(), rowSize, k -> updateRow(k, rowNumber, columnNumber, pivotRow));
+        }
+    }
+
+    private void updateBasicRows(int outcomingIndex, int incomingIndex, int rowNumber) {
+        if(basicRows == null) return;
+        if(outcomingIndex >= 0 && outcomingIndex < basicRows.length) basicRows[outcomingIndex] = INDEX_NOT_ASSIGNED;
+        if(incomingIndex < basicRows.length) basicRows[incomingIndex] = rowNumber;
+    }
+
+    private void updateRow(int k, int rowNumber, int columnNumber, GenericTableauRow pivotRow) {
+        GenericTableauRow currentRow = this.rows.get(k);
+        BigDecimal coeff = currentRow.getCoefficients().get(columnNumber);
+        if(k != rowNumber && coeff.signum() != 0) {
+            currentRow.addWithFactor(pivotRow, coeff.negate());
         }
     }
 
@@ -248,15 +951,15 @@ public class Tableau
      * Returns an array of values of the variables representing a solution of the problem
      * @return array of values
      */
-    public final double[] getSolution(){
-        List<EquationTableauRow> equationRows = this.getEquationRows();
+    public double[] getSolution(){
+        List<EquationTableauRow> equations = this.getEquationRows();
         double[] solutionValues = new double[numberOfProblemVariables];
         Arrays.fill(solutionValues,0.d);
-        for(int k = 0; k < equationRows.size(); k++ ){
-            EquationTableauRow equation = equationRows.get(k);
+        for(int k = 0; k < equations.size(); k++ ){
+            EquationTableauRow equation = equations.get(k);
             int idx = equation.getBasicVariableIndex();
             if(idx > 0 && idx <= numberOfProblemVariables){
-                solutionValues[idx - 1] = equation.getCoefficients().get(0).doubleValue();
+                solutionValues[idx - 1] = equation.getCoefficients().get(0).doubleValue() * getColumnScale(idx);
             }
         }
         return solutionValues;
@@ -266,20 +969,31 @@ public class Tableau
      * Returns an array of values of the variables representing a solution of the problem
      * @return array of values as BigDecimal
      */
-    public final List<BigDecimal> getSolutionBigDecimal(){
-        List<EquationTableauRow> equationRows = this.getEquationRows();
-        List<BigDecimal> solutionValues = new ArrayList<>();
+    public List<BigDecimal> getSolutionBigDecimal(){
+        List<BigDecimal> solutionValues = new ArrayList<>(numberOfProblemVariables + 1);
+        fillSolutionBigDecimal(solutionValues);
+        return solutionValues;
+    }
+
+    /**
+     * Puts the values returned by getSolutionBigDecimal to the given list, so that a caller going through many
+     * tableaux can reuse one list
+     * @param solutionValues the list, it is cleared first
+     */
+    void fillSolutionBigDecimal(List<BigDecimal> solutionValues){
+        List<EquationTableauRow> equations = this.getEquationRows();
+        solutionValues.clear();
         for(int m = 0; m <= numberOfProblemVariables; m++)
             solutionValues.add(BigDecimal.ZERO);
-        for(int k = 0; k < equationRows.size(); k++ ){
-            EquationTableauRow equation = equationRows.get(k);
+        for(int k = 0; k < equations.size(); k++ ){
+            EquationTableauRow equation = equations.get(k);
             int idx = equation.getBasicVariableIndex();
             if(idx > 0 && idx <= numberOfProblemVariables){
-                solutionValues.set(idx,  equation.getCoefficients().get(0));
+                BigDecimal value = equation.getCoefficients().get(0);
+                solutionValues.set(idx, columnScales == null ? value : value.multiply(new BigDecimal(getColumnScale(idx))));
             }
         }
         solutionValues.set(0,this.getRows().get(this.getObjectiveFunctionIndex()).getCoefficients().get(0));
-        return solutionValues;
     }
 
 }
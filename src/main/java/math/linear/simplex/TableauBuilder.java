@@ -11,7 +11,9 @@ import math.linear.problem.ProblemObjectiveFunction;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class TableauBuilder
 {
@@ -19,10 +21,24 @@ public class TableauBuilder
     private static double ZERO = 0.d;
 
     private Problem problem;
+    private MasterProblem masterProblem;
     private int numberOfVariables = NOT_ASSIGNED;
     private int totalNumberOfVariables = NOT_ASSIGNED;
     private int nonBasicVariablesFirstIndex = NOT_ASSIGNED ;
     private int auxiliaryVariablesFirstIndex = NOT_ASSIGNED;
+    private NumericBackend numericBackend = NumericBackend.BIG_DECIMAL;
+    private double feasibilityTolerance = DoubleTableau.DEFAULT_FEASIBILITY_TOLERANCE;
+    private double optimalityTolerance = DoubleTableau.DEFAULT_OPTIMALITY_TOLERANCE;
+    private boolean parallel = false;
+    private int parallelThreshold = TableauParallelism.DEFAULT_THRESHOLD;
+    private PricingRule pricingRule = PricingRule.DANTZIG;
+    private int candidateListSize = PartialPricing.DEFAULT_CANDIDATE_LIST_SIZE;
+    private int stallIterations = DegeneracyControl.DEFAULT_STALL_ITERATIONS;
+    private Double ratioTestTolerance;
+    private ScalingMethod scalingMethod = ScalingMethod.NONE;
+    private SolverListener solverListener;
+    private SolveLimits solveLimits;
+    private TableauWorkspace workspace;
 
     private TableauBuilder() {}
 
@@ -40,8 +56,138 @@ public class TableauBuilder
      */
     public void setProbliem(Problem probliem){
         this.problem = probliem;
+        this.masterProblem = null;
     }
 
+    /**
+     * Sets a master problem given by columns instead of the problem. The tableau is built from the relations and
+     * the right values of the master problem and its columns are added to it afterwards, so no dense equation is made.
+     * @param masterProblem
+     */
+    public void setMasterProblem(MasterProblem masterProblem){
+        this.masterProblem = masterProblem;
+        this.problem = null;
+    }
+
+
+    /**
+     * Sets the numeric backend the tableau is built with, {@link NumericBackend#BIG_DECIMAL} by default
+     * @param numericBackend
+     */
+    public void setNumericBackend(NumericBackend numericBackend){
+        this.numericBackend = numericBackend;
+    }
+
+    /**
+     * Sets the tolerance the double backend treats a value as non-negative with in the ratio test and the feasibility check
+     * @param feasibilityTolerance
+     */
+    public void setFeasibilityTolerance(double feasibilityTolerance){
+        this.feasibilityTolerance = feasibilityTolerance;
+    }
+
+    /**
+     * Sets the tolerance the double backend treats a reduced cost as non-negative with
+     * @param optimalityTolerance
+     */
+    public void setOptimalityTolerance(double optimalityTolerance){
+        this.optimalityTolerance = optimalityTolerance;
+    }
+
+    /**
+     * Enables parallel pivoting, pricing and ratio test on the common fork-join pool
+     * @param parallel
+     */
+    public void setParallel(boolean parallel){
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the amount of work (number of coefficients) below which a parallel operation still runs sequentially
+     * @param parallelThreshold
+     */
+    public void setParallelThreshold(int parallelThreshold){
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sets the rule the incoming variable is chosen by, Dantzig's rule by default
+     * @param pricingRule
+     */
+    public void setPricingRule(PricingRule pricingRule){
+        this.pricingRule = pricingRule;
+    }
+
+    /**
+     * Sets the size of the candidate list for the partial pricing
+     * @param candidateListSize
+     */
+    public void setCandidateListSize(int candidateListSize){
+        if(candidateListSize <= 0) {
+            throw new IllegalArgumentException("Candidate list size must be positive.");
+        }
+        this.candidateListSize = candidateListSize;
+    }
+
+    /**
+     * Sets the tolerance of the Harris ratio test: a basic variable may get below zero by this value, if it allows
+     * to choose a bigger pivot coefficient. By default it is zero for the BigDecimal backend and the feasibility tolerance
+     * for the double backend.
+     * @param ratioTestTolerance
+     */
+    public void setRatioTestTolerance(double ratioTestTolerance){
+        if(ratioTestTolerance < 0.d) {
+            throw new IllegalArgumentException("Ratio test tolerance must not be negative.");
+        }
+        this.ratioTestTolerance = ratioTestTolerance;
+    }
+
+    /**
+     * Sets the method the equations and the problem variables are scaled with, no scaling by default. The solution
+     * and the dual values of a scaled tableau are returned unscaled. The equations of a master problem are not scaled.
+     * @param scalingMethod
+     */
+    public void setScalingMethod(ScalingMethod scalingMethod){
+        this.scalingMethod = scalingMethod;
+    }
+
+    /**
+     * Sets the number of consecutive degenerate pivots treated as a stall. The first stall leads to a perturbation
+     * of the free coefficients, the next one to Bland's rule.
+     * @param stallIterations
+     */
+    public void setStallIterations(int stallIterations){
+        if(stallIterations <= 0) {
+            throw new IllegalArgumentException("Number of stall iterations must be positive.");
+        }
+        this.stallIterations = stallIterations;
+    }
+
+    /**
+     * Sets the listener informed by the simplex method about the work on the tableau and its copies, e.g. the nodes
+     * of branch and bound
+     * @param solverListener the listener or null
+     */
+    public void setSolverListener(SolverListener solverListener){
+        this.solverListener = solverListener;
+    }
+
+    /**
+     * Sets the limits checked by the simplex method working on the tableau and its copies
+     * @param solveLimits the limits or null
+     */
+    public void setSolveLimits(SolveLimits solveLimits){
+        this.solveLimits = solveLimits;
+    }
+
+
+    /**
+     * Sets the buffers the tableau is built in instead of new arrays, see TableauWorkspace
+     * @param workspace the workspace or null
+     */
+    void setWorkspace(TableauWorkspace workspace){
+        this.workspace = workspace;
+    }
 
     /**
      * Build a tableau to be processed by simplex method
@@ -49,113 +195,285 @@ public class TableauBuilder
      */
     public Tableau build() {
         checkData();
-        analyze();
+        if(masterProblem != null) {
+            return buildMaster();
+        }
         List<ProblemEquation> equations = this.problem.getEquations();
+        Relation[] relations = new Relation[equations.size()];
+        double[] rightValues = new double[equations.size()];
+        for(int k = 0; k < relations.length; k++) {
+            relations[k] = equations.get(k).getRelation();
+            rightValues[k] = equations.get(k).getCoefficientAt(0);
+        }
+        analyze(relations, rightValues, equations.get(0).getLength() - 1);
 
-        Tableau tableau = Tableau.getInstance();
-        tableau.setPrecision(problem.getPrecision());
-        tableau.setNumberOfProblemVariables(numberOfVariables);
-
-
-
-        List<BigDecimal> objectiveFunctionCoeffs = new ArrayList<>(totalNumberOfVariables);
+        double[] objectiveFunctionCoeffs = workspace == null ? new double[totalNumberOfVariables] : workspace.getObjectiveRow(totalNumberOfVariables);
         ProblemObjectiveFunction objectiveFunction = this.problem.getObjectiveFunction();
         double factor = objectiveFunction.getType().isFindMaximum() ? -1.d : 1.d;
         for(int m = 0; m < nonBasicVariablesFirstIndex; m++) {
-            objectiveFunctionCoeffs.add(m,BigDecimal.valueOf(objectiveFunction.getCoefficientAt(m) * factor));
+            objectiveFunctionCoeffs[m] = objectiveFunction.getCoefficientAt(m) * factor;
         }
-        for(int m = nonBasicVariablesFirstIndex; m < totalNumberOfVariables; m++) {
-            objectiveFunctionCoeffs.add(m,BigDecimal.ZERO);
+
+        double[][] equationCoeffs = new double[equations.size()][];
+        int[] basicVariables = new int[equations.size()];
+        makeEquations(relations, rightValues, equationCoeffs, basicVariables);
+        for(int k = 0; k < equationCoeffs.length; k++) {
+            ProblemEquation equation = equations.get(k);
+            double sign = Double.compare(rightValues[k], ZERO) < 0 ? -1.d : 1.d;
+            for(int position = 0; position < equation.getNumberOfStoredCoefficients(); position++){
+                int m = equation.getStoredIndexAt(position);
+                if(m > 0 && m < nonBasicVariablesFirstIndex) {
+                    equationCoeffs[k][m] = equation.getStoredValueAt(position) * sign;
+                }
+            }
         }
 
-        tableau.setObjectiveFunction(new ObjectiveFunctionTableauRow(ObjectiveFunctionTableauRow.Type.STANDARD, objectiveFunctionCoeffs));
+        BitSet continuousColumns = getContinuousColumns(equationCoeffs);
+        if(scalingMethod.isNone()) {
+            Tableau tableau = makeTableau(objectiveFunctionCoeffs, equationCoeffs, basicVariables, rightValues, problem.getPrecision());
+            tableau.setContinuousColumns(continuousColumns);
+            return tableau;
+        }
+        Scaler scaler = new Scaler(equationCoeffs, numberOfVariables);
+        scaler.scale(scalingMethod);
+        double[] rowScales = scaler.getRowScales();
+        double[] columnScales = scaler.getColumnScales();
+        for(int k = 0; k < equationCoeffs.length; k++) {
+            equationCoeffs[k][0] *= rowScales[k];
+            for(int m = 1; m < nonBasicVariablesFirstIndex; m++) {
+                equationCoeffs[k][m] *= rowScales[k] * columnScales[m - 1];
+            }
+        }
+        for(int m = 1; m < nonBasicVariablesFirstIndex; m++) {
+            objectiveFunctionCoeffs[m] *= columnScales[m - 1];
+        }
+        Tableau tableau = makeTableau(objectiveFunctionCoeffs, equationCoeffs, basicVariables, rightValues, problem.getPrecision());
+        tableau.setScaling(rowScales, columnScales);
+        tableau.setContinuousColumns(continuousColumns);
+        return tableau;
+    }
+
+    /**
+     * Finds the columns of the continuous problem variables and of the additional variables, whose equations contain
+     * a continuous variable, a fractional coefficient or a fractional free coefficient
+     */
+    private BitSet getContinuousColumns(double[][] equationCoeffs) {
+        BitSet continuousColumns = new BitSet();
+        for(int m = 1; m < nonBasicVariablesFirstIndex; m++) {
+            if(!problem.isInteger(m)) continuousColumns.set(m);
+        }
+        int additionalVariablesLastIndex = auxiliaryVariablesFirstIndex == NOT_ASSIGNED ? totalNumberOfVariables : auxiliaryVariablesFirstIndex;
+        for(double[] coeffs : equationCoeffs) {
+            boolean isInteger = isInteger(coeffs[0]);
+            for(int m = 1; m < nonBasicVariablesFirstIndex && isInteger; m++) {
+                isInteger = coeffs[m] == ZERO || (!continuousColumns.get(m) && isInteger(coeffs[m]));
+            }
+            if(isInteger) continue;
+            for(int m = nonBasicVariablesFirstIndex; m < additionalVariablesLastIndex; m++) {
+                if(coeffs[m] != ZERO) continuousColumns.set(m);
+            }
+        }
+        return continuousColumns;
+    }
+
+    private static boolean isInteger(double value) {
+        return value == Math.rint(value);
+    }
 
-        addEquations(equations, tableau);
+    /**
+     * Builds the tableau of the equations of the master problem without problem variables and adds the columns to it
+     */
+    private Tableau buildMaster() {
+        Relation[] relations = masterProblem.getRelations();
+        double[] rightValues = masterProblem.getRightValues();
+        analyze(relations, rightValues, 0);
 
+        double[][] equationCoeffs = new double[relations.length][];
+        int[] basicVariables = new int[relations.length];
+        makeEquations(relations, rightValues, equationCoeffs, basicVariables);
 
+        Tableau tableau = makeTableau(new double[totalNumberOfVariables], equationCoeffs, basicVariables, rightValues,
+            masterProblem.getPrecision());
+        double factor = masterProblem.getObjectiveFunctionType().isFindMaximum() ? -1.d : 1.d;
+        tableau.addColumns(masterProblem.getColumns(), factor);
+        return tableau;
+    }
+
+    private Tableau makeTableau(double[] objectiveFunctionCoeffs, double[][] equationCoeffs, int[] basicVariables,
+        double[] rightValues, int precision)
+    {
+        double[] auxFunctionCoeffs = null;
         if(auxiliaryVariablesFirstIndex != NOT_ASSIGNED) {
-            List<BigDecimal> auxFunctionCoeffs = new ArrayList<>(totalNumberOfVariables);
-            for(int m = 0; m < auxiliaryVariablesFirstIndex; m++) {
-                auxFunctionCoeffs.add(m,BigDecimal.ZERO);
-            }
+            auxFunctionCoeffs = workspace == null ? new double[totalNumberOfVariables] : workspace.getAuxiliaryRow(totalNumberOfVariables);
             for(int m = auxiliaryVariablesFirstIndex; m < totalNumberOfVariables; m++) {
-                auxFunctionCoeffs.add(m,BigDecimal.ONE);
+                auxFunctionCoeffs[m] = 1.d;
             }
-
-            tableau.setAuxiliaryFunction( new ObjectiveFunctionTableauRow(ObjectiveFunctionTableauRow.Type.AUXILIARY, auxFunctionCoeffs));
         }
 
+        Tableau tableau;
+        if(numericBackend.isDouble()) {
+            tableau = makeDoubleTableau(objectiveFunctionCoeffs, equationCoeffs, basicVariables, auxFunctionCoeffs, precision);
+        } else {
+            tableau = makeBigDecimalTableau(objectiveFunctionCoeffs, equationCoeffs, basicVariables, auxFunctionCoeffs, precision);
+        }
         tableau.setAuxiliaryVariablesFirstIndex(auxiliaryVariablesFirstIndex);
+        tableau.setInitialBasis(basicVariables.clone(), getRowSigns(rightValues));
+        if(parallel) {
+            tableau.setParallelism(new TableauParallelism(ForkJoinPool.commonPool(), parallelThreshold));
+        }
+        tableau.setPricingRule(pricingRule, candidateListSize);
+        tableau.setStallIterations(stallIterations);
+        tableau.setSolverListener(solverListener);
+        tableau.setSolveLimits(solveLimits);
+        if(ratioTestTolerance != null) {
+            tableau.setRatioTestTolerance(ratioTestTolerance);
+        } else if(numericBackend.isDouble()) {
+            tableau.setRatioTestTolerance(feasibilityTolerance);
+        }
+
+        return tableau;
+    }
+
+    private Tableau makeBigDecimalTableau(double[] objectiveFunctionCoeffs, double[][] equationCoeffs, int[] basicVariables,
+        double[] auxFunctionCoeffs, int precision)
+    {
+        Tableau tableau = Tableau.getInstance();
+        tableau.setPrecision(precision);
+        tableau.setNumberOfProblemVariables(numberOfVariables);
 
+        tableau.setObjectiveFunction(new ObjectiveFunctionTableauRow(ObjectiveFunctionTableauRow.Type.STANDARD, toBigDecimals(objectiveFunctionCoeffs)));
+        for(int k = 0; k < equationCoeffs.length; k++) {
+            List<BigDecimal> coeffs = toBigDecimals(equationCoeffs[k]);
+            if(SparseCoefficientList.isSparse(countNonZeros(equationCoeffs[k]), coeffs.size())) {
+                coeffs = SparseCoefficientList.of(coeffs);
+            }
+            tableau.addRow(new EquationTableauRow(basicVariables[k], coeffs));
+        }
+        if(auxFunctionCoeffs != null) {
+            tableau.setAuxiliaryFunction( new ObjectiveFunctionTableauRow(ObjectiveFunctionTableauRow.Type.AUXILIARY, toBigDecimals(auxFunctionCoeffs)));
+        }
+        return tableau;
+    }
 
+    private Tableau makeDoubleTableau(double[] objectiveFunctionCoeffs, double[][] equationCoeffs, int[] basicVariables,
+        double[] auxFunctionCoeffs, int precision)
+    {
+        int numberOfRows = equationCoeffs.length + (auxFunctionCoeffs == null ? 1 : 2);
+        DoubleTableau tableau = workspace == null ? new DoubleTableau(numberOfRows, totalNumberOfVariables)
+            : new DoubleTableau(numberOfRows, totalNumberOfVariables, workspace.getTableauData(numberOfRows * totalNumberOfVariables));
+        tableau.setPrecision(precision);
+        tableau.setNumberOfProblemVariables(numberOfVariables);
+        tableau.setFeasibilityTolerance(feasibilityTolerance);
+        tableau.setOptimalityTolerance(optimalityTolerance);
+
+        tableau.setRow(0, objectiveFunctionCoeffs, NOT_ASSIGNED);
+        tableau.setObjectiveFunctionIndex(0);
+        for(int k = 0; k < equationCoeffs.length; k++) {
+            tableau.setRow(k + 1, equationCoeffs[k], basicVariables[k]);
+        }
+        if(auxFunctionCoeffs != null) {
+            tableau.setRow(numberOfRows - 1, auxFunctionCoeffs, NOT_ASSIGNED);
+            tableau.setAuxiliaryFunctionIndex(numberOfRows - 1);
+        }
         return tableau;
     }
 
-    private void addEquations(List<ProblemEquation> equations, Tableau tableau)
+    private static int[] getRowSigns(double[] rightValues) {
+        int[] rowSigns = new int[rightValues.length];
+        for(int k = 0; k < rowSigns.length; k++) {
+            rowSigns[k] = Double.compare(rightValues[k], ZERO) < 0 ? -1 : 1;
+        }
+        return rowSigns;
+    }
+
+    private static int countNonZeros(double[] values) {
+        int count = 0;
+        for(double value : values) {
+            if(value != ZERO) count++;
+        }
+        return count;
+    }
+
+    private List<BigDecimal> toBigDecimals(double[] values) {
+        List<BigDecimal> coeffs = new ArrayList<>(values.length);
+        for(int m = 0; m < nonBasicVariablesFirstIndex; m++) {
+            coeffs.add(BigDecimal.valueOf(values[m]));
+        }
+        for(int m = nonBasicVariablesFirstIndex; m < values.length; m++) {
+            double value = values[m];
+            if(value == ZERO) {
+                coeffs.add(BigDecimal.ZERO);
+            } else if(value > ZERO) {
+                coeffs.add(BigDecimal.ONE);
+            } else {
+                coeffs.add(BigDecimal.ONE.negate());
+            }
+        }
+        return coeffs;
+    }
+
+    /**
+     * Makes the equations with the free coefficients and the additional and auxiliary variables.
+     * The coefficients of the problem variables are left zero.
+     */
+    private void makeEquations(Relation[] relations, double[] rightValues, double[][] equationCoeffs, int[] basicVariables)
     {
-        for(int k = 0, knb = nonBasicVariablesFirstIndex, kaux = auxiliaryVariablesFirstIndex; k < equations.size(); k++) {
-            ProblemEquation equation = equations.get(k);
-            Relation relation = equation.getRelation();
-            double freeCoefficient = equation.getCoefficientAt(0);
+        for(int k = 0, knb = nonBasicVariablesFirstIndex, kaux = auxiliaryVariablesFirstIndex; k < relations.length; k++) {
+            Relation relation = relations[k];
+            double freeCoefficient = rightValues[k];
             boolean isFreeCoefficientNegative = Double.compare(freeCoefficient, ZERO) < 0;
 
             if(isFreeCoefficientNegative)
                 relation = relation.invert();
 
-            List<BigDecimal> coeffs = new ArrayList<>(totalNumberOfVariables);
-
-            for(int m = 0; m < nonBasicVariablesFirstIndex; m++){
-                double coeff = equation.getCoefficientAt(m);
-                if(isFreeCoefficientNegative) {
-                    coeff = coeff * (-1);
-                }
-                coeffs.add(m, BigDecimal.valueOf(coeff));
-            }
-            for(int m = nonBasicVariablesFirstIndex; m < totalNumberOfVariables; m++){
-                coeffs.add(m, BigDecimal.ZERO);
-            }
+            double[] coeffs = workspace == null ? new double[totalNumberOfVariables] : workspace.getEquationRow(k, totalNumberOfVariables);
+            coeffs[0] = isFreeCoefficientNegative ? -freeCoefficient : freeCoefficient;
 
             if(auxiliaryVariablesFirstIndex == NOT_ASSIGNED) {
-                coeffs.set(knb++, BigDecimal.ONE);
-                tableau.addRow(new EquationTableauRow(k + nonBasicVariablesFirstIndex, coeffs));
+                coeffs[knb++] = 1.d;
+                basicVariables[k] = k + nonBasicVariablesFirstIndex;
             } else {
                 if(relation.isGreaterOrEqual()){
-                    coeffs.set(kaux, BigDecimal.ONE);
-                    coeffs.set(knb, BigDecimal.ONE.negate());
-                    tableau.addRow(new EquationTableauRow(kaux, coeffs));
+                    coeffs[kaux] = 1.d;
+                    coeffs[knb] = -1.d;
+                    basicVariables[k] = kaux;
                     kaux++;
                     knb++;
                 } else if(relation.isEqual()){
-                    coeffs.set(kaux, BigDecimal.ONE);
-                    tableau.addRow(new EquationTableauRow(kaux, coeffs));
+                    coeffs[kaux] = 1.d;
+                    basicVariables[k] = kaux;
                     kaux++;
                 } else {
-                    coeffs.set(knb, BigDecimal.ONE);
-                    tableau.addRow(new EquationTableauRow(knb, coeffs));
+                    coeffs[knb] = 1.d;
+                    basicVariables[k] = knb;
                     knb++;
                 }
 
             }
+            equationCoeffs[k] = coeffs;
         }
     }
 
     private void checkData() {
+        if(masterProblem != null) {
+            masterProblem.validate();
+            return;
+        }
         if(problem == null) {
             throw new IllegalStateException("Problem is not set");
         }
         problem.validate();
     }
 
-    private void analyze() {
-        List<ProblemEquation> equations = problem.getEquations();
-        totalNumberOfVariables = equations.get(0).getLength();
-        numberOfVariables = totalNumberOfVariables - 1;
+    private void analyze(Relation[] relations, double[] rightValues, int numberOfVariables) {
+        this.numberOfVariables = numberOfVariables;
+        totalNumberOfVariables = numberOfVariables + 1;
+        auxiliaryVariablesFirstIndex = NOT_ASSIGNED;
         int numberOfAdditionalVariables = 0;
         int numberOfAuxiliaryVariables = 0;
-        for(ProblemEquation eq : equations) {
-            Relation relation = eq.getRelation();
-            double freeCoefficient = eq.getCoefficientAt(0);
-            boolean isFreeCoefficientNegative = Double.compare(freeCoefficient, ZERO) < 0;
+        for(int k = 0; k < relations.length; k++) {
+            Relation relation = relations[k];
+            boolean isFreeCoefficientNegative = Double.compare(rightValues[k], ZERO) < 0;
             if(relation.isEqual()) {
                 numberOfAuxiliaryVariables++;
             } else if(((relation.isLessOrEqual() && isFreeCoefficientNegative)
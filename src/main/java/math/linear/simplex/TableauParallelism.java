@@ -0,0 +1,150 @@
+package math.linear.simplex;
+
+/*
+ * Runs row and column loops of tableau operations on a fork-join pool. A loop is split into chunks only if its amount of
+ * work reaches the threshold, otherwise it is run sequentially in the calling thread.
+ *
+ * Selections (pricing, ratio test) are reduced so that the result is the same as for the sequential scan: a candidate
+ * replaces the current one only if it is strictly better, so that among equal candidates the lowest index wins.
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+final class TableauParallelism
+{
+    static final int DEFAULT_THRESHOLD = 10000;
+    private static final int NOT_ASSIGNED = -1;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    TableauParallelism(ForkJoinPool pool, int threshold) {
+        if(threshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive.");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    int getThreshold() {
+        return threshold;
+    }
+
+    ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Calls the action for each index of the range
+     * @param from the first index
+     * @param to the index after the last one
+     * @param workPerItem the estimated amount of work per index, e.g. the row size for a row update
+     * @param action
+     */
+    void forEach(int from, int to, int workPerItem, IntConsumer action) {
+        if(!isWorthwhile(to - from, workPerItem)) {
+            for(int k = from; k < to; k++) {
+                action.accept(k);
+            }
+            return;
+        }
+        pool.invoke(new ForEachTask(from, to, getGrain(workPerItem), action));
+    }
+
+    /**
+     * Selects the best index of the range
+     * @param from the first index
+     * @param to the index after the last one
+     * @param workPerItem the estimated amount of work per index
+     * @param selection sequential scan of a sub-range returning its best index or -1
+     * @param comparison decides if the first index is strictly better than the second one
+     * @return the best index or -1 if no index was selected
+     */
+    int select(int from, int to, int workPerItem, RangeSelection selection, IndexComparison comparison) {
+        if(!isWorthwhile(to - from, workPerItem)) {
+            return selection.select(from, to);
+        }
+        return pool.invoke(new SelectTask(from, to, getGrain(workPerItem), selection, comparison));
+    }
+
+    private boolean isWorthwhile(int numberOfItems, int workPerItem) {
+        return (long) numberOfItems * Math.max(1, workPerItem) >= threshold;
+    }
+
+    private int getGrain(int workPerItem) {
+        return Math.max(1, threshold / Math.max(1, workPerItem));
+    }
+
+    interface RangeSelection {
+        int select(int from, int to);
+    }
+
+    interface IndexComparison {
+        boolean isBetter(int candidate, int current);
+    }
+
+    private static final class ForEachTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer action;
+
+        ForEachTask(int from, int to, int grain, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= grain) {
+                for(int k = from; k < to; k++) {
+                    action.accept(k);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ForEachTask(from, middle, grain, action), new ForEachTask(middle, to, grain, action));
+        }
+    }
+
+    private static final class SelectTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeSelection selection;
+        private final IndexComparison comparison;
+
+        SelectTask(int from, int to, int grain, RangeSelection selection, IndexComparison comparison) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.selection = selection;
+            this.comparison = comparison;
+        }
+
+        @Override
+        protected Integer compute() {
+            if(to - from <= grain) {
+                return selection.select(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SelectTask left = new SelectTask(from, middle, grain, selection, comparison);
+            SelectTask right = new SelectTask(middle, to, grain, selection, comparison);
+            right.fork();
+            int leftIndex = left.compute();
+            int rightIndex = right.join();
+            if(rightIndex == NOT_ASSIGNED) return leftIndex;
+            if(leftIndex == NOT_ASSIGNED) return rightIndex;
+            return comparison.isBetter(rightIndex, leftIndex) ? rightIndex : leftIndex;
+        }
+    }
+}
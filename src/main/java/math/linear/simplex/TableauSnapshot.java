@@ -0,0 +1,251 @@
+package math.linear.simplex;
+
+/*
+ * Saves a tableau, or the state of a solver holding tableaux, to a compact binary file and restores it.
+ * A file starts with a header: the magic number, the version of the format and the kind of the content. A tableau is
+ * written as its properties followed by its rows, a row keeps its non-zero coefficients only: the distance to the index
+ * of the previous one and the value, a BigDecimal as its scale and unscaled bytes. The basis header is restored from
+ * the basic variables of the equation rows.
+ * A file is written through a channel to a temporary file, which then replaces the target, so an interrupted write
+ * does not destroy the previous snapshot. It is read by mapping it into memory.
+ * The state of the pricing strategy, e.g. the steepest edge weights, is not saved; it is rebuilt after a restore.
+ */
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TableauSnapshot
+{
+    static final int KIND_TABLEAU = 1;
+    static final int KIND_BRANCH_AND_BOUND = 2;
+    static final int KIND_GOMORY = 3;
+
+    private static final int MAGIC = 0x53435450;
+    private static final int VERSION = 3;
+    private static final int ROW_EQUATION = 0;
+    private static final int ROW_OBJECTIVE = 1;
+    private static final int ROW_AUXILIARY = 2;
+
+    private TableauSnapshot() {}
+
+    /**
+     * Writes the tableau to a file
+     * @param tableau
+     * @param path
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Tableau tableau, Path path) throws IOException {
+        save(path, KIND_TABLEAU, output -> writeTableau(tableau, output));
+    }
+
+    /**
+     * Reads a tableau written by write
+     * @param path
+     * @return the tableau
+     * @throws IOException if the file cannot be read or does not contain a tableau
+     */
+    public static Tableau read(Path path) throws IOException {
+        return load(path, KIND_TABLEAU, TableauSnapshot::readTableau);
+    }
+
+    /**
+     * Writes the header and the content to a temporary file and moves it to the path
+     * @param path
+     * @param kind the kind of the content
+     * @param content writes the content
+     */
+    static void save(Path path, int kind, Content content) throws IOException {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try(FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            SnapshotOutput output = new SnapshotOutput(channel);
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeByte(kind);
+            content.writeTo(output);
+            output.flush();
+            channel.force(false);
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the file into memory, checks the header and reads the content
+     * @param path
+     * @param kind the expected kind of the content
+     * @param reader reads the content
+     * @return the content
+     */
+    static <T> T load(Path path, int kind, ContentReader<T> reader) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The snapshot is too big to be mapped.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            SnapshotInput input = new SnapshotInput(buffer);
+            try {
+                if(input.readInt() != MAGIC) {
+                    throw new IOException("The file is not a snapshot.");
+                }
+                if(input.readInt() != VERSION) {
+                    throw new IOException("The version of the snapshot is not supported.");
+                }
+                if(input.readByte() != kind) {
+                    throw new IOException("The snapshot has a different kind of content.");
+                }
+                return reader.readFrom(input);
+            } catch(BufferUnderflowException | IllegalStateException | IndexOutOfBoundsException ex) {
+                throw new IOException("The snapshot is corrupted.", ex);
+            }
+        }
+    }
+
+    static void writeTableau(Tableau tableau, SnapshotOutput output) throws IOException {
+        boolean isDouble = tableau.getNumericBackend().isDouble();
+        output.writeBoolean(isDouble);
+        tableau.writePropertiesTo(output);
+        if(isDouble) {
+            DoubleTableau doubleTableau = (DoubleTableau) tableau;
+            output.writeDouble(doubleTableau.getFeasibilityTolerance());
+            output.writeDouble(doubleTableau.getOptimalityTolerance());
+            output.writeVarInt(doubleTableau.getNumberOfRows());
+            for(int k = 0; k < doubleTableau.getNumberOfRows(); k++) {
+                output.writeVarInt(doubleTableau.getBasicVariableIndex(k));
+                writeDoubleRow(doubleTableau.getRow(k), output);
+            }
+            return;
+        }
+        List<GenericTableauRow> rows = tableau.getRows();
+        output.writeVarInt(rows.size());
+        for(int k = 0; k < rows.size(); k++) {
+            GenericTableauRow row = rows.get(k);
+            if(row instanceof EquationTableauRow) {
+                output.writeByte(ROW_EQUATION);
+                output.writeVarInt(((EquationTableauRow) row).getBasicVariableIndex());
+            } else {
+                output.writeByte(k == tableau.getAuxiliaryFunctionIndex() ? ROW_AUXILIARY : ROW_OBJECTIVE);
+            }
+            writeRow(row.getCoefficients(), output);
+        }
+    }
+
+    static Tableau readTableau(SnapshotInput input) {
+        boolean isDouble = input.readBoolean();
+        if(isDouble) {
+            Tableau properties = new Tableau();
+            properties.readPropertiesFrom(input);
+            double feasibilityTolerance = input.readDouble();
+            double optimalityTolerance = input.readDouble();
+            int numberOfRows = input.readSize();
+            DoubleTableau tableau = new DoubleTableau(numberOfRows, properties.getRowSize());
+            properties.copyPropertiesTo(tableau);
+            tableau.setFeasibilityTolerance(feasibilityTolerance);
+            tableau.setOptimalityTolerance(optimalityTolerance);
+            for(int k = 0; k < numberOfRows; k++) {
+                int basicVariableIndex = input.readVarInt();
+                tableau.setRow(k, readDoubleRow(tableau.getRowSize(), input), basicVariableIndex);
+            }
+            return tableau;
+        }
+        Tableau tableau = new Tableau();
+        tableau.readPropertiesFrom(input);
+        int numberOfRows = input.readSize();
+        for(int k = 0; k < numberOfRows; k++) {
+            int type = input.readByte();
+            int basicVariableIndex = type == ROW_EQUATION ? input.readVarInt() : tableau.INDEX_NOT_ASSIGNED;
+            List<BigDecimal> coefficients = readRow(tableau.getRowSize(), input);
+            GenericTableauRow row;
+            if(type == ROW_EQUATION) {
+                row = new EquationTableauRow(basicVariableIndex, coefficients);
+            } else {
+                row = new ObjectiveFunctionTableauRow(type == ROW_AUXILIARY ? ObjectiveFunctionTableauRow.Type.AUXILIARY
+                    : ObjectiveFunctionTableauRow.Type.STANDARD, coefficients);
+            }
+            row.setPrecision(tableau.getPrecision());
+            tableau.getRows().add(row);
+        }
+        tableau.resetRowIndex();
+        return tableau;
+    }
+
+    private static void writeRow(List<BigDecimal> coefficients, SnapshotOutput output) throws IOException {
+        output.writeBoolean(coefficients instanceof SparseCoefficientList);
+        int numberOfNonZeros = 0;
+        for(BigDecimal coeff : coefficients) {
+            if(coeff.signum() != 0) numberOfNonZeros++;
+        }
+        output.writeVarInt(numberOfNonZeros);
+        int previous = -1;
+        for(int k = 0; k < coefficients.size(); k++) {
+            BigDecimal coeff = coefficients.get(k);
+            if(coeff.signum() == 0) continue;
+            output.writeVarInt(k - previous);
+            output.writeBigDecimal(coeff);
+            previous = k;
+        }
+    }
+
+    private static List<BigDecimal> readRow(int rowSize, SnapshotInput input) {
+        boolean isSparse = input.readBoolean();
+        int numberOfNonZeros = input.readSize();
+        List<BigDecimal> coefficients = new ArrayList<>(rowSize);
+        for(int k = 0; k < rowSize; k++) {
+            coefficients.add(BigDecimal.ZERO);
+        }
+        int index = -1;
+        for(int k = 0; k < numberOfNonZeros; k++) {
+            index += input.readVarInt();
+            coefficients.set(index, input.readBigDecimal());
+        }
+        return isSparse ? SparseCoefficientList.of(coefficients) : coefficients;
+    }
+
+    private static void writeDoubleRow(double[] coefficients, SnapshotOutput output) throws IOException {
+        int numberOfNonZeros = 0;
+        for(double coeff : coefficients) {
+            if(coeff != 0.d) numberOfNonZeros++;
+        }
+        output.writeVarInt(numberOfNonZeros);
+        int previous = -1;
+        for(int k = 0; k < coefficients.length; k++) {
+            if(coefficients[k] == 0.d) continue;
+            output.writeVarInt(k - previous);
+            output.writeDouble(coefficients[k]);
+            previous = k;
+        }
+    }
+
+    private static double[] readDoubleRow(int rowSize, SnapshotInput input) {
+        int numberOfNonZeros = input.readSize();
+        double[] coefficients = new double[rowSize];
+        int index = -1;
+        for(int k = 0; k < numberOfNonZeros; k++) {
+            index += input.readVarInt();
+            coefficients[index] = input.readDouble();
+        }
+        return coefficients;
+    }
+
+    /**
+     * Writes the content of a snapshot
+     */
+    interface Content {
+        void writeTo(SnapshotOutput output) throws IOException;
+    }
+
+    /**
+     * Reads the content of a snapshot
+     */
+    interface ContentReader<T> {
+        T readFrom(SnapshotInput input) throws IOException;
+    }
+}
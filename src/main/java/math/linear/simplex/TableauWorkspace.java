@@ -0,0 +1,66 @@
+package math.linear.simplex;
+
+/*
+ * Keeps the buffers TableauBuilder fills for every problem, so that a worker solving many small problems one after
+ * another does not allocate them again: the rows of the equations, of the objective and the auxiliary functions and
+ * the coefficient array of a DoubleTableau. A buffer grows when a bigger problem comes. The tableau built with
+ * a workspace uses its array until the tableau changes its size, so the workspace must not be used for the next
+ * problem while the previous tableau is still in use. A workspace is not thread safe.
+ */
+
+import java.util.Arrays;
+
+final class TableauWorkspace
+{
+    private double[][] rows = new double[0][];
+    private double[] objectiveRow = new double[0];
+    private double[] auxiliaryRow = new double[0];
+    private double[] tableauData = new double[0];
+
+    /**
+     * Returns the zeroed buffer of the equation row
+     * @param rowNumber the number of the equation
+     * @param rowSize
+     * @return row
+     */
+    double[] getEquationRow(int rowNumber, int rowSize) {
+        if(rowNumber >= rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(rowNumber + 1, 2 * rows.length));
+        }
+        rows[rowNumber] = getZeroed(rows[rowNumber], rowSize);
+        return rows[rowNumber];
+    }
+
+    double[] getObjectiveRow(int rowSize) {
+        objectiveRow = getZeroed(objectiveRow, rowSize);
+        return objectiveRow;
+    }
+
+    double[] getAuxiliaryRow(int rowSize) {
+        auxiliaryRow = getZeroed(auxiliaryRow, rowSize);
+        return auxiliaryRow;
+    }
+
+    /**
+     * Returns an array of at least the given size for the coefficients of a DoubleTableau, its content is not cleared
+     * @param size
+     * @return array
+     */
+    double[] getTableauData(int size) {
+        if(tableauData.length < size) {
+            tableauData = new double[size];
+        }
+        return tableauData;
+    }
+
+    /**
+     * The rows are passed to the tableau as arrays of the exact size, so a row of another size is replaced
+     */
+    private static double[] getZeroed(double[] row, int rowSize) {
+        if(row == null || row.length != rowSize) {
+            return new double[rowSize];
+        }
+        Arrays.fill(row, 0.d);
+        return row;
+    }
+}
@@ -0,0 +1,66 @@
+package math.linear.simplex;
+
+/*
+ * Base class of the pricing strategies, which keep a weight for every column and choose the variable with the biggest
+ * ratio of the squared reduced cost to its weight. The weights are initialized again whenever the size of the tableau
+ * changes, e.g. after the auxiliary function is cut off or a cutting row is added.
+ */
+
+import java.util.Arrays;
+
+abstract class WeightedPricing implements PricingStrategy
+{
+    private static final int NOT_ASSIGNED = -1;
+
+    double[] weights = new double[0];
+    private int numberOfRows;
+
+    @Override
+    public final int getIncomingVariableIndex(Tableau tableau, int functionRowIndex, int columnLimit) {
+        checkWeights(tableau);
+        int maxIndex = Math.min(columnLimit, tableau.getRowSize());
+        double tolerance = tableau.getOptimalityTolerance();
+        int index = NOT_ASSIGNED;
+        double maxPrice = 0.d;
+        for(int k = 1; k < maxIndex; k++) {
+            double coeff = tableau.getValue(functionRowIndex, k);
+            if(coeff >= -tolerance) continue;
+            double price = coeff * coeff / weights[k];
+            if(index == NOT_ASSIGNED || price > maxPrice) {
+                maxPrice = price;
+                index = k;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public final void beforePivot(Tableau tableau, int rowNumber, int columnNumber) {
+        if(rowNumber == NOT_ASSIGNED) return;
+        checkWeights(tableau);
+        updateWeights(tableau, rowNumber, columnNumber);
+    }
+
+    private void checkWeights(Tableau tableau) {
+        if(weights.length != tableau.getRowSize() || numberOfRows != tableau.getNumberOfRows()) {
+            weights = new double[tableau.getRowSize()];
+            Arrays.fill(weights, 1.d);
+            numberOfRows = tableau.getNumberOfRows();
+            initializeWeights(tableau);
+        }
+    }
+
+    /**
+     * Sets the initial weights, the array is filled with ones before
+     * @param tableau
+     */
+    abstract void initializeWeights(Tableau tableau);
+
+    /**
+     * Updates the weights for the pivot, the tableau contains the coefficients before the pivot
+     * @param tableau
+     * @param rowNumber
+     * @param columnNumber
+     */
+    abstract void updateWeights(Tableau tableau, int rowNumber, int columnNumber);
+}
@@ -0,0 +1,95 @@
+/*
+ * Provides tests for the batch solver
+ */
+
+import math.linear.generator.ProblemGenerator;
+import math.linear.generator.ProblemType;
+import math.linear.problem.Problem;
+import math.linear.simplex.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class BatchSolverTest
+{
+    @Test
+    public void testSolveAllInOrder() {
+        List<Problem> problems = makeProblems();
+        for(NumericBackend numericBackend : NumericBackend.values()) {
+            BatchSolver solver = BatchSolver.getInstance();
+            solver.setNumberOfThreads(4);
+            solver.setNumericBackend(numericBackend);
+            solver.setIntegerSolve(false);
+            List<BatchSolution> results = solver.solveAll(problems);
+
+            Assert.assertEquals(problems.size(), results.size());
+            for(int i = 0; i < problems.size(); i++) {
+                BatchSolution result = results.get(i);
+                Assert.assertEquals(i, result.getIndex());
+                if(i % 10 == 9) {
+                    Assert.assertFalse(result.isSolved());
+                    Assert.assertEquals("The problem has no base plane.", result.getError().getMessage());
+                    Assert.assertNull(result.getSolution());
+                    continue;
+                }
+                Assert.assertTrue(result.isSolved());
+                Assert.assertArrayEquals(SimplexMethod.applyTo(ProblemFixtures.build(problems.get(i), numericBackend)).getSolution(), result.getSolution(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testSolveStream() {
+        List<Problem> problems = makeProblems();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            BatchSolver solver = BatchSolver.getInstance();
+            solver.setExecutor(executor);
+            solver.setMaxPendingProblems(5);
+            solver.setIntegerSolve(false);
+            List<BatchSolution> results = solver.solveAll(problems);
+            boolean[] isDelivered = new boolean[problems.size()];
+            solver.solveAll(problems.stream(), result -> {
+                Assert.assertFalse(isDelivered[result.getIndex()]);
+                isDelivered[result.getIndex()] = true;
+                Assert.assertEquals(results.get(result.getIndex()).getObjectiveValue(), result.getObjectiveValue(), 1e-9);
+            });
+            for(boolean delivered : isDelivered) {
+                Assert.assertTrue(delivered);
+            }
+            Assert.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testIntegerSolve() {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        List<Problem> problems = new ArrayList<>();
+        for(int i = 0; i < 20; i++) {
+            problems.add(problem);
+        }
+        for(BatchSolution result : BatchSolver.getInstance().solveAll(problems)) {
+            Assert.assertArrayEquals(ProblemFixtures.MINIMUM_SOLUTION, result.getSolution(), 1e-9);
+            Assert.assertEquals(4.4d, result.getObjectiveValue(), 1e-9);
+        }
+    }
+
+    /**
+     * Makes problems of different sizes, every tenth one is infeasible
+     */
+    private static List<Problem> makeProblems() {
+        ProblemGenerator generator = ProblemGenerator.getInstance(31L);
+        List<Problem> problems = new ArrayList<>();
+        for(int i = 0; i < 60; i++) {
+            ProblemType type = i % 10 == 9 ? ProblemType.INFEASIBLE : ProblemType.SPARSE;
+            problems.add(generator.make(type, 5 + (i * 7) % 30, i));
+        }
+        return problems;
+    }
+}
@@ -64,6 +64,46 @@ public class BranchAndBoundTest {
         }
     }
 
+    @Test
+    public void testBnBScaled(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{3., 4.7, -0.2,0.,4.}, Relation.GREATER_OR_EQUAL, 86.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 3., 0., 5., 1.2}, Relation.GREATER_OR_EQUAL, 65.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 0.2, 3.5, 2.1, 4.7,}, ObjectiveFunctionType.MINIMUM));
+
+        for(NumericBackend numericBackend : NumericBackend.values()) {
+            TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+            tableauBuilder.setProbliem(problem);
+            tableauBuilder.setNumericBackend(numericBackend);
+            tableauBuilder.setScalingMethod(ScalingMethod.GEOMETRIC_MEAN_AND_EQUILIBRATION);
+            Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+            Tableau solvedInt = BranchAndBoundMethod.applyTo(problem, solved);
+
+            Assert.assertArrayEquals(new double[]{0,22,0,0,0},solvedInt.getSolution(),0.1);
+        }
+    }
+
+    @Test
+    public void testBnBContinuousVariable(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(32);
+        problem.addEquation(ProblemEquation.make(new double[]{7., 8., 4., 8.}, Relation.LESS_OR_EQUAL, 53.d));
+        problem.addEquation(ProblemEquation.make(new double[]{5., 6., 6., 5.}, Relation.LESS_OR_EQUAL, 55.d));
+        problem.addEquation(ProblemEquation.make(new double[]{6., 3., 6., 6.}, Relation.LESS_OR_EQUAL, 41.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{5., 7., 7., 1.}, ObjectiveFunctionType.MAXIMUM));
+        problem.setInteger(1, false);
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+        Tableau solvedInt = BranchAndBoundMethod.applyTo(problem, solved);
+
+        Assert.assertArrayEquals(new double[]{5./7.,4,4,0},solvedInt.getSolution(),1e-9);
+    }
+
     @Test
     public void testBnB3(){
         Problem problem = Problem.getInstance();
@@ -126,4 +166,110 @@ public class BranchAndBoundTest {
         System.out.println("Duration " + Duration.between(start,end).toMillis() + "ms");
 
     }
+
+    @Test
+    public void testBnBInfeasibleBranch(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{2., 0.}, Relation.LESS_OR_EQUAL, 3.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 2.}, Relation.LESS_OR_EQUAL, 3.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 1.}, Relation.GREATER_OR_EQUAL, 1.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 1.}, ObjectiveFunctionType.MAXIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+        Tableau solvedInt = BranchAndBoundMethod.applyTo(problem, solved);
+
+        Assert.assertArrayEquals(new double[]{1,1},solvedInt.getSolution(),1e-9);
+        Assert.assertArrayEquals(new double[]{1.5,1.5},solved.getSolution(),1e-9);
+    }
+
+    @Test
+    public void testBnBNodeSelections(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{12., 7., 11., 8., 9.}, Relation.LESS_OR_EQUAL, 26.d));
+        problem.addEquation(ProblemEquation.make(new double[]{-8., -9., -6., -5., -7.}, Relation.LESS_OR_EQUAL, -9.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{24., 13., 23., 15., 16.}, ObjectiveFunctionType.MAXIMUM));
+
+        double[] values = new double[NodeSelection.values().length];
+        for(NodeSelection nodeSelection : NodeSelection.values()) {
+            TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+            tableauBuilder.setProbliem(problem);
+            Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+            BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+            method.setNodeSelection(nodeSelection);
+            Tableau solvedInt = method.solve(problem, solved);
+
+            for(double value : solvedInt.getSolution()) {
+                Assert.assertEquals(Math.rint(value), value, 1e-9);
+            }
+            Assert.assertEquals(0.d, method.getGap(), 1e-12);
+            Assert.assertEquals(method.getIncumbentValue(), method.getBestBound(), 1e-9);
+            values[nodeSelection.ordinal()] = method.getIncumbentValue();
+        }
+        Assert.assertEquals(51.d, values[0], 1e-9);
+        Assert.assertEquals(values[0], values[1], 1e-9);
+        Assert.assertEquals(values[0], values[2], 1e-9);
+    }
+
+    @Test
+    public void testBnBRelativeGap(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{12., 7., 11., 8., 9.}, Relation.LESS_OR_EQUAL, 26.d));
+        problem.addEquation(ProblemEquation.make(new double[]{-8., -9., -6., -5., -7.}, Relation.LESS_OR_EQUAL, -9.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{24., 13., 23., 15., 16.}, ObjectiveFunctionType.MAXIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+        BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+        method.setNodeSelection(NodeSelection.DEPTH_FIRST);
+        method.setRelativeGap(0.5d);
+        method.solve(problem, solved);
+
+        Assert.assertTrue(method.getGap() <= 0.5d);
+        Assert.assertTrue(method.getBestBound() >= method.getIncumbentValue());
+        Assert.assertTrue(method.getBestBound() <= 55.d);
+    }
+
+    @Test
+    public void testBnBParallel(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{12., 7., 11., 8., 9., 5., 13.}, Relation.LESS_OR_EQUAL, 47.d));
+        problem.addEquation(ProblemEquation.make(new double[]{3., 8., 2., 9., 4., 7., 1.}, Relation.LESS_OR_EQUAL, 31.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{24., 13., 23., 15., 16., 9., 25.}, ObjectiveFunctionType.MAXIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+        BranchAndBoundMethod sequential = BranchAndBoundMethod.getInstance();
+        sequential.solve(problem, solved);
+
+        BranchAndBoundMethod parallel = BranchAndBoundMethod.getInstance();
+        parallel.setNumberOfThreads(4);
+        parallel.solve(problem, solved);
+        Assert.assertEquals(sequential.getIncumbentValue(), parallel.getIncumbentValue(), 1e-9);
+        Assert.assertEquals(0.d, parallel.getGap(), 1e-12);
+
+        BranchAndBoundMethod deterministic = BranchAndBoundMethod.getInstance();
+        deterministic.setNumberOfThreads(4);
+        deterministic.setDeterministic(true);
+        double[] solution = deterministic.solve(problem, solved).getSolution();
+        Assert.assertEquals(sequential.getIncumbentValue(), deterministic.getIncumbentValue(), 1e-9);
+        for(int k = 0; k < 3; k++) {
+            BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+            method.setNumberOfThreads(4);
+            method.setDeterministic(true);
+            Assert.assertArrayEquals(solution, method.solve(problem, solved).getSolution(), 0.d);
+            Assert.assertEquals(deterministic.getNumberOfNodes(), method.getNumberOfNodes());
+        }
+    }
 }
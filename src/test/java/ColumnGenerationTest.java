@@ -0,0 +1,159 @@
+/*
+ * Provides tests for the column generation method
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.ColumnGenerationMethod;
+import math.linear.simplex.ColumnGenerationSolution;
+import math.linear.simplex.GeneratedColumn;
+import math.linear.simplex.NumericBackend;
+import math.linear.simplex.PricingOracle;
+import math.linear.simplex.SimplexMethod;
+import math.linear.simplex.Tableau;
+import math.linear.simplex.TableauBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ColumnGenerationTest
+{
+    private static final double ROLL_LENGTH = 100.d;
+    private static final double[] LENGTHS = {45.d, 36.d, 31.d, 14.d};
+    private static final double[] DEMANDS = {97.d, 610.d, 395.d, 211.d};
+
+    @Test
+    public void testCuttingStock() {
+        for(NumericBackend backend : NumericBackend.values()) {
+            TableauBuilder builder = TableauBuilder.getInstance();
+            builder.setNumericBackend(backend);
+            ColumnGenerationMethod method = ColumnGenerationMethod.getInstance();
+            method.setTableauBuilder(builder);
+
+            ColumnGenerationSolution solution = method.solve(makeCuttingStockMaster(), ColumnGenerationTest::generatePattern);
+
+            Assert.assertTrue(solution.isOptimal());
+            Assert.assertEquals(452.25d, solution.getObjectiveValue(), 1e-6);
+            Assert.assertTrue(solution.getColumns().size() > LENGTHS.length);
+
+            double[] values = solution.getSolution();
+            List<GeneratedColumn> columns = solution.getColumns();
+            for(int i = 0; i < DEMANDS.length; i++) {
+                double produced = 0.d;
+                for(int j = 0; j < values.length; j++) {
+                    produced += columns.get(j).getCoefficientAt(i) * values[j];
+                }
+                Assert.assertTrue(produced >= DEMANDS[i] - 1e-6);
+            }
+            Assert.assertEquals(1.d, bestPatternValue(solution.getDualValues()), 1e-6);
+        }
+    }
+
+    @Test
+    public void testMaximumWithFixedColumns() {
+        double[][] columns = {{1., 1.}, {1., 3.}, {2., 1.}, {1., 2.}};
+        double[] costs = {3., 2., 4., 3.5};
+
+        Problem full = Problem.getInstance();
+        full.addEquation(ProblemEquation.make(new double[]{1., 1., 2., 1.}, Relation.LESS_OR_EQUAL, 4.d));
+        full.addEquation(ProblemEquation.make(new double[]{1., 3., 1., 2.}, Relation.LESS_OR_EQUAL, 6.d));
+        full.addObjectiveFunction(ProblemObjectiveFunction.make(costs, ObjectiveFunctionType.MAXIMUM));
+        TableauBuilder builder = TableauBuilder.getInstance();
+        builder.setProbliem(full);
+        Tableau solved = SimplexMethod.applyTo(builder.build());
+        double expected = 0.d;
+        double[] values = solved.getSolution();
+        for(int j = 0; j < values.length; j++) {
+            expected += costs[j] * values[j];
+        }
+
+        Problem master = Problem.getInstance();
+        master.addEquation(ProblemEquation.make(new double[]{1.}, Relation.LESS_OR_EQUAL, 4.d));
+        master.addEquation(ProblemEquation.make(new double[]{1.}, Relation.LESS_OR_EQUAL, 6.d));
+        master.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{3.}, ObjectiveFunctionType.MAXIMUM));
+        PricingOracle oracle = dualValues -> {
+            List<GeneratedColumn> generated = new ArrayList<>();
+            for(int j = 1; j < columns.length; j++) {
+                generated.add(GeneratedColumn.make(columns[j], costs[j]));
+            }
+            return generated;
+        };
+
+        ColumnGenerationSolution solution = ColumnGenerationMethod.applyTo(master, oracle);
+
+        Assert.assertTrue(solution.isOptimal());
+        Assert.assertEquals(expected, solution.getObjectiveValue(), 1e-9);
+    }
+
+    @Test
+    public void testMaxRounds() {
+        ColumnGenerationMethod method = ColumnGenerationMethod.getInstance();
+        method.setMaxRounds(1);
+
+        ColumnGenerationSolution solution = method.solve(makeCuttingStockMaster(), ColumnGenerationTest::generatePattern);
+
+        Assert.assertFalse(solution.isOptimal());
+        Assert.assertEquals(1, solution.getNumberOfRounds());
+    }
+
+    private static Problem makeCuttingStockMaster() {
+        Problem problem = Problem.getInstance();
+        for(int i = 0; i < LENGTHS.length; i++) {
+            double[] coeffs = new double[LENGTHS.length];
+            coeffs[i] = Math.floor(ROLL_LENGTH / LENGTHS[i]);
+            problem.addEquation(ProblemEquation.make(coeffs, Relation.GREATER_OR_EQUAL, DEMANDS[i]));
+        }
+        double[] costs = new double[LENGTHS.length];
+        Arrays.fill(costs, 1.d);
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(costs, ObjectiveFunctionType.MINIMUM));
+        return problem;
+    }
+
+    /**
+     * Finds the most valuable pattern by enumeration, the pattern improves the master if its value exceeds 1
+     */
+    private static List<GeneratedColumn> generatePattern(double[] dualValues) {
+        double[] best = new double[LENGTHS.length];
+        double bestValue = enumerate(dualValues, new double[LENGTHS.length], 0, ROLL_LENGTH, best);
+        if(bestValue <= 1.d + 1e-9) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(GeneratedColumn.make(best, 1.d));
+    }
+
+    private static double bestPatternValue(double[] dualValues) {
+        return enumerate(dualValues, new double[LENGTHS.length], 0, ROLL_LENGTH, new double[LENGTHS.length]);
+    }
+
+    private static double enumerate(double[] dualValues, double[] pattern, int item, double rest, double[] best) {
+        if(item == LENGTHS.length) {
+            double value = 0.d;
+            for(int i = 0; i < pattern.length; i++) {
+                value += dualValues[i] * pattern[i];
+            }
+            double bestValue = 0.d;
+            for(int i = 0; i < best.length; i++) {
+                bestValue += dualValues[i] * best[i];
+            }
+            if(value > bestValue) {
+                System.arraycopy(pattern, 0, best, 0, pattern.length);
+                return value;
+            }
+            return bestValue;
+        }
+        double bestValue = 0.d;
+        for(int count = 0; count * LENGTHS[item] <= rest; count++) {
+            pattern[item] = count;
+            bestValue = Math.max(bestValue, enumerate(dualValues, pattern, item + 1, rest - count * LENGTHS[item], best));
+        }
+        pattern[item] = 0;
+        return bestValue;
+    }
+}
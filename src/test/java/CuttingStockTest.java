@@ -0,0 +1,86 @@
+/*
+ * Provides tests for the cutting-stock domain API
+ */
+
+import math.linear.cutting.CutPlan;
+import math.linear.cutting.CuttingOrder;
+import math.linear.cutting.CuttingPattern;
+import math.linear.cutting.CuttingStockMethod;
+import math.linear.simplex.BranchAndBoundMethod;
+import math.linear.simplex.NumericBackend;
+import math.linear.simplex.TableauBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CuttingStockTest
+{
+    @Test
+    public void testClassicOrder() {
+        for(NumericBackend backend : NumericBackend.values()) {
+            CuttingOrder order = CuttingOrder.getInstance();
+            order.addStock(100.d, 1.d);
+            double[] lengths = {45.d, 36.d, 31.d, 14.d};
+            int[] demands = {97, 610, 395, 211};
+            for(int i = 0; i < lengths.length; i++) {
+                order.addItem(lengths[i], demands[i]);
+            }
+            TableauBuilder builder = TableauBuilder.getInstance();
+            builder.setNumericBackend(backend);
+            CuttingStockMethod method = CuttingStockMethod.getInstance();
+            method.setTableauBuilder(builder);
+
+            CutPlan plan = method.solve(order);
+
+            Assert.assertEquals(452.25d, plan.getLowerBound(), 1e-6);
+            Assert.assertTrue(plan.getTotalCost() >= 453.d);
+            Assert.assertTrue(plan.getTotalCost() <= 456.d);
+            Assert.assertEquals(plan.getTotalCost(), plan.getNumberOfStocks(0), 1e-9);
+            for(int i = 0; i < lengths.length; i++) {
+                Assert.assertTrue(plan.getProducedQuantity(i) >= demands[i]);
+            }
+            for(CuttingPattern pattern : plan.getPatterns()) {
+                Assert.assertTrue(pattern.getUsedLength() <= 100.d);
+                Assert.assertTrue(pattern.getWaste() >= 0.d);
+            }
+        }
+    }
+
+    @Test
+    public void testKerf() {
+        CuttingOrder order = CuttingOrder.getInstance();
+        order.addStock(10.d, 1.d);
+        order.addItem(3.2d, 3);
+
+        Assert.assertEquals(1, CuttingStockMethod.applyTo(order).getNumberOfStocks(0));
+
+        order.setKerf(0.5d);
+        CutPlan plan = CuttingStockMethod.applyTo(order);
+
+        Assert.assertEquals(2, plan.getNumberOfStocks(0));
+        Assert.assertTrue(plan.getProducedQuantity(0) >= 3);
+    }
+
+    @Test
+    public void testLimitedStock() {
+        CuttingOrder order = CuttingOrder.getInstance();
+        order.addStock(10.d, 1.d, 1);
+        order.addStock(5.d, 0.6d);
+        order.addItem(5.d, 3);
+        CuttingStockMethod method = CuttingStockMethod.getInstance();
+        method.setBranchAndBound(BranchAndBoundMethod.getInstance());
+
+        CutPlan plan = method.solve(order);
+
+        Assert.assertEquals(1.6d, plan.getTotalCost(), 1e-9);
+        Assert.assertEquals(1, plan.getNumberOfStocks(0));
+        Assert.assertEquals(1, plan.getNumberOfStocks(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testItemDoesNotFit() {
+        CuttingOrder order = CuttingOrder.getInstance();
+        order.addStock(10.d, 1.d);
+        order.addItem(12.d, 1);
+        CuttingStockMethod.applyTo(order);
+    }
+}
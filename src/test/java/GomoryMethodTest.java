@@ -8,7 +8,10 @@ import math.linear.problem.Problem;
 import math.linear.problem.ProblemEquation;
 import math.linear.problem.ProblemObjectiveFunction;
 import math.linear.simplex.GomoryMethod;
+import math.linear.simplex.NumericBackend;
 import math.linear.simplex.SimplexMethod;
+import math.linear.simplex.SolveLimits;
+import math.linear.simplex.SolveStatus;
 import math.linear.simplex.Tableau;
 import math.linear.simplex.TableauBuilder;
 import org.junit.Assert;
@@ -190,7 +193,7 @@ public class GomoryMethodTest
             System.out.format("x(%1$d)=%2$.0f\n", k+1, values[k]);
         }
 
-        Assert.assertArrayEquals(new double[]{0.d,0.d,11.d,3.d},values,0.01);
+        Assert.assertArrayEquals(new double[]{0.d,0.d,12.d,3.d},values,0.01);
 
         Instant end = Instant.now();
         System.out.println("Duration " + Duration.between(start,end).toMillis() + "ms");
@@ -198,4 +201,89 @@ public class GomoryMethodTest
     }
 
 
+
+    @Test
+    public void testMultiCutRounds(){
+        GomoryMethod singleCut = GomoryMethod.getInstance();
+        singleCut.setMaxCutsPerRound(1);
+        Tableau singleCutSolved = singleCut.solve(SimplexMethod.applyTo(makeCutRoundsTableau()));
+
+        GomoryMethod multiCut = GomoryMethod.getInstance();
+        Tableau multiCutSolved = multiCut.solve(SimplexMethod.applyTo(makeCutRoundsTableau()));
+
+        Assert.assertArrayEquals(new double[]{0,5,3,0},singleCutSolved.getSolution(),0.01);
+        Assert.assertArrayEquals(new double[]{0,5,3,0},multiCutSolved.getSolution(),0.01);
+        Assert.assertTrue(multiCut.getNumberOfRounds() < singleCut.getNumberOfRounds());
+    }
+
+    @Test
+    public void testCutPurging(){
+        GomoryMethod keepingCuts = GomoryMethod.getInstance();
+        keepingCuts.setPurgeRounds(1000);
+        Tableau keptCuts = keepingCuts.solve(SimplexMethod.applyTo(makeCutRoundsTableau()));
+
+        GomoryMethod purgingCuts = GomoryMethod.getInstance();
+        purgingCuts.setPurgeRounds(1);
+        Tableau purgedCuts = purgingCuts.solve(SimplexMethod.applyTo(makeCutRoundsTableau()));
+
+        Assert.assertArrayEquals(new double[]{0,5,3,0},purgedCuts.getSolution(),0.01);
+        Assert.assertEquals(0, keepingCuts.getNumberOfPurgedCuts());
+        Assert.assertTrue(purgingCuts.getNumberOfPurgedCuts() > 0);
+        Assert.assertTrue(purgedCuts.getRows().size() < keptCuts.getRows().size());
+    }
+
+    @Test
+    public void testMaxRounds(){
+        GomoryMethod method = GomoryMethod.getInstance();
+        method.setMaxRounds(1);
+        method.solve(SimplexMethod.applyTo(makeCutRoundsTableau()));
+        Assert.assertEquals(SolveStatus.ROUND_LIMIT, method.getStatus());
+        Assert.assertEquals(1, method.getNumberOfRounds());
+
+        SolveLimits limits = SolveLimits.getInstance();
+        method.setSolveLimits(limits);
+        method.solve(SimplexMethod.applyTo(makeCutRoundsTableau()));
+        Assert.assertEquals(SolveStatus.ROUND_LIMIT, method.getStatus());
+        Assert.assertEquals(SolveStatus.FINISHED, limits.getStatus());
+
+        // the same limits go on serving the next solve
+        method.setMaxRounds(1000);
+        method.solve(SimplexMethod.applyTo(makeCutRoundsTableau()));
+        Assert.assertEquals(SolveStatus.FINISHED, method.getStatus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleBackendRejected(){
+        // the cuts are added as new rows, which the double backend does not support
+        Tableau tableau = SimplexMethod.applyTo(ProblemFixtures.build(makeCutRoundsProblem(), NumericBackend.DOUBLE));
+        GomoryMethod.applyTo(tableau);
+    }
+
+    @Test
+    public void testMixedIntegerCuts(){
+        Problem problem = makeCutRoundsProblem();
+        problem.setInteger(1, false);
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = GomoryMethod.applyTo(SimplexMethod.applyTo(tableauBuilder.build()));
+
+        Assert.assertArrayEquals(new double[]{5./7.,4,4,0},solved.getSolution(),1e-9);
+    }
+
+    private static Tableau makeCutRoundsTableau() {
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(makeCutRoundsProblem());
+        return tableauBuilder.build();
+    }
+
+    private static Problem makeCutRoundsProblem() {
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(32);
+        problem.addEquation(ProblemEquation.make(new double[]{7., 8., 4., 8.}, Relation.LESS_OR_EQUAL, 53.d));
+        problem.addEquation(ProblemEquation.make(new double[]{5., 6., 6., 5.}, Relation.LESS_OR_EQUAL, 55.d));
+        problem.addEquation(ProblemEquation.make(new double[]{6., 3., 6., 6.}, Relation.LESS_OR_EQUAL, 41.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{5., 7., 7., 1.}, ObjectiveFunctionType.MAXIMUM));
+        return problem;
+    }
 }
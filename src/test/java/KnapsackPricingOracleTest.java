@@ -0,0 +1,135 @@
+/*
+ * Provides tests for the knapsack pricing oracle
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.ColumnGenerationMethod;
+import math.linear.simplex.ColumnGenerationSolution;
+import math.linear.simplex.GeneratedColumn;
+import math.linear.simplex.KnapsackMode;
+import math.linear.simplex.KnapsackPricingOracle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class KnapsackPricingOracleTest
+{
+    @Test
+    public void testModesAgainstEnumeration() {
+        Random random = new Random(12L);
+        for(int run = 0; run < 30; run++) {
+            int n = 2 + random.nextInt(5);
+            double[] lengths = new double[n];
+            int[] bounds = new int[n];
+            double[] duals = new double[n];
+            for(int i = 0; i < n; i++) {
+                lengths[i] = 5 + random.nextInt(40);
+                bounds[i] = 1 + random.nextInt(4);
+                duals[i] = random.nextDouble() * lengths[i] / 40.d - 0.05d;
+            }
+            double capacity = 60 + random.nextInt(60);
+            List<Double> expected = enumerateValues(lengths, bounds, duals, capacity);
+
+            for(KnapsackMode mode : new KnapsackMode[]{KnapsackMode.DYNAMIC_PROGRAMMING, KnapsackMode.BRANCH_AND_BOUND}) {
+                KnapsackPricingOracle oracle = KnapsackPricingOracle.make(lengths, bounds, capacity);
+                oracle.setMode(mode);
+                oracle.setNumberOfColumns(3);
+                int found = oracle.price(duals);
+
+                Assert.assertEquals(Math.min(3, expected.size()), found);
+                for(int rank = 0; rank < found; rank++) {
+                    Assert.assertEquals(expected.get(rank), oracle.getPatternValue(rank), 1e-9);
+                    double length = 0.d;
+                    double value = 0.d;
+                    for(int i = 0; i < n; i++) {
+                        int count = oracle.getPatternCount(rank, i);
+                        Assert.assertTrue(count <= bounds[i]);
+                        length += count * lengths[i];
+                        value += count * duals[i];
+                    }
+                    Assert.assertTrue(length <= capacity);
+                    Assert.assertEquals(oracle.getPatternValue(rank), value, 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRealLengths() {
+        KnapsackPricingOracle oracle = KnapsackPricingOracle.make(new double[]{2.5, 3.7, 1.2}, 10.3);
+        oracle.setNumberOfColumns(2);
+
+        List<GeneratedColumn> columns = oracle.getImprovingColumns(new double[]{0.28, 0.45, 0.1});
+
+        Assert.assertEquals(2, columns.size());
+        Assert.assertArrayEquals(new double[]{1., 2., 0.}, columns.get(0).getCoefficients(), 0.);
+        Assert.assertEquals(1.18d, oracle.getPatternValue(0), 1e-9);
+        Assert.assertTrue(oracle.getPatternValue(1) <= oracle.getPatternValue(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDynamicProgrammingRequiresIntegers() {
+        KnapsackPricingOracle oracle = KnapsackPricingOracle.make(new double[]{2.5, 3.}, 10.);
+        oracle.setMode(KnapsackMode.DYNAMIC_PROGRAMMING);
+        oracle.price(new double[]{1., 1.});
+    }
+
+    @Test
+    public void testCuttingStock() {
+        double[] lengths = {45.d, 36.d, 31.d, 14.d};
+        double[] demands = {97.d, 610.d, 395.d, 211.d};
+        for(KnapsackMode mode : KnapsackMode.values()) {
+            Problem master = Problem.getInstance();
+            for(int i = 0; i < lengths.length; i++) {
+                double[] coeffs = new double[lengths.length];
+                coeffs[i] = Math.floor(100.d / lengths[i]);
+                master.addEquation(ProblemEquation.make(coeffs, Relation.GREATER_OR_EQUAL, demands[i]));
+            }
+            double[] costs = new double[lengths.length];
+            Arrays.fill(costs, 1.d);
+            master.addObjectiveFunction(ProblemObjectiveFunction.make(costs, ObjectiveFunctionType.MINIMUM));
+
+            KnapsackPricingOracle oracle = KnapsackPricingOracle.make(lengths, 100.d);
+            oracle.setMode(mode);
+            oracle.setNumberOfColumns(2);
+            ColumnGenerationSolution solution = ColumnGenerationMethod.applyTo(master, oracle);
+
+            Assert.assertTrue(solution.isOptimal());
+            Assert.assertEquals(452.25d, solution.getObjectiveValue(), 1e-6);
+        }
+    }
+
+    private static List<Double> enumerateValues(double[] lengths, int[] bounds, double[] duals, double capacity) {
+        List<Double> result = new ArrayList<>();
+        enumerate(lengths, bounds, duals, new int[lengths.length], 0, capacity, result);
+        Collections.sort(result, Collections.reverseOrder());
+        return result;
+    }
+
+    private static void enumerate(double[] lengths, int[] bounds, double[] duals, int[] counts, int item, double rest,
+        List<Double> result) {
+        if(item == lengths.length) {
+            double value = 0.d;
+            for(int i = 0; i < counts.length; i++) {
+                value += counts[i] * duals[i];
+            }
+            if(value > 1.d + 1e-9) result.add(value);
+            return;
+        }
+        int maxCount = duals[item] > 0.d ? bounds[item] : 0;
+        for(int t = 0; t <= maxCount && t * lengths[item] <= rest; t++) {
+            counts[item] = t;
+            enumerate(lengths, bounds, duals, counts, item + 1, rest - t * lengths[item], result);
+        }
+        counts[item] = 0;
+    }
+}
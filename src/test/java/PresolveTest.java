@@ -0,0 +1,173 @@
+/*
+ * Provides tests for the presolve and the postsolve
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.presolve.PresolvedProblem;
+import math.linear.presolve.Presolver;
+import math.linear.presolve.Reduction;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.LinearSolution;
+import math.linear.simplex.BranchAndBoundMethod;
+import math.linear.simplex.RevisedSimplexMethod;
+import math.linear.simplex.SimplexMethod;
+import math.linear.simplex.Tableau;
+import math.linear.simplex.TableauBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class PresolveTest
+{
+    @Test
+    public void testReductions() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{1., 1., 1., 0., 0.}, Relation.LESS_OR_EQUAL, 10.d));
+        problem.addEquation(ProblemEquation.make(new double[]{2., 2., 2., 0., 0.}, Relation.LESS_OR_EQUAL, 30.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 0., 0., 0., 0.}, Relation.LESS_OR_EQUAL, 4.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 1., 0., 1., 0.}, Relation.GREATER_OR_EQUAL, 2.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 0., 0., 0., 0.}, Relation.LESS_OR_EQUAL, 5.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 0., 1., 0., 0.}, Relation.EQUAL, 1.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 2., 0., 0., 0.}, Relation.LESS_OR_EQUAL, 100.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{3., 2., 1., -1., -1.}, ObjectiveFunctionType.MAXIMUM));
+
+        PresolvedProblem presolved = Presolver.applyTo(problem);
+
+        Assert.assertEquals(1, presolved.getReport().getRemovedRows(Reduction.EMPTY_ROWS));
+        Assert.assertEquals(2, presolved.getReport().getRemovedRows(Reduction.SINGLETON_ROWS));
+        Assert.assertEquals(1, presolved.getReport().getRemovedRows(Reduction.DUPLICATE_ROWS));
+        Assert.assertEquals(1, presolved.getReport().getRemovedRows(Reduction.BOUND_TIGHTENING));
+        Assert.assertEquals(1, presolved.getReport().getRemovedColumns(Reduction.FIXED_VARIABLES));
+        Assert.assertEquals(1, presolved.getReport().getRemovedColumns(Reduction.EMPTY_COLUMNS));
+        Assert.assertTrue(presolved.getReport().getNumberOfTightenedBounds() > 0);
+        Assert.assertEquals(3, presolved.getProblem().getNumberOfVariables());
+        Assert.assertEquals(3, presolved.getProblem().getEquations().size());
+
+        LinearSolution reduced = RevisedSimplexMethod.applyTo(presolved.getProblem());
+        double[] solution = presolved.postsolve(reduced.getSolution());
+        double[] dualValues = presolved.postsolveDualValues(reduced.getDualValues(), solution);
+        LinearSolution direct = RevisedSimplexMethod.applyTo(problem);
+
+        Assert.assertArrayEquals(new double[]{4., 5., 1., 0., 0.}, solution, 1e-9);
+        Assert.assertEquals(23.d, presolved.getObjectiveValue(solution), 1e-9);
+        Assert.assertArrayEquals(direct.getDualValues(), dualValues, 1e-9);
+        Assert.assertArrayEquals(new double[]{2., 0., 1., 0., 0., -1., 0.}, dualValues, 1e-9);
+    }
+
+    @Test
+    public void testRandomProblems() {
+        Random random = new Random(7L);
+        for(int run = 0; run < 40; run++) {
+            int n = 3 + random.nextInt(4);
+            Problem problem = Problem.getInstance();
+            // the solution is compared with the linear relaxation, so the bounds must not be rounded
+            for(int j = 1; j <= n; j++) {
+                problem.setInteger(j, false);
+            }
+            for(int i = 0; i < 3 + random.nextInt(3); i++) {
+                double[] coeffs = new double[n];
+                for(int j = 0; j < n; j++) {
+                    coeffs[j] = i > 0 && random.nextInt(3) == 0 ? 0.d : 1 + random.nextInt(5);
+                }
+                double rightValue = 10 + random.nextInt(30);
+                problem.addEquation(ProblemEquation.make(coeffs, Relation.LESS_OR_EQUAL, rightValue));
+                if(random.nextBoolean()) {
+                    double[] duplicate = coeffs.clone();
+                    for(int j = 0; j < n; j++) duplicate[j] *= 2;
+                    problem.addEquation(ProblemEquation.make(duplicate, Relation.LESS_OR_EQUAL, 2 * rightValue + random.nextInt(5)));
+                }
+            }
+            double[] singleton = new double[n];
+            singleton[random.nextInt(n)] = 1.d;
+            problem.addEquation(ProblemEquation.make(singleton, Relation.LESS_OR_EQUAL, 1 + random.nextInt(4)));
+            double[] lower = new double[n];
+            lower[random.nextInt(n)] = 1.d;
+            problem.addEquation(ProblemEquation.make(lower, Relation.GREATER_OR_EQUAL, 0.5d));
+            double[] costs = new double[n];
+            for(int j = 0; j < n; j++) {
+                costs[j] = random.nextInt(7) - 1;
+            }
+            problem.addObjectiveFunction(ProblemObjectiveFunction.make(costs, ObjectiveFunctionType.MAXIMUM));
+
+            double expected = RevisedSimplexMethod.applyTo(problem).getObjectiveValue();
+            PresolvedProblem presolved = Presolver.applyTo(problem);
+            double[] solution = presolved.isSolved() ? presolved.getSolution()
+                : presolved.postsolve(RevisedSimplexMethod.applyTo(presolved.getProblem()).getSolution());
+
+            Assert.assertEquals(expected, presolved.getObjectiveValue(solution), 1e-7);
+            for(ProblemEquation equation : problem.getEquations()) {
+                double activity = 0.d;
+                for(int j = 0; j < n; j++) {
+                    activity += equation.getCoefficientAt(j + 1) * solution[j];
+                }
+                if(equation.getRelation().isLessOrEqual()) {
+                    Assert.assertTrue(activity <= equation.getCoefficientAt(0) + 1e-7);
+                } else {
+                    Assert.assertTrue(activity >= equation.getCoefficientAt(0) - 1e-7);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSolvedByPresolve() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{2., 0.}, Relation.LESS_OR_EQUAL, 6.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 1.}, Relation.GREATER_OR_EQUAL, 1.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., -1.}, ObjectiveFunctionType.MAXIMUM));
+
+        PresolvedProblem presolved = Presolver.applyTo(problem);
+
+        Assert.assertTrue(presolved.isSolved());
+        Assert.assertArrayEquals(new double[]{3., 1.}, presolved.getSolution(), 1e-9);
+    }
+
+    @Test
+    public void testIntegerBounds() {
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{2., 0.}, Relation.GREATER_OR_EQUAL, 3.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 1.}, Relation.GREATER_OR_EQUAL, 4.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 1.}, ObjectiveFunctionType.MINIMUM));
+
+        PresolvedProblem presolved = Presolver.applyTo(problem);
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(presolved.getProblem());
+        Tableau relaxation = SimplexMethod.applyTo(tableauBuilder.build());
+        double[] solution = presolved.postsolve(BranchAndBoundMethod.applyTo(presolved.getProblem(), relaxation).getSolution());
+
+        Assert.assertTrue(solution[0] >= 2.d - 1e-9);
+        Assert.assertEquals(4.d, presolved.getObjectiveValue(solution), 1e-9);
+        for(double value : solution) {
+            Assert.assertEquals(Math.rint(value), value, 1e-9);
+        }
+
+        problem.setInteger(1, false);
+        presolved = Presolver.applyTo(problem);
+        Assert.assertEquals(4.d, presolved.getObjectiveValue(presolved.postsolve(
+            RevisedSimplexMethod.applyTo(presolved.getProblem()).getSolution())), 1e-9);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInfeasibleIntegerBounds() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{2., 1.}, Relation.LESS_OR_EQUAL, 6.d));
+        problem.addEquation(ProblemEquation.make(new double[]{2., 0.}, Relation.EQUAL, 3.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 1.}, ObjectiveFunctionType.MAXIMUM));
+        Presolver.applyTo(problem);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInfeasibleBounds() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{1., 1.}, Relation.LESS_OR_EQUAL, 6.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 0.}, Relation.LESS_OR_EQUAL, 1.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 0.}, Relation.GREATER_OR_EQUAL, 2.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 1.}, ObjectiveFunctionType.MAXIMUM));
+        Presolver.applyTo(problem);
+    }
+}
@@ -23,4 +23,24 @@ public class ProblemEquationTest
         Assert.assertEquals(7.d, equation.getCoefficientAt(4),0.0d);
         Assert.assertEquals(9.d, equation.getCoefficientAt(0),0.0d);
     }
+
+    @Test
+    public void testCreateSparseProblemEquation(){
+        ProblemEquation equation = ProblemEquation.makeSparse(5, new int[]{2, 5}, new double[]{3.d, -1.5d}, Relation.LESS_OR_EQUAL, 4.d);
+        Assert.assertTrue(equation.isSparse());
+        Assert.assertEquals(6, equation.getLength());
+        Assert.assertArrayEquals(new double[]{4.d, 0.d, 3.d, 0.d, 0.d, -1.5d}, equation.getCoefficients(), 0.0d);
+        Assert.assertEquals(0.d, equation.getCoefficientAt(3), 0.0d);
+        Assert.assertEquals(-1.5d, equation.getCoefficientAt(5), 0.0d);
+        Assert.assertEquals(3, equation.getNumberOfStoredCoefficients());
+        Assert.assertEquals(2, equation.getStoredIndexAt(1));
+        Assert.assertEquals(3.d, equation.getStoredValueAt(1), 0.0d);
+        Assert.assertArrayEquals(equation.getCoefficients(), equation.copy().getCoefficients(), 0.0d);
+        try {
+            ProblemEquation.makeSparse(5, new int[]{5, 2}, new double[]{1.d, 1.d}, Relation.EQUAL, 0.d);
+            Assert.fail();
+        } catch(IllegalArgumentException ex) {
+            Assert.assertEquals("Indices must be ascending and within the number of variables.", ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Provides tests for the readers and the writers of the MPS and the LP files
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.generator.ProblemGenerator;
+import math.linear.generator.ProblemType;
+import math.linear.io.LpReader;
+import math.linear.io.LpWriter;
+import math.linear.io.MpsReader;
+import math.linear.io.MpsWriter;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.LinearSolution;
+import math.linear.simplex.RevisedSimplexMethod;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+public class ProblemFileTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMpsRoundTrip() throws IOException {
+        Problem problem = makeProblem();
+        StringWriter writer = new StringWriter();
+        MpsWriter.getInstance().write(problem, writer);
+        Problem read = MpsReader.getInstance().read(new StringReader(writer.toString()));
+        assertSameProblem(problem, read);
+    }
+
+    @Test
+    public void testLpRoundTrip() throws IOException {
+        Problem problem = makeProblem();
+        StringWriter writer = new StringWriter();
+        LpWriter.getInstance().write(problem, writer);
+        Problem read = LpReader.getInstance().read(new StringReader(writer.toString()));
+        assertSameProblem(problem, read);
+    }
+
+    @Test
+    public void testReadMps() throws IOException {
+        String text = "* a model with ranges and bounds\n"
+            + "NAME          TEST\n"
+            + "OBJSENSE\n"
+            + "    MAX\n"
+            + "ROWS\n"
+            + " N  COST\n"
+            + " L  LIM1\n"
+            + " G  LIM2\n"
+            + " E  MYEQN\n"
+            + " N  FREE\n"
+            + "COLUMNS\n"
+            + "    MARKER    'MARKER'    'INTORG'\n"
+            + "    X1        COST      1.0   LIM1      1.0\n"
+            + "    X1        LIM2      1.0   FREE      5.0\n"
+            + "    MARKER    'MARKER'    'INTEND'\n"
+            + "    X2        COST      2.0   LIM1      1.0\n"
+            + "    X2        MYEQN    -1.0\n"
+            + "    X3        COST     -1.0   MYEQN     1.0\n"
+            + "RHS\n"
+            + "    RHS       COST     10.0\n"
+            + "    RHS       LIM1      8.0   LIM2      1.0\n"
+            + "    RHS       MYEQN     0.0\n"
+            + "RANGES\n"
+            + "    RNG       LIM1      5.0\n"
+            + "BOUNDS\n"
+            + " UP BND       X1        4.0\n"
+            + " LO BND       X3        0.5\n"
+            + " BV BND       X2\n"
+            + "ENDATA\n";
+        Problem problem = MpsReader.getInstance().read(new StringReader(text));
+        Assert.assertEquals(3, problem.getNumberOfVariables());
+        Assert.assertEquals(7, problem.getEquations().size());
+        Assert.assertTrue(problem.isInteger(1));
+        Assert.assertTrue(problem.isInteger(2));
+        Assert.assertFalse(problem.isInteger(3));
+        Assert.assertEquals(ObjectiveFunctionType.MAXIMUM, problem.getObjectiveFunction().getType());
+        Assert.assertTrue(problem.getEquations().get(0).isSparse());
+        Assert.assertEquals(Relation.GREATER_OR_EQUAL, problem.getEquations().get(0).getRelation());
+        Assert.assertEquals(3.d, problem.getEquations().get(0).getCoefficientAt(0), 0.d);
+        Assert.assertEquals(0.d, problem.getEquations().get(0).getCoefficientAt(3), 0.d);
+
+        LinearSolution solution = RevisedSimplexMethod.applyTo(problem);
+        Assert.assertArrayEquals(new double[]{4.d, 1.d, 1.d}, solution.getSolution(), 1e-9);
+        Assert.assertEquals(5.d, solution.getObjectiveValue(), 1e-9);
+    }
+
+    @Test
+    public void testReadLp() throws IOException {
+        String text = "\\ a model with bounds\n"
+            + "Maximize\n"
+            + " obj: 3 x + 2y - 0 z + 4\n"
+            + "Subject To\n"
+            + " c1: x + y\n"
+            + "     + z <= 4\n"
+            + " c2: x + 3 y + 1 >= 2 \\ the constant moves to the right side\n"
+            + " -x - x + 2 y = -2\n"
+            + "Bounds\n"
+            + " 0 <= y <= 1.5\n"
+            + " z >= 0.5\n"
+            + "General\n"
+            + " x\n"
+            + "End\n";
+        Problem problem = LpReader.getInstance().read(new StringReader(text));
+        Assert.assertEquals(3, problem.getNumberOfVariables());
+        Assert.assertEquals(5, problem.getEquations().size());
+        Assert.assertTrue(problem.isInteger(1));
+        Assert.assertFalse(problem.isInteger(2));
+        Assert.assertArrayEquals(new double[]{-2.d, -2.d, 2.d, 0.d}, problem.getEquations().get(2).getCoefficients(), 0.d);
+        Assert.assertEquals(1.d, problem.getEquations().get(1).getCoefficientAt(0), 0.d);
+
+        LinearSolution solution = RevisedSimplexMethod.applyTo(problem);
+        Assert.assertArrayEquals(new double[]{2.25d, 1.25d, 0.5d}, solution.getSolution(), 1e-9);
+        Assert.assertEquals(9.25d, solution.getObjectiveValue(), 1e-9);
+    }
+
+    @Test
+    public void testErrors() {
+        assertReadError("NAME\nROWS\n N  COST\n L  LIM1\nCOLUMNS\n    X1  LIM2  1.0\nENDATA\n", true, "Line 6: Unknown row LIM2.");
+        assertReadError("NAME\nROWS\n N  COST\nCOLUMNS\n    X1  COST  1.0\nBOUNDS\n FR BND X1\nENDATA\n", true,
+            "Variable X1 may be negative, only non-negative variables are supported.");
+        assertReadError("Minimize\n obj: x\nSubject To\n c1: x <= \nEnd\n", false, "Line 5: Number expected instead of End.");
+        assertReadError("Minimize\n obj: x\nSubject To\n c1: x >= 1\nSOS\nEnd\n", false, "Line 5: Section SOS is not supported.");
+    }
+
+    @Test
+    public void testLargeFile() throws IOException {
+        ProblemGenerator generator = ProblemGenerator.getInstance(29L);
+        generator.setDensity(0.05d);
+        Problem problem = generator.make(ProblemType.SPARSE, 20000, 0);
+        Path mps = folder.getRoot().toPath().resolve("large.mps");
+        Path lp = folder.getRoot().toPath().resolve("large.lp");
+        MpsWriter.getInstance().write(problem, mps);
+        LpWriter.getInstance().write(problem, lp);
+
+        for(Problem read : new Problem[]{MpsReader.getInstance().read(mps), LpReader.getInstance().read(lp)}) {
+            Assert.assertEquals(problem.getNumberOfVariables(), read.getNumberOfVariables());
+            Assert.assertEquals(problem.getEquations().size(), read.getEquations().size());
+            int numberOfNonZeros = 0;
+            for(int i = 0; i < problem.getEquations().size(); i++) {
+                ProblemEquation equation = read.getEquations().get(i);
+                Assert.assertTrue(equation.isSparse());
+                Assert.assertArrayEquals(problem.getEquations().get(i).getCoefficients(), equation.getCoefficients(), 0.d);
+                numberOfNonZeros += equation.getNumberOfStoredCoefficients();
+            }
+            Assert.assertTrue(numberOfNonZeros > 90000);
+        }
+    }
+
+    private static void assertReadError(String text, boolean isMps, String message) {
+        try {
+            if(isMps) {
+                MpsReader.getInstance().read(new StringReader(text));
+            } else {
+                LpReader.getInstance().read(new StringReader(text));
+            }
+            Assert.fail();
+        } catch(IOException ex) {
+            Assert.assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private static Problem makeProblem() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{1.d, 2.d, 0.d, 0.d}, Relation.LESS_OR_EQUAL, 14.d));
+        problem.addEquation(ProblemEquation.makeSparse(4, new int[]{1, 3}, new double[]{3.d, -1.d}, Relation.GREATER_OR_EQUAL, 0.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1.d, -1.d, 0.25d, 0.d}, Relation.LESS_OR_EQUAL, 2.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0.d, 0.d, 1.d, 0.d}, Relation.EQUAL, 1.5d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{3.d, 4.d, 0.d, 0.d}, ObjectiveFunctionType.MAXIMUM));
+        problem.setInteger(3, false);
+        problem.setInteger(4, false);
+        return problem;
+    }
+
+    private static void assertSameProblem(Problem expected, Problem actual) {
+        Assert.assertEquals(expected.getNumberOfVariables(), actual.getNumberOfVariables());
+        Assert.assertEquals(expected.getEquations().size(), actual.getEquations().size());
+        for(int i = 0; i < expected.getEquations().size(); i++) {
+            Assert.assertEquals(expected.getEquations().get(i).getRelation(), actual.getEquations().get(i).getRelation());
+            Assert.assertArrayEquals(expected.getEquations().get(i).getCoefficients(), actual.getEquations().get(i).getCoefficients(), 0.d);
+        }
+        Assert.assertEquals(expected.getObjectiveFunction().getType(), actual.getObjectiveFunction().getType());
+        Assert.assertArrayEquals(expected.getObjectiveFunction().getCoefficients(), actual.getObjectiveFunction().getCoefficients(), 0.d);
+        for(int j = 1; j <= expected.getNumberOfVariables(); j++) {
+            Assert.assertEquals(expected.isInteger(j), actual.isInteger(j));
+        }
+        Assert.assertArrayEquals(RevisedSimplexMethod.applyTo(expected).getSolution(),
+            RevisedSimplexMethod.applyTo(actual).getSolution(), 1e-9);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Provides the small integer problems shared by the tests of the solvers
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.NumericBackend;
+import math.linear.simplex.Tableau;
+import math.linear.simplex.TableauBuilder;
+
+final class ProblemFixtures
+{
+    /**
+     * The integer solution of the minimum problem
+     */
+    static final double[] MINIMUM_SOLUTION = {0, 22, 0, 0, 0};
+
+    /**
+     * The integer solution of the maximum problem
+     */
+    static final double[] MAXIMUM_SOLUTION = {0, 53, 19, 1};
+
+    private ProblemFixtures() {}
+
+    /**
+     * Makes a minimum problem with two "greater or equal" rows, it needs both simplex phases and a few branch and
+     * bound nodes
+     * @return
+     */
+    static Problem makeMinimumProblem() {
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{3., 4.7, -0.2, 0., 4.}, Relation.GREATER_OR_EQUAL, 86.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 3., 0., 5., 1.2}, Relation.GREATER_OR_EQUAL, 65.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 0.2, 3.5, 2.1, 4.7}, ObjectiveFunctionType.MINIMUM));
+        return problem;
+    }
+
+    /**
+     * Makes a maximum problem with two "less or equal" rows, it needs several rounds of Gomory cuts
+     * @return
+     */
+    static Problem makeMaximumProblem() {
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{9., 3., -1., 0.}, Relation.LESS_OR_EQUAL, 140.d));
+        problem.addEquation(ProblemEquation.make(new double[]{-3., 0., 9., 7.}, Relation.LESS_OR_EQUAL, 180.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{4., 12., 1., 2.}, ObjectiveFunctionType.MAXIMUM));
+        return problem;
+    }
+
+    /**
+     * Builds the tableau of the problem with default settings
+     * @param problem
+     * @return
+     */
+    static Tableau build(Problem problem) {
+        return build(problem, NumericBackend.BIG_DECIMAL);
+    }
+
+    static Tableau build(Problem problem, NumericBackend numericBackend) {
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        tableauBuilder.setNumericBackend(numericBackend);
+        return tableauBuilder.build();
+    }
+}
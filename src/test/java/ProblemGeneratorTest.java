@@ -0,0 +1,150 @@
+/*
+ * Provides tests for the generators of problems and cutting orders
+ */
+
+import math.linear.cutting.CutPlan;
+import math.linear.cutting.CuttingOrder;
+import math.linear.cutting.CuttingStockMethod;
+import math.linear.cutting.OrderItem;
+import math.linear.generator.CuttingOrderGenerator;
+import math.linear.generator.LengthDistribution;
+import math.linear.generator.ProblemGenerator;
+import math.linear.generator.ProblemType;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.simplex.SimplexMethod;
+import math.linear.simplex.Tableau;
+import math.linear.simplex.TableauBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class ProblemGeneratorTest
+{
+    @Test
+    public void testReproducible() {
+        for(ProblemType type : ProblemType.values()) {
+            Problem problem1 = ProblemGenerator.getInstance(7L).make(type, 30, 2);
+            Problem problem2 = ProblemGenerator.getInstance(7L).make(type, 30, 2);
+            Problem problem3 = ProblemGenerator.getInstance(7L).make(type, 30, 3);
+            Assert.assertEquals(problem1.getEquations().size(), problem2.getEquations().size());
+            boolean isDifferent = false;
+            for(int i = 0; i < problem1.getEquations().size(); i++) {
+                ProblemEquation equation = problem1.getEquations().get(i);
+                Assert.assertArrayEquals(equation.getCoefficients(), problem2.getEquations().get(i).getCoefficients(), 0.d);
+                Assert.assertEquals(equation.getRelation(), problem2.getEquations().get(i).getRelation());
+                if(i < problem3.getEquations().size()) {
+                    isDifferent |= !Arrays.equals(equation.getCoefficients(), problem3.getEquations().get(i).getCoefficients());
+                }
+            }
+            Assert.assertArrayEquals(problem1.getObjectiveFunction().getCoefficients(),
+                problem2.getObjectiveFunction().getCoefficients(), 0.d);
+            Assert.assertTrue(isDifferent);
+        }
+    }
+
+    @Test
+    public void testSolvableTypes() {
+        ProblemGenerator generator = ProblemGenerator.getInstance(11L);
+        generator.setDensity(0.3d);
+        for(ProblemType type : new ProblemType[]{ProblemType.DENSE, ProblemType.SPARSE, ProblemType.DEGENERATE}) {
+            for(Problem problem : generator.sweep(type, new int[]{5, 20}, 2)) {
+                double[] solution = solve(problem).getSolution();
+                for(ProblemEquation equation : problem.getEquations()) {
+                    double value = 0.d;
+                    for(int j = 0; j < solution.length; j++) {
+                        Assert.assertTrue(solution[j] >= -1e-9);
+                        value += equation.getCoefficientAt(j + 1) * solution[j];
+                    }
+                    switch(equation.getRelation()) {
+                        case LESS_OR_EQUAL:
+                            Assert.assertTrue(value <= equation.getCoefficientAt(0) + 1e-6);
+                            break;
+                        case GREATER_OR_EQUAL:
+                            Assert.assertTrue(value >= equation.getCoefficientAt(0) - 1e-6);
+                            break;
+                        default:
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInfeasible() {
+        ProblemGenerator generator = ProblemGenerator.getInstance(13L);
+        for(Problem problem : generator.sweep(ProblemType.INFEASIBLE, new int[]{5, 20}, 2)) {
+            Assert.assertEquals(generator.getNumberOfEquations(problem.getNumberOfVariables()) + 1, problem.getEquations().size());
+            try {
+                solve(problem);
+                Assert.fail();
+            } catch(RuntimeException ex) {
+                Assert.assertEquals("The problem has no base plane.", ex.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testUnbounded() {
+        ProblemGenerator generator = ProblemGenerator.getInstance(17L);
+        for(Problem problem : generator.sweep(ProblemType.UNBOUNDED, new int[]{5, 20}, 2)) {
+            try {
+                solve(problem);
+                Assert.fail();
+            } catch(RuntimeException ex) {
+                Assert.assertEquals("Solution does not exist.", ex.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testSweep() {
+        ProblemGenerator generator = ProblemGenerator.getInstance(19L);
+        generator.setMaxEquations(3);
+        int[] sizes = {10, 1000, 100000};
+        Iterator<Problem> problems = generator.sweep(ProblemType.SPARSE, sizes, 1).iterator();
+        for(int size : sizes) {
+            Assert.assertTrue(problems.hasNext());
+            Problem problem = problems.next();
+            Assert.assertEquals(size, problem.getNumberOfVariables());
+            Assert.assertEquals(Math.min(3, size / 2), problem.getEquations().size());
+            for(ProblemEquation equation : problem.getEquations()) {
+                Assert.assertTrue(equation.isSparse());
+                Assert.assertTrue(equation.getNumberOfStoredCoefficients() < size);
+            }
+        }
+        Assert.assertFalse(problems.hasNext());
+    }
+
+    @Test
+    public void testCuttingOrders() {
+        CuttingOrderGenerator generator = CuttingOrderGenerator.getInstance(23L);
+        generator.setLengthRange(0.05d, 0.4d);
+        generator.setAverageDemand(20.d);
+        for(LengthDistribution distribution : LengthDistribution.values()) {
+            generator.setLengthDistribution(distribution);
+            for(CuttingOrder order : generator.sweep(new int[]{10, 20}, 1)) {
+                order.validate();
+                double previousLength = Double.MAX_VALUE;
+                for(OrderItem item : order.getItems()) {
+                    Assert.assertTrue(item.getLength() < previousLength);
+                    Assert.assertTrue(item.getLength() >= 50.d && item.getLength() <= 400.d);
+                    Assert.assertTrue(item.getDemand() >= 1);
+                    previousLength = item.getLength();
+                }
+                CutPlan plan = CuttingStockMethod.applyTo(order);
+                for(int i = 0; i < order.getItems().size(); i++) {
+                    Assert.assertTrue(plan.getProducedQuantity(i) >= order.getItems().get(i).getDemand());
+                }
+            }
+        }
+    }
+
+    private static Tableau solve(Problem problem) {
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        return SimplexMethod.applyTo(tableauBuilder.build());
+    }
+}
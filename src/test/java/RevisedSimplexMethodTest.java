@@ -0,0 +1,133 @@
+/*
+ * Provides tests for revised simplex method
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.LinearSolution;
+import math.linear.simplex.RevisedSimplexMethod;
+import math.linear.simplex.SimplexMethod;
+import math.linear.simplex.Tableau;
+import math.linear.simplex.TableauBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class RevisedSimplexMethodTest
+{
+    @Test
+    public void testSinglePhase() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{9., 3., -1., 0.}, Relation.LESS_OR_EQUAL, 140.d));
+        problem.addEquation(ProblemEquation.make(new double[]{-3., 0., 9., 7.}, Relation.LESS_OR_EQUAL, 180.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{4., 12., 1.,2.}, ObjectiveFunctionType.MAXIMUM));
+
+        LinearSolution solution = RevisedSimplexMethod.applyTo(problem);
+
+        Assert.assertArrayEquals(solveWithTableau(problem), solution.getSolution(), 1e-9);
+        Assert.assertEquals(660.d, solution.getObjectiveValue(), 1e-9);
+        Assert.assertArrayEquals(new double[]{4.d, 5.d / 9.d}, solution.getDualValues(), 1e-9);
+    }
+
+    @Test
+    public void testTwoPhases() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{3., 1.2, 2.1, 4.,7.,-2,11.,0.}, Relation.GREATER_OR_EQUAL, 56.d));
+        problem.addEquation(ProblemEquation.make(new double[]{4.3, 1.9, -1.2, 4.8,17.,6.,-2,11.}, Relation.GREATER_OR_EQUAL, 38.d));
+        problem.addEquation(ProblemEquation.make(new double[]{2., 1.5, 7., -0.5, 6., 4.2,1.1,0.1}, Relation.LESS_OR_EQUAL, 234.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{2.4, 3.7, 16.5,41.,5.,1.7,6.3,4.2}, ObjectiveFunctionType.MINIMUM));
+
+        LinearSolution solution = RevisedSimplexMethod.applyTo(problem);
+
+        Assert.assertArrayEquals(new double[]{0.d,0.d,0.d,0.d,2.636d,0.d,3.412d,0.d}, solution.getSolution(), 0.01);
+    }
+
+    @Test
+    public void testEqualityAndNegativeRightValue() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{1., 1., 1.}, Relation.EQUAL, 10.d));
+        problem.addEquation(ProblemEquation.make(new double[]{-1., 0., -2.}, Relation.LESS_OR_EQUAL, -6.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{2., 3., 1.}, ObjectiveFunctionType.MINIMUM));
+
+        LinearSolution solution = RevisedSimplexMethod.applyTo(problem);
+
+        Assert.assertArrayEquals(solveWithTableau(problem), solution.getSolution(), 1e-9);
+        Assert.assertEquals(10.d, solution.getObjectiveValue(), 1e-9);
+    }
+
+    @Test
+    public void testFrequentUpdatesMatchTableau() {
+        Random random = new Random(17);
+        Problem problem = Problem.getInstance();
+        int numberOfVariables = 40;
+        for(int i = 0; i < 15; i++) {
+            double[] coeffs = new double[numberOfVariables];
+            for(int j = 0; j < numberOfVariables; j++) {
+                coeffs[j] = random.nextInt(4) == 0 ? 1 + random.nextInt(9) : 0.d;
+            }
+            coeffs[i] += 1.d;
+            problem.addEquation(ProblemEquation.make(coeffs, i % 3 == 0 ? Relation.GREATER_OR_EQUAL : Relation.LESS_OR_EQUAL, 20 + random.nextInt(80)));
+        }
+        double[] objective = new double[numberOfVariables];
+        for(int j = 0; j < numberOfVariables; j++) {
+            objective[j] = 1 + random.nextInt(20);
+        }
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(objective, ObjectiveFunctionType.MAXIMUM));
+
+        RevisedSimplexMethod method = RevisedSimplexMethod.getInstance();
+        method.setRefactorizationFrequency(3);
+        method.setPricingWindow(8);
+        LinearSolution solution = method.solve(problem);
+
+        double[] expected = solveWithTableau(problem);
+        double expectedValue = 0.d;
+        for(int j = 0; j < numberOfVariables; j++) {
+            expectedValue += objective[j] * expected[j];
+        }
+        Assert.assertEquals(expectedValue, solution.getObjectiveValue(), 1e-6);
+    }
+
+    @Test
+    public void testNoSolution() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{14., 2., 0., 0.}, Relation.LESS_OR_EQUAL, 124.d));
+        problem.addEquation(ProblemEquation.make(new double[]{5., -4., 0., 0.}, Relation.LESS_OR_EQUAL, 100.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{27., 1.4, -1.,32.}, ObjectiveFunctionType.MAXIMUM));
+
+        try {
+            RevisedSimplexMethod.applyTo(problem);
+            Assert.fail("Exception 'Solution does not exist' must be thrown here.");
+        } catch(RuntimeException ex) {
+            Assert.assertEquals("Solution does not exist.", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testHasNoBasePlane() {
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{1., 3., 5., -1.}, Relation.GREATER_OR_EQUAL, 5.d));
+        problem.addEquation(ProblemEquation.make(new double[]{2., 6., 0., 0.}, Relation.EQUAL, 10.d));
+        problem.addEquation(ProblemEquation.make(new double[]{3., 7., 4., 0.}, Relation.GREATER_OR_EQUAL, 4.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 2., 5., 1.}, Relation.GREATER_OR_EQUAL, 7.d));
+        problem.addEquation(ProblemEquation.make(new double[]{4., 1., 1., 7.}, Relation.LESS_OR_EQUAL, 1.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{3., 9., 7.,6.}, ObjectiveFunctionType.MINIMUM));
+
+        try {
+            RevisedSimplexMethod.applyTo(problem);
+            Assert.fail("Exception 'The problem has no base plane.' must be throw here");
+        } catch(RuntimeException ex) {
+            Assert.assertEquals("The problem has no base plane.", ex.getMessage());
+        }
+    }
+
+    private static double[] solveWithTableau(Problem problem) {
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau tableau = SimplexMethod.applyTo(tableauBuilder.build());
+        return tableau.getSolution();
+    }
+}
@@ -7,16 +7,27 @@ import math.linear.basic.Relation;
 import math.linear.problem.Problem;
 import math.linear.problem.ProblemEquation;
 import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.BranchAndBoundMethod;
+import math.linear.simplex.NumericBackend;
+import math.linear.simplex.PricingRule;
+import math.linear.simplex.ScalingMethod;
 import math.linear.simplex.Tableau;
 import math.linear.simplex.TableauBuilder;
 import math.linear.simplex.SimplexMethod;
+import math.linear.simplex.SolveLimits;
+import math.linear.simplex.SolveStatus;
+import math.linear.simplex.SolverStatistics;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 
 public class SimplexMethodTest
@@ -339,4 +350,297 @@ public class SimplexMethodTest
             Assert.assertEquals("The problem has no base plane.", ex.getMessage());
         }
     }
+
+    @Test
+    public void testTwoPhasesDoubleBackend(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(32);
+        problem.addEquation(ProblemEquation.make(new double[]{3., 1.2, 2.1, 4.,7.,-2,11.,0.}, Relation.GREATER_OR_EQUAL, 56.d));
+        problem.addEquation(ProblemEquation.make(new double[]{4.3, 1.9, -1.2, 4.8,17.,6.,-2,11.}, Relation.GREATER_OR_EQUAL, 38.d));
+        problem.addEquation(ProblemEquation.make(new double[]{2., 1.5, 7., -0.5, 6., 4.2,1.1,0.1}, Relation.LESS_OR_EQUAL, 234.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{2.4, 3.7, 16.5,41.,5.,1.7,6.3,4.2}, ObjectiveFunctionType.MINIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        tableauBuilder.setNumericBackend(NumericBackend.DOUBLE);
+        Tableau tableau = tableauBuilder.build();
+
+        Tableau solved = SimplexMethod.applyTo(tableau);
+
+        Assert.assertEquals(NumericBackend.DOUBLE, solved.getNumericBackend());
+        Assert.assertArrayEquals(new double[]{0.d,0.d,0.d,0.d,2.636d,0.d,3.412d,0.d},solved.getSolution(),0.01);
+    }
+
+    @Test
+    public void testSinglePhaseDoubleBackend() {
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{9., 3., -1., 0.}, Relation.LESS_OR_EQUAL, 140.d));
+        problem.addEquation(ProblemEquation.make(new double[]{-3., 0., 9., 7.}, Relation.LESS_OR_EQUAL, 180.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{4., 12., 1.,2.}, ObjectiveFunctionType.MAXIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau expected = SimplexMethod.applyTo(tableauBuilder.build());
+
+        tableauBuilder.setNumericBackend(NumericBackend.DOUBLE);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+        Assert.assertArrayEquals(expected.getSolution(),solved.getSolution(),1e-9);
+        List<BigDecimal> expectedValues = expected.getSolutionBigDecimal();
+        List<BigDecimal> values = solved.getSolutionBigDecimal();
+        Assert.assertEquals(expectedValues.size(), values.size());
+        for(int k = 0; k < values.size(); k++) {
+            Assert.assertEquals(expectedValues.get(k).doubleValue(), values.get(k).doubleValue(), 1e-9);
+        }
+        Assert.assertEquals(SimplexMethod.existsAlternativeSolution(expected), SimplexMethod.existsAlternativeSolution(solved));
+    }
+
+    @Test
+    public void testDoubleBackendHasNoBasePlane(){
+        Problem problem = Problem.getInstance();
+        problem.addEquation(ProblemEquation.make(new double[]{1., 3., 5., -1.}, Relation.GREATER_OR_EQUAL, 5.d));
+        problem.addEquation(ProblemEquation.make(new double[]{2., 6., 0., 0.}, Relation.EQUAL, 10.d));
+        problem.addEquation(ProblemEquation.make(new double[]{4., 1., 1., 7.}, Relation.LESS_OR_EQUAL, 1.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{3., 9., 7.,6.}, ObjectiveFunctionType.MINIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        tableauBuilder.setNumericBackend(NumericBackend.DOUBLE);
+        Tableau tableau = tableauBuilder.build();
+
+        try
+        {
+            SimplexMethod.applyTo(tableau);
+            Assert.fail("Exception 'The problem has no base plane.' must be throw here");
+        } catch(RuntimeException ex){
+            Assert.assertEquals("The problem has no base plane.", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testSparseRows(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(32);
+        int numberOfVariables = 30;
+        double[] objective = new double[numberOfVariables];
+        for(int k = 0; k < 12; k++) {
+            double[] coeffs = new double[numberOfVariables];
+            coeffs[k] = 2. + k % 3;
+            coeffs[(k * 7 + 3) % numberOfVariables] = 1.5;
+            coeffs[(k * 11 + 5) % numberOfVariables] = 0.5 + k;
+            problem.addEquation(ProblemEquation.make(coeffs, Relation.LESS_OR_EQUAL, 10. + k));
+        }
+        double[] coeffs = new double[numberOfVariables];
+        coeffs[2] = 1.;
+        coeffs[20] = 3.;
+        problem.addEquation(ProblemEquation.make(coeffs, Relation.GREATER_OR_EQUAL, 4.));
+        for(int m = 0; m < numberOfVariables; m++) {
+            objective[m] = m < 12 ? 1. + m % 5 : 0.d;
+        }
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(objective, ObjectiveFunctionType.MAXIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+        tableauBuilder.setNumericBackend(NumericBackend.DOUBLE);
+        Tableau expected = SimplexMethod.applyTo(tableauBuilder.build());
+
+        Assert.assertEquals(expected.getSolutionBigDecimal().get(0).doubleValue(), solved.getSolutionBigDecimal().get(0).doubleValue(), 1e-9);
+        Assert.assertArrayEquals(expected.getSolution(), solved.getSolution(), 1e-9);
+    }
+
+    @Test
+    public void testParallelMatchesSequential(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(32);
+        int numberOfVariables = 40;
+        for(int k = 0; k < 30; k++) {
+            double[] coeffs = new double[numberOfVariables];
+            for(int m = 0; m < numberOfVariables; m++) {
+                coeffs[m] = ((k * 13 + m * 7) % 11) / 2.;
+            }
+            problem.addEquation(ProblemEquation.make(coeffs, k == 3 ? Relation.GREATER_OR_EQUAL : Relation.LESS_OR_EQUAL, k == 3 ? 5. : 20. + k));
+        }
+        double[] objective = new double[numberOfVariables];
+        for(int m = 0; m < numberOfVariables; m++) {
+            objective[m] = 1. + (m * 3) % 7;
+        }
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(objective, ObjectiveFunctionType.MAXIMUM));
+
+        for(NumericBackend backend : NumericBackend.values()) {
+            TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+            tableauBuilder.setProbliem(problem);
+            tableauBuilder.setNumericBackend(backend);
+            Tableau sequential = SimplexMethod.applyTo(tableauBuilder.build());
+
+            tableauBuilder.setParallel(true);
+            tableauBuilder.setParallelThreshold(8);
+            Tableau parallel = SimplexMethod.applyTo(tableauBuilder.build());
+
+            Assert.assertEquals(sequential.getSolutionBigDecimal(), parallel.getSolutionBigDecimal());
+        }
+    }
+
+    @Test
+    public void testPricingRules(){
+        Random random = new Random(23);
+        Problem problem = Problem.getInstance();
+        int numberOfVariables = 40;
+        for(int k = 0; k < 15; k++) {
+            double[] coeffs = new double[numberOfVariables];
+            for(int m = 0; m < numberOfVariables; m++) {
+                coeffs[m] = random.nextInt(4) == 0 ? 1 + random.nextInt(9) : 0.d;
+            }
+            coeffs[k] += 1.d;
+            problem.addEquation(ProblemEquation.make(coeffs, k % 4 == 0 ? Relation.GREATER_OR_EQUAL : Relation.LESS_OR_EQUAL, 20 + random.nextInt(80)));
+        }
+        double[] objective = new double[numberOfVariables];
+        for(int m = 0; m < numberOfVariables; m++) {
+            objective[m] = 1 + random.nextInt(20);
+        }
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(objective, ObjectiveFunctionType.MAXIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        double expected = evaluate(objective, SimplexMethod.applyTo(tableauBuilder.build()).getSolution());
+
+        for(NumericBackend backend : NumericBackend.values()) {
+            for(PricingRule pricingRule : PricingRule.values()) {
+                tableauBuilder = TableauBuilder.getInstance();
+                tableauBuilder.setProbliem(problem);
+                tableauBuilder.setNumericBackend(backend);
+                tableauBuilder.setPricingRule(pricingRule);
+                tableauBuilder.setCandidateListSize(3);
+                double[] solution = SimplexMethod.applyTo(tableauBuilder.build()).getSolution();
+                Assert.assertEquals(backend + " " + pricingRule, expected, evaluate(objective, solution), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testRatioTestTolerance(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{1., 1e-4, 0.}, Relation.LESS_OR_EQUAL, 1.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 1., 1.}, Relation.LESS_OR_EQUAL, 1e4 + 1e-8));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 2., 1.}, Relation.LESS_OR_EQUAL, 3e4));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 1., 1.}, ObjectiveFunctionType.MAXIMUM));
+
+        for(NumericBackend backend : NumericBackend.values()) {
+            for(double tolerance : new double[]{0.d, 1e-7}) {
+                TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+                tableauBuilder.setProbliem(problem);
+                tableauBuilder.setNumericBackend(backend);
+                tableauBuilder.setRatioTestTolerance(tolerance);
+                Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+                Assert.assertEquals(backend + " " + tolerance, 1e4 + 1.d, solved.getSolutionBigDecimal().get(0).doubleValue(), 1e-5);
+            }
+        }
+    }
+
+    @Test
+    public void testCyclingProblem(){
+        for(NumericBackend backend : NumericBackend.values()) {
+            for(int stallIterations : new int[]{1, 2, 20}) {
+                TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+                tableauBuilder.setProbliem(makeCyclingProblem());
+                tableauBuilder.setNumericBackend(backend);
+                tableauBuilder.setStallIterations(stallIterations);
+                Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+                Assert.assertArrayEquals(new double[]{1., 0., 1., 0.}, solved.getSolution(), 1e-6);
+                Assert.assertEquals(1.25d, solved.getSolutionBigDecimal().get(0).doubleValue(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testDegeneratePivotLimit(){
+        // x(k) <= x(k+1), x(10) <= 1: every pivot but the last one is degenerate
+        int numberOfVariables = 10;
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        for(int k = 0; k < numberOfVariables - 1; k++) {
+            double[] coeffs = new double[numberOfVariables];
+            coeffs[k] = 1.d;
+            coeffs[k + 1] = -1.d;
+            problem.addEquation(ProblemEquation.make(coeffs, Relation.LESS_OR_EQUAL, 0.d));
+        }
+        double[] coeffs = new double[numberOfVariables];
+        coeffs[numberOfVariables - 1] = 1.d;
+        problem.addEquation(ProblemEquation.make(coeffs, Relation.LESS_OR_EQUAL, 1.d));
+        double[] objective = new double[numberOfVariables];
+        Arrays.fill(objective, 1.d);
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(objective, ObjectiveFunctionType.MAXIMUM));
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+        Assert.assertEquals(10.d, solved.getSolutionBigDecimal().get(0).doubleValue(), 1e-9);
+
+        tableauBuilder.setStallIterations(1000);
+        SolveLimits limits = SolveLimits.getInstance();
+        limits.setMaxDegeneratePivots(3);
+        tableauBuilder.setSolveLimits(limits);
+        SolverStatistics statistics = SolverStatistics.getInstance();
+        tableauBuilder.setSolverListener(statistics);
+        Tableau capped = SimplexMethod.applyTo(tableauBuilder.build());
+        Assert.assertEquals(SolveStatus.DEGENERACY_LIMIT, capped.getStatus());
+        Assert.assertEquals(SolveStatus.FINISHED, limits.getStatus());
+        Assert.assertEquals(3, statistics.getDegeneratePivots());
+
+        // the relaxation is not optimal, so branch and bound has no bound to start from
+        BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+        Assert.assertNull(method.solve(problem, capped));
+        Assert.assertEquals(SolveStatus.DEGENERACY_LIMIT, method.getStatus());
+    }
+
+    @Test
+    public void testScaling(){
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(32);
+        problem.addEquation(ProblemEquation.make(new double[]{3., 4700., -0.2, 0.001, 4.}, Relation.GREATER_OR_EQUAL, 8600.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1000., 3., 0., 5., 1200.}, Relation.GREATER_OR_EQUAL, 65000.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0.02, 0.47, 0.035, 0.0001, 0.3}, Relation.LESS_OR_EQUAL, 120.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 0.2, 3.5, 0.0021, 4.7}, ObjectiveFunctionType.MINIMUM));
+        double[] objective = new double[]{0.2, 3.5, 0.0021, 4.7};
+
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        double[] expected = SimplexMethod.applyTo(tableauBuilder.build()).getSolution();
+
+        for(NumericBackend numericBackend : NumericBackend.values()) {
+            for(ScalingMethod scalingMethod : ScalingMethod.values()) {
+                tableauBuilder.setNumericBackend(numericBackend);
+                tableauBuilder.setScalingMethod(scalingMethod);
+                double[] solution = SimplexMethod.applyTo(tableauBuilder.build()).getSolution();
+                Assert.assertEquals(numericBackend + " " + scalingMethod, evaluate(objective, expected),
+                    evaluate(objective, solution), 1e-6);
+                Assert.assertArrayEquals(numericBackend + " " + scalingMethod, expected, solution, 1e-6);
+            }
+        }
+    }
+
+    /*
+     * Beale's example, Dantzig's rule cycles on it if ties in the ratio test are broken by the first row
+     */
+    private static Problem makeCyclingProblem() {
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(32);
+        problem.addEquation(ProblemEquation.make(new double[]{0.25, -8., -1., 9.}, Relation.LESS_OR_EQUAL, 0.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0.5, -12., -0.5, 3.}, Relation.LESS_OR_EQUAL, 0.d));
+        problem.addEquation(ProblemEquation.make(new double[]{0., 0., 1., 0.}, Relation.LESS_OR_EQUAL, 1.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{0.75, -20., 0.5, -6.}, ObjectiveFunctionType.MAXIMUM));
+        return problem;
+    }
+
+    private static double evaluate(double[] objective, double[] solution) {
+        double value = 0.d;
+        for(int m = 0; m < objective.length; m++) {
+            value += objective[m] * solution[m];
+        }
+        return value;
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Provides tests for the tableau snapshots and the checkpoints of branch and bound and Gomory method
+ */
+
+import math.linear.problem.Problem;
+import math.linear.simplex.*;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class SnapshotTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testTableauRoundTrip() throws IOException {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        for(NumericBackend numericBackend : NumericBackend.values()) {
+            TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+            tableauBuilder.setProbliem(problem);
+            tableauBuilder.setNumericBackend(numericBackend);
+            tableauBuilder.setScalingMethod(ScalingMethod.GEOMETRIC_MEAN_AND_EQUILIBRATION);
+            Path path = folder.getRoot().toPath().resolve(numericBackend + ".snapshot");
+
+            TableauSnapshot.write(tableauBuilder.build(), path);
+            Tableau read = TableauSnapshot.read(path);
+            Assert.assertEquals(numericBackend, read.getNumericBackend());
+            Tableau expected = SimplexMethod.applyTo(tableauBuilder.build());
+            Tableau actual = SimplexMethod.applyTo(read);
+            Assert.assertArrayEquals(expected.getSolution(), actual.getSolution(), 1e-9);
+
+            TableauSnapshot.write(actual, path);
+            Assert.assertArrayEquals(expected.getSolution(), TableauSnapshot.read(path).getSolution(), 1e-9);
+            Assert.assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+        }
+    }
+
+    @Test
+    public void testBranchAndBoundCheckpoint() throws IOException {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        Path path = folder.getRoot().toPath().resolve("bnb.checkpoint");
+        BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+        method.setCheckpoint(path, 0);
+        Tableau solved = method.solve(problem, SimplexMethod.applyTo(ProblemFixtures.build(problem)));
+        Assert.assertArrayEquals(ProblemFixtures.MINIMUM_SOLUTION, solved.getSolution(), 1e-9);
+        Assert.assertTrue(Files.exists(path));
+
+        BranchAndBoundMethod resumed = BranchAndBoundMethod.getInstance();
+        Tableau resumedSolution = resumed.resume(problem, path);
+        Assert.assertArrayEquals(solved.getSolution(), resumedSolution.getSolution(), 1e-9);
+        Assert.assertEquals(method.getIncumbentValue(), resumed.getIncumbentValue(), 1e-9);
+        Assert.assertEquals(method.getNumberOfNodes(), resumed.getNumberOfNodes());
+
+        BranchAndBoundMethod parallel = BranchAndBoundMethod.getInstance();
+        parallel.setNumberOfThreads(2);
+        try {
+            parallel.resume(problem, path);
+            Assert.fail();
+        } catch(IllegalStateException ex) {
+            Assert.assertEquals("Only the sequential or the deterministic search can be resumed.", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testGomoryCheckpoint() throws IOException {
+        Problem problem = ProblemFixtures.makeMaximumProblem();
+        Path path = folder.getRoot().toPath().resolve("gomory.checkpoint");
+
+        GomoryMethod method = GomoryMethod.getInstance();
+        method.setCheckpoint(path, 0);
+        Tableau solved = method.solve(SimplexMethod.applyTo(ProblemFixtures.build(problem)));
+        Assert.assertArrayEquals(ProblemFixtures.MAXIMUM_SOLUTION, solved.getSolution(), 0.1);
+
+        GomoryMethod resumed = GomoryMethod.getInstance();
+        Tableau resumedSolution = resumed.resume(path);
+        Assert.assertArrayEquals(solved.getSolution(), resumedSolution.getSolution(), 1e-9);
+        Assert.assertEquals(method.getNumberOfRounds(), resumed.getNumberOfRounds());
+        Assert.assertEquals(method.getNumberOfCuts(), resumed.getNumberOfCuts());
+    }
+
+    @Test
+    public void testCorruptedSnapshot() throws IOException {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        Path path = folder.getRoot().toPath().resolve("tableau.snapshot");
+        TableauSnapshot.write(ProblemFixtures.build(problem), path);
+        try {
+            BranchAndBoundMethod.getInstance().resume(problem, path);
+            Assert.fail();
+        } catch(IOException ex) {
+            Assert.assertEquals("The snapshot has a different kind of content.", ex.getMessage());
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+        try {
+            TableauSnapshot.read(path);
+            Assert.fail();
+        } catch(IOException ex) {
+            Assert.assertEquals("The snapshot is corrupted.", ex.getMessage());
+        }
+
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        try {
+            TableauSnapshot.read(path);
+            Assert.fail();
+        } catch(IOException ex) {
+            Assert.assertEquals("The file is not a snapshot.", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Provides tests for the limits and the cancellation of the solvers
+ */
+
+import math.linear.basic.ObjectiveFunctionType;
+import math.linear.basic.Relation;
+import math.linear.problem.Problem;
+import math.linear.problem.ProblemEquation;
+import math.linear.problem.ProblemObjectiveFunction;
+import math.linear.simplex.*;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class SolveLimitsTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPivotLimit() {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        long numberOfPivots = countPivots(problem, SolveLimits.getInstance());
+        Assert.assertTrue(numberOfPivots > 1);
+        for(long maxPivots = 1; maxPivots < numberOfPivots; maxPivots++) {
+            SolveLimits limits = SolveLimits.getInstance();
+            limits.setMaxPivots(maxPivots);
+            Assert.assertEquals(maxPivots, countPivots(problem, limits));
+            Assert.assertEquals(SolveStatus.PIVOT_LIMIT, limits.getStatus());
+        }
+
+        SolveLimits limits = SolveLimits.getInstance();
+        limits.setMaxPivots(numberOfPivots);
+        Assert.assertEquals(numberOfPivots, countPivots(problem, limits));
+        Assert.assertEquals(SolveStatus.FINISHED, limits.getStatus());
+
+        limits.reset();
+        Assert.assertEquals(SolveStatus.FINISHED, limits.getStatus());
+        limits.setMaxPivots(0);
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        tableauBuilder.setSolveLimits(limits);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+        Assert.assertEquals(SolveStatus.FINISHED, limits.getStatus());
+        Assert.assertArrayEquals(SimplexMethod.applyTo(ProblemFixtures.build(problem)).getSolution(), solved.getSolution(), 1e-9);
+    }
+
+    @Test
+    public void testTimeLimit() {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        SolveLimits limits = SolveLimits.getInstance();
+        limits.setTimeLimit(1, TimeUnit.NANOSECONDS);
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        tableauBuilder.setSolveLimits(limits);
+        SimplexMethod.applyTo(tableauBuilder.build());
+        Assert.assertEquals(SolveStatus.TIME_LIMIT, limits.getStatus());
+    }
+
+    @Test
+    public void testNodeLimit() {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        Tableau relaxation = SimplexMethod.applyTo(ProblemFixtures.build(problem));
+
+        BranchAndBoundMethod unlimited = BranchAndBoundMethod.getInstance();
+        unlimited.solve(problem, relaxation);
+        Assert.assertEquals(SolveStatus.FINISHED, unlimited.getStatus());
+
+        for(NodeSelection nodeSelection : NodeSelection.values()) {
+            for(int numberOfThreads : new int[]{1, 2}) {
+                SolveLimits limits = SolveLimits.getInstance();
+                limits.setMaxNodes(1);
+                BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+                method.setNodeSelection(nodeSelection);
+                method.setNumberOfThreads(numberOfThreads);
+                method.setSolveLimits(limits);
+                Tableau solved = method.solve(problem, relaxation);
+                Assert.assertEquals(SolveStatus.NODE_LIMIT, method.getStatus());
+                Assert.assertTrue(method.getNumberOfNodes() <= 1);
+                Assert.assertTrue(method.getBestBound() <= unlimited.getIncumbentValue() + 1e-9);
+                if(solved == null) {
+                    Assert.assertTrue(Double.isNaN(method.getIncumbentValue()));
+                } else {
+                    Assert.assertTrue(method.getIncumbentValue() >= unlimited.getIncumbentValue() - 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testResumeStoppedSearch() throws IOException {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        Tableau relaxation = SimplexMethod.applyTo(ProblemFixtures.build(problem));
+        Tableau expected = BranchAndBoundMethod.applyTo(problem, relaxation);
+
+        Path path = folder.getRoot().toPath().resolve("stopped.checkpoint");
+        SolveLimits limits = SolveLimits.getInstance();
+        limits.setMaxNodes(1);
+        BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+        method.setSolveLimits(limits);
+        method.setCheckpoint(path, Long.MAX_VALUE / 1_000_000L);
+        method.solve(problem, relaxation);
+        Assert.assertEquals(SolveStatus.NODE_LIMIT, method.getStatus());
+
+        BranchAndBoundMethod resumed = BranchAndBoundMethod.getInstance();
+        Assert.assertArrayEquals(expected.getSolution(), resumed.resume(problem, path).getSolution(), 1e-9);
+        Assert.assertEquals(SolveStatus.FINISHED, resumed.getStatus());
+    }
+
+    @Test
+    public void testCancel() {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        Tableau relaxation = SimplexMethod.applyTo(ProblemFixtures.build(problem));
+        SolveLimits limits = SolveLimits.getInstance();
+        limits.cancel();
+        BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+        method.setSolveLimits(limits);
+        Assert.assertNull(method.solve(problem, relaxation));
+        Assert.assertEquals(SolveStatus.CANCELLED, method.getStatus());
+        Assert.assertEquals(0, method.getNumberOfNodes());
+        double[] coefficients = problem.getObjectiveFunction().getCoefficients();
+        double[] solution = relaxation.getSolution();
+        double value = 0.d;
+        for(int k = 0; k < solution.length; k++) {
+            value += coefficients[k + 1] * solution[k];
+        }
+        Assert.assertEquals(value, method.getBestBound(), 1e-9);
+    }
+
+    @Test
+    public void testCutLimit() {
+        Problem problem = ProblemFixtures.makeMaximumProblem();
+        SolveLimits limits = SolveLimits.getInstance();
+        limits.setMaxCuts(1);
+        GomoryMethod method = GomoryMethod.getInstance();
+        method.setSolveLimits(limits);
+        method.solve(SimplexMethod.applyTo(ProblemFixtures.build(problem)));
+        Assert.assertEquals(SolveStatus.CUT_LIMIT, method.getStatus());
+        Assert.assertEquals(1, method.getNumberOfRounds());
+        Assert.assertEquals(1, method.getNumberOfCuts());
+
+        SolverStatistics statistics = SolverStatistics.getInstance();
+        GomoryMethod unlimited = GomoryMethod.getInstance();
+        unlimited.setSolverListener(statistics);
+        unlimited.solve(SimplexMethod.applyTo(ProblemFixtures.build(problem)));
+        limits = SolveLimits.getInstance();
+        limits.setMaxCuts(statistics.getCuts());
+        method = GomoryMethod.getInstance();
+        method.setSolveLimits(limits);
+        method.solve(SimplexMethod.applyTo(ProblemFixtures.build(problem)));
+        Assert.assertEquals(SolveStatus.FINISHED, method.getStatus());
+        Assert.assertEquals(unlimited.getNumberOfRounds(), method.getNumberOfRounds());
+    }
+
+    @Test
+    public void testDegeneracyLimit() {
+        // x(1) and x(2) have equal columns and costs, so the dual pivots of some branches are degenerate
+        Problem problem = Problem.getInstance();
+        problem.setPrecision(16);
+        problem.addEquation(ProblemEquation.make(new double[]{3., 3., 1., 4.}, Relation.LESS_OR_EQUAL, 8.d));
+        problem.addEquation(ProblemEquation.make(new double[]{1., 1., 2., 2.}, Relation.LESS_OR_EQUAL, 13.d));
+        problem.addObjectiveFunction(ProblemObjectiveFunction.make(new double[]{1., 1., 1., 1.}, ObjectiveFunctionType.MAXIMUM));
+        BranchAndBoundMethod unlimited = BranchAndBoundMethod.getInstance();
+        unlimited.solve(problem, SimplexMethod.applyTo(ProblemFixtures.build(problem)));
+        Assert.assertEquals(SolveStatus.FINISHED, unlimited.getStatus());
+
+        SolveLimits limits = SolveLimits.getInstance();
+        limits.setMaxDegeneratePivots(1);
+        BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+        method.setSolveLimits(limits);
+        Tableau solved = method.solve(problem, SimplexMethod.applyTo(ProblemFixtures.build(problem)));
+        // the capped node stays open and keeps the bound, the other nodes are solved
+        Assert.assertEquals(SolveStatus.DEGENERACY_LIMIT, method.getStatus());
+        Assert.assertEquals(SolveStatus.FINISHED, limits.getStatus());
+        Assert.assertNotNull(solved);
+        Assert.assertEquals(unlimited.getIncumbentValue(), method.getIncumbentValue(), 1e-9);
+        Assert.assertTrue(method.getBestBound() > method.getIncumbentValue());
+        Assert.assertTrue(method.getNumberOfNodes() > 1);
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        SolveLimits limits = SolveLimits.getInstance();
+        try {
+            limits.setMaxNodes(-1);
+            Assert.fail();
+        } catch(IllegalArgumentException ex) {
+            Assert.assertEquals("Maximal number of nodes must not be negative.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Solves the relaxation of the problem under the limits
+     * @return the number of pivots made
+     */
+    private static long countPivots(Problem problem, SolveLimits limits) {
+        SolverStatistics statistics = SolverStatistics.getInstance();
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        tableauBuilder.setSolveLimits(limits);
+        tableauBuilder.setSolverListener(statistics);
+        SimplexMethod.applyTo(tableauBuilder.build());
+        long result = 0L;
+        for(SimplexPhase phase : SimplexPhase.values()) {
+            result += statistics.getPivots(phase);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Provides tests for the solver listener and the statistics
+ */
+
+import math.linear.problem.Problem;
+import math.linear.simplex.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+public class SolverStatisticsTest
+{
+    @Test
+    public void testSimplexPhases() {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        for(NumericBackend numericBackend : NumericBackend.values()) {
+            SolverStatistics statistics = SolverStatistics.getInstance();
+            TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+            tableauBuilder.setProbliem(problem);
+            tableauBuilder.setNumericBackend(numericBackend);
+            tableauBuilder.setSolverListener(statistics);
+            SimplexMethod.applyTo(tableauBuilder.build());
+
+            Assert.assertTrue(statistics.getPhaseOnePivots() > 0);
+            Assert.assertTrue(statistics.getPivots(SimplexPhase.PHASE_ONE) + statistics.getPhaseTwoPivots() >= 2);
+            Assert.assertEquals(0, statistics.getDualPivots());
+            Assert.assertTrue(statistics.getNanoTime(SimplexPhase.PHASE_ONE) > 0);
+            Assert.assertEquals(0, statistics.getNodes());
+
+            statistics.reset();
+            Assert.assertEquals(0, statistics.getPhaseOnePivots());
+        }
+    }
+
+    @Test
+    public void testBranchAndBound() {
+        Problem problem = ProblemFixtures.makeMinimumProblem();
+        SolverStatistics statistics = SolverStatistics.getInstance();
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        tableauBuilder.setSolverListener(statistics);
+        BranchAndBoundMethod method = BranchAndBoundMethod.getInstance();
+        method.setSolverListener(statistics);
+        Tableau solved = method.solve(problem, SimplexMethod.applyTo(tableauBuilder.build()));
+
+        Assert.assertArrayEquals(ProblemFixtures.MINIMUM_SOLUTION, solved.getSolution(), 1e-9);
+        Assert.assertEquals(method.getNumberOfNodes(), statistics.getNodes());
+        Assert.assertTrue(statistics.getDualPivots() > 0);
+        Assert.assertTrue(statistics.getMaxDepth() > 0);
+        List<SolverStatistics.IncumbentRecord> history = statistics.getIncumbentHistory();
+        Assert.assertEquals(statistics.getIncumbents(), history.size());
+        Assert.assertFalse(history.isEmpty());
+        Assert.assertEquals(method.getIncumbentValue(), statistics.getIncumbentValue(), 1e-9);
+        for(SolverStatistics.IncumbentRecord record : history) {
+            Assert.assertTrue(record.getGap() >= 0.d);
+            Assert.assertTrue(record.getBestBound() <= record.getValue() + 1e-9);
+        }
+    }
+
+    @Test
+    public void testGomoryMethod() {
+        Problem problem = ProblemFixtures.makeMaximumProblem();
+        SolverStatistics statistics = SolverStatistics.getInstance();
+        TableauBuilder tableauBuilder = TableauBuilder.getInstance();
+        tableauBuilder.setProbliem(problem);
+        Tableau solved = SimplexMethod.applyTo(tableauBuilder.build());
+
+        GomoryMethod method = GomoryMethod.getInstance();
+        method.setSolverListener(statistics);
+        method.solve(solved);
+        Assert.assertEquals(method.getNumberOfRounds(), statistics.getCuttingRounds());
+        Assert.assertTrue(statistics.getCuts() >= method.getNumberOfCuts());
+        Assert.assertEquals(method.getNumberOfPurgedCuts(), statistics.getPurgedCuts());
+        Assert.assertEquals(0, statistics.getDualPivots());
+    }
+
+    @Test
+    public void testMBean() throws JMException {
+        SolverStatistics statistics = SolverStatistics.getInstance();
+        statistics.onPhaseFinished(SimplexPhase.PHASE_TWO, 5, 2, 3_000_000L);
+        statistics.onNodeProcessed(4);
+        ObjectName name = statistics.registerMBean("test");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Assert.assertEquals(5L, server.getAttribute(name, "PhaseTwoPivots"));
+            Assert.assertEquals(2L, server.getAttribute(name, "DegeneratePivots"));
+            Assert.assertEquals(3L, server.getAttribute(name, "PhaseTwoTime"));
+            Assert.assertEquals(4, server.getAttribute(name, "MaxDepth"));
+            server.invoke(name, "reset", null, null);
+            Assert.assertEquals(0L, server.getAttribute(name, "Nodes"));
+        } finally {
+            statistics.unregisterMBean();
+        }
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}